@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.binding;
+
+import java.util.concurrent.TimeUnit;
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.DoubleChangeListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures adding, removing and notifying the listeners of a
+ * {@code DoubleProperty}, for each kind of listener. Run with
+ * {@code -prof gc} to check the allocation rate of the notifications.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionHelperBenchmark {
+
+    @Param({"1", "2", "16"})
+    public int listeners;
+
+    private DoubleProperty invalidationProperty;
+    private DoubleProperty changeProperty;
+    private DoubleProperty doubleChangeProperty;
+
+    private final InvalidationListener invalidationListener = o -> {};
+    private final ChangeListener<Number> changeListener = (o, oldValue, newValue) -> {};
+    private final DoubleChangeListener doubleChangeListener = (o, oldValue, newValue) -> {};
+
+    private double value;
+    private double sink;
+
+    @Setup
+    public void setUp() {
+        invalidationProperty = new SimpleDoubleProperty();
+        changeProperty = new SimpleDoubleProperty();
+        doubleChangeProperty = new SimpleDoubleProperty();
+        for (int i = 0; i < listeners; i++) {
+            invalidationProperty.addListener(o -> sink += invalidationProperty.get());
+            changeProperty.addListener((o, oldValue, newValue) -> sink += newValue.doubleValue());
+            doubleChangeProperty.addDoubleChangeListener((o, oldValue, newValue) -> sink += newValue);
+        }
+    }
+
+    @Benchmark
+    public DoubleProperty addRemoveInvalidationListener() {
+        invalidationProperty.addListener(invalidationListener);
+        invalidationProperty.removeListener(invalidationListener);
+        return invalidationProperty;
+    }
+
+    @Benchmark
+    public DoubleProperty addRemoveChangeListener() {
+        changeProperty.addListener(changeListener);
+        changeProperty.removeListener(changeListener);
+        return changeProperty;
+    }
+
+    @Benchmark
+    public DoubleProperty addRemoveDoubleChangeListener() {
+        doubleChangeProperty.addDoubleChangeListener(doubleChangeListener);
+        doubleChangeProperty.removeDoubleChangeListener(doubleChangeListener);
+        return doubleChangeProperty;
+    }
+
+    @Benchmark
+    public double fireInvalidation() {
+        invalidationProperty.set(++value);
+        return sink;
+    }
+
+    @Benchmark
+    public double fireChange() {
+        changeProperty.set(++value);
+        return sink;
+    }
+
+    @Benchmark
+    public double fireDoubleChange() {
+        doubleChangeProperty.set(++value);
+        return sink;
+    }
+}
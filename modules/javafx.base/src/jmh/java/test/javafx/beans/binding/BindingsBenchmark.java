@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.beans.binding;
+
+import java.util.concurrent.TimeUnit;
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.BooleanBinding;
+import javafx.beans.binding.DoubleBinding;
+import javafx.beans.binding.NumberBinding;
+import javafx.beans.binding.StringExpression;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.beans.value.ObservableDoubleValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the invalidation and recomputation of bindings created with
+ * {@link Bindings}: a chain of arithmetic bindings, a conditional binding, a
+ * select binding, a string format binding and a bidirectional binding.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BindingsBenchmark {
+
+    public static class Bean {
+        private final ObjectProperty<Bean> next = new SimpleObjectProperty<>(this, "next");
+        private final DoubleProperty value = new SimpleDoubleProperty(this, "value");
+
+        public final ObjectProperty<Bean> nextProperty() { return next; }
+        public final Bean getNext() { return next.get(); }
+        public final void setNext(Bean bean) { next.set(bean); }
+
+        public final DoubleProperty valueProperty() { return value; }
+        public final double getValue() { return value.get(); }
+        public final void setValue(double v) { value.set(v); }
+    }
+
+    @Param({"1", "10", "100"})
+    public int depth;
+
+    private DoubleProperty source;
+    private ObservableDoubleValue chain;
+
+    private BooleanBinding condition;
+    private NumberBinding conditional;
+
+    private Bean root;
+    private Bean first;
+    private Bean second;
+    private DoubleBinding select;
+
+    private StringExpression format;
+
+    private StringProperty left;
+    private StringProperty right;
+
+    private double value;
+
+    @Setup
+    public void setUp() {
+        source = new SimpleDoubleProperty();
+        ObservableDoubleValue tail = source;
+        for (int i = 0; i < depth; i++) {
+            tail = (i % 2 == 0) ? Bindings.add(tail, 1.0) : Bindings.multiply(tail, 0.5);
+        }
+        chain = tail;
+
+        condition = Bindings.greaterThan(source, 0.0);
+        conditional = Bindings.when(condition).then(source).otherwise(Bindings.negate(source));
+
+        first = new Bean();
+        second = new Bean();
+        first.setValue(1.0);
+        second.setValue(2.0);
+        root = new Bean();
+        root.setNext(first);
+        select = Bindings.selectDouble(root, "next", "value");
+
+        format = Bindings.format("%.2f / %.2f", source, chain);
+
+        left = new SimpleStringProperty();
+        right = new SimpleStringProperty();
+        left.bindBidirectional(right);
+    }
+
+    @Benchmark
+    public double chain() {
+        source.set(++value);
+        return chain.get();
+    }
+
+    @Benchmark
+    public double conditional() {
+        source.set((++value % 2 == 0) ? value : -value);
+        return conditional.doubleValue();
+    }
+
+    @Benchmark
+    public double selectValue() {
+        first.setValue(++value);
+        return select.get();
+    }
+
+    @Benchmark
+    public double selectPath() {
+        root.setNext(root.getNext() == first ? second : first);
+        return select.get();
+    }
+
+    @Benchmark
+    public String format() {
+        source.set(++value);
+        return format.get();
+    }
+
+    @Benchmark
+    public String bidirectional() {
+        left.set((++value % 2 == 0) ? "even" : "odd");
+        return right.get();
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.collections;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ListChangeTransaction;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures scattered updates of a list observed through a chain of
+ * alternating FilteredLists and SortedLists, with one notification per
+ * update versus a single merged notification per batch, for both the default
+ * and the indexed modes of the transformation lists.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListChangeTransactionBenchmark {
+
+    @Param({"0", "1", "2", "4", "8"})
+    public int depth;
+
+    @Param({"1000"})
+    public int size;
+
+    @Param({"200"})
+    public int updates;
+
+    @Param({"false", "true"})
+    public boolean indexed;
+
+    private ObservableList<Integer> source;
+    // the transformation lists observe their source weakly, the last one
+    // keeps the whole chain reachable
+    private ObservableList<Integer> tail;
+    private int[] indexes;
+    private int value;
+    private int notifications;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        final Integer[] content = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = random.nextInt();
+        }
+        source = FXCollections.observableArrayList(content);
+        tail = source;
+        for (int i = 0; i < depth; i++) {
+            if (i % 2 == 0) {
+                tail = new FilteredList<>(tail, e -> e % 3 != 0, indexed);
+            } else {
+                tail = new SortedList<>(tail, Comparator.naturalOrder(), indexed);
+            }
+        }
+        tail.addListener((ListChangeListener<Integer>) c -> {
+            while (c.next()) {
+                notifications++;
+            }
+        });
+        indexes = new int[updates];
+        for (int i = 0; i < updates; i++) {
+            indexes[i] = random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public int separateChanges() {
+        for (int index : indexes) {
+            source.set(index, ++value);
+        }
+        return notifications;
+    }
+
+    @Benchmark
+    public int mergedChange() {
+        final ListChangeTransaction tx = FXCollections.beginChange(source);
+        try {
+            for (int index : indexes) {
+                source.set(index, ++value);
+            }
+        } finally {
+            tx.close();
+        }
+        return notifications;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.collections.transformation;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a FilteredList wrapped by a SortedList: changing the predicate
+ * and the comparator, and adding, removing and updating single elements of
+ * the source list, for both the default and the indexed modes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransformationListBenchmark {
+
+    private static final Predicate<Integer> EVEN = e -> (e & 1) == 0;
+    private static final Predicate<Integer> NOT_THIRD = e -> e % 3 != 0;
+    private static final Comparator<Integer> ASCENDING = Comparator.naturalOrder();
+    private static final Comparator<Integer> DESCENDING = Comparator.reverseOrder();
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean indexed;
+
+    private ObservableList<Integer> source;
+    private FilteredList<Integer> filtered;
+    private SortedList<Integer> sorted;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        random = new Random(42);
+        final Integer[] content = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = random.nextInt();
+        }
+        source = FXCollections.observableArrayList(content);
+        filtered = new FilteredList<>(source, EVEN, indexed);
+        sorted = new SortedList<>(filtered, ASCENDING, indexed);
+    }
+
+    @Benchmark
+    public int setPredicate() {
+        filtered.setPredicate(filtered.getPredicate() == EVEN ? NOT_THIRD : EVEN);
+        return sorted.size();
+    }
+
+    @Benchmark
+    public int setComparator() {
+        sorted.setComparator(sorted.getComparator() == ASCENDING ? DESCENDING : ASCENDING);
+        return sorted.size();
+    }
+
+    @Benchmark
+    public int addRemove() {
+        final int index = random.nextInt(size);
+        source.add(index, random.nextInt());
+        source.remove(index);
+        return sorted.size();
+    }
+
+    @Benchmark
+    public int set() {
+        source.set(random.nextInt(size), random.nextInt());
+        return sorted.size();
+    }
+
+    @Benchmark
+    public Integer get() {
+        return sorted.get(random.nextInt(sorted.size()));
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.binding;
+
+import java.util.Arrays;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.IntegerChangeListener;
+import javafx.beans.value.ObservableIntegerValue;
+import javafx.beans.value.ObservableValue;
+
+/**
+ * Keeps the {@link IntegerChangeListener}s of an {@link ObservableIntegerValue} and notifies them
+ * without boxing the values.
+ * <p>
+ * The listener array is copy-on-write: adding or removing a listener replaces
+ * it, so that a notification can iterate the array it started with, even if
+ * listeners are added or removed during the notification, without copying
+ * anything. Notifying the listeners does not allocate.
+ * <p>
+ * This implementation is not thread-safe.
+ */
+public final class IntegerListenerHelper {
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Static methods
+
+    public static IntegerListenerHelper addListener(IntegerListenerHelper helper, ObservableIntegerValue observable, IntegerChangeListener listener) {
+        if ((observable == null) || (listener == null)) {
+            throw new NullPointerException();
+        }
+        if (helper == null) {
+            return new IntegerListenerHelper(observable, listener);
+        }
+        helper.addListener(listener);
+        return helper;
+    }
+
+    public static IntegerListenerHelper removeListener(IntegerListenerHelper helper, IntegerChangeListener listener) {
+        if (listener == null) {
+            throw new NullPointerException();
+        }
+        return (helper == null)? null : helper.removeListener(listener);
+    }
+
+    public static void fireValueChangedEvent(IntegerListenerHelper helper) {
+        if (helper != null) {
+            helper.fireValueChangedEvent();
+        }
+    }
+
+    /**
+     * Wraps the listener into a {@link ChangeListener} that unboxes the
+     * values, for observables that cannot notify it directly. Wrappers of the
+     * same listener are equal, so a new wrapper can be used for removal.
+     */
+    public static ChangeListener<Number> adapt(IntegerChangeListener listener) {
+        if (listener == null) {
+            throw new NullPointerException();
+        }
+        return new Adapter(listener);
+    }
+
+    private static final class Adapter implements ChangeListener<Number> {
+
+        private final IntegerChangeListener listener;
+
+        private Adapter(IntegerChangeListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void changed(ObservableValue<? extends Number> observable, Number oldValue, Number newValue) {
+            listener.changed((ObservableIntegerValue) observable, oldValue.intValue(), newValue.intValue());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return (obj instanceof Adapter) && listener.equals(((Adapter) obj).listener);
+        }
+
+        @Override
+        public int hashCode() {
+            return listener.hashCode();
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Implementation
+
+    private final ObservableIntegerValue observable;
+    private IntegerChangeListener[] listeners;
+    private int currentValue;
+
+    private IntegerListenerHelper(ObservableIntegerValue observable, IntegerChangeListener listener) {
+        this.observable = observable;
+        this.listeners = new IntegerChangeListener[] {listener};
+        this.currentValue = observable.get();
+    }
+
+    private void addListener(IntegerChangeListener listener) {
+        // trim the copy, the current array may be in use by a notification
+        final IntegerChangeListener[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+        final int size = ExpressionHelperBase.trim(listeners.length, newListeners);
+        newListeners[size] = listener;
+        listeners = (size + 1 == newListeners.length)? newListeners : Arrays.copyOf(newListeners, size + 1);
+    }
+
+    private IntegerListenerHelper removeListener(IntegerChangeListener listener) {
+        final int size = listeners.length;
+        for (int index = 0; index < size; index++) {
+            if (listener.equals(listeners[index])) {
+                if (size == 1) {
+                    return null;
+                }
+                final IntegerChangeListener[] newListeners = new IntegerChangeListener[size - 1];
+                System.arraycopy(listeners, 0, newListeners, 0, index);
+                System.arraycopy(listeners, index + 1, newListeners, index, size - index - 1);
+                listeners = newListeners;
+                break;
+            }
+        }
+        return this;
+    }
+
+    private void fireValueChangedEvent() {
+        final IntegerChangeListener[] curListeners = listeners;
+        final int oldValue = currentValue;
+        final int newValue = observable.get();
+        currentValue = newValue;
+        if (oldValue != newValue) {
+            for (int i = 0; i < curListeners.length; i++) {
+                try {
+                    curListeners[i].changed(observable, oldValue, newValue);
+                } catch (Exception e) {
+                    Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,375 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.collections;
+
+import java.util.Arrays;
+
+/**
+ * An order statistic tree over a sequence of boolean "matched" flags, one
+ * flag per element of a source list. Every node keeps the number of elements
+ * and the number of matched elements in its subtree, so that mapping between
+ * source indexes and the indexes of the matched elements, as well as
+ * inserting and removing ranges of elements, all take O(log n).
+ * <p>
+ * The tree is an implicit treap stored in parallel primitive arrays, so no
+ * object is allocated per element. Node {@code 0} is a sentinel with empty
+ * counts, freed nodes are chained through the {@code left} array.
+ */
+public final class IndexedFilterTree {
+
+    private static final int NIL = 0;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] left;
+    private int[] right;
+    private int[] size;
+    private int[] matches;
+    private int[] priority;
+    private boolean[] matched;
+
+    private int root = NIL;
+    private int freeList = NIL;
+    private int next = 1;
+    private int seed = 0x2545F491;
+
+    // results of split()
+    private int splitLeft;
+    private int splitRight;
+
+    public IndexedFilterTree() {
+        left = new int[INITIAL_CAPACITY];
+        right = new int[INITIAL_CAPACITY];
+        size = new int[INITIAL_CAPACITY];
+        matches = new int[INITIAL_CAPACITY];
+        priority = new int[INITIAL_CAPACITY];
+        matched = new boolean[INITIAL_CAPACITY];
+    }
+
+    /**
+     * @return the number of elements (matched or not) in the tree
+     */
+    public int size() {
+        return size[root];
+    }
+
+    /**
+     * @return the number of matched elements in the tree
+     */
+    public int matchedCount() {
+        return matches[root];
+    }
+
+    /**
+     * Removes all the elements, keeping the allocated storage.
+     */
+    public void clear() {
+        root = NIL;
+        freeList = NIL;
+        next = 1;
+    }
+
+    public boolean isMatched(int index) {
+        checkIndex(index, size[root]);
+        int t = root;
+        while (true) {
+            final int l = size[left[t]];
+            if (index < l) {
+                t = left[t];
+            } else if (index == l) {
+                return matched[t];
+            } else {
+                index -= l + 1;
+                t = right[t];
+            }
+        }
+    }
+
+    public void setMatched(int index, boolean value) {
+        if (isMatched(index) == value) {
+            return;
+        }
+        final int delta = value ? 1 : -1;
+        int t = root;
+        while (true) {
+            matches[t] += delta;
+            final int l = size[left[t]];
+            if (index < l) {
+                t = left[t];
+            } else if (index == l) {
+                matched[t] = value;
+                return;
+            } else {
+                index -= l + 1;
+                t = right[t];
+            }
+        }
+    }
+
+    /**
+     * Returns the number of matched elements in the range {@code [0, index)}.
+     * That is the position the element at {@code index} has (or would have, if
+     * it is not matched) among the matched elements.
+     * @param index the index of the element, may be equal to {@link #size()}
+     * @return the number of matched elements before {@code index}
+     */
+    public int matchedBefore(int index) {
+        checkIndex(index, size[root] + 1);
+        int result = 0;
+        int t = root;
+        while (t != NIL) {
+            final int l = size[left[t]];
+            if (index <= l) {
+                t = left[t];
+            } else {
+                result += matches[left[t]] + (matched[t] ? 1 : 0);
+                index -= l + 1;
+                t = right[t];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the index of the {@code k}-th matched element.
+     * @param k the position among the matched elements
+     * @return the index of the element
+     */
+    public int indexOfMatch(int k) {
+        checkIndex(k, matches[root]);
+        int result = 0;
+        int t = root;
+        while (true) {
+            final int l = matches[left[t]];
+            if (k < l) {
+                t = left[t];
+            } else if (k == l && matched[t]) {
+                return result + size[left[t]];
+            } else {
+                k -= l + (matched[t] ? 1 : 0);
+                result += size[left[t]] + 1;
+                t = right[t];
+            }
+        }
+    }
+
+    /**
+     * Maps the index of an element to its position among the matched elements,
+     * with the same contract as {@link Arrays#binarySearch(int[], int)}: a
+     * non-matched element yields {@code -(insertion point) - 1}.
+     * @param index the index of the element
+     * @return the position among the matched elements or a negative value
+     */
+    public int viewIndex(int index) {
+        if (index < 0 || index >= size[root]) {
+            return index < 0 ? -1 : ~matches[root];
+        }
+        final int pos = matchedBefore(index);
+        return isMatched(index) ? pos : ~pos;
+    }
+
+    public void insert(int index, boolean value) {
+        checkIndex(index, size[root] + 1);
+        final int node = allocate(value);
+        split(root, index);
+        root = merge(merge(splitLeft, node), splitRight);
+    }
+
+    /**
+     * Inserts {@code len} elements at {@code index}, in O(len + log n).
+     * @param index where to insert the elements
+     * @param values the matched flags of the inserted elements
+     * @param off the offset in {@code values}
+     * @param len the number of elements to insert
+     */
+    public void insert(int index, boolean[] values, int off, int len) {
+        checkIndex(index, size[root] + 1);
+        if (len == 0) {
+            return;
+        }
+        ensureCapacity(len);
+        final int subtree = build(values, off, off + len);
+        if (root == NIL) {
+            root = subtree;
+        } else {
+            split(root, index);
+            root = merge(merge(splitLeft, subtree), splitRight);
+        }
+    }
+
+    /**
+     * Removes the elements in range {@code [from, to)}, in O(to - from + log n).
+     * @param from the first index to remove, inclusive
+     * @param to the last index to remove, exclusive
+     */
+    public void remove(int from, int to) {
+        if (from < 0 || to > size[root] || from > to) {
+            throw new IndexOutOfBoundsException("[" + from + ", " + to + ")");
+        }
+        if (from == to) {
+            return;
+        }
+        split(root, to);
+        final int tail = splitRight;
+        split(splitLeft, from);
+        release(splitRight);
+        root = merge(splitLeft, tail);
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + bound);
+        }
+    }
+
+    private void update(int t) {
+        final int l = left[t];
+        final int r = right[t];
+        size[t] = size[l] + size[r] + 1;
+        matches[t] = matches[l] + matches[r] + (matched[t] ? 1 : 0);
+    }
+
+    /**
+     * Splits {@code t} so that the first {@code k} elements end up in
+     * {@code splitLeft} and the rest in {@code splitRight}.
+     */
+    private void split(int t, int k) {
+        if (t == NIL) {
+            splitLeft = splitRight = NIL;
+            return;
+        }
+        final int l = size[left[t]];
+        if (l < k) {
+            split(right[t], k - l - 1);
+            right[t] = splitLeft;
+            update(t);
+            splitLeft = t;
+        } else {
+            split(left[t], k);
+            left[t] = splitRight;
+            update(t);
+            splitRight = t;
+        }
+    }
+
+    private int merge(int a, int b) {
+        if (a == NIL) {
+            return b;
+        }
+        if (b == NIL) {
+            return a;
+        }
+        if (priority[a] >= priority[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        } else {
+            left[b] = merge(a, left[b]);
+            update(b);
+            return b;
+        }
+    }
+
+    /**
+     * Builds a balanced subtree in O(hi - lo). The priorities are restored
+     * to heap order bottom-up, so the result is a valid treap.
+     */
+    private int build(boolean[] values, int lo, int hi) {
+        if (lo >= hi) {
+            return NIL;
+        }
+        final int mid = (lo + hi) >>> 1;
+        final int t = allocate(values[mid]);
+        left[t] = build(values, lo, mid);
+        right[t] = build(values, mid + 1, hi);
+        siftDown(t);
+        update(t);
+        return t;
+    }
+
+    private void siftDown(int t) {
+        while (true) {
+            final int l = left[t];
+            final int r = right[t];
+            int max = t;
+            if (l != NIL && priority[l] > priority[max]) {
+                max = l;
+            }
+            if (r != NIL && priority[r] > priority[max]) {
+                max = r;
+            }
+            if (max == t) {
+                return;
+            }
+            final int tmp = priority[t];
+            priority[t] = priority[max];
+            priority[max] = tmp;
+            t = max;
+        }
+    }
+
+    private void release(int t) {
+        if (t == NIL) {
+            return;
+        }
+        release(left[t]);
+        release(right[t]);
+        left[t] = freeList;
+        freeList = t;
+    }
+
+    private int allocate(boolean value) {
+        int t;
+        if (freeList != NIL) {
+            t = freeList;
+            freeList = left[t];
+        } else {
+            ensureCapacity(1);
+            t = next++;
+        }
+        left[t] = right[t] = NIL;
+        size[t] = 1;
+        matched[t] = value;
+        matches[t] = value ? 1 : 0;
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        priority[t] = seed;
+        return t;
+    }
+
+    private void ensureCapacity(int count) {
+        final int required = next + count;
+        if (required > left.length) {
+            final int capacity = Math.max(required, left.length * 3 / 2 + 1);
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+            size = Arrays.copyOf(size, capacity);
+            matches = Arrays.copyOf(matches, capacity);
+            priority = Arrays.copyOf(priority, capacity);
+            matched = Arrays.copyOf(matched, capacity);
+        }
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.collections;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A hash map with primitive {@code long} keys, using open addressing with
+ * linear probing. Removed slots are marked as deleted and reclaimed when
+ * the table is rehashed, which keeps removal through iterators simple.
+ */
+public final class LongHashMap<V> extends AbstractMap<Long, V> {
+
+    private static final byte FREE = 0;
+    private static final byte FULL = 1;
+    private static final byte DELETED = 2;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys;
+    private Object[] values;
+    private byte[] states;
+    private int size;
+    private int used; // full and deleted slots
+    private int modCount;
+    private EntrySet entrySet;
+
+    public LongHashMap() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        states = new byte[capacity];
+        used = size;
+    }
+
+    private static int hash(long key) {
+        final int h = (int) (key ^ (key >>> 32)) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * @return the slot of the key or -1 if it is not in the map
+     */
+    private int find(long key) {
+        final int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (states[i] != FREE) {
+            if (states[i] == FULL && keys[i] == key) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public boolean containsKey(long key) {
+        return find(key) >= 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Long && containsKey(((Long) key).longValue());
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        final int i = find(key);
+        return i >= 0 ? (V) values[i] : null;
+    }
+
+    @Override
+    public V get(Object key) {
+        return key instanceof Long ? get(((Long) key).longValue()) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        final int existing = find(key);
+        if (existing >= 0) {
+            final V old = (V) values[existing];
+            values[existing] = value;
+            return old;
+        }
+        if ((used + 1) * 4L > keys.length * 3L) {
+            rehash(size + 1);
+        }
+        final int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (states[i] == FULL) {
+            i = (i + 1) & mask;
+        }
+        if (states[i] == FREE) {
+            ++used;
+        }
+        states[i] = FULL;
+        keys[i] = key;
+        values[i] = value;
+        ++size;
+        ++modCount;
+        return null;
+    }
+
+    @Override
+    public V put(Long key, V value) {
+        return put(key.longValue(), value);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        final int i = find(key);
+        if (i < 0) {
+            return null;
+        }
+        final V old = (V) values[i];
+        removeAt(i);
+        return old;
+    }
+
+    @Override
+    public V remove(Object key) {
+        return key instanceof Long ? remove(((Long) key).longValue()) : null;
+    }
+
+    private void removeAt(int i) {
+        states[i] = DELETED;
+        values[i] = null;
+        --size;
+        ++modCount;
+    }
+
+    @Override
+    public void clear() {
+        if (size > 0 || used > 0) {
+            size = 0;
+            ++modCount;
+            allocate(INITIAL_CAPACITY);
+        }
+    }
+
+    private void rehash(int required) {
+        int capacity = INITIAL_CAPACITY;
+        while (required * 4L > capacity * 3L) {
+            capacity <<= 1;
+        }
+        final long[] oldKeys = keys;
+        final Object[] oldValues = values;
+        final byte[] oldStates = states;
+        allocate(capacity);
+        final int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; ++j) {
+            if (oldStates[j] == FULL) {
+                int i = hash(oldKeys[j]) & mask;
+                while (states[i] != FREE) {
+                    i = (i + 1) & mask;
+                }
+                states[i] = FULL;
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<Long, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<Long, V>> {
+        @Override
+        public Iterator<Map.Entry<Long, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            LongHashMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<Long, V>> {
+        private int next = advance(0);
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        private int advance(int i) {
+            while (i < states.length && states[i] != FULL) {
+                ++i;
+            }
+            return i;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < states.length;
+        }
+
+        @Override
+        public Map.Entry<Long, V> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = advance(next + 1);
+            return new Entry(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last);
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    private final class Entry implements Map.Entry<Long, V> {
+        private final int slot;
+        private final long key;
+
+        Entry(int slot) {
+            this.slot = slot;
+            this.key = keys[slot];
+        }
+
+        @Override
+        public Long getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return get(key);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V setValue(V value) {
+            if (states[slot] != FULL || keys[slot] != key) {
+                throw new ConcurrentModificationException();
+            }
+            final V old = (V) values[slot];
+            values[slot] = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            final V value = getValue();
+            return getKey().equals(e.getKey())
+                    && (value == null ? e.getValue() == null : value.equals(e.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            final V value = getValue();
+            return Long.hashCode(key) ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.collections;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import javafx.collections.ModifiableObservableListBase;
+import javafx.collections.ObservableIntegerList;
+
+/**
+ * ObservableIntegerList default implementation, backed by a {@code int[]} array.
+ */
+public final class ObservableIntegerListImpl extends ModifiableObservableListBase<Integer>
+        implements ObservableIntegerList, RandomAccess {
+
+    private static final int[] INITIAL = new int[0];
+
+    private int[] array = INITIAL;
+    private int size = 0;
+
+    /**
+     * Creates empty observable int list
+     */
+    public ObservableIntegerListImpl() {
+    }
+
+    /**
+     * Creates observable int list with a copy of initial elements
+     * @param elements initial elements to copy to observable int list
+     */
+    public ObservableIntegerListImpl(int... elements) {
+        setAllInternal(elements, 0, elements.length);
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getInt(index);
+    }
+
+    @Override
+    public int getInt(int index) {
+        rangeCheck(index, size);
+        return array[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    protected void doAdd(int index, Integer element) {
+        insert(index, element);
+    }
+
+    @Override
+    protected Integer doSet(int index, Integer element) {
+        return replace(index, element);
+    }
+
+    @Override
+    protected Integer doRemove(int index) {
+        rangeCheck(index, size);
+        final int old = array[index];
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        --size;
+        return old;
+    }
+
+    @Override
+    public int set(int index, int value) {
+        final int old = replace(index, value);
+        beginChange();
+        nextSet(index, old);
+        endChange();
+        return old;
+    }
+
+    @Override
+    public boolean add(int value) {
+        add(size, value);
+        return true;
+    }
+
+    @Override
+    public void add(int index, int value) {
+        insert(index, value);
+        beginChange();
+        nextAdd(index, index + 1);
+        ++modCount;
+        endChange();
+    }
+
+    @Override
+    public boolean addAll(int[] values) {
+        return addAll(size, values, 0, values.length);
+    }
+
+    @Override
+    public boolean addAll(int[] src, int srcIndex, int length) {
+        return addAll(size, src, srcIndex, length);
+    }
+
+    @Override
+    public boolean addAll(int index, int[] src, int srcIndex, int length) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        arrayRangeCheck(src.length, srcIndex, length);
+        if (length == 0) {
+            return false;
+        }
+        ensureCapacity(size + length);
+        System.arraycopy(array, index, array, index + length, size - index);
+        System.arraycopy(src, srcIndex, array, index, length);
+        size += length;
+        beginChange();
+        nextAdd(index, index + length);
+        ++modCount;
+        endChange();
+        return true;
+    }
+
+    @Override
+    public boolean setAll(int[] values) {
+        return setAll(values, 0, values.length);
+    }
+
+    @Override
+    public boolean setAll(int[] src, int srcIndex, int length) {
+        arrayRangeCheck(src.length, srcIndex, length);
+        // only box the removed values when somebody is going to see them
+        final List<Integer> removed = hasListeners() ? new ArrayView(Arrays.copyOf(array, size)) : null;
+        setAllInternal(src, srcIndex, length);
+        beginChange();
+        if (removed != null) {
+            nextReplace(0, size, removed);
+        }
+        ++modCount;
+        endChange();
+        return true;
+    }
+
+    @Override
+    public boolean setAll(Collection<? extends Integer> col) {
+        final int[] values = new int[col.size()];
+        int i = 0;
+        for (Integer value : col) {
+            values[i++] = value;
+        }
+        return setAll(values, 0, values.length);
+    }
+
+    @Override
+    public void clear() {
+        if (size > 0) {
+            final List<Integer> removed = hasListeners() ? new ArrayView(Arrays.copyOf(array, size)) : null;
+            size = 0;
+            beginChange();
+            if (removed != null) {
+                nextRemove(0, removed);
+            }
+            ++modCount;
+            endChange();
+        }
+    }
+
+    @Override
+    public void remove(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("[" + from + ", " + to + ")");
+        }
+        if (from == to) {
+            return;
+        }
+        final List<Integer> removed = hasListeners() ? new ArrayView(Arrays.copyOfRange(array, from, to)) : null;
+        System.arraycopy(array, to, array, from, size - to);
+        size -= to - from;
+        beginChange();
+        if (removed != null) {
+            nextRemove(from, removed);
+        }
+        ++modCount;
+        endChange();
+    }
+
+    @Override
+    public void copyTo(int srcIndex, int[] dest, int destIndex, int length) {
+        if (srcIndex < 0 || length < 0 || srcIndex + length > size) {
+            throw new IndexOutOfBoundsException("[" + srcIndex + ", " + (srcIndex + length) + ")");
+        }
+        System.arraycopy(array, srcIndex, dest, destIndex, length);
+    }
+
+    @Override
+    public int[] toArray(int[] dest) {
+        if (dest == null || dest.length < size) {
+            dest = new int[size];
+        }
+        System.arraycopy(array, 0, dest, 0, size);
+        return dest;
+    }
+
+    private void insert(int index, int value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        ensureCapacity(size + 1);
+        System.arraycopy(array, index, array, index + 1, size - index);
+        array[index] = value;
+        ++size;
+    }
+
+    private int replace(int index, int value) {
+        rangeCheck(index, size);
+        final int old = array[index];
+        array[index] = value;
+        return old;
+    }
+
+    private void setAllInternal(int[] src, int srcIndex, int length) {
+        ensureCapacity(length);
+        System.arraycopy(src, srcIndex, array, 0, length);
+        size = length;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (array.length < capacity) {
+            array = Arrays.copyOf(array, Math.max(capacity, array.length + (array.length >> 1) + 1));
+        }
+    }
+
+    private static void rangeCheck(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private static void arrayRangeCheck(int length, int srcIndex, int count) {
+        if (srcIndex < 0 || count < 0 || srcIndex + count > length) {
+            throw new ArrayIndexOutOfBoundsException(
+                    "[" + srcIndex + ", " + (srcIndex + count) + "), length " + length);
+        }
+    }
+
+    /**
+     * An unmodifiable view of the removed values, boxing them on access.
+     */
+    private static final class ArrayView extends AbstractList<Integer> implements RandomAccess {
+        private final int[] values;
+
+        ArrayView(int[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Integer get(int index) {
+            return values[index];
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.collections;
+
+import javafx.collections.ObservableLongMap;
+
+/**
+ * An {@link ObservableLongMap} backed by a {@link LongHashMap}. The primitive
+ * methods only box the key when there is a listener to notify.
+ */
+public class ObservableLongMapWrapper<V> extends ObservableMapWrapper<Long, V>
+        implements ObservableLongMap<V> {
+
+    private final LongHashMap<V> backingMap;
+
+    public ObservableLongMapWrapper() {
+        this(new LongHashMap<>());
+    }
+
+    private ObservableLongMapWrapper(LongHashMap<V> map) {
+        super(map);
+        this.backingMap = map;
+    }
+
+    @Override
+    public V get(long key) {
+        return backingMap.get(key);
+    }
+
+    @Override
+    public boolean containsKey(long key) {
+        return backingMap.containsKey(key);
+    }
+
+    @Override
+    public V put(long key, V value) {
+        if (!hasListeners()) {
+            return backingMap.put(key, value);
+        }
+        if (backingMap.containsKey(key)) {
+            final V ret = backingMap.put(key, value);
+            if (ret == null && value != null || ret != null && !ret.equals(value)) {
+                callObservers(new SimpleChange(key, ret, value, true, true));
+            }
+            return ret;
+        }
+        backingMap.put(key, value);
+        callObservers(new SimpleChange(key, null, value, true, false));
+        return null;
+    }
+
+    @Override
+    public V remove(long key) {
+        if (!backingMap.containsKey(key)) {
+            return null;
+        }
+        final V ret = backingMap.remove(key);
+        if (hasListeners()) {
+            callObservers(new SimpleChange(key, ret, null, false, true));
+        }
+        return ret;
+    }
+}
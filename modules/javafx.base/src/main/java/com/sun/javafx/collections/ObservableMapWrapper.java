@@ -50,7 +50,7 @@ public class ObservableMapWrapper<K, V> implements ObservableMap<K, V>{
         this.backingMap = map;
     }
 
-    private class SimpleChange extends MapChangeListener.Change<K,V> {
+    protected class SimpleChange extends MapChangeListener.Change<K,V> {
 
         private final K key;
         private final V old;
@@ -115,6 +115,10 @@ public class ObservableMapWrapper<K, V> implements ObservableMap<K, V>{
         MapListenerHelper.fireValueChangedEvent(listenerHelper, change);
     }
 
+    protected boolean hasListeners() {
+        return MapListenerHelper.hasListeners(listenerHelper);
+    }
+
     @Override
     public void addListener(InvalidationListener listener) {
         listenerHelper = MapListenerHelper.addListener(listenerHelper, listener);
@@ -0,0 +1,597 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.collections;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Keeps the elements of a source list both in the source order and in the
+ * order given by a comparator, so that the mapping between source and sorted
+ * indexes, as well as inserting and removing a single element, take O(log n).
+ * <p>
+ * Each element is a node id shared by two implicit treaps (one per order)
+ * stored in parallel primitive arrays, with parent links so that the rank of
+ * a node can be found by walking up. No object is allocated per element.
+ * When the comparator is {@code null}, the sorted order is the source order.
+ * Ties are broken by the previous sorted order when re-sorting and new
+ * elements are inserted after the elements equal to them.
+ */
+public final class SortedIndexTree<E> {
+
+    private static final int NIL = 0;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int INSERTIONSORT_THRESHOLD = 7;
+
+    private final Order sourceOrder = new Order();
+    private final Order sortedOrder = new Order();
+
+    private Object[] elements = new Object[INITIAL_CAPACITY];
+    private Comparator<? super E> comparator;
+    private int freeList = NIL;
+    private int next = 1;
+    private int seed = 0x2545F491;
+
+    public SortedIndexTree() {
+        sourceOrder.grow(INITIAL_CAPACITY);
+        sortedOrder.grow(INITIAL_CAPACITY);
+    }
+
+    public int size() {
+        return sourceOrder.size();
+    }
+
+    public Comparator<? super E> getComparator() {
+        return comparator;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E get(int viewIndex) {
+        return (E) elements[sortedOrder.kth(viewIndex)];
+    }
+
+    public int getSourceIndex(int viewIndex) {
+        return sourceOrder.rank(sortedOrder.kth(viewIndex));
+    }
+
+    public int getViewIndex(int sourceIndex) {
+        return sortedOrder.rank(sourceOrder.kth(sourceIndex));
+    }
+
+    public void clear() {
+        Arrays.fill(elements, 0, next, null);
+        sourceOrder.root = NIL;
+        sortedOrder.root = NIL;
+        freeList = NIL;
+        next = 1;
+    }
+
+    /**
+     * Replaces the content with the elements of the list, in O(n log n).
+     * @param list the new content, in the source order
+     */
+    public void setAll(List<? extends E> list) {
+        clear();
+        final int[] nodes = allocate(list);
+        sourceOrder.root = sourceOrder.build(nodes, 0, nodes.length);
+        sort(nodes, nodes.length);
+        sortedOrder.root = sortedOrder.build(nodes, 0, nodes.length);
+    }
+
+    /**
+     * Sorts the elements using a new comparator.
+     * @param comparator the comparator or {@code null} for the source order
+     * @return the permutation, mapping the old view indexes to the new ones
+     */
+    public int[] setComparator(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+        final int size = size();
+        final int[] nodes = new int[size];
+        if (comparator == null) {
+            sourceOrder.toArray(nodes);
+        } else {
+            sortedOrder.toArray(nodes);
+            sort(nodes, size);
+        }
+        return setSortedOrder(nodes);
+    }
+
+    /**
+     * Sets a new comparator together with the order of the elements, sorted
+     * elsewhere, so that no comparison is needed.
+     * @param comparator the comparator or {@code null} for the source order
+     * @param sourceIndexes the source indexes of the elements, in sorted order
+     * @return the permutation, mapping the old view indexes to the new ones
+     */
+    public int[] setComparator(Comparator<? super E> comparator, int[] sourceIndexes) {
+        if (sourceIndexes.length != size()) {
+            throw new IllegalArgumentException("Expected " + size() + " indexes, got " + sourceIndexes.length);
+        }
+        this.comparator = comparator;
+        final int[] nodes = new int[sourceIndexes.length];
+        for (int i = 0; i < nodes.length; ++i) {
+            nodes[i] = sourceOrder.kth(sourceIndexes[i]);
+        }
+        return setSortedOrder(nodes);
+    }
+
+    private int[] setSortedOrder(int[] nodes) {
+        final int size = nodes.length;
+        final int[] oldPos = new int[next];
+        final int[] old = new int[size];
+        sortedOrder.toArray(old);
+        for (int i = 0; i < size; ++i) {
+            oldPos[old[i]] = i;
+        }
+        final int[] perm = new int[size];
+        for (int i = 0; i < size; ++i) {
+            perm[oldPos[nodes[i]]] = i;
+        }
+        sortedOrder.root = sortedOrder.build(nodes, 0, size);
+        return perm;
+    }
+
+    /**
+     * Inserts a single element, in O(log n).
+     * @param sourceIndex the index of the element in the source list
+     * @param e the element
+     * @return the index of the element in the sorted order
+     */
+    public int insert(int sourceIndex, E e) {
+        checkIndex(sourceIndex, size() + 1);
+        final int node = allocate(e);
+        final int pos = comparator == null ? sourceIndex : upperBound(e);
+        sourceOrder.insert(sourceIndex, node);
+        sortedOrder.insert(pos, node);
+        return pos;
+    }
+
+    /**
+     * Inserts the elements as a batch: the added elements are sorted among
+     * themselves and then merged with the current sorted order in one pass,
+     * in O(n + k log k).
+     * @param sourceIndex the index of the first added element in the source list
+     * @param added the elements to add
+     * @return the indexes of the added elements in the sorted order, ascending
+     */
+    public int[] insertAll(int sourceIndex, List<? extends E> added) {
+        checkIndex(sourceIndex, size() + 1);
+        final int[] nodes = allocate(added);
+        final int k = nodes.length;
+        sourceOrder.insert(sourceIndex, sourceOrder.build(nodes, 0, k));
+        final int[] positions = new int[k];
+        if (comparator == null) {
+            sortedOrder.insert(sourceIndex, sortedOrder.build(nodes, 0, k));
+            for (int i = 0; i < k; ++i) {
+                positions[i] = sourceIndex + i;
+            }
+            return positions;
+        }
+        sort(nodes, k);
+        final int n = sortedOrder.size();
+        final int[] existing = new int[n];
+        sortedOrder.toArray(existing);
+        final int[] merged = new int[n + k];
+        for (int i = 0, p = 0, q = 0; i < merged.length; ++i) {
+            if (q >= k || p < n && compare(existing[p], nodes[q]) <= 0) {
+                merged[i] = existing[p++];
+            } else {
+                positions[q] = i;
+                merged[i] = nodes[q++];
+            }
+        }
+        sortedOrder.root = sortedOrder.build(merged, 0, merged.length);
+        return positions;
+    }
+
+    /**
+     * Removes a single element, in O(log n).
+     * @param sourceIndex the index of the element in the source list
+     * @return the index the element had in the sorted order
+     */
+    public int remove(int sourceIndex) {
+        final int node = sourceOrder.remove(sourceIndex);
+        final int pos = sortedOrder.rank(node);
+        sortedOrder.remove(pos);
+        elements[node] = null;
+        sourceOrder.left[node] = freeList;
+        freeList = node;
+        return pos;
+    }
+
+    /**
+     * Applies a permutation of the source list. The sorted order doesn't
+     * change unless there is no comparator.
+     * @param from the beginning of the permutated range, inclusive
+     * @param to the end of the permutated range, exclusive
+     * @param perm the new source indexes of the elements in the range
+     */
+    public void permute(int from, int to, int[] perm) {
+        final int[] nodes = new int[to - from];
+        sourceOrder.split(sourceOrder.root, to);
+        final int tail = sourceOrder.splitRight;
+        sourceOrder.split(sourceOrder.splitLeft, from);
+        final int head = sourceOrder.splitLeft;
+        final int range = sourceOrder.splitRight;
+        sourceOrder.toArray(range, nodes, 0);
+        final int[] permuted = new int[nodes.length];
+        for (int i = 0; i < nodes.length; ++i) {
+            permuted[perm[i] - from] = nodes[i];
+        }
+        sourceOrder.root = sourceOrder.merge(
+                sourceOrder.merge(head, sourceOrder.build(permuted, 0, permuted.length)), tail);
+        sourceOrder.parent[sourceOrder.root] = NIL;
+        if (comparator == null) {
+            sortedOrder.remove(from, to);
+            sortedOrder.insert(from, sortedOrder.build(permuted, 0, permuted.length));
+        }
+    }
+
+    /**
+     * Moves the elements whose sort keys have changed to their new sorted
+     * positions. Elements that were not updated keep their relative order.
+     * Few updated elements are removed and inserted again, in O(k log n),
+     * many updated elements trigger a full sort.
+     * @param from the source index of the first updated element, inclusive
+     * @param to the source index of the last updated element, exclusive
+     * @param list the source list
+     */
+    public void reorder(int from, int to, List<? extends E> list) {
+        final int k = to - from;
+        final int[] nodes = new int[k];
+        for (int i = 0; i < k; ++i) {
+            nodes[i] = sourceOrder.kth(from + i);
+            elements[nodes[i]] = list.get(from + i);
+        }
+        if (comparator == null) {
+            return;
+        }
+        final int size = size();
+        if ((long) k * (32 - Integer.numberOfLeadingZeros(size)) > size) {
+            final int[] all = new int[size];
+            sortedOrder.toArray(all);
+            sort(all, size);
+            sortedOrder.root = sortedOrder.build(all, 0, size);
+            return;
+        }
+        for (int i = 0; i < k; ++i) {
+            sortedOrder.remove(sortedOrder.rank(nodes[i]));
+        }
+        for (int i = 0; i < k; ++i) {
+            final int node = nodes[i];
+            sortedOrder.reset(node);
+            sortedOrder.insert(upperBound(elements[node]), node);
+        }
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + bound);
+        }
+    }
+
+    /**
+     * @return the number of elements that are less than or equal to {@code e}
+     */
+    @SuppressWarnings("unchecked")
+    private int upperBound(Object e) {
+        int result = 0;
+        int t = sortedOrder.root;
+        while (t != NIL) {
+            if (comparator.compare((E) e, (E) elements[t]) < 0) {
+                t = sortedOrder.left[t];
+            } else {
+                result += sortedOrder.size[sortedOrder.left[t]] + 1;
+                t = sortedOrder.right[t];
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(int a, int b) {
+        return comparator.compare((E) elements[a], (E) elements[b]);
+    }
+
+    private int allocate(Object e) {
+        int node;
+        if (freeList != NIL) {
+            node = freeList;
+            freeList = sourceOrder.left[node];
+        } else {
+            ensureCapacity(1);
+            node = next++;
+        }
+        elements[node] = e;
+        sourceOrder.reset(node);
+        sortedOrder.reset(node);
+        return node;
+    }
+
+    private int[] allocate(List<? extends E> list) {
+        final int[] nodes = new int[list.size()];
+        ensureCapacity(nodes.length);
+        int i = 0;
+        for (E e : list) {
+            nodes[i++] = allocate(e);
+        }
+        return nodes;
+    }
+
+    private void ensureCapacity(int count) {
+        final int required = next + count;
+        if (required > elements.length) {
+            final int capacity = Math.max(required, elements.length * 3 / 2 + 1);
+            elements = Arrays.copyOf(elements, capacity);
+            sourceOrder.grow(capacity);
+            sortedOrder.grow(capacity);
+        }
+    }
+
+    private int nextPriority() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    /*
+     * Stable merge sort of node ids by the comparator, the same algorithm as
+     * in SortHelper.
+     */
+    private void sort(int[] nodes, int length) {
+        if (comparator == null || length < 2) {
+            return;
+        }
+        final int[] aux = Arrays.copyOf(nodes, length);
+        mergeSort(aux, nodes, 0, length);
+    }
+
+    private void mergeSort(int[] src, int[] dest, int low, int high) {
+        final int length = high - low;
+
+        if (length < INSERTIONSORT_THRESHOLD) {
+            for (int i = low; i < high; i++) {
+                for (int j = i; j > low && compare(dest[j - 1], dest[j]) > 0; j--) {
+                    final int t = dest[j];
+                    dest[j] = dest[j - 1];
+                    dest[j - 1] = t;
+                }
+            }
+            return;
+        }
+
+        final int mid = (low + high) >>> 1;
+        mergeSort(dest, src, low, mid);
+        mergeSort(dest, src, mid, high);
+
+        if (compare(src[mid - 1], src[mid]) <= 0) {
+            System.arraycopy(src, low, dest, low, length);
+            return;
+        }
+
+        for (int i = low, p = low, q = mid; i < high; i++) {
+            if (q >= high || p < mid && compare(src[p], src[q]) <= 0) {
+                dest[i] = src[p++];
+            } else {
+                dest[i] = src[q++];
+            }
+        }
+    }
+
+    /**
+     * An implicit treap over the node ids, ordered by position only.
+     */
+    private final class Order {
+        int[] left;
+        int[] right;
+        int[] parent;
+        int[] size;
+        int[] priority;
+        int root = NIL;
+
+        // results of split()
+        int splitLeft;
+        int splitRight;
+
+        void grow(int capacity) {
+            if (left == null) {
+                left = new int[capacity];
+                right = new int[capacity];
+                parent = new int[capacity];
+                size = new int[capacity];
+                priority = new int[capacity];
+            } else {
+                left = Arrays.copyOf(left, capacity);
+                right = Arrays.copyOf(right, capacity);
+                parent = Arrays.copyOf(parent, capacity);
+                size = Arrays.copyOf(size, capacity);
+                priority = Arrays.copyOf(priority, capacity);
+            }
+        }
+
+        int size() {
+            return size[root];
+        }
+
+        void reset(int t) {
+            left[t] = right[t] = parent[t] = NIL;
+            size[t] = 1;
+            priority[t] = nextPriority();
+        }
+
+        void update(int t) {
+            final int l = left[t];
+            final int r = right[t];
+            size[t] = size[l] + size[r] + 1;
+            parent[l] = t;
+            parent[r] = t;
+        }
+
+        int kth(int k) {
+            checkIndex(k, size[root]);
+            int t = root;
+            while (true) {
+                final int l = size[left[t]];
+                if (k < l) {
+                    t = left[t];
+                } else if (k == l) {
+                    return t;
+                } else {
+                    k -= l + 1;
+                    t = right[t];
+                }
+            }
+        }
+
+        int rank(int t) {
+            int result = size[left[t]];
+            while (t != root) {
+                final int p = parent[t];
+                if (right[p] == t) {
+                    result += size[left[p]] + 1;
+                }
+                t = p;
+            }
+            return result;
+        }
+
+        void insert(int pos, int subtree) {
+            split(root, pos);
+            root = merge(merge(splitLeft, subtree), splitRight);
+            parent[root] = NIL;
+        }
+
+        int remove(int pos) {
+            checkIndex(pos, size[root]);
+            split(root, pos + 1);
+            final int tail = splitRight;
+            split(splitLeft, pos);
+            final int node = splitRight;
+            root = merge(splitLeft, tail);
+            parent[root] = NIL;
+            return node;
+        }
+
+        void remove(int from, int to) {
+            split(root, to);
+            final int tail = splitRight;
+            split(splitLeft, from);
+            root = merge(splitLeft, tail);
+            parent[root] = NIL;
+        }
+
+        void split(int t, int k) {
+            if (t == NIL) {
+                splitLeft = splitRight = NIL;
+                return;
+            }
+            final int l = size[left[t]];
+            if (l < k) {
+                split(right[t], k - l - 1);
+                right[t] = splitLeft;
+                update(t);
+                splitLeft = t;
+            } else {
+                split(left[t], k);
+                left[t] = splitRight;
+                update(t);
+                splitRight = t;
+            }
+        }
+
+        int merge(int a, int b) {
+            if (a == NIL) {
+                return b;
+            }
+            if (b == NIL) {
+                return a;
+            }
+            if (priority[a] >= priority[b]) {
+                right[a] = merge(right[a], b);
+                update(a);
+                return a;
+            } else {
+                left[b] = merge(a, left[b]);
+                update(b);
+                return b;
+            }
+        }
+
+        /**
+         * Builds a balanced subtree of the nodes in O(hi - lo), restoring the
+         * heap order of the priorities bottom-up.
+         */
+        int build(int[] nodes, int lo, int hi) {
+            if (lo >= hi) {
+                return NIL;
+            }
+            final int mid = (lo + hi) >>> 1;
+            final int t = nodes[mid];
+            left[t] = build(nodes, lo, mid);
+            right[t] = build(nodes, mid + 1, hi);
+            siftDown(t);
+            update(t);
+            parent[t] = NIL;
+            return t;
+        }
+
+        private void siftDown(int t) {
+            while (true) {
+                final int l = left[t];
+                final int r = right[t];
+                int max = t;
+                if (l != NIL && priority[l] > priority[max]) {
+                    max = l;
+                }
+                if (r != NIL && priority[r] > priority[max]) {
+                    max = r;
+                }
+                if (max == t) {
+                    return;
+                }
+                final int tmp = priority[t];
+                priority[t] = priority[max];
+                priority[max] = tmp;
+                t = max;
+            }
+        }
+
+        void toArray(int[] out) {
+            toArray(root, out, 0);
+        }
+
+        int toArray(int t, int[] out, int pos) {
+            while (t != NIL) {
+                pos = toArray(left[t], out, pos);
+                out[pos++] = t;
+                t = right[t];
+            }
+            return pos;
+        }
+    }
+}
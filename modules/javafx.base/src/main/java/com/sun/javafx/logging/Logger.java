@@ -37,4 +37,22 @@ public class Logger {
     public void incrementCounter(String counter) {}
     public void newPhase(String name) {}
     public void newInput(String name) {}
+
+    /**
+     * Starts a new phase of the pulse on the calling thread. Loggers that
+     * do not track phases get the name of the phase only.
+     */
+    public void newPhase(PulsePhase phase, String name) {
+        newPhase(name);
+    }
+
+    public void incrementCounter(PulseCounter counter, int amount) {}
+
+    /**
+     * @return whether the logger has any use for the free form messages and
+     *         named counters, which are expensive to build
+     */
+    public boolean acceptsMessages() {
+        return true;
+    }
 }
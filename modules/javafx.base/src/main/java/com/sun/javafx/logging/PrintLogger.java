@@ -291,6 +291,15 @@ class PrintLogger extends Logger {
      */
     @Override
     public void incrementCounter(String counter) {
+        incrementCounter(counter, 1);
+    }
+
+    @Override
+    public void incrementCounter(PulseCounter counter, int amount) {
+        incrementCounter(counter.getName(), amount);
+    }
+
+    private void incrementCounter(String counter, int amount) {
         PulseData pulseData;
         if (fxThread == null || Thread.currentThread() == fxThread) {
             if (fxData == null) {
@@ -310,7 +319,7 @@ class PrintLogger extends Logger {
             cval = new Counter();
             counters.put(counter, cval);
         }
-        cval.value += 1;
+        cval.value += amount;
     }
 
     @Override
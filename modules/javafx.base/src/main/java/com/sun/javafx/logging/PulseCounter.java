@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.logging;
+
+/**
+ * The per-pulse counters known to structured pulse loggers. Loggers that
+ * only deal with named counters use {@link #getName()}.
+ */
+public enum PulseCounter {
+    DIRTY_NODES("Nodes synchronized"),
+    NODES_VISITED("Nodes visited during render"),
+    NODES_RENDERED("Nodes rendered"),
+    TEXTURE_UPLOADS("Texture uploads"),
+    DIRTY_REGIONS("Dirty regions"),
+    PAINTED_AREA("Pixels painted"),
+    VIEW_AREA("Pixels in view"),
+    GLYPH_CACHE_HITS("Glyph cache hits"),
+    GLYPH_CACHE_MISSES("Glyph cache misses"),
+    GLYPH_CACHE_CLEARS("Glyph cache clears");
+
+    private final String name;
+
+    private PulseCounter(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
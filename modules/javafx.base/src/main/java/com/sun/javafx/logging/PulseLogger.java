@@ -27,6 +27,8 @@ package com.sun.javafx.logging;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -34,6 +36,19 @@ public class PulseLogger {
 
     public static final boolean PULSE_LOGGING_ENABLED;
 
+    /**
+     * Whether any of the loggers wants free form messages. Code that builds
+     * a message, or counts with a name, checks this flag rather than
+     * {@link #PULSE_LOGGING_ENABLED}, so that structured logging stays cheap.
+     */
+    public static final boolean PULSE_MESSAGES_ENABLED;
+
+    /**
+     * Whether the {@link PulseRecorder} is enabled. The recorder class is
+     * only loaded when it is.
+     */
+    public static final boolean PULSE_RECORDING_ENABLED;
+
     private static final Logger[] loggers;
 
     static {
@@ -42,6 +57,11 @@ public class PulseLogger {
         if (logger != null) {
             list.add(logger);
         }
+        PULSE_RECORDING_ENABLED = AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> Boolean.getBoolean("javafx.pulseRecorder"));
+        if (PULSE_RECORDING_ENABLED) {
+            // not assigned to a Logger, which would load the class to verify
+            list.add(PulseRecorder.getInstance());
+        }
 
 //        // Another optional logger could be added as follows:
 //        try {
@@ -60,6 +80,11 @@ public class PulseLogger {
 
         loggers = list.toArray(new Logger[list.size()]);
         PULSE_LOGGING_ENABLED = loggers.length > 0;
+        boolean messages = false;
+        for (Logger l : loggers) {
+            messages |= l.acceptsMessages();
+        }
+        PULSE_MESSAGES_ENABLED = messages;
     }
 
     public static void pulseStart() {
@@ -104,6 +129,18 @@ public class PulseLogger {
         }
     }
 
+    public static void newPhase(PulsePhase phase, String name) {
+        for (Logger logger: loggers) {
+            logger.newPhase(phase, name);
+        }
+    }
+
+    public static void incrementCounter(PulseCounter counter, int amount) {
+        for (Logger logger: loggers) {
+            logger.incrementCounter(counter, amount);
+        }
+    }
+
     public static void newInput(String name) {
         for (Logger logger: loggers) {
             logger.newInput(name);
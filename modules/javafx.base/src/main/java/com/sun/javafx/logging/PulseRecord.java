@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.logging;
+
+/**
+ * An immutable snapshot of the data recorded by the {@link PulseRecorder}
+ * for one pulse. Times are in nanoseconds.
+ */
+public final class PulseRecord {
+
+    private final long pulse;
+    private final long timestamp;
+    private final long duration;
+    private final boolean rendered;
+    private final long[] phases;
+    private final long[] counters;
+
+    PulseRecord(long pulse, long timestamp, long duration, boolean rendered,
+                long[] phases, long[] counters) {
+        this.pulse = pulse;
+        this.timestamp = timestamp;
+        this.duration = duration;
+        this.rendered = rendered;
+        this.phases = phases;
+        this.counters = counters;
+    }
+
+    /**
+     * @return the number of the pulse, starting at 1
+     */
+    public long getPulse() {
+        return pulse;
+    }
+
+    /**
+     * @return the wall clock time the pulse started at, in milliseconds
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return the time from the start of the pulse to the end of its
+     *         rendering, or to the end of the pulse if nothing was rendered
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return whether the pulse rendered any scene
+     */
+    public boolean isRendered() {
+        return rendered;
+    }
+
+    public long getPhaseDuration(PulsePhase phase) {
+        return phases[phase.ordinal()];
+    }
+
+    public long getCount(PulseCounter counter) {
+        return counters[counter.ordinal()];
+    }
+
+    // Named getters, for the management interface
+
+    public long getCssDuration() {
+        return getPhaseDuration(PulsePhase.CSS);
+    }
+
+    public long getLayoutDuration() {
+        return getPhaseDuration(PulsePhase.LAYOUT);
+    }
+
+    public long getSyncDuration() {
+        return getPhaseDuration(PulsePhase.SYNC);
+    }
+
+    public long getRenderDuration() {
+        return getPhaseDuration(PulsePhase.RENDER);
+    }
+
+    public long getPresentDuration() {
+        return getPhaseDuration(PulsePhase.PRESENT);
+    }
+
+    public long getDirtyNodes() {
+        return getCount(PulseCounter.DIRTY_NODES);
+    }
+
+    public long getNodesVisited() {
+        return getCount(PulseCounter.NODES_VISITED);
+    }
+
+    public long getNodesRendered() {
+        return getCount(PulseCounter.NODES_RENDERED);
+    }
+
+    public long getTextureUploads() {
+        return getCount(PulseCounter.TEXTURE_UPLOADS);
+    }
+
+    public long getDirtyRegions() {
+        return getCount(PulseCounter.DIRTY_REGIONS);
+    }
+
+    public long getPaintedArea() {
+        return getCount(PulseCounter.PAINTED_AREA);
+    }
+
+    public long getViewArea() {
+        return getCount(PulseCounter.VIEW_AREA);
+    }
+
+    public long getGlyphCacheHits() {
+        return getCount(PulseCounter.GLYPH_CACHE_HITS);
+    }
+
+    public long getGlyphCacheMisses() {
+        return getCount(PulseCounter.GLYPH_CACHE_MISSES);
+    }
+
+    public long getGlyphCacheClears() {
+        return getCount(PulseCounter.GLYPH_CACHE_CLEARS);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("PulseRecord[pulse=").append(pulse)
+                .append(", duration=").append(duration / 1000L).append("us");
+        for (PulsePhase phase : PulsePhase.values()) {
+            sb.append(", ").append(phase).append('=').append(phases[phase.ordinal()] / 1000L).append("us");
+        }
+        for (PulseCounter counter : PulseCounter.values()) {
+            sb.append(", ").append(counter).append('=').append(counters[counter.ordinal()]);
+        }
+        return sb.append(rendered ? "]" : ", not rendered]").toString();
+    }
+}
@@ -0,0 +1,425 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.logging;
+
+import com.sun.javafx.logging.jfr.JFRPulseEvent;
+import java.lang.invoke.VarHandle;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records, for every pulse, the time spent in each {@link PulsePhase} and
+ * the values of the {@link PulseCounter}s, without building any string.
+ * Enabled with {@code -Djavafx.pulseRecorder=true}.
+ * <p>
+ * Like the {@link PrintLogger}, the recorder follows a pulse from the FX
+ * thread to the render thread. The FX thread and the render thread each
+ * write their own half of the pulse data, and whichever thread finishes last
+ * publishes the pulse into a fixed size ring buffer, overwriting the oldest
+ * pulse. Publishing never blocks: every slot of the ring is guarded by a
+ * sequence number, and readers discard the slots that are written while
+ * they read them. When the {@code jdk.jfr} module is present, every pulse is
+ * also committed as a {@link JFRPulseEvent} while a recording enables it.
+ */
+public final class PulseRecorder extends Logger {
+
+    /**
+     * A reference to the recorder. This will be null if pulse recording
+     * is not enabled.
+     */
+    private static PulseRecorder pulseRecorder;
+
+    /**
+     * The number of pulses kept in the ring, rounded up to a power of two.
+     */
+    private static final int CAPACITY =
+            AccessController.doPrivileged((PrivilegedAction<Integer>) () -> Integer.getInteger("javafx.pulseRecorder.capacity", 1024));
+
+    /**
+     * The pulse duration in milliseconds above which a pulse is counted as
+     * over budget. It can be changed at runtime with {@link #setBudget(long)}.
+     */
+    private static final int BUDGET =
+            AccessController.doPrivileged((PrivilegedAction<Integer>) () -> Integer.getInteger("javafx.pulseRecorder.budget", 17));
+
+    private static final int PHASES = PulsePhase.values().length;
+    private static final int COUNTERS = PulseCounter.values().length;
+
+    // The layout of a slot of the ring
+    private static final int PULSE = 0;
+    private static final int TIMESTAMP = 1;
+    private static final int DURATION = 2;
+    private static final int RENDERED = 3;
+    private static final int PHASE_BASE = 4;
+    private static final int COUNTER_BASE = PHASE_BASE + PHASES;
+    private static final int FIELDS = COUNTER_BASE + COUNTERS;
+
+    private final int mask;
+    private final long[] ring;
+
+    // the flight recorder event is only defined once a recorder is created
+    private final boolean jfr = JFRPulseEvent.isAvailable();
+
+    /**
+     * The version of every slot: {@code 2 * sequence + 1} while the pulse
+     * with the given sequence is written, {@code 2 * sequence + 2} once it
+     * is complete.
+     */
+    private final AtomicLongArray versions;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final AtomicLong overBudget = new AtomicLong();
+    private final AtomicLong maxDuration = new AtomicLong();
+    private final AtomicLong totalDuration = new AtomicLong();
+    private final AtomicLong published = new AtomicLong();
+    private volatile long budget;
+
+    /**
+     * The pulses handed over to the render thread, in the order they are
+     * rendered.
+     */
+    private final Queue<PulseData> rendering = new ConcurrentLinkedQueue<>();
+
+    // Accessed from the FX thread only
+    private Thread fxThread;
+    private PulseData fxData;
+    private long pulseCount;
+    private PulsePhase fxPhase;
+    private long fxPhaseStart;
+
+    // Accessed from the render thread only
+    private PulsePhase renderPhase;
+    private long renderPhaseStart;
+
+    private PulseRecorder(int capacity, long budget) {
+        final int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        mask = size - 1;
+        ring = new long[size * FIELDS];
+        versions = new AtomicLongArray(size);
+        this.budget = budget;
+    }
+
+    public static PulseRecorder getInstance() {
+        if (pulseRecorder == null) {
+            boolean enabled = AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> Boolean.getBoolean("javafx.pulseRecorder"));
+            if (enabled) {
+                pulseRecorder = new PulseRecorder(CAPACITY, BUDGET * 1000000L);
+            }
+        }
+        return pulseRecorder;
+    }
+
+    /**
+     * Creates a recorder that is not installed in the {@link PulseLogger},
+     * for testing.
+     */
+    static PulseRecorder create(int capacity, long budget) {
+        return new PulseRecorder(capacity, budget);
+    }
+
+    @Override
+    public boolean acceptsMessages() {
+        return false;
+    }
+
+    private boolean isFxThread() {
+        return fxThread == null || Thread.currentThread() == fxThread;
+    }
+
+    @Override
+    public void pulseStart() {
+        if (fxThread == null) {
+            fxThread = Thread.currentThread();
+        }
+        fxData = new PulseData(++pulseCount);
+        fxPhase = null;
+    }
+
+    @Override
+    public void renderStart() {
+        final PulseData data = fxData;
+        if (data == null) {
+            return;
+        }
+        endFxPhase(System.nanoTime());
+        data.rendered = true;
+        // the render thread must not be able to publish the pulse before
+        // the FX thread is done with it
+        data.pending.incrementAndGet();
+        rendering.add(data);
+    }
+
+    @Override
+    public void pulseEnd() {
+        final PulseData data = fxData;
+        if (data == null) {
+            return;
+        }
+        final long now = System.nanoTime();
+        endFxPhase(now);
+        fxData = null;
+        complete(data, now);
+    }
+
+    @Override
+    public void renderEnd() {
+        final PulseData data = rendering.poll();
+        if (data == null) {
+            return;
+        }
+        final long now = System.nanoTime();
+        if (renderPhase != null) {
+            data.renderPhases[renderPhase.ordinal()] += now - renderPhaseStart;
+            renderPhase = null;
+        }
+        complete(data, now);
+    }
+
+    @Override
+    public void newPhase(PulsePhase phase, String name) {
+        final long now = System.nanoTime();
+        if (isFxThread()) {
+            if (fxData != null) {
+                endFxPhase(now);
+                fxPhase = phase;
+                fxPhaseStart = now;
+            }
+        } else {
+            final PulseData data = rendering.peek();
+            if (data != null) {
+                if (renderPhase != null) {
+                    data.renderPhases[renderPhase.ordinal()] += now - renderPhaseStart;
+                }
+                renderPhase = phase;
+                renderPhaseStart = now;
+            }
+        }
+    }
+
+    @Override
+    public void incrementCounter(PulseCounter counter, int amount) {
+        if (isFxThread()) {
+            final PulseData data = fxData;
+            if (data != null) {
+                data.fxCounters[counter.ordinal()] += amount;
+            }
+        } else {
+            final PulseData data = rendering.peek();
+            if (data != null) {
+                data.renderCounters[counter.ordinal()] += amount;
+            }
+        }
+    }
+
+    private void endFxPhase(long now) {
+        if (fxPhase != null) {
+            fxData.fxPhases[fxPhase.ordinal()] += now - fxPhaseStart;
+            fxPhase = null;
+        }
+    }
+
+    private void complete(PulseData data, long now) {
+        if (data.pending.decrementAndGet() == 0) {
+            // both halves are done, merge the render half into the FX half
+            for (int i = 0; i < PHASES; i++) {
+                data.fxPhases[i] += data.renderPhases[i];
+            }
+            for (int i = 0; i < COUNTERS; i++) {
+                data.fxCounters[i] += data.renderCounters[i];
+            }
+            publish(data.pulse, data.timestamp, now - data.startTime, data.rendered,
+                    data.fxPhases, data.fxCounters);
+        }
+    }
+
+    void publish(long pulse, long timestamp, long duration, boolean rendered,
+                 long[] phases, long[] counters) {
+        final long seq = sequence.getAndIncrement();
+        final int slot = (int) seq & mask;
+        final int base = slot * FIELDS;
+
+        versions.set(slot, 2 * seq + 1);
+        VarHandle.storeStoreFence();
+        ring[base + PULSE] = pulse;
+        ring[base + TIMESTAMP] = timestamp;
+        ring[base + DURATION] = duration;
+        ring[base + RENDERED] = rendered ? 1 : 0;
+        System.arraycopy(phases, 0, ring, base + PHASE_BASE, PHASES);
+        System.arraycopy(counters, 0, ring, base + COUNTER_BASE, COUNTERS);
+        versions.set(slot, 2 * seq + 2);
+
+        final boolean over = duration > budget;
+        if (over) {
+            overBudget.incrementAndGet();
+        }
+        maxDuration.accumulateAndGet(duration, Math::max);
+        totalDuration.addAndGet(duration);
+        published.incrementAndGet();
+
+        if (jfr) {
+            JFRPulseEvent.commit(pulse, duration, rendered, over, phases, counters);
+        }
+    }
+
+    private PulseRecord read(long seq) {
+        final int slot = (int) seq & mask;
+        final int base = slot * FIELDS;
+        final long version = versions.get(slot);
+        if (version != 2 * seq + 2) {
+            return null;
+        }
+        final long pulse = ring[base + PULSE];
+        final long timestamp = ring[base + TIMESTAMP];
+        final long duration = ring[base + DURATION];
+        final boolean rendered = ring[base + RENDERED] != 0;
+        final long[] phases = new long[PHASES];
+        final long[] counters = new long[COUNTERS];
+        System.arraycopy(ring, base + PHASE_BASE, phases, 0, PHASES);
+        System.arraycopy(ring, base + COUNTER_BASE, counters, 0, COUNTERS);
+        VarHandle.loadLoadFence();
+        if (versions.get(slot) != version) {
+            return null;
+        }
+        return new PulseRecord(pulse, timestamp, duration, rendered, phases, counters);
+    }
+
+    /**
+     * @return the number of pulses the ring keeps
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Returns the pulses that are in the ring, oldest first. Pulses that are
+     * being written while the ring is read are left out.
+     * @return the recorded pulses
+     */
+    public List<PulseRecord> getRecords() {
+        final long end = sequence.get();
+        final long start = Math.max(0, end - getCapacity());
+        final List<PulseRecord> records = new ArrayList<>((int) (end - start));
+        for (long seq = start; seq < end; seq++) {
+            final PulseRecord record = read(seq);
+            if (record != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * @return the most recent complete pulse, or null if there is none
+     */
+    public PulseRecord getLastRecord() {
+        final long end = sequence.get();
+        for (long seq = end - 1; seq >= 0 && seq >= end - getCapacity(); seq--) {
+            final PulseRecord record = read(seq);
+            if (record != null) {
+                return record;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the number of pulses recorded since the last reset
+     */
+    public long getPulseCount() {
+        return published.get();
+    }
+
+    /**
+     * @return the number of pulses longer than the budget since the last reset
+     */
+    public long getOverBudgetCount() {
+        return overBudget.get();
+    }
+
+    /**
+     * @return the longest pulse since the last reset, in nanoseconds
+     */
+    public long getMaxDuration() {
+        return maxDuration.get();
+    }
+
+    /**
+     * @return the average pulse duration since the last reset, in nanoseconds
+     */
+    public long getAverageDuration() {
+        final long count = published.get();
+        return count == 0 ? 0 : totalDuration.get() / count;
+    }
+
+    /**
+     * @return the budget of a pulse, in nanoseconds
+     */
+    public long getBudget() {
+        return budget;
+    }
+
+    public void setBudget(long budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Resets the statistics. The ring is left as is.
+     */
+    public void resetStatistics() {
+        overBudget.set(0);
+        maxDuration.set(0);
+        totalDuration.set(0);
+        published.set(0);
+    }
+
+    /**
+     * The data of a pulse while it is in flight. Phases and counters are
+     * accumulated separately for each thread, so that no synchronization is
+     * needed until the pulse is complete.
+     */
+    private static final class PulseData {
+        final long pulse;
+        final long timestamp = System.currentTimeMillis();
+        final long startTime = System.nanoTime();
+        final long[] fxPhases = new long[PHASES];
+        final long[] renderPhases = new long[PHASES];
+        final long[] fxCounters = new long[COUNTERS];
+        final long[] renderCounters = new long[COUNTERS];
+        final AtomicInteger pending = new AtomicInteger(1);
+        boolean rendered;
+
+        PulseData(long pulse) {
+            this.pulse = pulse;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.sun.javafx.logging.jfr;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import com.sun.javafx.logging.PulseCounter;
+import com.sun.javafx.logging.PulsePhase;
+
+/**
+ * The flight recorder event committed by the pulse recorder for every pulse,
+ * {@code javafx.Pulse}.
+ * <p>
+ * The event is defined at runtime with {@code jdk.jfr.EventFactory}, through
+ * reflection, so that javafx.base neither depends on the {@code jdk.jfr}
+ * module nor needs it to build. When the module is not present,
+ * {@link #isAvailable()} returns false and nothing is committed. The event
+ * is defined the first time this class is used, which the pulse recorder
+ * only does once it is created.
+ * <p>
+ * Whether the event is enabled is only checked when a recording starts or
+ * stops, so that no reflective call is made for the pulses that are not
+ * recorded.
+ */
+public final class JFRPulseEvent {
+
+    private static final String TIMESPAN = "NANOSECONDS";
+
+    // the fields of the event, in the order of the values set by commit
+    private static final Object[][] FIELDS = {
+        { long.class,    "pulse",          "Pulse",           null,       null },
+        { long.class,    "pulseDuration",  "Pulse Duration",  TIMESPAN,   null },
+        { boolean.class, "rendered",       "Rendered",        null,       null },
+        { boolean.class, "overBudget",     "Over Budget",     null,       null },
+        { long.class,    "css",            "CSS",             TIMESPAN,   null },
+        { long.class,    "layout",         "Layout",          TIMESPAN,   null },
+        { long.class,    "sync",           "Synchronization", TIMESPAN,   null },
+        { long.class,    "render",         "Render",          TIMESPAN,   null },
+        { long.class,    "present",        "Present",         TIMESPAN,   null },
+        { long.class,    "dirtyNodes",     "Dirty Nodes",     null,       null },
+        { long.class,    "nodesVisited",   "Nodes Visited",   null,       null },
+        { long.class,    "nodesRendered",  "Nodes Rendered",  null,       null },
+        { long.class,    "textureUploads", "Texture Uploads", null,       null },
+        { long.class,    "dirtyRegions",   "Dirty Regions",   null,       null },
+        { long.class,    "paintedArea",    "Painted Area",    null,
+          "Number of pixels painted" },
+        { long.class,    "viewArea",       "View Area",       null,
+          "Number of pixels of the views that were painted" },
+        { long.class,    "glyphCacheHits",   "Glyph Cache Hits",   null, null },
+        { long.class,    "glyphCacheMisses", "Glyph Cache Misses", null,
+          "Number of glyphs rasterized into the glyph cache" },
+        { long.class,    "glyphCacheClears", "Glyph Cache Clears", null, null },
+    };
+
+    private static final Object factory;
+    private static final Method newEvent;
+    private static final Method shouldCommit;
+    private static final Method set;
+    private static final Method commit;
+    private static final EnabledListener listener;
+
+    static {
+        final Object[] jfr = AccessController.doPrivileged((PrivilegedAction<Object[]>) JFRPulseEvent::define);
+        factory = jfr != null ? jfr[0] : null;
+        newEvent = jfr != null ? (Method) jfr[1] : null;
+        shouldCommit = jfr != null ? (Method) jfr[2] : null;
+        set = jfr != null ? (Method) jfr[3] : null;
+        commit = jfr != null ? (Method) jfr[4] : null;
+        listener = jfr != null ? (EnabledListener) jfr[5] : null;
+    }
+
+    private JFRPulseEvent() {
+    }
+
+    /**
+     * @return true if the {@code jdk.jfr} module is present and the event
+     * could be defined
+     */
+    public static boolean isAvailable() {
+        return factory != null;
+    }
+
+    /**
+     * @return true if a recording enables the event
+     */
+    public static boolean isEnabled() {
+        return listener != null && listener.enabled;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object[] define() {
+        try {
+            final ClassLoader loader = ClassLoader.getPlatformClassLoader();
+            final Class<?> annotationElement = Class.forName("jdk.jfr.AnnotationElement", true, loader);
+            final Class<?> valueDescriptor = Class.forName("jdk.jfr.ValueDescriptor", true, loader);
+            final Class<?> eventFactory = Class.forName("jdk.jfr.EventFactory", true, loader);
+            final Class<?> event = Class.forName("jdk.jfr.Event", true, loader);
+            final Class<?> eventType = Class.forName("jdk.jfr.EventType", true, loader);
+            final Class<?> flightRecorder = Class.forName("jdk.jfr.FlightRecorder", true, loader);
+            final Class<?> flightRecorderListener = Class.forName("jdk.jfr.FlightRecorderListener", true, loader);
+            final Class<? extends Annotation> name = (Class<? extends Annotation>) Class.forName("jdk.jfr.Name", true, loader);
+            final Class<? extends Annotation> label = (Class<? extends Annotation>) Class.forName("jdk.jfr.Label", true, loader);
+            final Class<? extends Annotation> category = (Class<? extends Annotation>) Class.forName("jdk.jfr.Category", true, loader);
+            final Class<? extends Annotation> description = (Class<? extends Annotation>) Class.forName("jdk.jfr.Description", true, loader);
+            final Class<? extends Annotation> stackTrace = (Class<? extends Annotation>) Class.forName("jdk.jfr.StackTrace", true, loader);
+            final Class<? extends Annotation> timespan = (Class<? extends Annotation>) Class.forName("jdk.jfr.Timespan", true, loader);
+
+            final Constructor<?> newAnnotation = annotationElement.getConstructor(Class.class, Object.class);
+            final Constructor<?> newValue = valueDescriptor.getConstructor(Class.class, String.class, List.class);
+
+            final List<Object> annotations = Arrays.asList(
+                newAnnotation.newInstance(name, "javafx.Pulse"),
+                newAnnotation.newInstance(label, "JavaFX Pulse"),
+                newAnnotation.newInstance(category, new String[] { "JavaFX" }),
+                newAnnotation.newInstance(description, "Time spent in the phases of a JavaFX pulse"),
+                newAnnotation.newInstance(stackTrace, Boolean.FALSE));
+
+            final List<Object> fields = new ArrayList<>();
+            for (Object[] field : FIELDS) {
+                final List<Object> fieldAnnotations = new ArrayList<>();
+                fieldAnnotations.add(newAnnotation.newInstance(label, field[2]));
+                if (field[3] != null) {
+                    fieldAnnotations.add(newAnnotation.newInstance(timespan, field[3]));
+                }
+                if (field[4] != null) {
+                    fieldAnnotations.add(newAnnotation.newInstance(description, field[4]));
+                }
+                fields.add(newValue.newInstance(field[0], field[1], Collections.unmodifiableList(fieldAnnotations)));
+            }
+
+            final Object factory = eventFactory.getMethod("create", List.class, List.class)
+                    .invoke(null, annotations, fields);
+
+            final EnabledListener listener = new EnabledListener(
+                    eventFactory.getMethod("getEventType").invoke(factory),
+                    eventType.getMethod("isEnabled"));
+            final Object proxy = Proxy.newProxyInstance(loader,
+                    new Class<?>[] { flightRecorderListener }, listener);
+            flightRecorder.getMethod("addListener", flightRecorderListener).invoke(null, proxy);
+            // a recording may have started before the listener was added
+            listener.update();
+
+            return new Object[] {
+                factory,
+                eventFactory.getMethod("newEvent"),
+                event.getMethod("shouldCommit"),
+                event.getMethod("set", int.class, Object.class),
+                event.getMethod("commit"),
+                listener
+            };
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            return null;
+        }
+    }
+
+    public static void commit(long pulse, long duration, boolean rendered, boolean overBudget,
+                              long[] phases, long[] counters) {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            final Object event = newEvent.invoke(factory);
+            if (!(Boolean) shouldCommit.invoke(event)) {
+                return;
+            }
+            final Object[] values = {
+                pulse, duration, rendered, overBudget,
+                phases[PulsePhase.CSS.ordinal()],
+                phases[PulsePhase.LAYOUT.ordinal()],
+                phases[PulsePhase.SYNC.ordinal()],
+                phases[PulsePhase.RENDER.ordinal()],
+                phases[PulsePhase.PRESENT.ordinal()],
+                counters[PulseCounter.DIRTY_NODES.ordinal()],
+                counters[PulseCounter.NODES_VISITED.ordinal()],
+                counters[PulseCounter.NODES_RENDERED.ordinal()],
+                counters[PulseCounter.TEXTURE_UPLOADS.ordinal()],
+                counters[PulseCounter.DIRTY_REGIONS.ordinal()],
+                counters[PulseCounter.PAINTED_AREA.ordinal()],
+                counters[PulseCounter.VIEW_AREA.ordinal()],
+                counters[PulseCounter.GLYPH_CACHE_HITS.ordinal()],
+                counters[PulseCounter.GLYPH_CACHE_MISSES.ordinal()],
+                counters[PulseCounter.GLYPH_CACHE_CLEARS.ordinal()]
+            };
+            for (int i = 0; i < values.length; i++) {
+                set.invoke(event, i, values[i]);
+            }
+            commit.invoke(event);
+        } catch (ReflectiveOperationException e) {
+            // the event is dropped
+        }
+    }
+
+    /*
+     * A jdk.jfr.FlightRecorderListener that checks whether the event is
+     * enabled every time a recording changes state. It only touches its own
+     * fields, so that it never waits for JFRPulseEvent to be initialized.
+     */
+    private static final class EnabledListener implements InvocationHandler {
+        private final Object eventType;
+        private final Method isEnabled;
+        volatile boolean enabled;
+
+        EnabledListener(Object eventType, Method isEnabled) {
+            this.eventType = eventType;
+            this.isEnabled = isEnabled;
+        }
+
+        void update() throws ReflectiveOperationException {
+            enabled = (Boolean) isEnabled.invoke(eventType);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "recordingStateChanged":
+                    update();
+                    return null;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "JFRPulseEvent listener";
+                default:
+                    return null;
+            }
+        }
+    }
+}
@@ -25,6 +25,8 @@
 
 package javafx.beans.binding;
 
+import com.sun.javafx.binding.DoubleListenerHelper;
+import javafx.beans.value.DoubleChangeListener;
 import javafx.beans.value.ObservableDoubleValue;
 import javafx.beans.value.ObservableNumberValue;
 import javafx.collections.FXCollections;
@@ -69,6 +71,42 @@ public abstract class DoubleExpression extends NumberExpressionBase implements
         return get();
     }
 
+    /**
+     * Adds a {@link DoubleChangeListener} which will be notified whenever the value
+     * of this expression changes, with the old and the new value as primitive
+     * {@code double} values. If the same listener is added more than once, then
+     * it will be notified more than once.
+     * <p>
+     * The default implementation registers a
+     * {@link javafx.beans.value.ChangeListener ChangeListener} that unboxes
+     * the values. The properties extending
+     * {@link javafx.beans.property.DoublePropertyBase} or
+     * {@link javafx.beans.property.ReadOnlyDoublePropertyBase} notify the
+     * listener without boxing.
+     *
+     * @param listener the listener to register
+     * @throws NullPointerException if the listener is null
+     * @see #removeDoubleChangeListener(DoubleChangeListener)
+     * @since 12
+     */
+    public void addDoubleChangeListener(DoubleChangeListener listener) {
+        addListener(DoubleListenerHelper.adapt(listener));
+    }
+
+    /**
+     * Removes the given {@link DoubleChangeListener}. If it was added more than once,
+     * then only the first occurrence will be removed. If the listener was not
+     * registered, nothing happens.
+     *
+     * @param listener the listener to remove
+     * @throws NullPointerException if the listener is null
+     * @see #addDoubleChangeListener(DoubleChangeListener)
+     * @since 12
+     */
+    public void removeDoubleChangeListener(DoubleChangeListener listener) {
+        removeListener(DoubleListenerHelper.adapt(listener));
+    }
+
     /**
      * Returns a {@code DoubleExpression} that wraps a
      * {@link javafx.beans.value.ObservableDoubleValue}. If the
@@ -25,6 +25,8 @@
 
 package javafx.beans.binding;
 
+import com.sun.javafx.binding.IntegerListenerHelper;
+import javafx.beans.value.IntegerChangeListener;
 import javafx.beans.value.ObservableIntegerValue;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -68,6 +70,42 @@ public abstract class IntegerExpression extends NumberExpressionBase implements
         return get();
     }
 
+    /**
+     * Adds an {@link IntegerChangeListener} which will be notified whenever the value
+     * of this expression changes, with the old and the new value as primitive
+     * {@code int} values. If the same listener is added more than once, then
+     * it will be notified more than once.
+     * <p>
+     * The default implementation registers a
+     * {@link javafx.beans.value.ChangeListener ChangeListener} that unboxes
+     * the values. The properties extending
+     * {@link javafx.beans.property.IntegerPropertyBase} or
+     * {@link javafx.beans.property.ReadOnlyIntegerPropertyBase} notify the
+     * listener without boxing.
+     *
+     * @param listener the listener to register
+     * @throws NullPointerException if the listener is null
+     * @see #removeIntegerChangeListener(IntegerChangeListener)
+     * @since 12
+     */
+    public void addIntegerChangeListener(IntegerChangeListener listener) {
+        addListener(IntegerListenerHelper.adapt(listener));
+    }
+
+    /**
+     * Removes the given {@link IntegerChangeListener}. If it was added more than once,
+     * then only the first occurrence will be removed. If the listener was not
+     * registered, nothing happens.
+     *
+     * @param listener the listener to remove
+     * @throws NullPointerException if the listener is null
+     * @see #addIntegerChangeListener(IntegerChangeListener)
+     * @since 12
+     */
+    public void removeIntegerChangeListener(IntegerChangeListener listener) {
+        removeListener(IntegerListenerHelper.adapt(listener));
+    }
+
     /**
      * Returns a {@code IntegerExpression} that wraps a
      * {@link javafx.beans.value.ObservableIntegerValue}. If the
@@ -29,9 +29,11 @@ import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.beans.binding.IntegerBinding;
 import javafx.beans.value.ChangeListener;
+import javafx.beans.value.IntegerChangeListener;
 import javafx.beans.value.ObservableValue;
 
 import com.sun.javafx.binding.ExpressionHelper;
+import com.sun.javafx.binding.IntegerListenerHelper;
 import java.lang.ref.WeakReference;
 import javafx.beans.WeakListener;
 import javafx.beans.value.ObservableIntegerValue;
@@ -57,6 +59,7 @@ public abstract class IntegerPropertyBase extends IntegerProperty {
     private InvalidationListener listener = null;
     private boolean valid = true;
     private ExpressionHelper<Number> helper = null;
+    private IntegerListenerHelper primitiveHelper = null;
 
     /**
      * The constructor of the {@code IntegerPropertyBase}.
@@ -94,10 +97,32 @@ public abstract class IntegerPropertyBase extends IntegerProperty {
         helper = ExpressionHelper.removeListener(helper, listener);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The listeners are notified without boxing the values, after the
+     * {@link InvalidationListener}s and the {@link ChangeListener}s.
+     * @since 12
+     */
+    @Override
+    public void addIntegerChangeListener(IntegerChangeListener listener) {
+        primitiveHelper = IntegerListenerHelper.addListener(primitiveHelper, this, listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 12
+     */
+    @Override
+    public void removeIntegerChangeListener(IntegerChangeListener listener) {
+        primitiveHelper = IntegerListenerHelper.removeListener(primitiveHelper, listener);
+    }
+
     /**
      * Sends notifications to all attached
-     * {@link javafx.beans.InvalidationListener InvalidationListeners} and
-     * {@link javafx.beans.value.ChangeListener ChangeListeners}.
+     * {@link javafx.beans.InvalidationListener InvalidationListeners},
+     * {@link javafx.beans.value.ChangeListener ChangeListeners} and
+     * {@link javafx.beans.value.IntegerChangeListener IntegerChangeListeners}.
      *
      * This method is called when the value is changed, either manually by
      * calling {@link #set(int)} or in case of a bound property, if the
@@ -105,6 +130,7 @@ public abstract class IntegerPropertyBase extends IntegerProperty {
      */
     protected void fireValueChangedEvent() {
         ExpressionHelper.fireValueChangedEvent(helper);
+        IntegerListenerHelper.fireValueChangedEvent(primitiveHelper);
     }
 
     private void markInvalid() {
@@ -27,8 +27,10 @@ package javafx.beans.property;
 
 import javafx.beans.InvalidationListener;
 import javafx.beans.value.ChangeListener;
+import javafx.beans.value.DoubleChangeListener;
 
 import com.sun.javafx.binding.ExpressionHelper;
+import com.sun.javafx.binding.DoubleListenerHelper;
 
 /**
  * Base class for all readonly properties wrapping a {@code double}. This class provides a default
@@ -40,6 +42,7 @@ import com.sun.javafx.binding.ExpressionHelper;
 public abstract class ReadOnlyDoublePropertyBase extends ReadOnlyDoubleProperty {
 
     ExpressionHelper<Number> helper;
+    private DoubleListenerHelper primitiveHelper;
 
     @Override
     public void addListener(InvalidationListener listener) {
@@ -61,15 +64,38 @@ public abstract class ReadOnlyDoublePropertyBase extends ReadOnlyDoubleProperty
         helper = ExpressionHelper.removeListener(helper, listener);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The listeners are notified without boxing the values, after the
+     * {@link InvalidationListener}s and the {@link ChangeListener}s.
+     * @since 12
+     */
+    @Override
+    public void addDoubleChangeListener(DoubleChangeListener listener) {
+        primitiveHelper = DoubleListenerHelper.addListener(primitiveHelper, this, listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 12
+     */
+    @Override
+    public void removeDoubleChangeListener(DoubleChangeListener listener) {
+        primitiveHelper = DoubleListenerHelper.removeListener(primitiveHelper, listener);
+    }
+
     /**
      * Sends notifications to all attached
-     * {@link javafx.beans.InvalidationListener InvalidationListeners} and
-     * {@link javafx.beans.value.ChangeListener ChangeListeners}.
+     * {@link javafx.beans.InvalidationListener InvalidationListeners},
+     * {@link javafx.beans.value.ChangeListener ChangeListeners} and
+     * {@link javafx.beans.value.DoubleChangeListener DoubleChangeListeners}.
      *
      * This method needs to be called, if the value of this property changes.
      */
     protected void fireValueChangedEvent() {
         ExpressionHelper.fireValueChangedEvent(helper);
+        DoubleListenerHelper.fireValueChangedEvent(primitiveHelper);
     }
 
 }
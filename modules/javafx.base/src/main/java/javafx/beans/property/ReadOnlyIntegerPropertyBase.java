@@ -27,8 +27,10 @@ package javafx.beans.property;
 
 import javafx.beans.InvalidationListener;
 import javafx.beans.value.ChangeListener;
+import javafx.beans.value.IntegerChangeListener;
 
 import com.sun.javafx.binding.ExpressionHelper;
+import com.sun.javafx.binding.IntegerListenerHelper;
 
 /**
  * Base class for all readonly properties wrapping an {@code int}. This class provides a default
@@ -40,6 +42,7 @@ import com.sun.javafx.binding.ExpressionHelper;
 public abstract class ReadOnlyIntegerPropertyBase extends ReadOnlyIntegerProperty {
 
     ExpressionHelper<Number> helper;
+    private IntegerListenerHelper primitiveHelper;
 
     @Override
     public void addListener(InvalidationListener listener) {
@@ -61,15 +64,38 @@ public abstract class ReadOnlyIntegerPropertyBase extends ReadOnlyIntegerPropert
         helper = ExpressionHelper.removeListener(helper, listener);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The listeners are notified without boxing the values, after the
+     * {@link InvalidationListener}s and the {@link ChangeListener}s.
+     * @since 12
+     */
+    @Override
+    public void addIntegerChangeListener(IntegerChangeListener listener) {
+        primitiveHelper = IntegerListenerHelper.addListener(primitiveHelper, this, listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 12
+     */
+    @Override
+    public void removeIntegerChangeListener(IntegerChangeListener listener) {
+        primitiveHelper = IntegerListenerHelper.removeListener(primitiveHelper, listener);
+    }
+
     /**
      * Sends notifications to all attached
-     * {@link javafx.beans.InvalidationListener InvalidationListeners} and
-     * {@link javafx.beans.value.ChangeListener ChangeListeners}.
+     * {@link javafx.beans.InvalidationListener InvalidationListeners},
+     * {@link javafx.beans.value.ChangeListener ChangeListeners} and
+     * {@link javafx.beans.value.IntegerChangeListener IntegerChangeListeners}.
      *
      * This method needs to be called, if the value of this property changes.
      */
     protected void fireValueChangedEvent() {
         ExpressionHelper.fireValueChangedEvent(helper);
+        IntegerListenerHelper.fireValueChangedEvent(primitiveHelper);
     }
 
 }
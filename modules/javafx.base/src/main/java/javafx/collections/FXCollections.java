@@ -55,6 +55,9 @@ import com.sun.javafx.collections.ObservableSetWrapper;
 import com.sun.javafx.collections.MapAdapterChange;
 import com.sun.javafx.collections.ObservableFloatArrayImpl;
 import com.sun.javafx.collections.ObservableIntegerArrayImpl;
+import com.sun.javafx.collections.ObservableDoubleListImpl;
+import com.sun.javafx.collections.ObservableIntegerListImpl;
+import com.sun.javafx.collections.ObservableLongMapWrapper;
 import com.sun.javafx.collections.ObservableSequentialListWrapper;
 import com.sun.javafx.collections.SetAdapterChange;
 import com.sun.javafx.collections.SortableList;
@@ -306,6 +309,48 @@ public class FXCollections {
         return new ObservableFloatArrayImpl(array);
     }
 
+    /**
+     * Creates a new empty observable list of doubles backed by a primitive
+     * array.
+     * @return a newly created ObservableDoubleList
+     * @since 12
+     */
+    public static ObservableDoubleList observableDoubleList() {
+        return new ObservableDoubleListImpl();
+    }
+
+    /**
+     * Creates a new observable list of doubles backed by a primitive array,
+     * with {@code values} copied to it.
+     * @param values the values that will be in the new list
+     * @return a newly created ObservableDoubleList
+     * @since 12
+     */
+    public static ObservableDoubleList observableDoubleList(double... values) {
+        return new ObservableDoubleListImpl(values);
+    }
+
+    /**
+     * Creates a new empty observable list of integers backed by a primitive
+     * array.
+     * @return a newly created ObservableIntegerList
+     * @since 12
+     */
+    public static ObservableIntegerList observableIntegerList() {
+        return new ObservableIntegerListImpl();
+    }
+
+    /**
+     * Creates a new observable list of integers backed by a primitive array,
+     * with {@code values} copied to it.
+     * @param values the values that will be in the new list
+     * @return a newly created ObservableIntegerList
+     * @since 12
+     */
+    public static ObservableIntegerList observableIntegerList(int... values) {
+        return new ObservableIntegerListImpl(values);
+    }
+
     /**
      * Creates a new empty observable list that is backed by an arraylist.
      * @see #observableList(java.util.List)
@@ -367,6 +412,17 @@ public class FXCollections {
         return observableMap(new HashMap<K, V>());
     }
 
+    /**
+     * Creates a new empty observable map with primitive {@code long} keys,
+     * backed by an open addressing hash table.
+     * @param <V> the type of the values
+     * @return a newly created ObservableLongMap
+     * @since 12
+     */
+    public static <V> ObservableLongMap<V> observableLongMap() {
+        return new ObservableLongMapWrapper<>();
+    }
+
     /**
      * Concatenates more observable lists into one. The resulting list
      * would be backed by an arraylist.
@@ -702,6 +758,50 @@ public class FXCollections {
         }
     }
 
+    /**
+     * Starts a transaction on the provided observable list. All the
+     * modifications made to the list until the transaction is closed are
+     * merged and fired as <b>one</b> change notification.
+     * <p>
+     * Only lists extending {@link ObservableListBase}, such as the lists
+     * created by {@link #observableArrayList()}, can merge their changes.
+     * The lists returned by {@link #unmodifiableObservableList},
+     * {@link #checkedObservableList} and {@link #synchronizedObservableList}
+     * report the changes of the list they wrap, so the transaction is started
+     * on that list. For a synchronized list it is started and closed while
+     * holding the lock of the list, and the modifications made by other
+     * threads in the meantime are merged as well. For any other list the
+     * returned transaction has no effect and the changes are reported as they
+     * are made.
+     * @param list the list to modify
+     * @return the transaction, to be closed when the modifications are done
+     * @see ListChangeTransaction
+     * @since 12
+     */
+    public static ListChangeTransaction beginChange(ObservableList<?> list) {
+        if (list == null) {
+            throw new NullPointerException();
+        }
+        Object mutex = null;
+        ObservableList<?> target = list;
+        while (true) {
+            if (target instanceof UnmodifiableObservableListImpl) {
+                target = ((UnmodifiableObservableListImpl<?>) target).backingList;
+            } else if (target instanceof CheckedObservableList) {
+                target = ((CheckedObservableList<?>) target).list;
+            } else if (target instanceof SynchronizedObservableList) {
+                final SynchronizedObservableList<?> synchronizedList = (SynchronizedObservableList<?>) target;
+                if (mutex == null) {
+                    mutex = synchronizedList.mutex;
+                }
+                target = synchronizedList.backingList;
+            } else {
+                break;
+            }
+        }
+        return new ListChangeTransaction(target instanceof ObservableListBase ? (ObservableListBase<?>) target : null, mutex);
+    }
+
     private static class EmptyObservableList<E> extends AbstractList<E> implements ObservableList<E> {
 
         private static final ListIterator iterator = new ListIterator() {
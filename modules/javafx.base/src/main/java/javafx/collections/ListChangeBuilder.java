@@ -450,9 +450,33 @@ final class ListChangeBuilder<E> {
     }
 
     public void nextSet(int idx, E old) {
-        nextRemove(idx, old);
-        nextAdd(idx, idx + 1);
-
+        if (updateChanges != null && !updateChanges.isEmpty()) {
+            nextRemove(idx, old);
+            nextAdd(idx, idx + 1);
+            return;
+        }
+        checkState();
+        checkAddRemoveList();
+        // A set does not move any other element, so unlike a remove followed
+        // by an add it never needs to shift the following sub-changes. This keeps
+        // many scattered sets in one change block O(log n) each.
+        int pos = findSubChange(idx, addRemoveChanges);
+        if (pos >= 0) {
+            return; // the element was added by this change already
+        }
+        pos = ~pos;
+        SubChange<E> change;
+        if (pos > 0 && (change = addRemoveChanges.get(pos - 1)).to == idx) {
+            change.removed.add(old);
+            change.to++;
+        } else if (pos < addRemoveChanges.size() && (change = addRemoveChanges.get(pos)).from == idx + 1) {
+            change.from--;
+            change.removed.add(0, old);
+        } else {
+            ArrayList<E> removedList = new ArrayList<E>();
+            removedList.add(old);
+            addRemoveChanges.add(pos, new SubChange<E>(idx, idx + 1, removedList, EMPTY_PERM, false));
+        }
     }
 
     public void nextUpdate(int idx) {
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.collections;
+
+/**
+ * A block of modifications of an {@link ObservableList} that is reported to
+ * the list's listeners as a single {@link ListChangeListener.Change} when the
+ * transaction is closed. The change may consist of multiple sub-changes, one
+ * for each disjoint range of the list that was modified.
+ * <p>
+ * A transaction is started by {@link FXCollections#beginChange(ObservableList)}
+ * and is meant to be used in a try-with-resources statement:
+ * <pre>{@code
+ * try (ListChangeTransaction tx = FXCollections.beginChange(list)) {
+ *     list.set(3, "a");
+ *     list.remove(17);
+ *     list.add("b");
+ * }
+ * }</pre>
+ * Transactions may be nested, only the outer-most one fires the change.
+ * A transaction has to be closed by the thread that started it, and
+ * closing it more than once has no effect.
+ *
+ * @see FXCollections#beginChange(ObservableList)
+ * @since 12
+ */
+public final class ListChangeTransaction implements AutoCloseable {
+
+    private final ObservableListBase<?> list;
+    // the lock of a synchronized list, or null
+    private final Object mutex;
+    private boolean closed;
+
+    ListChangeTransaction(ObservableListBase<?> list, Object mutex) {
+        this.list = list;
+        this.mutex = mutex;
+        if (list != null) {
+            if (mutex != null) {
+                synchronized (mutex) {
+                    list.beginChange();
+                }
+            } else {
+                list.beginChange();
+            }
+        }
+    }
+
+    /**
+     * Ends the transaction. If this is the outer-most transaction of the list,
+     * the accumulated change is fired to the listeners.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            if (list != null) {
+                if (mutex != null) {
+                    synchronized (mutex) {
+                        list.endChange();
+                    }
+                } else {
+                    list.endChange();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.collections;
+
+/**
+ * {@code ObservableIntegerList} is an {@link ObservableList} of {@code int} values
+ * that stores them in a primitive array rather than as boxed {@code Integer}
+ * objects. The values are only boxed when accessed through the
+ * {@code List<Integer>} methods, so the primitive methods should be preferred for
+ * large data sets. Changes are reported to {@link ListChangeListener}s just
+ * like for any other {@code ObservableList}. The bulk operations report a
+ * single change.
+ *
+ * @see FXCollections#observableIntegerList()
+ * @since 12
+ */
+public interface ObservableIntegerList extends ObservableList<Integer> {
+
+    /**
+     * Gets a single value without boxing it.
+     * @param index index of the element to get
+     * @return the value at the given index
+     * @throws IndexOutOfBoundsException if {@code index} is outside
+     * the list bounds
+     */
+    public int getInt(int index);
+
+    /**
+     * Replaces a single value.
+     * @param index index of the element to replace
+     * @param value the new value
+     * @return the previous value at the given index
+     * @throws IndexOutOfBoundsException if {@code index} is outside
+     * the list bounds
+     */
+    public int set(int index, int value);
+
+    /**
+     * Appends a single value to the end of this list.
+     * @param value the value to append
+     * @return true
+     */
+    public boolean add(int value);
+
+    /**
+     * Inserts a single value at the given position.
+     * @param index the position to insert at
+     * @param value the value to insert
+     * @throws IndexOutOfBoundsException if {@code index} is outside
+     * the range {@code [0, size()]}
+     */
+    public void add(int index, int value);
+
+    /**
+     * Appends the given values to the end of this list. Unlike
+     * {@link #addAll(Object...)} this method does not box the values.
+     * @param values the values to append
+     * @return true if this list changed
+     */
+    public boolean addAll(int[] values);
+
+    /**
+     * Appends a portion of the given array to the end of this list.
+     * @param src the array with the values to append
+     * @param srcIndex the starting position in {@code src}
+     * @param length the number of values to append
+     * @return true if this list changed
+     * @throws ArrayIndexOutOfBoundsException if the portion is outside {@code src}
+     */
+    public boolean addAll(int[] src, int srcIndex, int length);
+
+    /**
+     * Inserts a portion of the given array at the given position.
+     * @param index the position to insert at
+     * @param src the array with the values to insert
+     * @param srcIndex the starting position in {@code src}
+     * @param length the number of values to insert
+     * @return true if this list changed
+     * @throws IndexOutOfBoundsException if {@code index} is outside
+     * the range {@code [0, size()]}
+     * @throws ArrayIndexOutOfBoundsException if the portion is outside {@code src}
+     */
+    public boolean addAll(int index, int[] src, int srcIndex, int length);
+
+    /**
+     * Replaces the content of this list with the given values. Unlike
+     * {@link #setAll(Object...)} this method does not box the values.
+     * @param values the new values
+     * @return true
+     */
+    public boolean setAll(int[] values);
+
+    /**
+     * Replaces the content of this list with a portion of the given array.
+     * @param src the array with the new values
+     * @param srcIndex the starting position in {@code src}
+     * @param length the number of values
+     * @return true
+     * @throws ArrayIndexOutOfBoundsException if the portion is outside {@code src}
+     */
+    public boolean setAll(int[] src, int srcIndex, int length);
+
+    /**
+     * Copies a portion of this list into the {@code dest} array.
+     * @param srcIndex the starting position in this list
+     * @param dest the destination array
+     * @param destIndex the starting position in {@code dest}
+     * @param length the number of values to copy
+     * @throws IndexOutOfBoundsException if the portion is outside this list
+     * @throws ArrayIndexOutOfBoundsException if the portion is outside {@code dest}
+     */
+    public void copyTo(int srcIndex, int[] dest, int destIndex, int length);
+
+    /**
+     * Returns the values of this list in a primitive array.
+     * @param dest the array to store the values in, if it is big enough,
+     * may be null
+     * @return {@code dest} or a newly allocated array holding the values
+     */
+    public int[] toArray(int[] dest);
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.collections;
+
+/**
+ * {@code ObservableLongMap} is an {@link ObservableMap} with {@code long} keys
+ * that stores the keys in a primitive array rather than as boxed {@code Long}
+ * objects. The keys are only boxed when accessed through the
+ * {@code Map<Long, V>} methods or when a {@link MapChangeListener} is notified,
+ * so the primitive methods should be preferred for large data sets.
+ *
+ * @param <V> the type of the values
+ * @see FXCollections#observableLongMap()
+ * @since 12
+ */
+public interface ObservableLongMap<V> extends ObservableMap<Long, V> {
+
+    /**
+     * Returns the value to which the key is mapped.
+     * @param key the key
+     * @return the value or null if the map contains no mapping for the key
+     */
+    public V get(long key);
+
+    /**
+     * Associates the value with the key.
+     * @param key the key
+     * @param value the value
+     * @return the previous value or null if there was no mapping for the key
+     */
+    public V put(long key, V value);
+
+    /**
+     * Removes the mapping for the key.
+     * @param key the key
+     * @return the previous value or null if there was no mapping for the key
+     */
+    public V remove(long key);
+
+    /**
+     * Returns true if this map contains a mapping for the key.
+     * @param key the key
+     * @return true if this map contains a mapping for the key
+     */
+    public boolean containsKey(long key);
+}
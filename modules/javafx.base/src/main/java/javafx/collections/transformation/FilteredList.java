@@ -25,6 +25,7 @@
 
 package javafx.collections.transformation;
 
+import com.sun.javafx.collections.IndexedFilterTree;
 import com.sun.javafx.collections.NonIterableChange.GenericAddRemoveChange;
 import com.sun.javafx.collections.SortHelper;
 import java.util.ArrayList;
@@ -32,7 +33,11 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
 import javafx.beans.NamedArg;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ObjectPropertyBase;
@@ -43,6 +48,23 @@ import javafx.collections.ObservableList;
  * Wraps an ObservableList and filters its content using the provided Predicate.
  * All changes in the ObservableList are propagated immediately
  * to the FilteredList.
+ * <p>
+ * By default the indexes of the matching elements are kept in a flat array,
+ * which gives constant time {@link #get(int)} but makes every addition or
+ * removal in the source list linear in the size of the list. A FilteredList
+ * created as <em>indexed</em> keeps them in a balanced tree instead, so that
+ * additions, removals, {@link #getSourceIndex(int)} and {@link #getViewIndex(int)}
+ * all run in O(log n). This is preferable for large source lists that change
+ * often. Both modes report exactly the same changes.
+ * <p>
+ * Changing the predicate of a large list may take long, as the predicate is
+ * evaluated for every element of the source list. A {@linkplain #setParallel(boolean)
+ * parallel} FilteredList evaluates the predicate on the common
+ * {@link ForkJoinPool} and {@link #setPredicateAsync(Predicate, Executor)}
+ * captures the elements immediately and evaluates it in the background. The
+ * result is published on the thread that owns the source list, where the
+ * predicate is evaluated again if the source list changed in the meantime. The
+ * predicate must be safe to call from multiple threads in both cases.
  *
  * @see TransformationList
  * @since JavaFX 8.0
@@ -52,9 +74,23 @@ public final class FilteredList<E> extends TransformationList<E, E>{
     private int[] filtered;
     private int size;
 
+    // non-null in the indexed mode, replaces filtered and size
+    private final IndexedFilterTree tree;
+
     private SortHelper helper;
     private static final Predicate ALWAYS_TRUE = t -> true;
 
+    // the minimal source size for which the predicate is evaluated in parallel
+    private static final int PARALLEL_THRESHOLD = 8192;
+
+    private boolean parallel;
+    // matches computed asynchronously, used by the next refilter()
+    private boolean[] pendingMatches;
+    // incremented on every source change, to detect stale asynchronous results
+    private int sourceStamp;
+    // the last asynchronous request, older requests are cancelled
+    private CompletableFuture<Void> pendingRequest;
+
     /**
      * Constructs a new FilteredList wrapper around the source list.
      * The provided predicate will match the elements in the source list that will be visible.
@@ -63,10 +99,37 @@ public final class FilteredList<E> extends TransformationList<E, E>{
      * @param predicate the predicate to match the elements or null to match all elements.
      */
     public FilteredList(@NamedArg("source") ObservableList<E> source, @NamedArg("predicate") Predicate<? super E> predicate) {
+        this(source, predicate, false);
+    }
+
+    /**
+     * Constructs a new FilteredList wrapper around the source list.
+     * The provided predicate will match the elements in the source list that will be visible.
+     * If the predicate is null, all elements will be matched and the list is equal to the source list.
+     * <p>
+     * An indexed FilteredList keeps the indexes of the matched elements in a
+     * balanced tree, so that changes of the source list are processed in
+     * O(log n) per changed element, at the cost of O(log n) element access.
+     * @param source the source list
+     * @param predicate the predicate to match the elements or null to match all elements.
+     * @param indexed true if the matched elements should be indexed by a balanced tree
+     * @since 12
+     */
+    public FilteredList(@NamedArg("source") ObservableList<E> source, @NamedArg("predicate") Predicate<? super E> predicate,
+            @NamedArg("indexed") boolean indexed) {
         super(source);
-        filtered = new int[source.size() * 3 / 2  + 1];
+        if (indexed) {
+            tree = new IndexedFilterTree();
+        } else {
+            tree = null;
+            filtered = new int[source.size() * 3 / 2  + 1];
+        }
         if (predicate != null) {
             setPredicate(predicate);
+        } else if (indexed) {
+            final boolean[] all = new boolean[source.size()];
+            Arrays.fill(all, true);
+            tree.insert(0, all, 0, all.length);
         } else {
             for (size = 0; size < source.size(); size++) {
                 filtered[size] = size;
@@ -99,6 +162,8 @@ public final class FilteredList<E> extends TransformationList<E, E>{
             predicate = new ObjectPropertyBase<Predicate<? super E>>() {
                 @Override
                 protected void invalidated() {
+                    // a published request has already been cleared
+                    cancelPendingRequest();
                     refilter();
                 }
 
@@ -122,9 +187,112 @@ public final class FilteredList<E> extends TransformationList<E, E>{
     }
 
     public final void setPredicate(Predicate<? super E> predicate) {
+        // also when the predicate does not change
+        cancelPendingRequest();
         predicateProperty().set(predicate);
     }
 
+    /**
+     * Sets whether the predicate is evaluated in parallel, on the common
+     * {@link ForkJoinPool}, when a new predicate is set. Only large source
+     * lists are filtered in parallel, the changes are still reported on
+     * the thread that sets the predicate.
+     * @param value true to evaluate the predicate in parallel
+     * @since 12
+     */
+    public final void setParallel(boolean value) {
+        parallel = value;
+    }
+
+    /**
+     * Returns whether the predicate is evaluated in parallel when a new
+     * predicate is set.
+     * @return true if the predicate is evaluated in parallel
+     * @see #setParallel(boolean)
+     * @since 12
+     */
+    public final boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Sets the predicate without blocking the calling thread while the
+     * predicate is evaluated. The elements of the source list are captured
+     * immediately and the predicate is evaluated in parallel on the common
+     * {@link ForkJoinPool}. The result is then published using the provided
+     * executor, which must run the task on the thread that owns the source
+     * list, typically {@code Platform::runLater}. Only then the predicate
+     * property changes and the listeners are notified. If the source list
+     * changed in the meantime, the predicate is evaluated again during
+     * publication.
+     * <p>
+     * The returned future can be cancelled before the result is published,
+     * in which case the predicate is not changed. A request is also cancelled
+     * when a newer request is made before it is published.
+     * @param predicate the predicate to match the elements or null to match all elements
+     * @param executor the executor to publish the result with
+     * @return a future that is completed once the predicate is set
+     * @since 12
+     */
+    public final CompletableFuture<Void> setPredicateAsync(Predicate<? super E> predicate, Executor executor) {
+        final Object[] elements = getSource().toArray();
+        @SuppressWarnings("unchecked")
+        final Predicate<? super E> pred = predicate != null ? predicate : ALWAYS_TRUE;
+        final int stamp = sourceStamp;
+        final CompletableFuture<Void> request = new CompletableFuture<>();
+        cancelPendingRequest();
+        pendingRequest = request;
+        ForkJoinPool.commonPool().execute(() -> {
+            try {
+                final boolean[] matches = match(elements, pred, request);
+                if (request.isDone()) {
+                    return;
+                }
+                executor.execute(() -> {
+                    if (request.isDone()) {
+                        return;
+                    }
+                    if (pendingRequest == request) {
+                        pendingRequest = null;
+                    }
+                    try {
+                        if (stamp == sourceStamp) {
+                            pendingMatches = matches;
+                        }
+                        setPredicate(predicate);
+                        request.complete(null);
+                    } catch (RuntimeException e) {
+                        request.completeExceptionally(e);
+                    } finally {
+                        pendingMatches = null;
+                    }
+                });
+            } catch (Throwable t) {
+                request.completeExceptionally(t);
+            }
+        });
+        return request;
+    }
+
+    private void cancelPendingRequest() {
+        if (pendingRequest != null) {
+            pendingRequest.cancel(false);
+            pendingRequest = null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> boolean[] match(Object[] elements, Predicate<? super E> pred,
+            CompletableFuture<?> request) {
+        final boolean[] matches = new boolean[elements.length];
+        IntStream.range(0, elements.length).parallel().forEach(i -> {
+            if (request == null || !request.isDone()) {
+                matches[i] = pred.test((E) elements[i]);
+            }
+        });
+        return matches;
+    }
+
     private Predicate<? super E> getPredicateImpl() {
         if (getPredicate() != null) {
             return getPredicate();
@@ -132,16 +300,40 @@ public final class FilteredList<E> extends TransformationList<E, E>{
         return ALWAYS_TRUE;
     }
 
+    /**
+     * Returns true if this FilteredList keeps the matched elements in a
+     * balanced tree.
+     * @return true if this list is indexed
+     * @see #FilteredList(ObservableList, Predicate, boolean)
+     * @since 12
+     */
+    public final boolean isIndexed() {
+        return tree != null;
+    }
+
     @Override
     protected void sourceChanged(Change<? extends E> c) {
+        ++sourceStamp;
         beginChange();
         while (c.next()) {
             if (c.wasPermutated()) {
-                permutate(c);
+                if (tree != null) {
+                    permutateIndexed(c);
+                } else {
+                    permutate(c);
+                }
             } else if (c.wasUpdated()) {
-                update(c);
+                if (tree != null) {
+                    updateIndexed(c);
+                } else {
+                    update(c);
+                }
             } else {
-                addRemove(c);
+                if (tree != null) {
+                    addRemoveIndexed(c);
+                } else {
+                    addRemove(c);
+                }
             }
         }
         endChange();
@@ -154,7 +346,7 @@ public final class FilteredList<E> extends TransformationList<E, E>{
      */
     @Override
     public int size() {
-        return size;
+        return tree != null ? tree.matchedCount() : size;
     }
 
     /**
@@ -166,14 +358,17 @@ public final class FilteredList<E> extends TransformationList<E, E>{
      */
     @Override
     public E get(int index) {
-        if (index >= size) {
-            throw new IndexOutOfBoundsException();
-        }
-        return getSource().get(filtered[index]);
+        return getSource().get(getSourceIndex(index));
     }
 
     @Override
     public int getSourceIndex(int index) {
+        if (tree != null) {
+            if (index < 0 || index >= tree.matchedCount()) {
+                throw new IndexOutOfBoundsException();
+            }
+            return tree.indexOfMatch(index);
+        }
         if (index >= size) {
             throw new IndexOutOfBoundsException();
         }
@@ -182,6 +377,9 @@ public final class FilteredList<E> extends TransformationList<E, E>{
 
     @Override
     public int getViewIndex(int index) {
+        if (tree != null) {
+            return tree.viewIndex(index);
+        }
         return Arrays.binarySearch(filtered, 0, size, index);
     }
 
@@ -317,26 +515,154 @@ public final class FilteredList<E> extends TransformationList<E, E>{
         }
     }
 
+    private void permutateIndexed(Change<? extends E> c) {
+        final int sourceFrom = c.getFrom();
+        final int sourceTo = c.getTo();
+        final int from = tree.matchedBefore(sourceFrom);
+        final int to = tree.matchedBefore(sourceTo);
+
+        if (to > from) {
+            final boolean[] flags = new boolean[sourceTo - sourceFrom];
+            final int[] perm = new int[to - from];
+            for (int i = from; i < to; ++i) {
+                perm[i - from] = c.getPermutation(tree.indexOfMatch(i)) - sourceFrom;
+                flags[perm[i - from]] = true;
+            }
+            // position of the matched elements after the permutation
+            final int[] viewIndexes = new int[flags.length];
+            for (int i = 0, pos = from; i < flags.length; ++i) {
+                if (flags[i]) {
+                    viewIndexes[i] = pos++;
+                }
+            }
+            for (int i = 0; i < perm.length; ++i) {
+                perm[i] = viewIndexes[perm[i]];
+            }
+            tree.remove(sourceFrom, sourceTo);
+            tree.insert(sourceFrom, flags, 0, flags.length);
+            nextPermutation(from, to, perm);
+        }
+    }
+
+    private void addRemoveIndexed(Change<? extends E> c) {
+        Predicate<? super E> pred = getPredicateImpl();
+        final int sourceFrom = c.getFrom();
+        final int removedSize = c.getRemovedSize();
+        final int addedSize = c.getAddedSize();
+        final int from = tree.matchedBefore(sourceFrom);
+        final int to = tree.matchedBefore(sourceFrom + removedSize);
+
+        for (int i = from; i < to; ++i) {
+            nextRemove(from, c.getRemoved().get(tree.indexOfMatch(i) - sourceFrom));
+        }
+        tree.remove(sourceFrom, sourceFrom + removedSize);
+
+        if (addedSize == 1) {
+            final boolean match = pred.test(getSource().get(sourceFrom));
+            tree.insert(sourceFrom, match);
+            if (match) {
+                nextAdd(from, from + 1);
+            }
+        } else if (addedSize > 0) {
+            final boolean[] flags = new boolean[addedSize];
+            int pos = from;
+            ListIterator<? extends E> it = getSource().listIterator(sourceFrom);
+            for (int i = 0; i < addedSize; ++i) {
+                if (pred.test(it.next())) {
+                    flags[i] = true;
+                    ++pos;
+                }
+            }
+            tree.insert(sourceFrom, flags, 0, addedSize);
+            if (pos > from) {
+                nextAdd(from, pos);
+            }
+        }
+    }
+
+    private void updateIndexed(Change<? extends E> c) {
+        Predicate<? super E> pred = getPredicateImpl();
+        final int sourceTo = c.getTo();
+        int sourceFrom = c.getFrom();
+        int pos = tree.matchedBefore(sourceFrom);
+        ListIterator<? extends E> it = getSource().listIterator(sourceFrom);
+        for (; sourceFrom < sourceTo; ++sourceFrom) {
+            E el = it.next();
+            final boolean match = pred.test(el);
+            if (tree.isMatched(sourceFrom)) {
+                if (!match) {
+                    nextRemove(pos, el);
+                    tree.setMatched(sourceFrom, false);
+                } else {
+                    nextUpdate(pos);
+                    ++pos;
+                }
+            } else if (match) {
+                nextAdd(pos, pos + 1);
+                tree.setMatched(sourceFrom, true);
+                ++pos;
+            }
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private void refilter() {
+        boolean[] matches = pendingMatches;
+        pendingMatches = null;
+        if (matches == null && parallel && getSource().size() >= PARALLEL_THRESHOLD) {
+            matches = match(getSource().toArray(), getPredicateImpl(), null);
+        }
+        if (tree != null) {
+            refilterIndexed(matches);
+            return;
+        }
         ensureSize(getSource().size());
         List<E> removed = null;
         if (hasListeners()) {
             removed = new ArrayList<>(this);
         }
         size = 0;
-        int i = 0;
-        Predicate<? super E> pred = getPredicateImpl();
-        for (Iterator<? extends E> it = getSource().iterator();it.hasNext(); ) {
-            final E next = it.next();
-            if (pred.test(next)) {
-                filtered[size++] = i;
+        if (matches != null) {
+            for (int i = 0; i < matches.length; ++i) {
+                if (matches[i]) {
+                    filtered[size++] = i;
+                }
+            }
+        } else {
+            int i = 0;
+            Predicate<? super E> pred = getPredicateImpl();
+            for (Iterator<? extends E> it = getSource().iterator();it.hasNext(); ) {
+                final E next = it.next();
+                if (pred.test(next)) {
+                    filtered[size++] = i;
+                }
+                ++i;
             }
-            ++i;
         }
         if (hasListeners()) {
             fireChange(new GenericAddRemoveChange<>(0, size, removed, this));
         }
     }
 
+    private void refilterIndexed(boolean[] matches) {
+        List<E> removed = null;
+        if (hasListeners()) {
+            removed = new ArrayList<>(this);
+        }
+        boolean[] flags = matches;
+        if (flags == null) {
+            flags = new boolean[getSource().size()];
+            int i = 0;
+            Predicate<? super E> pred = getPredicateImpl();
+            for (Iterator<? extends E> it = getSource().iterator();it.hasNext(); ) {
+                flags[i++] = pred.test(it.next());
+            }
+        }
+        tree.clear();
+        tree.insert(0, flags, 0, flags.length);
+        if (hasListeners()) {
+            fireChange(new GenericAddRemoveChange<>(0, tree.matchedCount(), removed, this));
+        }
+    }
+
 }
@@ -27,12 +27,16 @@ package javafx.collections.transformation;
 
 import com.sun.javafx.collections.NonIterableChange.SimplePermutationChange;
 import com.sun.javafx.collections.SortHelper;
+import com.sun.javafx.collections.SortedIndexTree;
 import com.sun.javafx.collections.SourceAdapterChange;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import javafx.beans.NamedArg;
 import javafx.beans.property.ObjectProperty;
@@ -47,6 +51,21 @@ import javafx.collections.ObservableList;
  *
  * Note: invalid SortedList (as a result of broken comparison) doesn't send any notification to listeners on becoming
  * valid again.
+ * <p>
+ * By default the sorted elements are kept in an array, so that every addition
+ * or removal in the source list is linear in the size of the list. A SortedList
+ * created as <em>indexed</em> keeps them in a balanced tree instead, so that
+ * an addition or removal takes O(log n) time and creates no per-element garbage,
+ * and a large addition is merged into the sorted elements in a single pass.
+ * Element access is then O(log n) as well.
+ * <p>
+ * Changing the comparator of a large list may take long. A {@linkplain
+ * #setParallel(boolean) parallel} SortedList sorts its elements on the common
+ * {@link ForkJoinPool} and {@link #setComparatorAsync(Comparator, Executor)}
+ * captures them immediately and sorts them in the background. The result is
+ * published on the thread that owns the source list, where the elements are
+ * sorted again if the source list changed in the meantime. The comparator must
+ * be safe to call from multiple threads in both cases.
  *
  * @see TransformationList
  * @since JavaFX 8.0
@@ -62,6 +81,19 @@ public final class SortedList<E> extends TransformationList<E, E>{
 
     private final Element<E> tempElement = new Element<>(null, -1);
 
+    // non-null in the indexed mode, replaces sorted, perm and size
+    private final SortedIndexTree<E> tree;
+
+    // the minimal size for which the elements are sorted in parallel
+    private static final int PARALLEL_THRESHOLD = 8192;
+
+    private boolean parallel;
+    // elements sorted asynchronously, used by the next doSortWithPermutationChange()
+    private Element<E>[] pendingSorted;
+    // incremented on every source change, to detect stale asynchronous results
+    private int sourceStamp;
+    // the last asynchronous request, older requests are cancelled
+    private CompletableFuture<Void> pendingRequest;
 
     /**
      * Creates a new SortedList wrapped around the source list.
@@ -70,15 +102,39 @@ public final class SortedList<E> extends TransformationList<E, E>{
      * @param source a list to wrap
      * @param comparator a comparator to use or null for unordered List
      */
-    @SuppressWarnings("unchecked")
     public SortedList(@NamedArg("source") ObservableList<? extends E> source, @NamedArg("comparator") Comparator<? super E> comparator) {
+        this(source, comparator, false);
+    }
+
+    /**
+     * Creates a new SortedList wrapped around the source list.
+     * The source list will be sorted using the comparator provided. If null is provided, the list
+     * stays unordered and is equal to the source list.
+     * <p>
+     * An indexed SortedList keeps the elements in a balanced tree, so that changes of
+     * the source list are processed in O(log n) per changed element, at the cost of
+     * O(log n) element access.
+     * @param source a list to wrap
+     * @param comparator a comparator to use or null for unordered List
+     * @param indexed true if the elements should be kept in a balanced tree
+     * @since 12
+     */
+    @SuppressWarnings("unchecked")
+    public SortedList(@NamedArg("source") ObservableList<? extends E> source, @NamedArg("comparator") Comparator<? super E> comparator,
+            @NamedArg("indexed") boolean indexed) {
         super(source);
-        sorted = (Element<E>[]) new Element[source.size() *3/2 + 1];
-        perm = new int[sorted.length];
-        size = source.size();
-        for (int i = 0; i < size; ++i) {
-            sorted[i] = new Element<E>(source.get(i), i);
-            perm[i] = i;
+        if (indexed) {
+            tree = new SortedIndexTree<>();
+            tree.setAll(source);
+        } else {
+            tree = null;
+            sorted = (Element<E>[]) new Element[source.size() *3/2 + 1];
+            perm = new int[sorted.length];
+            size = source.size();
+            for (int i = 0; i < size; ++i) {
+                sorted[i] = new Element<E>(source.get(i), i);
+                perm[i] = i;
+            }
         }
         if (comparator != null) {
             setComparator(comparator);
@@ -95,22 +151,49 @@ public final class SortedList<E> extends TransformationList<E, E>{
         this(source, (Comparator)null);
     }
 
+    /**
+     * Returns true if this SortedList keeps its elements in a balanced tree.
+     * @return true if this list is indexed
+     * @see #SortedList(ObservableList, Comparator, boolean)
+     * @since 12
+     */
+    public final boolean isIndexed() {
+        return tree != null;
+    }
+
     @Override
     protected void sourceChanged(Change<? extends E> c) {
+        ++sourceStamp;
         if (elementComparator != null) {
             beginChange();
             while (c.next()) {
                 if (c.wasPermutated()) {
-                    updatePermutationIndexes(c);
+                    if (tree != null) {
+                        permuteIndexed(c);
+                    } else {
+                        updatePermutationIndexes(c);
+                    }
                 } else if (c.wasUpdated()) {
-                    update(c);
+                    if (tree != null) {
+                        updateIndexed(c);
+                    } else {
+                        update(c);
+                    }
                 } else {
-                    addRemove(c);
+                    if (tree != null) {
+                        addRemoveIndexed(c);
+                    } else {
+                        addRemove(c);
+                    }
                 }
             }
             endChange();
         } else {
-            updateUnsorted(c);
+            if (tree != null) {
+                updateUnsortedIndexed(c);
+            } else {
+                updateUnsorted(c);
+            }
             fireChange(new SourceAdapterChange<>(this, c));
         }
     };
@@ -127,6 +210,8 @@ public final class SortedList<E> extends TransformationList<E, E>{
 
                 @Override
                 protected void invalidated() {
+                    // a published request has already been cleared
+                    cancelPendingRequest();
                     Comparator<? super E> current = get();
                     elementComparator = current != null ? new ElementComparator<>(current) : null;
                     doSortWithPermutationChange();
@@ -152,9 +237,142 @@ public final class SortedList<E> extends TransformationList<E, E>{
     }
 
     public final void setComparator(Comparator<? super E> comparator) {
+        // also when the comparator does not change
+        cancelPendingRequest();
         comparatorProperty().set(comparator);
     }
 
+    /**
+     * Sets whether the elements are sorted in parallel, on the common
+     * {@link ForkJoinPool}, when a new comparator is set. Only large lists
+     * are sorted in parallel, the permutation is still reported on the
+     * thread that sets the comparator.
+     * @param value true to sort in parallel
+     * @since 12
+     */
+    public final void setParallel(boolean value) {
+        parallel = value;
+    }
+
+    /**
+     * Returns whether the elements are sorted in parallel when a new
+     * comparator is set.
+     * @return true if the elements are sorted in parallel
+     * @see #setParallel(boolean)
+     * @since 12
+     */
+    public final boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Sets the comparator without blocking the calling thread while the
+     * elements are sorted. The elements are captured immediately and sorted
+     * in parallel on the common {@link ForkJoinPool}. The result is then
+     * published using the provided executor, which must run the task on the
+     * thread that owns the source list, typically {@code Platform::runLater}.
+     * Only then the comparator property changes and a single permutation is
+     * reported to the listeners. If the source list changed in the meantime,
+     * the elements are sorted again during publication.
+     * <p>
+     * The returned future can be cancelled before the result is published,
+     * in which case the comparator is not changed. A request is also cancelled
+     * when a newer request is made before it is published.
+     * @param comparator a comparator to use or null for unordered List
+     * @param executor the executor to publish the result with
+     * @return a future that is completed once the comparator is set
+     * @since 12
+     */
+    public final CompletableFuture<Void> setComparatorAsync(Comparator<? super E> comparator, Executor executor) {
+        final Element<E>[] elements = comparator != null ? snapshot() : null;
+        final int stamp = sourceStamp;
+        final CompletableFuture<Void> request = new CompletableFuture<>();
+        cancelPendingRequest();
+        pendingRequest = request;
+        ForkJoinPool.commonPool().execute(() -> {
+            try {
+                if (elements != null) {
+                    Arrays.parallelSort(elements, new ElementComparator<>(comparator));
+                }
+                if (request.isDone()) {
+                    return;
+                }
+                executor.execute(() -> {
+                    if (request.isDone()) {
+                        return;
+                    }
+                    if (pendingRequest == request) {
+                        pendingRequest = null;
+                    }
+                    try {
+                        if (stamp == sourceStamp) {
+                            pendingSorted = elements;
+                        }
+                        setComparator(comparator);
+                        request.complete(null);
+                    } catch (RuntimeException e) {
+                        request.completeExceptionally(e);
+                    } finally {
+                        pendingSorted = null;
+                    }
+                });
+            } catch (Throwable t) {
+                request.completeExceptionally(t);
+            }
+        });
+        return request;
+    }
+
+    private void cancelPendingRequest() {
+        if (pendingRequest != null) {
+            pendingRequest.cancel(false);
+            pendingRequest = null;
+        }
+    }
+
+    /**
+     * Copies the elements in the current order. In the default mode these are
+     * the elements themselves, which stay valid until the source changes.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Element<E>[] snapshot() {
+        if (tree == null) {
+            return Arrays.copyOf(sorted, size);
+        }
+        final int n = tree.size();
+        final Element<E>[] elements = (Element<E>[]) new Element[n];
+        for (int i = 0; i < n; ++i) {
+            elements[i] = new Element<>(tree.get(i), tree.getSourceIndex(i));
+        }
+        return elements;
+    }
+
+    /**
+     * Applies the order of the elements sorted by the current comparator,
+     * as copied by snapshot().
+     */
+    private void applySorted(Element<E>[] order) {
+        final int n = order.length;
+        int[] p;
+        if (tree != null) {
+            final int[] sourceIndexes = new int[n];
+            for (int i = 0; i < n; ++i) {
+                sourceIndexes[i] = order[i].index;
+            }
+            p = tree.setComparator(getComparator(), sourceIndexes);
+        } else {
+            p = new int[n];
+            for (int i = 0; i < n; ++i) {
+                p[perm[order[i].index]] = i;
+            }
+            for (int i = 0; i < n; ++i) {
+                sorted[i] = order[i];
+                perm[order[i].index] = i;
+            }
+        }
+        fireChange(new SimplePermutationChange<>(0, n, p, this));
+    }
+
     /**
      * Returns the element at the specified position in this list.
      *
@@ -164,6 +382,9 @@ public final class SortedList<E> extends TransformationList<E, E>{
      */
     @Override
     public E get(int index) {
+        if (tree != null) {
+            return tree.get(index);
+        }
         if (index >= size) {
             throw new IndexOutOfBoundsException();
         }
@@ -177,11 +398,28 @@ public final class SortedList<E> extends TransformationList<E, E>{
      */
     @Override
     public int size() {
-        return size;
+        return tree != null ? tree.size() : size;
     }
 
     private void doSortWithPermutationChange() {
-        if (elementComparator != null) {
+        Element<E>[] order = pendingSorted;
+        pendingSorted = null;
+        if (elementComparator != null && order == null && parallel && size() >= PARALLEL_THRESHOLD) {
+            order = snapshot();
+            Arrays.parallelSort(order, elementComparator);
+        }
+        if (elementComparator != null && order != null) {
+            applySorted(order);
+        } else if (tree != null) {
+            int[] perm = tree.setComparator(getComparator());
+            boolean changed = elementComparator != null;
+            for (int i = 0; !changed && i < perm.length; ++i) {
+                changed = perm[i] != i;
+            }
+            if (changed) {
+                fireChange(new SimplePermutationChange<>(0, perm.length, perm, this));
+            }
+        } else if (elementComparator != null) {
             int[] perm = helper.sort(sorted, 0, size, elementComparator);
             for (int i = 0; i < size; i++) {
                 this.perm[sorted[i].index] = i;
@@ -221,11 +459,17 @@ public final class SortedList<E> extends TransformationList<E, E>{
 
     @Override
     public int getSourceIndex(int index) {
+        if (tree != null) {
+            return tree.getSourceIndex(index);
+        }
         return sorted[index].index;
     }
 
     @Override
     public int getViewIndex(int index) {
+        if (tree != null) {
+            return tree.getViewIndex(index);
+        }
         return perm[index];
     }
 
@@ -408,5 +652,107 @@ public final class SortedList<E> extends TransformationList<E, E>{
         }
     }
 
+    private void permuteIndexed(Change<? extends E> c) {
+        int[] p = new int[c.getTo() - c.getFrom()];
+        for (int i = c.getFrom(); i < c.getTo(); ++i) {
+            p[i - c.getFrom()] = c.getPermutation(i);
+        }
+        tree.permute(c.getFrom(), c.getTo(), p);
+    }
+
+    private void updateUnsortedIndexed(Change<? extends E> c) {
+        while (c.next()) {
+            if (c.wasPermutated()) {
+                permuteIndexed(c);
+            }
+            if (c.wasRemoved()) {
+                for (int i = 0, sz = c.getRemovedSize(); i < sz; ++i) {
+                    tree.remove(c.getFrom());
+                }
+            }
+            if (c.wasAdded()) {
+                tree.insertAll(c.getFrom(), c.getAddedSubList());
+            }
+        }
+    }
+
+    private void updateIndexed(Change<? extends E> c) {
+        final int from = c.getFrom();
+        final int count = c.getTo() - from;
+        final int[] oldPos = new int[count];
+        for (int i = 0; i < count; ++i) {
+            oldPos[i] = tree.getViewIndex(from + i);
+        }
+        tree.reorder(from, c.getTo(), c.getList());
+        final int[] newPos = new int[count];
+        int lo = Integer.MAX_VALUE;
+        int hi = -1;
+        boolean moved = false;
+        for (int i = 0; i < count; ++i) {
+            newPos[i] = tree.getViewIndex(from + i);
+            lo = Math.min(lo, Math.min(oldPos[i], newPos[i]));
+            hi = Math.max(hi, Math.max(oldPos[i], newPos[i]));
+            moved |= oldPos[i] != newPos[i];
+        }
+        if (moved) {
+            // The elements that were not updated keep their relative order,
+            // so only the range spanned by the updated elements is permutated.
+            final int length = hi - lo + 1;
+            final int[] perm = new int[length];
+            final boolean[] oldUpdated = new boolean[length];
+            final boolean[] newUpdated = new boolean[length];
+            for (int i = 0; i < count; ++i) {
+                perm[oldPos[i] - lo] = newPos[i];
+                oldUpdated[oldPos[i] - lo] = true;
+                newUpdated[newPos[i] - lo] = true;
+            }
+            for (int o = 0, n = 0; o < length; ++o) {
+                if (!oldUpdated[o]) {
+                    while (newUpdated[n]) {
+                        ++n;
+                    }
+                    perm[o] = lo + n++;
+                }
+            }
+            nextPermutation(lo, hi + 1, perm);
+        }
+        for (int i = 0; i < count; ++i) {
+            nextUpdate(newPos[i]);
+        }
+    }
+
+    private void addRemoveIndexed(Change<? extends E> c) {
+        if (c.getFrom() == 0 && c.getRemovedSize() == tree.size()) {
+            List<E> removed = new ArrayList<>(this);
+            tree.clear();
+            nextRemove(0, removed);
+        } else {
+            for (int i = 0, sz = c.getRemovedSize(); i < sz; ++i) {
+                nextRemove(tree.remove(c.getFrom()), c.getRemoved().get(i));
+            }
+        }
+        final int size = tree.size();
+        final int added = c.getAddedSize();
+        if (size == 0) {
+            tree.setAll(c.getList().subList(0, c.getTo()));
+            nextAdd(0, tree.size());
+        } else if ((long) added * (32 - Integer.numberOfLeadingZeros(size)) > size) {
+            // merging the sorted batch is cheaper than inserting one by one
+            int[] positions = tree.insertAll(c.getFrom(), c.getAddedSubList());
+            for (int i = 0; i < positions.length; ) {
+                int runEnd = i + 1;
+                while (runEnd < positions.length && positions[runEnd] == positions[runEnd - 1] + 1) {
+                    ++runEnd;
+                }
+                nextAdd(positions[i], positions[runEnd - 1] + 1);
+                i = runEnd;
+            }
+        } else {
+            for (int i = c.getFrom(), to = c.getTo(); i < to; ++i) {
+                int pos = tree.insert(i, c.getList().get(i));
+                nextAdd(pos, pos + 1);
+            }
+        }
+    }
 
 }
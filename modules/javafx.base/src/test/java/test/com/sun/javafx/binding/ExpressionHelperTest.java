@@ -43,6 +43,7 @@ import java.util.BitSet;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -490,6 +491,57 @@ public class ExpressionHelperTest {
         changeListener[2].check(null, UNDEFINED, UNDEFINED, 0);
     }
 
+    @Test
+    public void testRemoveInvalidationAfterNestedNotification() {
+        final int[] calls = new int[3];
+        final InvalidationListener[] listeners = new InvalidationListener[3];
+        listeners[0] = o -> {
+            if (++calls[0] == 1) {
+                ExpressionHelperShim.fireValueChangedEvent(helper);
+                helper = ExpressionHelper.removeListener(helper, listeners[1]);
+            }
+        };
+        listeners[1] = o -> calls[1]++;
+        listeners[2] = o -> calls[2]++;
+        for (InvalidationListener listener : listeners) {
+            helper = ExpressionHelper.addListener(helper, observable, listener);
+        }
+        ExpressionHelperShim.fireValueChangedEvent(helper);
+        // the outer notification still sees all the listeners it started with
+        assertArrayEquals(new int[] {2, 2, 2}, calls);
+
+        ExpressionHelperShim.fireValueChangedEvent(helper);
+        assertArrayEquals(new int[] {3, 2, 3}, calls);
+    }
+
+    @Test
+    public void testAddChangeTwiceWhileLocked() {
+        final ChangeListener<Object> addingListener = new ChangeListener<Object>() {
+            boolean added;
+            @Override
+            public void changed(ObservableValue<? extends Object> observable, Object oldValue, Object newValue) {
+                if (!added) {
+                    added = true;
+                    helper = ExpressionHelper.addListener(helper, ExpressionHelperTest.this.observable, changeListener[0]);
+                    helper = ExpressionHelper.addListener(helper, ExpressionHelperTest.this.observable, changeListener[1]);
+                }
+            }
+        };
+        helper = ExpressionHelper.addListener(helper, observable, addingListener);
+        helper = ExpressionHelper.addListener(helper, observable, changeListener[3]);
+        observable.set(DATA_2);
+        ExpressionHelperShim.fireValueChangedEvent(helper);
+        changeListener[0].check(null, UNDEFINED, UNDEFINED, 0);
+        changeListener[1].check(null, UNDEFINED, UNDEFINED, 0);
+        changeListener[3].check(observable, DATA_1, DATA_2, 1);
+
+        observable.set(DATA_1);
+        ExpressionHelperShim.fireValueChangedEvent(helper);
+        changeListener[0].check(observable, DATA_2, DATA_1, 1);
+        changeListener[1].check(observable, DATA_2, DATA_1, 1);
+        changeListener[3].check(observable, DATA_2, DATA_1, 1);
+    }
+
     @Test
     public void testFireValueChangedEvent() {
         helper = ExpressionHelper.addListener(helper, observable, invalidationListener[0]);
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.binding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javafx.beans.binding.DoubleBinding;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.value.DoubleChangeListener;
+import javafx.beans.value.IntegerChangeListener;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class PrimitiveListenerHelperTest {
+
+    @Test
+    public void testDoubleChange() {
+        DoubleProperty property = new SimpleDoubleProperty(1.0);
+        List<String> calls = new ArrayList<>();
+        DoubleChangeListener listener = (o, oldValue, newValue) -> {
+            assertEquals(property, o);
+            calls.add(oldValue + "->" + newValue);
+        };
+        property.addDoubleChangeListener(listener);
+        property.set(2.0);
+        property.set(2.0);
+        property.set(Double.NaN);
+        property.set(3.5);
+        assertEquals(List.of("1.0->2.0", "2.0->NaN", "NaN->3.5"), calls);
+
+        property.removeDoubleChangeListener(listener);
+        property.set(4.0);
+        assertEquals(3, calls.size());
+    }
+
+    @Test
+    public void testIntegerChange() {
+        IntegerProperty property = new SimpleIntegerProperty(1);
+        List<String> calls = new ArrayList<>();
+        IntegerChangeListener listener = (o, oldValue, newValue) -> calls.add(oldValue + "->" + newValue);
+        property.addIntegerChangeListener(listener);
+        property.addIntegerChangeListener(listener);
+        property.set(2);
+        assertEquals(List.of("1->2", "1->2"), calls);
+
+        property.removeIntegerChangeListener(listener);
+        property.set(3);
+        assertEquals(List.of("1->2", "1->2", "2->3"), calls);
+
+        property.removeIntegerChangeListener(listener);
+        property.removeIntegerChangeListener(listener);
+        property.set(4);
+        assertEquals(3, calls.size());
+    }
+
+    @Test
+    public void testBoundProperty() {
+        DoubleProperty source = new SimpleDoubleProperty(1.0);
+        DoubleProperty property = new SimpleDoubleProperty();
+        property.bind(source.multiply(2));
+        AtomicInteger calls = new AtomicInteger();
+        property.addDoubleChangeListener((o, oldValue, newValue) -> {
+            assertEquals(2.0, oldValue, 0);
+            assertEquals(6.0, newValue, 0);
+            calls.incrementAndGet();
+        });
+        source.set(3.0);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testBinding() {
+        DoubleProperty source = new SimpleDoubleProperty(1.0);
+        DoubleBinding binding = source.multiply(2);
+        List<String> calls = new ArrayList<>();
+        DoubleChangeListener listener = (o, oldValue, newValue) -> {
+            assertEquals(binding, o);
+            calls.add(oldValue + "->" + newValue);
+        };
+        binding.addDoubleChangeListener(listener);
+        source.set(2.0);
+        assertEquals(List.of("2.0->4.0"), calls);
+
+        binding.removeDoubleChangeListener(listener);
+        source.set(3.0);
+        assertEquals(1, calls.size());
+    }
+
+    @Test
+    public void testReadOnlyProperty() {
+        ReadOnlyDoubleWrapper wrapper = new ReadOnlyDoubleWrapper(1.0);
+        List<String> calls = new ArrayList<>();
+        wrapper.getReadOnlyProperty().addDoubleChangeListener((o, oldValue, newValue) -> calls.add("ro " + newValue));
+        wrapper.addDoubleChangeListener((o, oldValue, newValue) -> calls.add("rw " + newValue));
+        wrapper.set(5.0);
+        assertEquals(List.of("rw 5.0", "ro 5.0"), calls);
+    }
+
+    @Test
+    public void testRemoveDuringNotification() {
+        DoubleProperty property = new SimpleDoubleProperty();
+        int[] calls = new int[3];
+        DoubleChangeListener[] listeners = new DoubleChangeListener[3];
+        listeners[0] = (o, oldValue, newValue) -> {
+            calls[0]++;
+            property.removeDoubleChangeListener(listeners[1]);
+            property.addDoubleChangeListener(listeners[2]);
+        };
+        listeners[1] = (o, oldValue, newValue) -> calls[1]++;
+        listeners[2] = (o, oldValue, newValue) -> calls[2]++;
+        property.addDoubleChangeListener(listeners[0]);
+        property.addDoubleChangeListener(listeners[1]);
+        property.set(1);
+        // the notification iterates the listeners it started with
+        assertEquals(1, calls[0]);
+        assertEquals(1, calls[1]);
+        assertEquals(0, calls[2]);
+
+        property.set(2);
+        assertEquals(2, calls[0]);
+        assertEquals(1, calls[1]);
+        assertEquals(1, calls[2]);
+    }
+
+    @Test
+    public void testExceptionHandledByThreadUncaughtHandler() {
+        AtomicInteger called = new AtomicInteger();
+        Thread.currentThread().setUncaughtExceptionHandler((t, e) -> called.incrementAndGet());
+        IntegerProperty property = new SimpleIntegerProperty();
+        property.addIntegerChangeListener((o, oldValue, newValue) -> {throw new RuntimeException();});
+        property.addIntegerChangeListener((o, oldValue, newValue) -> called.incrementAndGet());
+        property.set(1);
+        assertEquals(2, called.get());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testAddNull() {
+        new SimpleDoubleProperty().addDoubleChangeListener(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testRemoveNull() {
+        new SimpleIntegerProperty().removeIntegerChangeListener(null);
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.collections;
+
+import com.sun.javafx.collections.IndexedFilterTree;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class IndexedFilterTreeTest {
+
+    private IndexedFilterTree tree;
+    private List<Boolean> expected;
+
+    @Before
+    public void setUp() {
+        tree = new IndexedFilterTree();
+        expected = new ArrayList<>();
+    }
+
+    private void check() {
+        assertEquals(expected.size(), tree.size());
+        int matched = 0;
+        for (int i = 0; i < expected.size(); ++i) {
+            assertEquals(expected.get(i), tree.isMatched(i));
+            assertEquals(matched, tree.matchedBefore(i));
+            if (expected.get(i)) {
+                assertEquals(i, tree.indexOfMatch(matched));
+                assertEquals(matched, tree.viewIndex(i));
+                ++matched;
+            } else {
+                assertEquals(~matched, tree.viewIndex(i));
+            }
+        }
+        assertEquals(matched, tree.matchedCount());
+        assertEquals(matched, tree.matchedBefore(expected.size()));
+    }
+
+    @Test
+    public void testEmpty() {
+        check();
+        assertEquals(-1, tree.viewIndex(0));
+    }
+
+    @Test
+    public void testInsertSingle() {
+        tree.insert(0, true);
+        tree.insert(0, false);
+        tree.insert(2, true);
+        tree.insert(1, true);
+        expected.add(false);
+        expected.add(true);
+        expected.add(true);
+        expected.add(true);
+        check();
+    }
+
+    @Test
+    public void testBulkInsertAndRemove() {
+        boolean[] values = {true, false, false, true, true, false, true};
+        tree.insert(0, values, 0, values.length);
+        for (boolean b : values) {
+            expected.add(b);
+        }
+        check();
+
+        tree.insert(3, values, 2, 3);
+        expected.addAll(3, List.of(false, true, true));
+        check();
+
+        tree.remove(1, 6);
+        expected.subList(1, 6).clear();
+        check();
+
+        tree.remove(0, tree.size());
+        expected.clear();
+        check();
+    }
+
+    @Test
+    public void testSetMatched() {
+        boolean[] values = new boolean[10];
+        tree.insert(0, values, 0, values.length);
+        for (boolean b : values) {
+            expected.add(b);
+        }
+        tree.setMatched(4, true);
+        tree.setMatched(7, true);
+        tree.setMatched(7, true);
+        tree.setMatched(0, false);
+        expected.set(4, true);
+        expected.set(7, true);
+        check();
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIndexOfMatchOutOfBounds() {
+        tree.insert(0, false);
+        tree.indexOfMatch(0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testRemoveOutOfBounds() {
+        tree.insert(0, true);
+        tree.remove(0, 2);
+    }
+
+    @Test
+    public void testRandomOperations() {
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; ++i) {
+            final int size = expected.size();
+            switch (random.nextInt(4)) {
+                case 0: {
+                    final int index = random.nextInt(size + 1);
+                    final boolean value = random.nextBoolean();
+                    tree.insert(index, value);
+                    expected.add(index, value);
+                    break;
+                }
+                case 1: {
+                    final int index = random.nextInt(size + 1);
+                    final boolean[] values = new boolean[random.nextInt(20)];
+                    for (int j = 0; j < values.length; ++j) {
+                        values[j] = random.nextBoolean();
+                        expected.add(index + j, values[j]);
+                    }
+                    tree.insert(index, values, 0, values.length);
+                    break;
+                }
+                case 2: {
+                    final int from = random.nextInt(size + 1);
+                    final int to = from + random.nextInt(Math.min(size - from, 15) + 1);
+                    tree.remove(from, to);
+                    expected.subList(from, to).clear();
+                    break;
+                }
+                default:
+                    if (size > 0) {
+                        final int index = random.nextInt(size);
+                        final boolean value = random.nextBoolean();
+                        tree.setMatched(index, value);
+                        expected.set(index, value);
+                    }
+            }
+            if (i % 50 == 0) {
+                check();
+            }
+        }
+        check();
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.logging;
+
+import com.sun.javafx.logging.PulseCounter;
+import com.sun.javafx.logging.PulsePhase;
+import com.sun.javafx.logging.PulseRecord;
+import com.sun.javafx.logging.PulseRecorder;
+import com.sun.javafx.logging.PulseRecorderShim;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PulseRecorderTest {
+
+    private static final long BUDGET = TimeUnit.SECONDS.toNanos(10);
+
+    private PulseRecorder recorder;
+
+    @Before
+    public void setUp() {
+        recorder = PulseRecorderShim.create(8, BUDGET);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private void runOnRenderThread(Runnable r) throws InterruptedException {
+        Thread t = new Thread(r);
+        t.start();
+        t.join();
+    }
+
+    @Test
+    public void testDoesNotAcceptMessages() {
+        assertFalse(recorder.acceptsMessages());
+    }
+
+    @Test
+    public void testCapacityIsPowerOfTwo() {
+        assertEquals(8, recorder.getCapacity());
+        assertEquals(16, PulseRecorderShim.create(9, BUDGET).getCapacity());
+    }
+
+    @Test
+    public void testPulseWithoutRendering() {
+        recorder.pulseStart();
+        recorder.newPhase(PulsePhase.CSS, "CSS Pass");
+        sleep(2);
+        recorder.newPhase(PulsePhase.LAYOUT, "Layout Pass");
+        recorder.incrementCounter(PulseCounter.DIRTY_NODES, 5);
+        recorder.incrementCounter(PulseCounter.DIRTY_NODES, 2);
+        assertNull(recorder.getLastRecord());
+        recorder.pulseEnd();
+
+        PulseRecord record = recorder.getLastRecord();
+        assertNotNull(record);
+        assertEquals(1, record.getPulse());
+        assertFalse(record.isRendered());
+        assertEquals(7, record.getDirtyNodes());
+        assertTrue(record.getCssDuration() >= TimeUnit.MILLISECONDS.toNanos(2));
+        assertEquals(0, record.getRenderDuration());
+        assertTrue(record.getDuration() >= record.getCssDuration() + record.getLayoutDuration());
+        assertEquals(1, recorder.getPulseCount());
+    }
+
+    @Test
+    public void testPulseIsPublishedWhenRenderingEnds() throws InterruptedException {
+        recorder.pulseStart();
+        recorder.newPhase(PulsePhase.SYNC, "Copy state to render graph");
+        recorder.renderStart();
+        recorder.pulseEnd();
+        assertNull(recorder.getLastRecord());
+
+        runOnRenderThread(() -> {
+            recorder.newPhase(PulsePhase.RENDER, "Painting");
+            recorder.incrementCounter(PulseCounter.NODES_RENDERED, 3);
+            recorder.incrementCounter(PulseCounter.TEXTURE_UPLOADS, 1);
+            recorder.incrementCounter(PulseCounter.GLYPH_CACHE_MISSES, 1);
+            recorder.incrementCounter(PulseCounter.GLYPH_CACHE_MISSES, 1);
+            sleep(2);
+            recorder.newPhase(PulsePhase.PRESENT, "Presenting");
+            recorder.renderEnd();
+        });
+
+        PulseRecord record = recorder.getLastRecord();
+        assertNotNull(record);
+        assertTrue(record.isRendered());
+        assertEquals(3, record.getNodesRendered());
+        assertEquals(1, record.getTextureUploads());
+        assertEquals(2, record.getGlyphCacheMisses());
+        assertEquals(0, record.getGlyphCacheHits());
+        assertTrue(record.getRenderDuration() >= TimeUnit.MILLISECONDS.toNanos(2));
+        assertTrue(record.getPresentDuration() >= 0);
+    }
+
+    @Test
+    public void testRenderingMayEndBeforePulse() throws InterruptedException {
+        recorder.pulseStart();
+        recorder.renderStart();
+        runOnRenderThread(() -> {
+            recorder.newPhase(PulsePhase.RENDER, "Painting");
+            recorder.renderEnd();
+        });
+        assertNull(recorder.getLastRecord());
+        recorder.pulseEnd();
+        assertNotNull(recorder.getLastRecord());
+    }
+
+    @Test
+    public void testCountersOutsideOfPulseAreIgnored() {
+        recorder.incrementCounter(PulseCounter.DIRTY_NODES, 1);
+        recorder.newPhase(PulsePhase.CSS, "CSS Pass");
+        recorder.pulseStart();
+        recorder.pulseEnd();
+        assertEquals(0, recorder.getLastRecord().getDirtyNodes());
+        assertEquals(0, recorder.getLastRecord().getCssDuration());
+    }
+
+    @Test
+    public void testRingKeepsMostRecentPulses() {
+        for (int i = 0; i < 20; i++) {
+            recorder.pulseStart();
+            recorder.incrementCounter(PulseCounter.DIRTY_NODES, i);
+            recorder.pulseEnd();
+        }
+        List<PulseRecord> records = recorder.getRecords();
+        assertEquals(8, records.size());
+        for (int i = 0; i < 8; i++) {
+            assertEquals(13 + i, records.get(i).getPulse());
+            assertEquals(12 + i, records.get(i).getDirtyNodes());
+        }
+        assertEquals(20, recorder.getLastRecord().getPulse());
+        assertEquals(20, recorder.getPulseCount());
+    }
+
+    @Test
+    public void testOverBudget() {
+        recorder.pulseStart();
+        recorder.pulseEnd();
+        assertEquals(0, recorder.getOverBudgetCount());
+
+        recorder.setBudget(0);
+        recorder.pulseStart();
+        sleep(1);
+        recorder.pulseEnd();
+        assertEquals(1, recorder.getOverBudgetCount());
+        assertTrue(recorder.getMaxDuration() > 0);
+        assertTrue(recorder.getAverageDuration() > 0);
+
+        recorder.resetStatistics();
+        assertEquals(0, recorder.getOverBudgetCount());
+        assertEquals(0, recorder.getPulseCount());
+        assertEquals(2, recorder.getRecords().size());
+    }
+}
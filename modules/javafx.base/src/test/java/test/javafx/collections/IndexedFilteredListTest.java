@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the indexed mode of FilteredList, mostly by checking that it reports
+ * the very same changes as the default mode.
+ */
+public class IndexedFilteredListTest {
+
+    private ObservableList<String> list;
+    private MockListObserver<String> mlo;
+    private FilteredList<String> filteredList;
+
+    @Before
+    public void setUp() {
+        list = FXCollections.observableArrayList();
+        list.addAll("a", "c", "d", "c");
+        Predicate<String> predicate = (String e) -> !e.equals("c");
+        mlo = new MockListObserver<String>();
+        filteredList = new FilteredList<>(list, predicate, true);
+        filteredList.addListener(mlo);
+    }
+
+    private static <E> void compareIndices(FilteredList<E> filtered) {
+        ObservableList<? extends E> source = filtered.getSource();
+        for (int i = 0; i < filtered.size(); i++) {
+            int sourceIndex = filtered.getSourceIndex(i);
+            assertEquals(i, filtered.getViewIndex(sourceIndex));
+            assertSame(filtered.get(i), source.get(sourceIndex));
+        }
+        for (int i = 0; i < source.size(); i++) {
+            int viewIndex = filtered.getViewIndex(i);
+            if (viewIndex >= 0) {
+                assertEquals(i, filtered.getSourceIndex(viewIndex));
+                assertSame(source.get(i), filtered.get(viewIndex));
+            }
+        }
+    }
+
+    private static <E> List<String> record(ObservableList<E> list) {
+        List<String> changes = new ArrayList<>();
+        list.addListener((ListChangeListener<E>) c -> {
+            while (c.next()) {
+                if (c.wasPermutated()) {
+                    int[] perm = new int[c.getTo() - c.getFrom()];
+                    for (int i = c.getFrom(); i < c.getTo(); ++i) {
+                        perm[i - c.getFrom()] = c.getPermutation(i);
+                    }
+                    changes.add("perm" + Arrays.toString(perm) + " " + c.getFrom() + "-" + c.getTo());
+                } else if (c.wasUpdated()) {
+                    changes.add("update " + c.getFrom() + "-" + c.getTo());
+                } else {
+                    changes.add("removed " + c.getRemoved() + " added " + c.getAddedSubList()
+                            + " " + c.getFrom() + "-" + c.getTo());
+                }
+            }
+        });
+        return changes;
+    }
+
+    @Test
+    public void testIsIndexed() {
+        assertTrue(filteredList.isIndexed());
+        assertFalse(new FilteredList<>(list).isIndexed());
+    }
+
+    @Test
+    public void testLiveMode() {
+        assertEquals(Arrays.asList("a", "d"), filteredList);
+        mlo.check0();
+        compareIndices(filteredList);
+    }
+
+    @Test
+    public void testLiveMode_Add() {
+        list.clear();
+        mlo.clear();
+        assertEquals(Collections.emptyList(), filteredList);
+        list.addAll("a", "c", "d", "c");
+        assertEquals(Arrays.asList("a", "d"), filteredList);
+        mlo.check1AddRemove(filteredList, Collections.<String>emptyList(), 0, 2);
+        compareIndices(filteredList);
+
+        mlo.clear();
+        list.add("c");
+        mlo.check0();
+        list.add(1, "b");
+        assertEquals(Arrays.asList("a", "b", "d"), filteredList);
+        mlo.check1AddRemove(filteredList, Collections.<String>emptyList(), 1, 2);
+        compareIndices(filteredList);
+    }
+
+    @Test
+    public void testLiveMode_Remove() {
+        list.removeAll(Arrays.asList("c"));
+        assertEquals(Arrays.asList("a", "d"), filteredList);
+        mlo.check0();
+        compareIndices(filteredList);
+
+        mlo.clear();
+        list.remove("a");
+        assertEquals(Arrays.asList("d"), filteredList);
+        mlo.check1AddRemove(filteredList, Arrays.asList("a"), 0, 0);
+        compareIndices(filteredList);
+    }
+
+    @Test
+    public void testLiveMode_Permutation() {
+        FXCollections.sort(list, (o1, o2) -> -o1.compareTo(o2));
+        mlo.check1Permutation(filteredList, new int[] {1, 0});
+        assertEquals(Arrays.asList("d", "a"), filteredList);
+        compareIndices(filteredList);
+    }
+
+    @Test
+    public void testLiveMode_mutableElement() {
+        ObservableList<Person> list = Person.createPersonsList("A", "BB", "C");
+
+        FilteredList<Person> filtered = new FilteredList<>(list,
+                (Person p) -> p.name.get().length() > 1, true);
+        MockListObserver<Person> lo = new MockListObserver<>();
+        filtered.addListener(lo);
+
+        list.get(0).name.set("AA");
+        lo.check1AddRemove(filtered, Collections.EMPTY_LIST, 0, 1);
+        assertEquals(Person.createPersonsList("AA", "BB"), filtered);
+        compareIndices(filtered);
+
+        lo.clear();
+        list.get(1).name.set("BBB");
+        lo.check1Update(filtered, 1, 2);
+        compareIndices(filtered);
+
+        lo.clear();
+        list.get(1).name.set("B");
+        lo.check1AddRemove(filtered, Person.createPersonsList("B"), 1, 1);
+        assertEquals(Person.createPersonsList("AA"), filtered);
+        compareIndices(filtered);
+    }
+
+    @Test
+    public void testNullPredicate() {
+        filteredList.setPredicate(null);
+        assertEquals(list, filteredList);
+        mlo.check1AddRemove(filteredList, Arrays.asList("a", "d"), 0, 4);
+        compareIndices(filteredList);
+    }
+
+    @Test
+    public void testNullPredicateConstructor() {
+        filteredList = new FilteredList<>(list, null, true);
+        assertEquals(list, filteredList);
+        compareIndices(filteredList);
+    }
+
+    @Test
+    public void testGetViewIndexOfFilteredOutElement() {
+        assertEquals(0, filteredList.getViewIndex(0));
+        assertTrue(filteredList.getViewIndex(1) < 0);
+        assertEquals(1, filteredList.getViewIndex(2));
+        assertTrue(filteredList.getViewIndex(3) < 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() {
+        filteredList.get(2);
+    }
+
+    @Test
+    public void testSameChangesAsDefaultMode() {
+        Random random = new Random(7);
+        ObservableList<Integer> source = FXCollections.observableArrayList();
+        for (int i = 0; i < 100; ++i) {
+            source.add(random.nextInt(1000));
+        }
+        Predicate<Integer> even = i -> i % 2 == 0;
+        FilteredList<Integer> plain = new FilteredList<>(source, even);
+        FilteredList<Integer> indexed = new FilteredList<>(source, even, true);
+        List<String> plainChanges = record(plain);
+        List<String> indexedChanges = record(indexed);
+
+        for (int i = 0; i < 500; ++i) {
+            final int size = source.size();
+            switch (random.nextInt(6)) {
+                case 0:
+                    source.add(random.nextInt(size + 1), random.nextInt(1000));
+                    break;
+                case 1:
+                    if (size > 0) {
+                        source.remove(random.nextInt(size));
+                    }
+                    break;
+                case 2: {
+                    final int from = random.nextInt(size + 1);
+                    final int to = from + random.nextInt(Math.min(size - from, 10) + 1);
+                    source.remove(from, to);
+                    break;
+                }
+                case 3: {
+                    List<Integer> added = new ArrayList<>();
+                    for (int j = random.nextInt(10); j > 0; --j) {
+                        added.add(random.nextInt(1000));
+                    }
+                    source.addAll(random.nextInt(size + 1), added);
+                    break;
+                }
+                case 4:
+                    if (size > 0) {
+                        source.set(random.nextInt(size), random.nextInt(1000));
+                    }
+                    break;
+                default:
+                    FXCollections.sort(source, random.nextBoolean()
+                            ? Collections.reverseOrder() : null);
+            }
+            assertEquals(plain, indexed);
+            assertEquals(plainChanges, indexedChanges);
+        }
+        compareIndices(indexed);
+
+        plain.setPredicate(v -> v % 3 == 0);
+        indexed.setPredicate(v -> v % 3 == 0);
+        assertEquals(plain, indexed);
+        assertEquals(plainChanges, indexedChanges);
+        compareIndices(indexed);
+    }
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.collections;
+
+import com.sun.javafx.collections.ObservableListWrapper;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableListWrapperShim;
+import javafx.collections.transformation.SortedList;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the indexed mode of SortedList, mostly by checking that it reports
+ * the same changes as the default mode.
+ */
+public class IndexedSortedListTest {
+
+    private ObservableList<String> list;
+    private MockListObserver<String> mockListObserver;
+    private SortedList<String> sortedList;
+
+    @Before
+    public void setUp() {
+        list = FXCollections.observableArrayList();
+        list.addAll("a", "c", "d", "c");
+        sortedList = new SortedList<>(list, Comparator.naturalOrder(), true);
+        mockListObserver = new MockListObserver<String>();
+        sortedList.addListener(mockListObserver);
+    }
+
+    private static <E> void compareIndices(SortedList<E> sorted) {
+        ObservableList<? extends E> source = sorted.getSource();
+        assertEquals(source.size(), sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            int sourceIndex = sorted.getSourceIndex(i);
+            assertEquals(i, sorted.getViewIndex(sourceIndex));
+            assertSame(sorted.get(i), source.get(sourceIndex));
+
+            int viewIndex = sorted.getViewIndex(i);
+            assertEquals(i, sorted.getSourceIndex(viewIndex));
+            assertSame(source.get(i), sorted.get(viewIndex));
+        }
+    }
+
+    private static <E> List<String> record(ObservableList<E> list) {
+        List<String> changes = new ArrayList<>();
+        list.addListener((ListChangeListener<E>) c -> {
+            while (c.next()) {
+                if (c.wasPermutated()) {
+                    int[] perm = new int[c.getTo() - c.getFrom()];
+                    for (int i = c.getFrom(); i < c.getTo(); ++i) {
+                        perm[i - c.getFrom()] = c.getPermutation(i);
+                    }
+                    changes.add("perm" + Arrays.toString(perm) + " " + c.getFrom() + "-" + c.getTo());
+                } else if (c.wasUpdated()) {
+                    changes.add("update " + c.getFrom() + "-" + c.getTo());
+                } else {
+                    changes.add("removed " + c.getRemoved() + " added " + c.getAddedSubList()
+                            + " " + c.getFrom() + "-" + c.getTo());
+                }
+            }
+        });
+        return changes;
+    }
+
+    @Test
+    public void testIsIndexed() {
+        assertTrue(sortedList.isIndexed());
+        assertFalse(list.sorted().isIndexed());
+    }
+
+    @Test
+    public void testNoChange() {
+        assertEquals(Arrays.asList("a", "c", "c", "d"), sortedList);
+        mockListObserver.check0();
+        compareIndices(sortedList);
+    }
+
+    @Test
+    public void testAdd() {
+        list.clear();
+        mockListObserver.clear();
+        assertEquals(Collections.emptyList(), sortedList);
+        list.addAll("a", "c", "d", "c");
+        assertEquals(Arrays.asList("a", "c", "c", "d"), sortedList);
+        mockListObserver.check1AddRemove(sortedList, Collections.<String>emptyList(), 0, 4);
+        assertEquals(0, sortedList.getSourceIndex(0));
+        assertEquals(2, sortedList.getSourceIndex(3));
+        compareIndices(sortedList);
+    }
+
+    @Test
+    public void testAddSingle() {
+        list.add("b");
+        assertEquals(Arrays.asList("a", "b", "c", "c", "d"), sortedList);
+        mockListObserver.check1AddRemove(sortedList, Collections.<String>emptyList(), 1, 2);
+        assertEquals(4, sortedList.getSourceIndex(1));
+        compareIndices(sortedList);
+    }
+
+    @Test
+    public void testAddAllIsMerged() {
+        list.addAll(2, Arrays.asList("e", "b", "a0", "f"));
+        assertEquals(Arrays.asList("a", "a0", "b", "c", "c", "d", "e", "f"), sortedList);
+        mockListObserver.checkAddRemove(0, sortedList, Collections.<String>emptyList(), 1, 3);
+        mockListObserver.checkAddRemove(1, sortedList, Collections.<String>emptyList(), 6, 8);
+        compareIndices(sortedList);
+    }
+
+    @Test
+    public void testRemove() {
+        list.removeAll(Arrays.asList("c"));
+        assertEquals(Arrays.asList("a", "d"), sortedList);
+        mockListObserver.check1AddRemove(sortedList, Arrays.asList("c", "c"), 1, 1);
+        mockListObserver.clear();
+        list.removeAll(Arrays.asList("a", "d"));
+        mockListObserver.check1AddRemove(sortedList, Arrays.asList("a", "d"), 0, 0);
+        compareIndices(sortedList);
+    }
+
+    @Test
+    public void testChangeComparator() {
+        SimpleObjectProperty<Comparator<String>> op =
+                new SimpleObjectProperty<>(Comparator.naturalOrder());
+
+        sortedList = new SortedList<>(list, null, true);
+        assertEquals(Arrays.asList("a", "c", "d", "c"), sortedList);
+        compareIndices(sortedList);
+
+        sortedList.comparatorProperty().bind(op);
+        assertEquals(Arrays.asList("a", "c", "c", "d"), sortedList);
+        compareIndices(sortedList);
+
+        sortedList.addListener(mockListObserver);
+
+        op.set((Comparator<String>) (String o1, String o2) -> -o1.compareTo(o2));
+        assertEquals(Arrays.asList("d", "c", "c", "a"), sortedList);
+        mockListObserver.check1Permutation(sortedList, new int[] {3, 1, 2, 0});
+        compareIndices(sortedList);
+
+        mockListObserver.clear();
+        op.set(null);
+        assertEquals(Arrays.asList("a", "c", "d", "c"), sortedList);
+        mockListObserver.check1Permutation(sortedList, new int[] {2, 1, 3, 0});
+        compareIndices(sortedList);
+    }
+
+    @Test
+    public void testMutableElement() {
+        ObservableList<Person> list = Person.createPersonsList("one", "two", "three", "four", "five");
+
+        SortedList<Person> sorted = new SortedList<>(list, Comparator.naturalOrder(), true);
+        assertEquals(Person.createPersonsList("five", "four", "one", "three", "two"), sorted);
+        MockListObserver<Person> listener = new MockListObserver<>();
+        sorted.addListener(listener);
+        list.get(3).name.set("zero"); // four -> zero
+        ObservableList<Person> expected = Person.createPersonsList("five", "one", "three", "two", "zero");
+        // only the range between the old and the new position is permutated
+        listener.checkPermutation(0, expected, 1, 5, new int[]{4, 1, 2, 3});
+        listener.checkUpdate(1, expected, 4, 5);
+        assertEquals(expected, sorted);
+        compareIndices(sorted);
+
+        listener.clear();
+        list.get(1).name.set("twenty");
+        listener.check1Update(sorted, 3, 4);
+        compareIndices(sorted);
+    }
+
+    @Test
+    public void testMutableElementsUpdatedTogether() {
+        Random random = new Random(3);
+        for (int round = 0; round < 20; ++round) {
+            List<Person> persons = new ArrayList<>();
+            for (int i = 0; i < 50; ++i) {
+                persons.add(new Person(Integer.toString(random.nextInt(1000))));
+            }
+            UpdatableList<Person> list = new UpdatableList<>(persons);
+            SortedList<Person> sorted = new SortedList<>(list, Comparator.naturalOrder(), true);
+            List<Person> copy = new ArrayList<>(sorted);
+            sorted.addListener((ListChangeListener<Person>) c -> {
+                while (c.next()) {
+                    if (c.wasPermutated()) {
+                        List<Person> permuted = new ArrayList<>(copy);
+                        for (int i = c.getFrom(); i < c.getTo(); ++i) {
+                            permuted.set(c.getPermutation(i), copy.get(i));
+                        }
+                        copy.clear();
+                        copy.addAll(permuted);
+                    }
+                }
+            });
+            final int from = random.nextInt(50);
+            final int to = from + random.nextInt(50 - from) + 1;
+            for (int i = from; i < to; ++i) {
+                persons.get(i).name.set(Integer.toString(random.nextInt(1000)));
+            }
+            list.update(from, to);
+
+            List<Person> expected = new ArrayList<>(persons);
+            Collections.sort(expected);
+            assertEquals(expected, sorted);
+            for (int i = 0; i < copy.size(); ++i) {
+                assertSame(copy.get(i), sorted.get(i));
+            }
+            compareIndices(sorted);
+        }
+    }
+
+    @Test
+    public void testUnsorted() {
+        SortedList<String> sorted = new SortedList<>(list, null, true);
+        assertEquals(sorted, list);
+
+        list.removeAll("a", "d");
+        assertEquals(sorted, list);
+
+        list.addAll(0, Arrays.asList("a", "b", "c"));
+        assertEquals(sorted, list);
+
+        FXCollections.sort(list);
+        assertEquals(sorted, list);
+
+        compareIndices(sorted);
+    }
+
+    @Test
+    public void testRemoveFromDuplicates() {
+        String toRemove = new String("A");
+        String other = new String("A");
+        list = FXCollections.observableArrayList(other, toRemove);
+        SortedList<String> sorted = new SortedList<>(list, Comparator.naturalOrder(), true);
+
+        list.remove(1);
+
+        assertEquals(1, sorted.size());
+        assertTrue(sorted.get(0) == other);
+        compareIndices(sorted);
+    }
+
+    @Test
+    public void testSameChangesAsDefaultMode() {
+        Random random = new Random(11);
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 100000; ++i) {
+            values.add(i);
+        }
+        Collections.shuffle(values, random);
+        int nextValue = 0;
+
+        ObservableList<Integer> source = FXCollections.observableArrayList();
+        for (int i = 0; i < 60; ++i) {
+            source.add(values.get(nextValue++));
+        }
+        SortedList<Integer> plain = new SortedList<>(source, Comparator.naturalOrder());
+        SortedList<Integer> indexed = new SortedList<>(source, Comparator.naturalOrder(), true);
+        List<String> plainChanges = record(plain);
+        List<String> indexedChanges = record(indexed);
+
+        for (int i = 0; i < 500; ++i) {
+            final int size = source.size();
+            switch (random.nextInt(6)) {
+                case 0:
+                    source.add(random.nextInt(size + 1), values.get(nextValue++));
+                    break;
+                case 1:
+                    if (size > 0) {
+                        source.remove(random.nextInt(size));
+                    }
+                    break;
+                case 2: {
+                    final int from = random.nextInt(size + 1);
+                    final int to = from + random.nextInt(Math.min(size - from, 10) + 1);
+                    source.remove(from, to);
+                    break;
+                }
+                case 3: {
+                    List<Integer> added = new ArrayList<>();
+                    for (int j = random.nextInt(40); j > 0; --j) {
+                        added.add(values.get(nextValue++));
+                    }
+                    source.addAll(random.nextInt(size + 1), added);
+                    break;
+                }
+                case 4:
+                    if (size > 0) {
+                        source.set(random.nextInt(size), values.get(nextValue++));
+                    }
+                    break;
+                default:
+                    FXCollections.shuffle(source, random);
+            }
+            assertEquals(plain, indexed);
+            assertEquals(plainChanges, indexedChanges);
+        }
+        compareIndices(indexed);
+
+        plain.setComparator(Comparator.reverseOrder());
+        indexed.setComparator(Comparator.reverseOrder());
+        assertEquals(plain, indexed);
+        assertEquals(plainChanges, indexedChanges);
+        compareIndices(indexed);
+
+        plain.setComparator(null);
+        indexed.setComparator(null);
+        assertEquals(plain, indexed);
+        assertEquals(plainChanges, indexedChanges);
+        source.remove(3, 20);
+        source.addAll(5, values.subList(nextValue, nextValue + 30));
+        FXCollections.shuffle(source, random);
+        assertEquals(source, indexed);
+        compareIndices(indexed);
+    }
+
+    private static class UpdatableList<E> extends ObservableListWrapper<E> {
+        UpdatableList(List<E> list) {
+            super(list);
+        }
+
+        void update(int from, int to) {
+            ObservableListWrapperShim.beginChange(this);
+            for (int i = from; i < to; ++i) {
+                ObservableListWrapperShim.nextUpdate(this, i);
+            }
+            ObservableListWrapperShim.endChange(this);
+        }
+    }
+}
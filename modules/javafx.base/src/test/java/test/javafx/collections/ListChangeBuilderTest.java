@@ -469,6 +469,44 @@ public class ListChangeBuilderTest {
         observer.check0();
     }
 
+    @Test
+    public void testScatteredSets() {
+        builder.beginChange();
+        list.set(3, "dd");
+        builder.nextSet(3, "d");
+        list.set(0, "aa");
+        builder.nextSet(0, "a");
+        list.set(2, "cc");
+        builder.nextSet(2, "c");
+        list.set(3, "ddd");
+        builder.nextSet(3, "dd");
+        builder.endChange();
+
+        assertEquals(list, Arrays.asList("aa", "b", "cc", "ddd"));
+
+        observer.checkAddRemove(0, observableList, Arrays.asList("a"), 0, 1);
+        observer.checkAddRemove(1, observableList, Arrays.asList("c", "d"), 2, 4);
+    }
+
+    @Test
+    public void testSetAfterAddAndRemove() {
+        builder.beginChange();
+        list.add(1, "ab");
+        builder.nextAdd(1, 2);
+        list.remove(4);
+        builder.nextRemove(4, "d");
+        list.set(1, "abb");
+        builder.nextSet(1, "ab");
+        list.set(3, "cc");
+        builder.nextSet(3, "c");
+        builder.endChange();
+
+        assertEquals(list, Arrays.asList("a", "abb", "b", "cc"));
+
+        observer.checkAddRemove(0, observableList, Collections.EMPTY_LIST, 1, 2);
+        observer.checkAddRemove(1, observableList, Arrays.asList("c", "d"), 3, 4);
+    }
+
     @Test
     public void testToString_Update() {
         observableList.removeListener(observer);
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ListChangeTransaction;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ListChangeTransactionTest {
+
+    private ObservableList<String> list;
+    private List<String> changes;
+
+    @Before
+    public void setUp() {
+        list = FXCollections.observableArrayList("a", "b", "c", "d", "e", "f");
+        changes = record(list);
+    }
+
+    private static <E> List<String> record(ObservableList<E> list) {
+        List<String> changes = new ArrayList<>();
+        list.addListener((ListChangeListener<E>) c -> {
+            StringBuilder sb = new StringBuilder();
+            while (c.next()) {
+                sb.append(c.getFrom()).append(c.getRemoved()).append(c.getAddedSubList());
+            }
+            changes.add(sb.toString());
+        });
+        return changes;
+    }
+
+    @Test
+    public void testScatteredChangesAreMerged() {
+        try (ListChangeTransaction tx = FXCollections.beginChange(list)) {
+            list.set(1, "B");
+            list.set(4, "E");
+            list.add("g");
+            assertTrue(changes.isEmpty());
+        }
+        assertEquals(Arrays.asList("1[b][B]4[e][E]6[][g]"), changes);
+    }
+
+    @Test
+    public void testNestedTransactions() {
+        try (ListChangeTransaction outer = FXCollections.beginChange(list)) {
+            try (ListChangeTransaction inner = FXCollections.beginChange(list)) {
+                list.remove(0);
+            }
+            assertTrue(changes.isEmpty());
+            list.remove("f");
+        }
+        assertEquals(Arrays.asList("0[a][]4[f][]"), changes);
+    }
+
+    @Test
+    public void testCloseTwice() {
+        ListChangeTransaction tx = FXCollections.beginChange(list);
+        list.add("x");
+        tx.close();
+        tx.close();
+        list.add("y");
+        assertEquals(2, changes.size());
+    }
+
+    @Test
+    public void testEmptyTransaction() {
+        try (ListChangeTransaction tx = FXCollections.beginChange(list)) {
+        }
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    public void testDerivedListsSeeOneChange() {
+        FilteredList<String> filtered = new FilteredList<>(list, s -> !s.equals("c"));
+        SortedList<String> sorted = new SortedList<>(filtered, (s1, s2) -> s2.compareTo(s1));
+        List<String> sortedChanges = record(sorted);
+        try (ListChangeTransaction tx = FXCollections.beginChange(list)) {
+            for (int i = 0; i < list.size(); i++) {
+                list.set(i, list.get(i).toUpperCase());
+            }
+        }
+        assertEquals(1, changes.size());
+        assertEquals(1, sortedChanges.size());
+        assertEquals(Arrays.asList("F", "E", "D", "C", "B", "A"), sorted);
+    }
+
+    @Test
+    public void testWrappedListsMergeChanges() {
+        ObservableList<String> unmodifiable = FXCollections.unmodifiableObservableList(list);
+        ObservableList<String> checked = FXCollections.checkedObservableList(list, String.class);
+        ObservableList<String> synchronizedList = FXCollections.synchronizedObservableList(checked);
+        List<String> unmodifiableChanges = record(unmodifiable);
+        List<String> checkedChanges = record(checked);
+        List<String> synchronizedChanges = record(synchronizedList);
+        try (ListChangeTransaction tx = FXCollections.beginChange(synchronizedList)) {
+            synchronizedList.set(1, "B");
+            checked.set(4, "E");
+            assertTrue(synchronizedChanges.isEmpty());
+        }
+        try (ListChangeTransaction tx = FXCollections.beginChange(unmodifiable)) {
+            list.remove(0);
+            list.add("g");
+        }
+        assertEquals(Arrays.asList("1[b][B]4[e][E]", "0[a][]5[][g]"), changes);
+        assertEquals(changes, unmodifiableChanges);
+        assertEquals(changes, checkedChanges);
+        assertEquals(changes, synchronizedChanges);
+    }
+
+    @Test
+    public void testListNotExtendingObservableListBase() {
+        ObservableList<String> empty = FXCollections.emptyObservableList();
+        try (ListChangeTransaction tx = FXCollections.beginChange(empty)) {
+            assertTrue(empty.isEmpty());
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullList() {
+        FXCollections.beginChange(null);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.collections;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableLongMap;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import static test.javafx.collections.MockMapObserver.Tuple.tup;
+
+public class ObservableLongMapTest {
+
+    private ObservableLongMap<String> map;
+    private MockMapObserver<Long, String> observer;
+
+    @Before
+    public void setUp() {
+        map = FXCollections.observableLongMap();
+        map.put(1L, "one");
+        map.put(2L, "two");
+        observer = new MockMapObserver<>();
+        map.addListener(observer);
+    }
+
+    @Test
+    public void testPrimitiveAccess() {
+        assertEquals("one", map.get(1L));
+        assertNull(map.get(3L));
+        assertTrue(map.containsKey(2L));
+        assertFalse(map.containsKey(3L));
+        assertEquals("two", map.get(Long.valueOf(2)));
+        assertNull(map.get("2"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testPutNotifies() {
+        assertNull(map.put(3L, "three"));
+        observer.assertAdded(tup(3L, "three"));
+        observer.clear();
+        assertEquals("three", map.put(3L, "drei"));
+        observer.assertMultipleCalls(MockMapObserver.Call.call(3L, "three", "drei"));
+        observer.clear();
+        map.put(3L, "drei");
+        observer.check0();
+    }
+
+    @Test
+    public void testRemoveNotifies() {
+        assertEquals("one", map.remove(1L));
+        observer.assertRemoved(tup(1L, "one"));
+        observer.clear();
+        assertNull(map.remove(1L));
+        observer.check0();
+    }
+
+    @Test
+    public void testViews() {
+        map.keySet().remove(1L);
+        observer.assertRemoved(tup(1L, "one"));
+        observer.clear();
+        map.clear();
+        observer.assertRemoved(tup(2L, "two"));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testRandomAgainstHashMap() {
+        map.removeListener(observer);
+        map.clear();
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 20000; i++) {
+            long key = random.nextInt(500) - 250L;
+            switch (random.nextInt(3)) {
+                case 0:
+                    assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+                    break;
+                case 1:
+                    assertEquals(expected.remove(key), map.remove(key));
+                    break;
+                default:
+                    assertEquals(expected.get(key), map.get(key));
+            }
+        }
+        assertEquals(expected, map);
+        assertEquals(expected.hashCode(), map.hashCode());
+        for (Iterator<Long> it = map.keySet().iterator(); it.hasNext(); ) {
+            if (it.next() % 2 == 0) {
+                it.remove();
+            }
+        }
+        expected.keySet().removeIf(k -> k % 2 == 0);
+        assertEquals(expected, map);
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableDoubleList;
+import javafx.collections.ObservableIntegerList;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ObservablePrimitiveListTest {
+
+    private ObservableDoubleList doubles;
+    private ObservableIntegerList ints;
+    private MockListObserver<Double> dlo;
+    private MockListObserver<Integer> ilo;
+
+    @Before
+    public void setUp() {
+        doubles = FXCollections.observableDoubleList(1, 2, 3);
+        ints = FXCollections.observableIntegerList(1, 2, 3);
+        dlo = new MockListObserver<>();
+        ilo = new MockListObserver<>();
+        doubles.addListener(dlo);
+        ints.addListener(ilo);
+    }
+
+    @Test
+    public void testInitialContent() {
+        assertEquals(Arrays.asList(1.0, 2.0, 3.0), doubles);
+        assertEquals(Arrays.asList(1, 2, 3), ints);
+        assertEquals(2.0, doubles.getDouble(1), 0);
+        assertEquals(2, ints.getInt(1));
+    }
+
+    @Test
+    public void testAddPrimitive() {
+        doubles.add(4.0);
+        dlo.check1AddRemove(doubles, null, 3, 4);
+        ints.add(0, 0);
+        ilo.check1AddRemove(ints, null, 0, 1);
+        assertEquals(Arrays.asList(0, 1, 2, 3), ints);
+    }
+
+    @Test
+    public void testAddAllIsSingleChange() {
+        doubles.addAll(new double[] {9, 4, 5, 6, 9}, 1, 3);
+        dlo.check1AddRemove(doubles, null, 3, 6);
+        assertEquals(Arrays.asList(1.0, 2.0, 3.0, 4.0, 5.0, 6.0), doubles);
+
+        ints.addAll(1, new int[] {7, 8}, 0, 2);
+        ilo.check1AddRemove(ints, null, 1, 3);
+        assertEquals(Arrays.asList(1, 7, 8, 2, 3), ints);
+    }
+
+    @Test
+    public void testAddAllEmpty() {
+        assertFalse(doubles.addAll(new double[0]));
+        dlo.check0();
+    }
+
+    @Test
+    public void testSetPrimitive() {
+        assertEquals(2.0, doubles.set(1, 5.0), 0);
+        dlo.check1AddRemove(doubles, Arrays.asList(2.0), 1, 2);
+        assertEquals(2, ints.set(1, 5));
+        ilo.check1AddRemove(ints, Arrays.asList(2), 1, 2);
+    }
+
+    @Test
+    public void testSetAll() {
+        doubles.setAll(new double[] {7, 8});
+        dlo.check1AddRemove(doubles, Arrays.asList(1.0, 2.0, 3.0), 0, 2);
+        ints.setAll(Arrays.asList(7, 8, 9, 10));
+        ilo.check1AddRemove(ints, Arrays.asList(1, 2, 3), 0, 4);
+        assertEquals(Arrays.asList(7, 8, 9, 10), ints);
+    }
+
+    @Test
+    public void testRemoveRangeAndClear() {
+        ints.addAll(new int[] {4, 5});
+        ilo.clear();
+        ints.remove(1, 3);
+        ilo.check1AddRemove(ints, Arrays.asList(2, 3), 1, 1);
+        ilo.clear();
+        ints.clear();
+        ilo.check1AddRemove(ints, Arrays.asList(1, 4, 5), 0, 0);
+        assertTrue(ints.isEmpty());
+    }
+
+    @Test
+    public void testBoxedMethods() {
+        doubles.add(Double.valueOf(4));
+        doubles.remove(Double.valueOf(1));
+        doubles.removeIf(d -> d == 3.0);
+        assertEquals(Arrays.asList(2.0, 4.0), doubles);
+
+        ints.remove(0);
+        ints.remove(Integer.valueOf(3));
+        assertEquals(Collections.singletonList(2), ints);
+    }
+
+    @Test
+    public void testCopyToAndToArray() {
+        double[] dest = new double[4];
+        doubles.copyTo(1, dest, 2, 2);
+        assertArrayEquals(new double[] {0, 0, 2, 3}, dest, 0);
+        assertArrayEquals(new int[] {1, 2, 3}, ints.toArray((int[]) null));
+        int[] big = new int[5];
+        assertSame(big, ints.toArray(big));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfRange() {
+        doubles.getDouble(3);
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void testAddAllOutOfRange() {
+        ints.addAll(new int[2], 1, 2);
+    }
+
+    @Test
+    public void testNoListenersStillConsistent() {
+        ObservableIntegerList list = FXCollections.observableIntegerList();
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 1000; i++) {
+            int v = random.nextInt(100);
+            switch (random.nextInt(4)) {
+                case 0:
+                    list.add(v);
+                    expected.add(v);
+                    break;
+                case 1:
+                    if (!expected.isEmpty()) {
+                        int from = random.nextInt(expected.size());
+                        int to = from + random.nextInt(expected.size() - from + 1);
+                        list.remove(from, to);
+                        expected.subList(from, to).clear();
+                    }
+                    break;
+                case 2:
+                    int index = random.nextInt(expected.size() + 1);
+                    list.addAll(index, new int[] {v, v + 1}, 0, 2);
+                    expected.addAll(index, Arrays.asList(v, v + 1));
+                    break;
+                default:
+                    if (!expected.isEmpty()) {
+                        int j = random.nextInt(expected.size());
+                        list.set(j, v);
+                        expected.set(j, v);
+                    }
+            }
+        }
+        assertEquals(expected, list);
+    }
+
+    @Test
+    public void testChangeSeenByListener() {
+        List<String> changes = new ArrayList<>();
+        doubles.addListener((ListChangeListener<Double>) c -> {
+            while (c.next()) {
+                changes.add(c.getFrom() + ":" + c.getRemoved() + "->" + c.getAddedSubList());
+            }
+        });
+        doubles.addAll(new double[] {4, 5});
+        doubles.remove(0, 2);
+        assertEquals(Arrays.asList("3:[]->[4.0, 5.0]", "0:[1.0, 2.0]->[]"), changes);
+    }
+}
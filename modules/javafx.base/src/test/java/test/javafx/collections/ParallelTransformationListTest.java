@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.collections;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the parallel and the asynchronous modes of FilteredList and SortedList.
+ */
+public class ParallelTransformationListTest {
+
+    private static final int SIZE = 20000;
+
+    private ObservableList<Integer> list;
+
+    /** Collects the published tasks so that the test thread runs them. */
+    private final BlockingQueue<Runnable> published = new LinkedBlockingQueue<>();
+    private final Executor executor = published::add;
+
+    @Before
+    public void setUp() {
+        List<Integer> values = new ArrayList<>();
+        Random random = new Random(5);
+        for (int i = 0; i < SIZE; ++i) {
+            values.add(random.nextInt(SIZE));
+        }
+        list = FXCollections.observableArrayList(values);
+    }
+
+    private void runPublished(CompletableFuture<Void> request) throws Exception {
+        Runnable task = published.poll(10, TimeUnit.SECONDS);
+        assertNotNull(task);
+        assertFalse(request.isDone());
+        task.run();
+    }
+
+    private List<Integer> filter(Predicate<Integer> predicate) {
+        return list.stream().filter(predicate).collect(Collectors.toList());
+    }
+
+    private List<Integer> sort(Comparator<Integer> comparator) {
+        List<Integer> sorted = new ArrayList<>(list);
+        Collections.sort(sorted, comparator);
+        return sorted;
+    }
+
+    @Test
+    public void testParallelRefilter() {
+        for (boolean indexed : new boolean[] {false, true}) {
+            FilteredList<Integer> filtered = new FilteredList<>(list, null, indexed);
+            filtered.setParallel(true);
+            assertTrue(filtered.isParallel());
+            MockListObserver<Integer> observer = new MockListObserver<>();
+            filtered.addListener(observer);
+
+            filtered.setPredicate(i -> i % 3 == 0);
+            assertEquals(filter(i -> i % 3 == 0), filtered);
+            observer.check1AddRemove(filtered, list, 0, filtered.size());
+
+            list.add(0, 3);
+            assertEquals(filter(i -> i % 3 == 0), filtered);
+        }
+    }
+
+    @Test
+    public void testParallelSort() {
+        for (boolean indexed : new boolean[] {false, true}) {
+            SortedList<Integer> sorted = new SortedList<>(list, null, indexed);
+            sorted.setParallel(true);
+            assertTrue(sorted.isParallel());
+            List<Integer> copy = new ArrayList<>(sorted);
+            sorted.addListener((ListChangeListener<Integer>) c -> {
+                assertTrue(c.next());
+                assertTrue(c.wasPermutated());
+                List<Integer> permuted = new ArrayList<>(copy);
+                for (int i = c.getFrom(); i < c.getTo(); ++i) {
+                    permuted.set(c.getPermutation(i), copy.get(i));
+                }
+                assertEquals(sorted, permuted);
+                assertFalse(c.next());
+            });
+
+            sorted.setComparator(Comparator.reverseOrder());
+            assertEquals(sort(Comparator.reverseOrder()), sorted);
+            for (int i = 0; i < 100; ++i) {
+                assertEquals(i, sorted.getViewIndex(sorted.getSourceIndex(i)));
+            }
+        }
+    }
+
+    @Test
+    public void testSetPredicateAsync() throws Exception {
+        for (boolean indexed : new boolean[] {false, true}) {
+            FilteredList<Integer> filtered = new FilteredList<>(list, null, indexed);
+            Predicate<Integer> even = i -> i % 2 == 0;
+            CompletableFuture<Void> request = filtered.setPredicateAsync(even, executor);
+            runPublished(request);
+            assertTrue(request.isDone());
+            assertSame(even, filtered.getPredicate());
+            assertEquals(filter(even), filtered);
+        }
+    }
+
+    @Test
+    public void testSetPredicateAsyncWithSourceChange() throws Exception {
+        FilteredList<Integer> filtered = new FilteredList<>(list);
+        Predicate<Integer> even = i -> i % 2 == 0;
+        CompletableFuture<Void> request = filtered.setPredicateAsync(even, executor);
+        list.remove(0, 100);
+        list.add(0, 42);
+        runPublished(request);
+        assertTrue(request.isDone());
+        assertEquals(filter(even), filtered);
+    }
+
+    @Test
+    public void testSetPredicateAsyncCancelled() throws Exception {
+        FilteredList<Integer> filtered = new FilteredList<>(list);
+        CompletableFuture<Void> request = filtered.setPredicateAsync(i -> i % 2 == 0, executor);
+        request.cancel(false);
+        Runnable task = published.poll(1, TimeUnit.SECONDS);
+        if (task != null) {
+            task.run();
+        }
+        assertNull(filtered.getPredicate());
+        assertEquals(list, filtered);
+    }
+
+    @Test
+    public void testSetPredicateAsyncSuperseded() throws Exception {
+        FilteredList<Integer> filtered = new FilteredList<>(list);
+        CompletableFuture<Void> first = filtered.setPredicateAsync(i -> i % 2 == 0, executor);
+        Predicate<Integer> odd = i -> i % 2 == 1;
+        CompletableFuture<Void> second = filtered.setPredicateAsync(odd, executor);
+        assertTrue(first.isCancelled());
+        for (int i = 0; i < 2 && !second.isDone(); ++i) {
+            Runnable task = published.poll(10, TimeUnit.SECONDS);
+            if (task != null) {
+                task.run();
+            }
+        }
+        assertTrue(second.isDone());
+        assertSame(odd, filtered.getPredicate());
+        assertEquals(filter(odd), filtered);
+    }
+
+    @Test
+    public void testSetPredicateAfterAsync() throws Exception {
+        FilteredList<Integer> filtered = new FilteredList<>(list);
+        CompletableFuture<Void> request = filtered.setPredicateAsync(i -> i % 2 == 0, executor);
+        Predicate<Integer> odd = i -> i % 2 == 1;
+        filtered.setPredicate(odd);
+        assertTrue(request.isCancelled());
+        Runnable task = published.poll(1, TimeUnit.SECONDS);
+        if (task != null) {
+            task.run();
+        }
+        assertSame(odd, filtered.getPredicate());
+        assertEquals(filter(odd), filtered);
+    }
+
+    @Test
+    public void testBindPredicateAfterAsync() throws Exception {
+        FilteredList<Integer> filtered = new FilteredList<>(list);
+        CompletableFuture<Void> request = filtered.setPredicateAsync(i -> i % 2 == 0, executor);
+        Predicate<Integer> odd = i -> i % 2 == 1;
+        filtered.predicateProperty().bind(new SimpleObjectProperty<>(odd));
+        assertTrue(request.isCancelled());
+        Runnable task = published.poll(1, TimeUnit.SECONDS);
+        if (task != null) {
+            task.run();
+        }
+        assertSame(odd, filtered.getPredicate());
+        assertEquals(filter(odd), filtered);
+    }
+
+    @Test
+    public void testSetComparatorAsync() throws Exception {
+        for (boolean indexed : new boolean[] {false, true}) {
+            SortedList<Integer> sorted = new SortedList<>(list, null, indexed);
+            MockListObserver<Integer> observer = new MockListObserver<>();
+            sorted.addListener(observer);
+            CompletableFuture<Void> request = sorted.setComparatorAsync(Comparator.naturalOrder(), executor);
+            runPublished(request);
+            assertTrue(request.isDone());
+            assertEquals(Comparator.naturalOrder(), sorted.getComparator());
+            assertEquals(sort(Comparator.naturalOrder()), sorted);
+            observer.check1();
+
+            request = sorted.setComparatorAsync(null, executor);
+            runPublished(request);
+            assertEquals(list, sorted);
+        }
+    }
+
+    @Test
+    public void testSetComparatorAsyncWithSourceChange() throws Exception {
+        SortedList<Integer> sorted = new SortedList<>(list);
+        CompletableFuture<Void> request = sorted.setComparatorAsync(Comparator.naturalOrder(), executor);
+        list.remove(5, 500);
+        list.add(-1);
+        runPublished(request);
+        assertTrue(request.isDone());
+        assertEquals(sort(Comparator.naturalOrder()), sorted);
+    }
+
+    @Test
+    public void testSetComparatorAsyncCancelled() throws Exception {
+        SortedList<Integer> sorted = new SortedList<>(list);
+        CompletableFuture<Void> request = sorted.setComparatorAsync(Comparator.naturalOrder(), executor);
+        request.cancel(false);
+        Runnable task = published.poll(1, TimeUnit.SECONDS);
+        if (task != null) {
+            task.run();
+        }
+        assertNull(sorted.getComparator());
+        assertEquals(list, sorted);
+    }
+
+    @Test
+    public void testSetComparatorAfterAsync() throws Exception {
+        SortedList<Integer> sorted = new SortedList<>(list);
+        CompletableFuture<Void> request = sorted.setComparatorAsync(Comparator.naturalOrder(), executor);
+        sorted.setComparator(Comparator.reverseOrder());
+        assertTrue(request.isCancelled());
+        Runnable task = published.poll(1, TimeUnit.SECONDS);
+        if (task != null) {
+            task.run();
+        }
+        assertEquals(Comparator.reverseOrder(), sorted.getComparator());
+        assertEquals(sort(Comparator.reverseOrder()), sorted);
+    }
+
+    @Test
+    public void testBindComparatorAfterAsync() throws Exception {
+        SortedList<Integer> sorted = new SortedList<>(list);
+        CompletableFuture<Void> request = sorted.setComparatorAsync(Comparator.naturalOrder(), executor);
+        sorted.comparatorProperty().bind(new SimpleObjectProperty<>(Comparator.reverseOrder()));
+        assertTrue(request.isCancelled());
+        Runnable task = published.poll(1, TimeUnit.SECONDS);
+        if (task != null) {
+            task.run();
+        }
+        assertEquals(Comparator.reverseOrder(), sorted.getComparator());
+        assertEquals(sort(Comparator.reverseOrder()), sorted);
+    }
+}
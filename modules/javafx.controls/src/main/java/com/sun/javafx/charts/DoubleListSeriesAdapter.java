@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.charts;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableDoubleList;
+import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
+import javafx.scene.chart.XYChart.Data;
+
+/**
+ * Mirrors a pair of {@link ObservableDoubleList}s into a list of
+ * {@link Data} items, the point at index {@code i} being
+ * {@code (xValues[i], yValues[i])}. Points only exist for indexes present in
+ * both lists.
+ * <p>
+ * The points are kept by index, not by identity: appending values creates
+ * new points only for the appended range, while inserting or removing values
+ * moves the values of all following points rather than the points themselves.
+ * The lists are observed weakly, so the adapter has to be kept reachable by
+ * its owner.
+ */
+public final class DoubleListSeriesAdapter {
+
+    private final ObservableDoubleList xValues;
+    private final ObservableDoubleList yValues;
+    private final ObservableList<Data<Number, Number>> points = FXCollections.observableArrayList();
+    private final ObservableList<Data<Number, Number>> data = FXCollections.unmodifiableObservableList(points);
+
+    private final ListChangeListener<Double> valuesListener = c -> {
+        int from = Integer.MAX_VALUE;
+        int to = 0;
+        while (c.next()) {
+            from = Math.min(from, c.getFrom());
+            if (c.wasPermutated() || c.wasUpdated() || c.getAddedSize() == c.getRemovedSize()) {
+                to = Math.max(to, c.getTo());
+            } else {
+                // the size changed, so everything after it shifted
+                to = Integer.MAX_VALUE;
+            }
+        }
+        sync(from, to);
+    };
+
+    public DoubleListSeriesAdapter(ObservableDoubleList xValues, ObservableDoubleList yValues) {
+        this.xValues = xValues;
+        this.yValues = yValues;
+        sync(0, Integer.MAX_VALUE);
+        final WeakListChangeListener<Double> weakListener = new WeakListChangeListener<>(valuesListener);
+        xValues.addListener(weakListener);
+        yValues.addListener(weakListener);
+    }
+
+    /**
+     * @return an unmodifiable list of the points
+     */
+    public ObservableList<Data<Number, Number>> getData() {
+        return data;
+    }
+
+    /**
+     * Updates the points in range {@code [from, to)} and then adds or removes
+     * points at the end, so that there is one point per pair of values.
+     */
+    private void sync(int from, int to) {
+        final int count = Math.min(xValues.size(), yValues.size());
+        final int current = points.size();
+        final int end = Math.min(Math.min(to, count), current);
+        for (int i = from; i < end; i++) {
+            final Data<Number, Number> point = points.get(i);
+            final double x = xValues.getDouble(i);
+            final double y = yValues.getDouble(i);
+            if (point.getXValue().doubleValue() != x) {
+                point.setXValue(x);
+            }
+            if (point.getYValue().doubleValue() != y) {
+                point.setYValue(y);
+            }
+        }
+        if (count > current) {
+            @SuppressWarnings("unchecked")
+            final Data<Number, Number>[] added = new Data[count - current];
+            for (int i = current; i < count; i++) {
+                added[i - current] = new Data<>(xValues.getDouble(i), yValues.getDouble(i));
+            }
+            points.addAll(added);
+        } else if (count < current) {
+            points.remove(count, current);
+        }
+    }
+}
@@ -26,6 +26,7 @@
 package javafx.scene.chart;
 
 
+import com.sun.javafx.charts.DoubleListSeriesAdapter;
 import com.sun.javafx.charts.Legend;
 import java.util.ArrayList;
 import java.util.BitSet;
@@ -53,6 +54,7 @@ import javafx.beans.value.WritableValue;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ListChangeListener.Change;
+import javafx.collections.ObservableDoubleList;
 import javafx.collections.ObservableList;
 import javafx.css.CssMetaData;
 import javafx.css.Styleable;
@@ -1427,6 +1429,9 @@ public abstract class XYChart<X,Y> extends Chart {
 
         private List<Data<X, Y>> displayedData = new ArrayList<>();
 
+        /** keeps the adapter created by ofValues() alive */
+        private DoubleListSeriesAdapter valuesAdapter;
+
         private final ListChangeListener<Data<X,Y>> dataChangeListener = new ListChangeListener<Data<X, Y>>() {
             @Override public void onChanged(Change<? extends Data<X, Y>> c) {
                 ObservableList<? extends Data<X, Y>> data = c.getList();
@@ -1615,6 +1620,30 @@ public abstract class XYChart<X,Y> extends Chart {
             setName(name);
         }
 
+        /**
+         * Creates a series whose data items mirror the values of two primitive
+         * lists, the item at index {@code i} having {@code xValues.getDouble(i)}
+         * as X value and {@code yValues.getDouble(i)} as Y value. There is an
+         * item for each index present in both lists.
+         * <p>
+         * Values appended to the lists create data items for the new indexes
+         * only. Items are associated with indexes, so inserting or removing
+         * values before the end of the lists changes the values of all
+         * the following items. The data list of the returned series is
+         * unmodifiable and must not be replaced.
+         *
+         * @param xValues the X values
+         * @param yValues the Y values
+         * @return a new series backed by the two lists
+         * @since 12
+         */
+        public static Series<Number, Number> ofValues(ObservableDoubleList xValues, ObservableDoubleList yValues) {
+            final DoubleListSeriesAdapter adapter = new DoubleListSeriesAdapter(xValues, yValues);
+            final Series<Number, Number> series = new Series<>(adapter.getData());
+            series.valuesAdapter = adapter;
+            return series;
+        }
+
         // -------------- PUBLIC METHODS ----------------------------------------------
 
         /**
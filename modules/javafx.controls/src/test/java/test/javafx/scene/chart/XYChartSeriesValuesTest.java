@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.scene.chart;
+
+import java.util.List;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableDoubleList;
+import javafx.scene.chart.XYChart;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class XYChartSeriesValuesTest {
+
+    private ObservableDoubleList xs;
+    private ObservableDoubleList ys;
+    private XYChart.Series<Number, Number> series;
+
+    @Before
+    public void setUp() {
+        xs = FXCollections.observableDoubleList(0, 1, 2);
+        ys = FXCollections.observableDoubleList(10, 11, 12);
+        series = XYChart.Series.ofValues(xs, ys);
+    }
+
+    private void assertPoints(double... expected) {
+        List<XYChart.Data<Number, Number>> data = series.getData();
+        assertEquals(expected.length / 2, data.size());
+        for (int i = 0; i < data.size(); i++) {
+            assertEquals(expected[2 * i], data.get(i).getXValue().doubleValue(), 0);
+            assertEquals(expected[2 * i + 1], data.get(i).getYValue().doubleValue(), 0);
+        }
+    }
+
+    @Test
+    public void initialValuesArePaired() {
+        assertPoints(0, 10, 1, 11, 2, 12);
+    }
+
+    @Test
+    public void appendingCreatesOnlyNewPoints() {
+        XYChart.Data<Number, Number> first = series.getData().get(0);
+        int[] added = new int[1];
+        series.getData().addListener((ListChangeListener<XYChart.Data<Number, Number>>) c -> {
+            while (c.next()) {
+                assertFalse(c.wasRemoved());
+                added[0] += c.getAddedSize();
+            }
+        });
+        xs.addAll(new double[] {3, 4});
+        assertPoints(0, 10, 1, 11, 2, 12);
+        ys.addAll(new double[] {13, 14});
+        assertPoints(0, 10, 1, 11, 2, 12, 3, 13, 4, 14);
+        assertEquals(2, added[0]);
+        assertSame(first, series.getData().get(0));
+    }
+
+    @Test
+    public void settingValueUpdatesPoint() {
+        XYChart.Data<Number, Number> point = series.getData().get(1);
+        ys.set(1, 42.0);
+        assertSame(point, series.getData().get(1));
+        assertEquals(42, point.getYValue().doubleValue(), 0);
+    }
+
+    @Test
+    public void removingShiftsValuesAndDropsPoints() {
+        xs.remove(0, 1);
+        assertPoints(1, 10, 2, 11);
+        ys.remove(0, 1);
+        assertPoints(1, 11, 2, 12);
+        xs.clear();
+        assertTrue(series.getData().isEmpty());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void dataIsUnmodifiable() {
+        series.getData().add(new XYChart.Data<>(1, 2));
+    }
+}
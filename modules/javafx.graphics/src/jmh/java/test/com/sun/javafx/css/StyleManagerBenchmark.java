@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.css;
+
+import com.sun.javafx.css.StyleManagerShim;
+import com.sun.javafx.css.StyleMap;
+import java.util.concurrent.TimeUnit;
+import javafx.css.CssParser;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.shape.Rectangle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures matching the styles of the nodes of a scene against a generated
+ * user agent stylesheet: lookups that hit the style cache, lookups after the
+ * cache has been cleared, and a full CSS pass over the scene.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StyleManagerBenchmark {
+
+    @Param({"100", "1000"})
+    public int rules;
+
+    @Param({"1000"})
+    public int nodes;
+
+    private StyleManagerShim styleManager;
+    private Group root;
+    private Node[] children;
+
+    @Setup
+    public void setUp() {
+        styleManager = StyleManagerShim.getInstance();
+        styleManager.userAgentStylesheetContainers_clear();
+        styleManager.platformUserAgentStylesheetContainers_clear();
+        styleManager.stylesheetContainerMap_clear();
+        styleManager.cacheContainerMap_clear();
+        styleManager.set_hasDefaultUserAgentStylesheet(false);
+
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < rules; i++) {
+            sb.append(".c").append(i).append(" { -fx-fill: red; }\n");
+            sb.append(".c").append(i).append(":hover { -fx-stroke: blue; }\n");
+            sb.append(".root .c").append(i).append(".alt { -fx-opacity: 0.5; }\n");
+            sb.append("#n").append(i).append(" { -fx-stroke-width: 2; }\n");
+        }
+        styleManager.setDefaultUserAgentStylesheet(new CssParser().parse(sb.toString()));
+
+        children = new Node[nodes];
+        for (int i = 0; i < nodes; i++) {
+            final Rectangle rect = new Rectangle(10, 10);
+            rect.getStyleClass().add("c" + (i % rules));
+            if (i % 2 == 0) {
+                rect.getStyleClass().add("alt");
+            }
+            rect.setId("n" + i);
+            children[i] = rect;
+        }
+        root = new Group(children);
+        new Scene(root);
+        root.applyCss();
+    }
+
+    @Benchmark
+    public int cachedLookup() {
+        int count = 0;
+        for (Node node : children) {
+            final StyleMap map = styleManager.findMatchingStyles(node, null, null);
+            count += map.getCascadingStyles().size();
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int uncachedLookup() {
+        styleManager.cacheContainerMap_clear();
+        int count = 0;
+        for (Node node : children) {
+            final StyleMap map = styleManager.findMatchingStyles(node, null, null);
+            count += map.getCascadingStyles().size();
+        }
+        return count;
+    }
+
+    @Benchmark
+    public Group applyCss() {
+        // changing the style class of the root reapplies CSS to the whole tree
+        if (!root.getStyleClass().remove("alt")) {
+            root.getStyleClass().add("alt");
+        }
+        root.applyCss();
+        return root;
+    }
+}
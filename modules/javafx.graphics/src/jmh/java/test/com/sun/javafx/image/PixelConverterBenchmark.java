@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.image;
+
+import com.sun.javafx.image.ByteToBytePixelConverter;
+import com.sun.javafx.image.ByteToIntPixelConverter;
+import com.sun.javafx.image.IntToBytePixelConverter;
+import com.sun.javafx.image.PixelUtils;
+import com.sun.javafx.image.impl.ByteBgra;
+import com.sun.javafx.image.impl.ByteBgraPre;
+import com.sun.javafx.image.impl.ByteGray;
+import com.sun.javafx.image.impl.ByteRgba;
+import com.sun.javafx.image.impl.General;
+import com.sun.javafx.image.impl.IntArgbPre;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the pixel converters of com.sun.javafx.image on the conversions
+ * that PixelWriter.setPixels, snapshots and texture uploads go through, on
+ * arrays and on direct buffers. Each specialized converter is compared with
+ * the General converter of the same formats, which moves the pixels one by
+ * one through the getter and the setter of the formats.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PixelConverterBenchmark {
+
+    // a 256x256 tile, the rows are contiguous unless padded
+    @Param({"256"})
+    public int size;
+
+    @Param({"0", "16"})
+    public int padding;
+
+    private int w, h, intScan, byteScan;
+
+    private int[] intArgbPre;
+    private byte[] byteBgra;
+    private byte[] byteBgraPre;
+    private byte[] byteGray;
+    private int[] intDst;
+    private byte[] byteDst;
+
+    private IntBuffer directIntArgbPre;
+    private ByteBuffer directByteBgraPre;
+    private ByteBuffer directByteDst;
+    private IntBuffer directIntDst;
+
+    private IntToBytePixelConverter intArgbPreToByteBgraPre;
+    private IntToBytePixelConverter intArgbPreToByteBgraPreGeneral;
+    private ByteToIntPixelConverter byteBgraPreToIntArgbPre;
+    private ByteToIntPixelConverter byteBgraPreToIntArgbPreGeneral;
+    private ByteToBytePixelConverter byteBgraToByteBgraPre;
+    private ByteToBytePixelConverter byteBgraToByteBgraPreGeneral;
+    private ByteToBytePixelConverter byteRgbaToByteBgra;
+    private ByteToBytePixelConverter byteRgbaToByteBgraGeneral;
+    private ByteToBytePixelConverter byteGrayToByteBgraPre;
+    private ByteToBytePixelConverter byteGrayToByteBgraPreGeneral;
+
+    @Setup
+    public void setUp() {
+        w = size;
+        h = size;
+        intScan = w + padding;
+        byteScan = intScan * 4;
+
+        final Random random = new Random(42);
+        intArgbPre = new int[intScan * h];
+        for (int i = 0; i < intArgbPre.length; i++) {
+            // mostly opaque pixels with some translucent ones
+            int a = (i % 7 == 0) ? random.nextInt(256) : 0xff;
+            intArgbPre[i] = PixelUtils.NonPretoPre((a << 24) | (random.nextInt() & 0xffffff));
+        }
+        byteBgraPre = new byte[byteScan * h];
+        IntArgbPre.ToByteBgraPreConverter().convert(intArgbPre, 0, intScan,
+                                                    byteBgraPre, 0, byteScan, intScan, h);
+        byteBgra = new byte[byteScan * h];
+        ByteBgraPre.ToByteBgraConverter().convert(byteBgraPre, 0, byteScan,
+                                                  byteBgra, 0, byteScan, intScan, h);
+        byteGray = new byte[intScan * h];
+        random.nextBytes(byteGray);
+        intDst = new int[intScan * h];
+        byteDst = new byte[byteScan * h];
+
+        directIntArgbPre = ByteBuffer.allocateDirect(intArgbPre.length * 4)
+            .order(ByteOrder.nativeOrder()).asIntBuffer();
+        directIntArgbPre.put(intArgbPre).rewind();
+        directByteBgraPre = ByteBuffer.allocateDirect(byteBgraPre.length);
+        directByteBgraPre.put(byteBgraPre).rewind();
+        directByteDst = ByteBuffer.allocateDirect(byteDst.length);
+        directIntDst = ByteBuffer.allocateDirect(intDst.length * 4)
+            .order(ByteOrder.nativeOrder()).asIntBuffer();
+
+        intArgbPreToByteBgraPre = IntArgbPre.ToByteBgraPreConverter();
+        intArgbPreToByteBgraPreGeneral =
+            General.create(IntArgbPre.getter, ByteBgraPre.setter);
+        byteBgraPreToIntArgbPre = ByteBgraPre.ToIntArgbPreConverter();
+        byteBgraPreToIntArgbPreGeneral =
+            General.create(ByteBgraPre.getter, IntArgbPre.setter);
+        byteBgraToByteBgraPre = ByteBgra.ToByteBgraPreConverter();
+        byteBgraToByteBgraPreGeneral =
+            General.create(ByteBgra.getter, ByteBgraPre.setter);
+        byteRgbaToByteBgra = ByteRgba.ToByteBgraConverter();
+        byteRgbaToByteBgraGeneral =
+            General.create(ByteRgba.getter, ByteBgra.setter);
+        byteGrayToByteBgraPre = ByteGray.ToByteBgraPreConverter();
+        byteGrayToByteBgraPreGeneral =
+            General.create(ByteGray.getter, ByteBgraPre.setter);
+    }
+
+    // IntArgbPre -> ByteBgraPre, snapshots and texture uploads of int images
+
+    @Benchmark
+    public byte[] intArgbPreToByteBgraPre() {
+        intArgbPreToByteBgraPre.convert(intArgbPre, 0, intScan, byteDst, 0, byteScan, w, h);
+        return byteDst;
+    }
+
+    @Benchmark
+    public byte[] intArgbPreToByteBgraPreGeneral() {
+        intArgbPreToByteBgraPreGeneral.convert(intArgbPre, 0, intScan, byteDst, 0, byteScan, w, h);
+        return byteDst;
+    }
+
+    @Benchmark
+    public ByteBuffer intArgbPreToByteBgraPreDirect() {
+        intArgbPreToByteBgraPre.convert(directIntArgbPre, 0, intScan,
+                                        directByteDst, 0, byteScan, w, h);
+        return directByteDst;
+    }
+
+    @Benchmark
+    public ByteBuffer intArgbPreToByteBgraPreDirectGeneral() {
+        intArgbPreToByteBgraPreGeneral.convert(directIntArgbPre, 0, intScan,
+                                               directByteDst, 0, byteScan, w, h);
+        return directByteDst;
+    }
+
+    // ByteBgraPre -> IntArgbPre, PixelReader.getPixels of prism images
+
+    @Benchmark
+    public int[] byteBgraPreToIntArgbPre() {
+        byteBgraPreToIntArgbPre.convert(byteBgraPre, 0, byteScan, intDst, 0, intScan, w, h);
+        return intDst;
+    }
+
+    @Benchmark
+    public int[] byteBgraPreToIntArgbPreGeneral() {
+        byteBgraPreToIntArgbPreGeneral.convert(byteBgraPre, 0, byteScan, intDst, 0, intScan, w, h);
+        return intDst;
+    }
+
+    @Benchmark
+    public IntBuffer byteBgraPreToIntArgbPreDirect() {
+        byteBgraPreToIntArgbPre.convert(directByteBgraPre, 0, byteScan,
+                                        directIntDst, 0, intScan, w, h);
+        return directIntDst;
+    }
+
+    @Benchmark
+    public IntBuffer byteBgraPreToIntArgbPreDirectGeneral() {
+        byteBgraPreToIntArgbPreGeneral.convert(directByteBgraPre, 0, byteScan,
+                                               directIntDst, 0, intScan, w, h);
+        return directIntDst;
+    }
+
+    // ByteBgra -> ByteBgraPre, PixelWriter.setPixels with non premultiplied bytes
+
+    @Benchmark
+    public byte[] byteBgraToByteBgraPre() {
+        byteBgraToByteBgraPre.convert(byteBgra, 0, byteScan, byteDst, 0, byteScan, w, h);
+        return byteDst;
+    }
+
+    @Benchmark
+    public byte[] byteBgraToByteBgraPreGeneral() {
+        byteBgraToByteBgraPreGeneral.convert(byteBgra, 0, byteScan, byteDst, 0, byteScan, w, h);
+        return byteDst;
+    }
+
+    // ByteRgba -> ByteBgra, decoded images
+
+    @Benchmark
+    public byte[] byteRgbaToByteBgra() {
+        byteRgbaToByteBgra.convert(byteBgra, 0, byteScan, byteDst, 0, byteScan, w, h);
+        return byteDst;
+    }
+
+    @Benchmark
+    public byte[] byteRgbaToByteBgraGeneral() {
+        byteRgbaToByteBgraGeneral.convert(byteBgra, 0, byteScan, byteDst, 0, byteScan, w, h);
+        return byteDst;
+    }
+
+    // ByteGray -> ByteBgraPre, gray images
+
+    @Benchmark
+    public byte[] byteGrayToByteBgraPre() {
+        byteGrayToByteBgraPre.convert(byteGray, 0, intScan, byteDst, 0, byteScan, w, h);
+        return byteDst;
+    }
+
+    @Benchmark
+    public byte[] byteGrayToByteBgraPreGeneral() {
+        byteGrayToByteBgraPreGeneral.convert(byteGray, 0, intScan, byteDst, 0, byteScan, w, h);
+        return byteDst;
+    }
+}
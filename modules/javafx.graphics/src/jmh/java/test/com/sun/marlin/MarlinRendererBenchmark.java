@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.marlin;
+
+import com.sun.javafx.geom.Ellipse2D;
+import com.sun.javafx.geom.Path2D;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.Shape;
+import com.sun.javafx.geom.transform.Affine2D;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.prism.BasicStroke;
+import com.sun.prism.impl.shape.DMarlinRasterizer;
+import com.sun.prism.impl.shape.MarlinRasterizer;
+import com.sun.prism.impl.shape.MaskData;
+import com.sun.prism.impl.shape.ShapeRasterizer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the rasterization of shapes into coverage masks by the Marlin
+ * renderer, through the same entry point the Prism pipelines use, for the
+ * float and double precision variants, filled and stroked.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarlinRendererBenchmark {
+
+    private static final int SIZE = 512;
+
+    @Param({"ellipse", "star", "curves"})
+    public String shape;
+
+    @Param({"false", "true"})
+    public boolean doublePrecision;
+
+    @Param({"false", "true"})
+    public boolean antialiased;
+
+    private ShapeRasterizer rasterizer;
+    private Shape path;
+    private BasicStroke thin;
+    private BasicStroke wide;
+    private BaseTransform transform;
+    private RectBounds clip;
+
+    @Setup
+    public void setUp() {
+        rasterizer = doublePrecision ? new DMarlinRasterizer() : new MarlinRasterizer();
+        switch (shape) {
+            case "ellipse":
+                path = new Ellipse2D(8, 8, SIZE - 16, SIZE / 2);
+                break;
+            case "star":
+                path = createStar(200);
+                break;
+            case "curves":
+                path = createCurves(100);
+                break;
+            default:
+                throw new IllegalArgumentException(shape);
+        }
+        thin = new BasicStroke(1.0f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10.0f);
+        wide = new BasicStroke(8.0f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 10.0f);
+        final Affine2D tx = new Affine2D();
+        tx.rotate(Math.toRadians(7), SIZE / 2, SIZE / 2);
+        transform = tx;
+        clip = new RectBounds(0, 0, SIZE, SIZE);
+    }
+
+    private static Path2D createStar(int spikes) {
+        final Path2D p = new Path2D();
+        final double c = SIZE / 2.0;
+        for (int i = 0; i < spikes * 2; i++) {
+            final double r = (i % 2 == 0) ? c - 8 : c / 3;
+            final double a = Math.PI * i / spikes;
+            final float x = (float) (c + r * Math.cos(a));
+            final float y = (float) (c + r * Math.sin(a));
+            if (i == 0) {
+                p.moveTo(x, y);
+            } else {
+                p.lineTo(x, y);
+            }
+        }
+        p.closePath();
+        return p;
+    }
+
+    private static Path2D createCurves(int count) {
+        final Random random = new Random(42);
+        final Path2D p = new Path2D();
+        p.moveTo(random.nextInt(SIZE), random.nextInt(SIZE));
+        for (int i = 0; i < count; i++) {
+            if (i % 2 == 0) {
+                p.curveTo(random.nextInt(SIZE), random.nextInt(SIZE),
+                          random.nextInt(SIZE), random.nextInt(SIZE),
+                          random.nextInt(SIZE), random.nextInt(SIZE));
+            } else {
+                p.quadTo(random.nextInt(SIZE), random.nextInt(SIZE),
+                         random.nextInt(SIZE), random.nextInt(SIZE));
+            }
+        }
+        p.closePath();
+        return p;
+    }
+
+    @Benchmark
+    public MaskData fill() {
+        return rasterizer.getMaskData(path, null, clip, BaseTransform.IDENTITY_TRANSFORM, true, antialiased);
+    }
+
+    @Benchmark
+    public MaskData fillTransformed() {
+        return rasterizer.getMaskData(path, null, clip, transform, true, antialiased);
+    }
+
+    @Benchmark
+    public MaskData strokeThin() {
+        return rasterizer.getMaskData(path, thin, clip, BaseTransform.IDENTITY_TRANSFORM, true, antialiased);
+    }
+
+    @Benchmark
+    public MaskData strokeWide() {
+        return rasterizer.getMaskData(path, wide, clip, BaseTransform.IDENTITY_TRANSFORM, true, antialiased);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.marlin;
+
+import com.sun.javafx.geom.Path2D;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.prism.impl.shape.MarlinRasterizer;
+import com.sun.prism.impl.shape.MaskData;
+import com.sun.prism.impl.shape.ShapeRasterizer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the rasterization of paths with the Marlin mask cache enabled,
+ * for a static path that hits the cache and for a path whose geometry
+ * changes on every call, which can only miss and so only pays for the
+ * keying. The same rasterizations without the cache are measured by
+ * {@link MarlinRendererBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dprism.marlin.maskCache=8388608")
+public class MaskCacheBenchmark {
+
+    private static final int SIZE = 512;
+
+    // number of line segments of the path
+    @Param({"64", "1024", "4096"})
+    public int segments;
+
+    private ShapeRasterizer rasterizer;
+    private Path2D path;
+    private float[] coords;
+    private float y0;
+    private int frame;
+    private RectBounds clip;
+
+    @Setup
+    public void setUp() {
+        rasterizer = new MarlinRasterizer();
+        path = new Path2D();
+        path.moveTo(8f, SIZE / 2f);
+        for (int i = 1; i <= segments; i++) {
+            path.lineTo(8f + i * (SIZE - 16f) / segments,
+                        SIZE / 2f + ((i % 2 == 0) ? 100f : -100f));
+        }
+        path.closePath();
+        coords = path.getFloatCoordsNoClone();
+        y0 = coords[1];
+        clip = new RectBounds(0, 0, SIZE, SIZE);
+    }
+
+    @Benchmark
+    public MaskData staticPath() {
+        return rasterizer.getMaskData(path, null, clip, BaseTransform.IDENTITY_TRANSFORM, true, true);
+    }
+
+    @Benchmark
+    public MaskData changingPath() {
+        // moves the first point by a fraction of a pixel, so that every
+        // call sees a geometry the cache has not seen recently
+        frame = (frame + 1) % 100000;
+        coords[1] = y0 + frame * 1e-5f;
+        return rasterizer.getMaskData(path, null, clip, BaseTransform.IDENTITY_TRANSFORM, true, true);
+    }
+}
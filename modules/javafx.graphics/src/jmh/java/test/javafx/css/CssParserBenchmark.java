@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.css;
+
+import java.util.concurrent.TimeUnit;
+import javafx.css.CssParser;
+import javafx.css.Stylesheet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parsing a generated stylesheet with the usual mix of selectors
+ * and values: colors, gradients, insets, fonts, effects and looked-up colors.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CssParserBenchmark {
+
+    @Param({"100", "1000"})
+    public int rules;
+
+    private String text;
+
+    @Setup
+    public void setUp() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(".root { -base: #ececec; -accent: derive(-base, -20%); }\n");
+        for (int i = 0; i < rules; i++) {
+            switch (i % 4) {
+                case 0:
+                    sb.append(".c").append(i).append(", .c").append(i).append(":hover {\n")
+                      .append("    -fx-background-color: #").append(String.format("%06x", i * 2654435 & 0xffffff)).append(";\n")
+                      .append("    -fx-background-insets: 0, 1 2 1 2;\n")
+                      .append("    -fx-padding: 0.333em 0.666em;\n")
+                      .append("}\n");
+                    break;
+                case 1:
+                    sb.append(".pane > #n").append(i).append(" .label {\n")
+                      .append("    -fx-text-fill: ladder(-accent, white 49%, black 50%);\n")
+                      .append("    -fx-font: bold italic 12px \"Arial\";\n")
+                      .append("}\n");
+                    break;
+                case 2:
+                    sb.append(".c").append(i).append(":focused:selected {\n")
+                      .append("    -fx-background-color: linear-gradient(to bottom, derive(-base, 10%) 0%, -base 100%);\n")
+                      .append("    -fx-effect: dropshadow(three-pass-box, rgba(0, 0, 0, 0.2), 4, 0, 0, 1);\n")
+                      .append("}\n");
+                    break;
+                default:
+                    sb.append("Rectangle.c").append(i).append(" {\n")
+                      .append("    -fx-fill: radial-gradient(radius 100%, red, blue);\n")
+                      .append("    -fx-stroke: -accent;\n")
+                      .append("    -fx-stroke-width: ").append(i % 5 + 1).append(";\n")
+                      .append("}\n");
+                    break;
+            }
+        }
+        text = sb.toString();
+    }
+
+    @Benchmark
+    public Stylesheet parse() {
+        return new CssParser().parse(text);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.scene;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javafx.geometry.Bounds;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.shape.Rectangle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the bounds computation of a Group of rectangles nested in a few
+ * transformed Groups, after moving one child on the edge of the bounds, one
+ * child inside the bounds, or all the children.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NodeBoundsBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int children;
+
+    @Param({"4"})
+    public int depth;
+
+    private Group top;
+    private Group group;
+    private Node[] nodes;
+    private Node edge;
+    private Node inner;
+    private double offset;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        nodes = new Node[children];
+        for (int i = 0; i < children; i++) {
+            final Rectangle rect = new Rectangle(random.nextInt(1000), random.nextInt(1000), 20, 20);
+            rect.setRotate(random.nextInt(4) * 15);
+            nodes[i] = rect;
+        }
+        // the rightmost child defines the bounds, a tiny child in the middle does not
+        edge = new Rectangle(2000, 500, 20, 20);
+        inner = new Rectangle(500, 500, 1, 1);
+        group = new Group(nodes);
+        group.getChildren().addAll(edge, inner);
+
+        Group g = group;
+        for (int i = 0; i < depth; i++) {
+            g = new Group(g);
+            g.setTranslateX(10);
+            g.setScaleX(1.5);
+            g.setRotate(10);
+        }
+        top = g;
+        top.getBoundsInParent();
+    }
+
+    @Benchmark
+    public Bounds moveEdgeChild() {
+        edge.setLayoutX(++offset % 100);
+        return top.getBoundsInParent();
+    }
+
+    @Benchmark
+    public Bounds moveInnerChild() {
+        inner.setLayoutX(++offset % 100);
+        return top.getBoundsInParent();
+    }
+
+    @Benchmark
+    public Bounds moveAllChildren() {
+        final double x = ++offset % 100;
+        for (Node node : nodes) {
+            node.setLayoutX(x);
+        }
+        return top.getBoundsInParent();
+    }
+
+    @Benchmark
+    public Bounds localToScene() {
+        inner.setLayoutX(++offset % 100);
+        return inner.localToScene(inner.getBoundsInLocal());
+    }
+}
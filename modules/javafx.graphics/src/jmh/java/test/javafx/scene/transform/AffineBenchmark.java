@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.scene.transform;
+
+import com.sun.javafx.geom.BaseBounds;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.transform.Affine2D;
+import com.sun.javafx.geom.transform.Affine3D;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javafx.geometry.Point2D;
+import javafx.scene.transform.Affine;
+import javafx.scene.transform.NonInvertibleTransformException;
+import javafx.scene.transform.Transform;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the public {@link Affine} transform and the internal transforms
+ * of com.sun.javafx.geom used by the scene graph: concatenation, inversion,
+ * and the transformation of points and bounds.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AffineBenchmark {
+
+    @Param({"256"})
+    public int points;
+
+    private Affine affine;
+    private Affine other;
+    private Affine work;
+    private double[] src;
+    private double[] dst;
+
+    private Affine2D affine2D;
+    private Affine3D affine3D;
+    private float[] srcf;
+    private float[] dstf;
+    private RectBounds bounds;
+    private BaseBounds result;
+
+    @Setup
+    public void setUp() {
+        affine = new Affine(Transform.rotate(30, 10, 10));
+        affine.appendScale(1.5, 0.75);
+        affine.appendTranslation(5, -3);
+        other = new Affine(Transform.shear(0.25, 0.1));
+        work = new Affine();
+
+        final Random random = new Random(42);
+        src = new double[points * 2];
+        dst = new double[points * 2];
+        srcf = new float[points * 2];
+        dstf = new float[points * 2];
+        for (int i = 0; i < src.length; i++) {
+            src[i] = random.nextDouble() * 1000;
+            srcf[i] = (float) src[i];
+        }
+
+        affine2D = new Affine2D();
+        affine2D.rotate(Math.toRadians(30));
+        affine2D.scale(1.5, 0.75);
+        affine3D = new Affine3D(affine2D);
+        affine3D.rotate(Math.toRadians(20), 0, 1, 0);
+        bounds = new RectBounds(10, 20, 300, 400);
+        result = new RectBounds();
+    }
+
+    @Benchmark
+    public Transform concatenate() {
+        return affine.createConcatenation(other);
+    }
+
+    @Benchmark
+    public Affine appendPrepend() {
+        work.setToTransform(affine);
+        work.append(other);
+        work.prepend(other);
+        return work;
+    }
+
+    @Benchmark
+    public Transform inverse() throws NonInvertibleTransformException {
+        return affine.createInverse();
+    }
+
+    @Benchmark
+    public Point2D transformPoint() {
+        return affine.transform(src[0], src[1]);
+    }
+
+    @Benchmark
+    public Point2D inverseTransformPoint() throws NonInvertibleTransformException {
+        return affine.inverseTransform(src[0], src[1]);
+    }
+
+    @Benchmark
+    public double[] transformPoints() {
+        affine.transform2DPoints(src, 0, dst, 0, points);
+        return dst;
+    }
+
+    @Benchmark
+    public float[] geomTransformPoints() {
+        affine2D.transform(srcf, 0, dstf, 0, points);
+        return dstf;
+    }
+
+    @Benchmark
+    public Affine3D geomConcatenate() {
+        final Affine3D tx = new Affine3D(affine3D);
+        tx.concatenate(affine2D);
+        return tx;
+    }
+
+    @Benchmark
+    public BaseBounds geomTransformBounds2D() {
+        return result = affine2D.transform(bounds, result);
+    }
+
+    @Benchmark
+    public BaseBounds geomTransformBounds3D() {
+        return result = affine3D.transform(bounds, result);
+    }
+}
@@ -98,6 +98,13 @@ public final class StyleCache {
         return entry;
     }
 
+    /**
+     * @return the number of entries in this cache
+     */
+    public int size() {
+        return entries != null ? entries.size() : 0;
+    }
+
     public void addStyleCacheEntry(StyleCacheEntry.Key key, StyleCacheEntry entry) {
         if (entries == null) {
             entries = new HashMap<>(5);
@@ -31,6 +31,7 @@ import javafx.application.Application;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener.Change;
 import javafx.collections.ObservableList;
+import javafx.css.CompoundSelector;
 import javafx.css.CssParser;
 import javafx.css.FontFace;
 import javafx.css.PseudoClass;
@@ -50,13 +51,13 @@ import javafx.scene.text.Font;
 import javafx.stage.Window;
 import com.sun.javafx.logging.PlatformLogger;
 import com.sun.javafx.logging.PlatformLogger.Level;
+import com.sun.javafx.util.WorkerThreads;
 
 import java.io.FileNotFoundException;
 import java.io.FilePermission;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.ref.Reference;
-import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -78,12 +79,19 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -161,6 +169,33 @@ final public class StyleManager {
     private StyleManager() {
     }
 
+    /*
+     * The caches below are bounded by an estimate of their size in bytes,
+     * evicting the least recently used entries, rather than relying on soft
+     * references that tend to be cleared all at once under memory pressure.
+     */
+
+    /**
+     * The maximum size of the images loaded from stylesheet URLs, in bytes.
+     */
+    private static final long IMAGE_CACHE_SIZE = getCacheSize("javafx.css.imageCacheSize", 64L << 20);
+
+    /**
+     * The maximum size of the shared style caches of each scene, in bytes.
+     */
+    private static final long STYLE_CACHE_SIZE = getCacheSize("javafx.css.styleCacheSize", 4L << 20);
+
+    // rough per-object costs used to weigh the cache entries
+    private static final long IMAGE_OVERHEAD = 256;
+    private static final long STYLE_CACHE_OVERHEAD = 96;
+    private static final long STYLE_CACHE_ENTRY_SIZE = 160;
+
+    private static long getCacheSize(String name, long defaultSize) {
+        final Long size = AccessController.doPrivileged(
+                (PrivilegedAction<Long>) () -> Long.getLong(name, defaultSize));
+        return Math.max(0L, size);
+    }
+
     /**
      * A map from a parent to its style cache. The parent is either a Scene root, or a
      * Parent with author stylesheets. If a Scene or Parent is removed from the scene,
@@ -214,7 +249,7 @@ final public class StyleManager {
         CacheContainer container = getCacheContainer(styleable, subScene);
         if (container == null) return null;
 
-        Map<StyleCache.Key,StyleCache> styleCache = container.getStyleCache();
+        WeightedLruCache<StyleCache.Key,StyleCache> styleCache = container.getStyleCache();
         if (styleCache == null) return null;
 
         StyleCache sharedCache = styleCache.get(key);
@@ -751,15 +786,14 @@ final public class StyleManager {
     ////////////////////////////////////////////////////////////////////////////
 
     private final static class ImageCache {
-        private Map<String, SoftReference<Image>> imageCache = new HashMap<>();
+        private final WeightedLruCache<String, Image> imageCache =
+                new WeightedLruCache<>(IMAGE_CACHE_SIZE, (url, image) ->
+                        IMAGE_OVERHEAD + 4L * (long) Math.ceil(image.getWidth()) * (long) Math.ceil(image.getHeight()));
 
         Image getCachedImage(String url) {
 
             synchronized (styleLock) {
-                Image image = null;
-                if (imageCache.containsKey(url)) {
-                    image = imageCache.get(url).get();
-                }
+                Image image = imageCache.get(url);
                 if (image == null) {
                     try {
                         image = new Image(url);
@@ -770,8 +804,9 @@ final public class StyleManager {
                                 logger.warning("Error loading image: " + url);
                             }
                             image = null;
+                        } else {
+                            imageCache.put(url, image);
                         }
-                        imageCache.put(url, new SoftReference(image));
 
                     } catch (IllegalArgumentException iae) {
                         // url was empty!
@@ -803,32 +838,15 @@ final public class StyleManager {
                 final String path = (len > 0) ? fname.substring(0,len) : fname;
                 final int plen = path.length();
 
-                final String[] entriesToRemove = new String[imageCache.size()];
-                int count = 0;
-
-                final Set<Entry<String, SoftReference<Image>>> entrySet = imageCache.entrySet();
-                for (Entry<String, SoftReference<Image>> entry : entrySet) {
-
-                    final String key = entry.getKey();
-                    if (entry.getValue().get() == null) {
-                        entriesToRemove[count++] = key;
-                        continue;
-                    }
-                    len = key.lastIndexOf('/');
-                    final String kpath = (len > 0) ? key.substring(0, len) : key;
+                imageCache.removeIf((key, image) -> {
+                    final int slash = key.lastIndexOf('/');
+                    final String kpath = (slash > 0) ? key.substring(0, slash) : key;
                     final int klen = kpath.length();
 
                     // If the longer path begins with the shorter path,
                     // then assume the image came from this path.
-                    boolean match = (klen > plen) ? kpath.startsWith(path) : path.startsWith(kpath);
-                    if (match) {
-                        entriesToRemove[count++] = key;
-                    }
-                }
-
-                for (int n = 0; n < count; n++) {
-                    imageCache.remove(entriesToRemove[n]);
-                }
+                    return (klen > plen) ? kpath.startsWith(path) : path.startsWith(kpath);
+                });
             }
         }
     }
@@ -839,6 +857,11 @@ final public class StyleManager {
         return imageCache.getCachedImage(url);
     }
 
+    // package for testing
+    WeightedLruCache<String, Image> getImageCache() {
+        return imageCache.imageCache;
+    }
+
     ////////////////////////////////////////////////////////////////////////////
     //
     // Stylesheet loading
@@ -1634,6 +1657,32 @@ final public class StyleManager {
         }
 
         synchronized (styleLock) {
+
+            final String inlineStyle = node.getStyle();
+            final boolean hasInlineStyles = inlineStyle != null && inlineStyle.trim().isEmpty() == false;
+
+            final Cache cache = findCache(node, subScene, cacheContainer, hasInlineStyles);
+            if (cache == null) {
+                return StyleMap.EMPTY_MAP;
+            }
+
+            //
+            // Create a style helper for this node from the styles that match.
+            //
+            StyleMap smap = cache.getStyleMap(cacheContainer, node, triggerStates, hasInlineStyles);
+
+            return smap;
+        }
+    }
+
+    /**
+     * Finds the Cache of the selectors that may apply to this Node, or null if
+     * there are no stylesheets at all.
+     */
+    private Cache findCache(Node node, SubScene subScene, CacheContainer cacheContainer, boolean hasInlineStyles) {
+
+        synchronized (styleLock) {
+            final Scene scene = node.getScene();
             final Parent parent =
                 (node instanceof Parent)
                     ? (Parent) node : node.getParent();
@@ -1647,9 +1696,6 @@ final public class StyleManager {
 
             final boolean hasSceneStylesheets = sceneStylesheets.isEmpty() == false;
 
-            final String inlineStyle = node.getStyle();
-            final boolean hasInlineStyles = inlineStyle != null && inlineStyle.trim().isEmpty() == false;
-
             final String sceneUserAgentStylesheet = scene.getUserAgentStylesheet();
             final boolean hasSceneUserAgentStylesheet =
                     sceneUserAgentStylesheet != null && sceneUserAgentStylesheet.trim().isEmpty() == false;
@@ -1692,7 +1738,7 @@ final public class StyleManager {
                     && hasSubSceneUserAgentStylesheet == false
                     && hasRegionUserAgentStylesheet == false
                     && platformUserAgentStylesheetContainers.isEmpty()) {
-                return StyleMap.EMPTY_MAP;
+                return null;
             }
 
             final String cname = node.getTypeSelector();
@@ -1842,12 +1888,133 @@ final public class StyleManager {
                 key = null;
             }
 
-            //
-            // Create a style helper for this node from the styles that match.
-            //
-            StyleMap smap = cache.getStyleMap(cacheContainer, node, triggerStates, hasInlineStyles);
+            return cache;
+        }
+    }
 
-            return smap;
+    /*
+     * The number of threads the selectors are matched on ahead of a CSS pass,
+     * set with -Djavafx.css.threads=<number>, or true for one thread per
+     * processor. With 1 (the default) they are only matched during the pass.
+     */
+    private static final int matchThreads =
+        WorkerThreads.getThreadCount("javafx.css.threads");
+    private static ForkJoinPool matchPool;
+
+    // the fewest nodes worth matching ahead of a CSS pass
+    private static final int MIN_PREMATCH_NODES = 64;
+
+    /**
+     * @return true if the selectors are matched on worker threads ahead of a
+     * CSS pass
+     */
+    public static boolean isPrematchEnabled() {
+        return matchThreads > 1;
+    }
+
+    private static synchronized ForkJoinPool getMatchPool(int threads) {
+        if (matchPool == null) {
+            matchPool = WorkerThreads.createPool("CSS Matcher", threads);
+        }
+        return matchPool;
+    }
+
+    /**
+     * Matches the selectors that may apply to these nodes on worker threads,
+     * so that findMatchingStyles finds which of them apply among the results
+     * a Cache keeps by Signature. This is meant to be called on the
+     * application thread right before a CSS pass reapplies styles to the
+     * nodes, and returns once they are matched.
+     * <p>
+     * The caches and signatures are found on the calling thread, which also
+     * interns the style classes of the nodes and resolves their orientation.
+     * The workers only run Selector.applies for the distinct signatures,
+     * which reads the nodes and their ancestors but changes nothing. Looking
+     * up the values and applying them to the nodes is left to the pass.
+     */
+    public void prematchStyles(List<Node> nodes) {
+        prematchStyles(nodes, matchThreads);
+    }
+
+    // package for testing, returns the number of signatures matched
+    int prematchStyles(List<Node> nodes, int threads) {
+
+        if (threads < 2 || nodes.size() < MIN_PREMATCH_NODES) {
+            return 0;
+        }
+
+        synchronized (styleLock) {
+
+            final List<Prematch> prematches = new ArrayList<>();
+            final Map<Cache, Set<Signature>> pending = new IdentityHashMap<>();
+
+            for (int n = 0, nMax = nodes.size(); n < nMax; n++) {
+
+                final Node node = nodes.get(n);
+                if (node.getScene() == null) continue;
+
+                final SubScene subScene = NodeHelper.getSubScene(node);
+                final CacheContainer cacheContainer = getCacheContainer(node, subScene);
+                if (cacheContainer == null) continue;
+
+                final Cache cache = findCache(node, subScene, cacheContainer, false);
+                if (cache == null || cache.selectors.isEmpty()) continue;
+
+                int depth = 0;
+                for (Styleable s = node; s != null; s = s.getStyleableParent()) {
+                    depth++;
+                }
+
+                final Signature signature = new Signature(node, cache.matchesAncestors, depth);
+                if (cache.matches.containsKey(signature)) continue;
+
+                // the Cache keeps no more than MAX_MATCHES signatures
+                final Set<Signature> signatures = pending.computeIfAbsent(cache, c -> new HashSet<>());
+                if (signatures.size() < MAX_MATCHES && signatures.add(signature)) {
+                    prematches.add(new Prematch(cache, signature, node));
+                }
+            }
+
+            if (prematches.size() < 2) {
+                return 0;
+            }
+
+            final List<Future<Match>> results = getMatchPool(threads).invokeAll(prematches);
+
+            for (int n = 0, nMax = prematches.size(); n < nMax; n++) {
+                final Prematch prematch = prematches.get(n);
+                try {
+                    prematch.cache.matches.put(prematch.signature, results.get(n).get());
+                } catch (InterruptedException | ExecutionException e) {
+                    // the node is matched again by the CSS pass
+                    final PlatformLogger logger = getLogger();
+                    if (logger != null && logger.isLoggable(Level.FINE)) {
+                        logger.fine("could not match " + prematch.node + ": " + e);
+                    }
+                }
+            }
+            return prematches.size();
+        }
+    }
+
+    /**
+     * Matches the selectors of a Cache for a node with a new Signature.
+     */
+    private static final class Prematch implements Callable<Match> {
+        private final Cache cache;
+        private final Signature signature;
+        private final Node node;
+
+        Prematch(Cache cache, Signature signature, Node node) {
+            this.cache = cache;
+            this.signature = signature;
+            this.node = node;
+        }
+
+        @Override
+        public Match call() {
+            final PseudoClassState[] states = new PseudoClassState[signature.depth];
+            return new Match(cache.match(node, states), states);
         }
     }
 
@@ -1900,8 +2067,13 @@ final public class StyleManager {
     // package for testing
     static class CacheContainer {
 
-        private Map<StyleCache.Key,StyleCache> getStyleCache() {
-            if (styleCache == null) styleCache = new HashMap<StyleCache.Key, StyleCache>();
+        // package for testing
+        WeightedLruCache<StyleCache.Key,StyleCache> getStyleCache() {
+            if (styleCache == null) {
+                styleCache = new WeightedLruCache<>(STYLE_CACHE_SIZE, (key, cache) ->
+                        STYLE_CACHE_OVERHEAD + 4L * key.styleMapIds.length +
+                        STYLE_CACHE_ENTRY_SIZE * cache.size());
+            }
             return styleCache;
         }
 
@@ -2044,7 +2216,7 @@ final public class StyleManager {
 
         }
 
-        private Map<StyleCache.Key,StyleCache> styleCache;
+        private WeightedLruCache<StyleCache.Key,StyleCache> styleCache;
 
         private Map<List<String>, Map<Key,Cache>> cacheMap;
 
@@ -2126,32 +2298,39 @@ final public class StyleManager {
         private final List<Selector> selectors;
         private final Map<Key, Integer> cache;
 
+        // The selectors that apply, by the signatures of the nodes. This is
+        // bounded since the ids of the ancestors are part of the signatures.
+        private final Map<Signature, Match> matches =
+            new LinkedHashMap<Signature, Match>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Signature, Match> eldest) {
+                    return size() > MAX_MATCHES;
+                }
+            };
+
+        // true if a compound selector has to look at the ancestors of the node
+        private final boolean matchesAncestors;
+
         Cache(List<Selector> selectors) {
             this.selectors = selectors;
             this.cache = new HashMap<Key, Integer>();
+            boolean compound = false;
+            for (int n = 0, nMax = selectors.size(); n < nMax; n++) {
+                if (selectors.get(n) instanceof CompoundSelector) {
+                    compound = true;
+                    break;
+                }
+            }
+            this.matchesAncestors = compound;
         }
 
-        private StyleMap getStyleMap(CacheContainer cacheContainer, Node node, Set<PseudoClass>[] triggerStates, boolean hasInlineStyle) {
-
-            if ((selectors == null || selectors.isEmpty()) && !hasInlineStyle) {
-                return StyleMap.EMPTY_MAP;
-            }
+        /**
+         * Sets the bits of the selectors that apply to the node.
+         */
+        private long[] match(Node node, Set<PseudoClass>[] triggerStates) {
 
             final int selectorDataSize = selectors.size();
-
-            //
-            // Since the list of selectors is found by matching only the
-            // rightmost selector, the set of selectors may larger than those
-            // selectors that actually match the node. The following loop
-            // whittles the list down to those selectors that apply.
-            //
-            //
-            // To lookup from the cache, we construct a key from a Long
-            // where the selectors that match this particular node are
-            // represented by bits on the long[].
-            //
-            long key[] = new long[selectorDataSize/Long.SIZE + 1];
-            boolean nothingMatched = true;
+            final long key[] = new long[selectorDataSize/Long.SIZE + 1];
 
             for (int s = 0; s < selectorDataSize; s++) {
 
@@ -2179,9 +2358,44 @@ final public class StyleManager {
                     final int index = s / Long.SIZE;
                     final long mask = key[index] | 1l << s;
                     key[index] = mask;
-                    nothingMatched = false;
                 }
             }
+            return key;
+        }
+
+        private StyleMap getStyleMap(CacheContainer cacheContainer, Node node, Set<PseudoClass>[] triggerStates, boolean hasInlineStyle) {
+
+            if ((selectors == null || selectors.isEmpty()) && !hasInlineStyle) {
+                return StyleMap.EMPTY_MAP;
+            }
+
+            //
+            // Since the list of selectors is found by matching only the
+            // rightmost selector, the set of selectors may larger than those
+            // selectors that actually match the node. Which of them apply
+            // depends only on the node and its ancestors, so the result is
+            // shared by the nodes with the same ancestry.
+            //
+            // To lookup from the cache, we construct a key from a Long
+            // where the selectors that match this particular node are
+            // represented by bits on the long[].
+            //
+            final Match match;
+            if (triggerStates != null) {
+                final Signature signature = new Signature(node, matchesAncestors, triggerStates.length);
+                Match m = matches.get(signature);
+                if (m == null) {
+                    final PseudoClassState[] states = new PseudoClassState[triggerStates.length];
+                    m = new Match(match(node, states), states);
+                    matches.put(signature, m);
+                }
+                match = m;
+                match.addTriggerStates(triggerStates);
+            } else {
+                match = new Match(match(node, null), null);
+            }
+            final long[] key = match.key;
+            final boolean nothingMatched = match.nothingMatched;
 
             // nothing matched!
             if (nothingMatched && hasInlineStyle == false) {
@@ -2233,6 +2447,108 @@ final public class StyleManager {
 
     }
 
+    // the number of signatures remembered by a Cache
+    private static final int MAX_MATCHES = 256;
+
+    /**
+     * What decides which of the selectors of a Cache apply to a node: the
+     * orientation of the node and, if a selector is compound, the type, id,
+     * style classes and orientation of each of its ancestors. The type, id
+     * and style classes of the node itself are those of the Cache.
+     */
+    private static final class Signature {
+        private final Object[] ancestry;
+        private final int depth;
+        private final int hash;
+
+        Signature(Node node, boolean withAncestors, int depth) {
+            final List<Object> ancestry = new ArrayList<>();
+            ancestry.add(orientation(node));
+            if (withAncestors) {
+                Styleable parent = node.getStyleableParent();
+                while (parent != null) {
+                    final StyleClassSet styleClasses = new StyleClassSet();
+                    final List<String> names = parent.getStyleClass();
+                    for (int n = 0, nMax = names.size(); n < nMax; n++) {
+                        final String name = names.get(n);
+                        if (name == null || name.isEmpty()) continue;
+                        styleClasses.add(StyleClassSet.getStyleClass(name));
+                    }
+                    ancestry.add(parent.getTypeSelector());
+                    ancestry.add(parent.getId());
+                    ancestry.add(styleClasses);
+                    ancestry.add(orientation(parent));
+                    parent = parent.getStyleableParent();
+                }
+            }
+            this.ancestry = ancestry.toArray();
+            this.depth = depth;
+            this.hash = 31 * Arrays.hashCode(this.ancestry) + depth;
+        }
+
+        // the orientations compared by selectors with :dir()
+        private static Integer orientation(Styleable styleable) {
+            if (styleable instanceof Node) {
+                final Node node = (Node) styleable;
+                return node.getNodeOrientation().ordinal() * 3
+                    + node.getEffectiveNodeOrientation().ordinal();
+            }
+            return -1;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Signature)) {
+                return false;
+            }
+            final Signature other = (Signature) obj;
+            return hash == other.hash
+                && depth == other.depth
+                && Arrays.equals(ancestry, other.ancestry);
+        }
+    }
+
+    /**
+     * The selectors of a Cache that apply to the nodes of a Signature, and
+     * the pseudo-classes of these selectors by depth.
+     */
+    private static final class Match {
+        private final long[] key;
+        private final boolean nothingMatched;
+        private final PseudoClassState[] triggerStates;
+
+        Match(long[] key, PseudoClassState[] triggerStates) {
+            this.key = key;
+            boolean nothing = true;
+            for (long bits : key) {
+                if (bits != 0) {
+                    nothing = false;
+                    break;
+                }
+            }
+            this.nothingMatched = nothing;
+            this.triggerStates = triggerStates;
+        }
+
+        void addTriggerStates(Set<PseudoClass>[] states) {
+            for (int n = 0; n < triggerStates.length; n++) {
+                if (triggerStates[n] == null) continue;
+                if (states[n] == null) {
+                    states[n] = new PseudoClassState();
+                }
+                states[n].addAll(triggerStates[n]);
+            }
+        }
+    }
+
     /**
      * The key used in the cacheMap of the StylesheetContainer
      */
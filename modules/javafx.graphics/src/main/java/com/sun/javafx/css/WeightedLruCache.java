@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.css;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * A least-recently-used cache bounded by the total weight of its entries,
+ * typically an estimate of their size in bytes. Entries are weighed when they
+ * are added and again each time they are read, so a value that keeps growing
+ * after it was added (such as a {@link StyleCache}) is accounted for.
+ * <p>
+ * When the total weight exceeds the maximum, the least recently used entries
+ * are evicted until it fits again. The most recently added entry is never
+ * evicted, even if it is heavier than the maximum on its own.
+ * <p>
+ * This class is not thread-safe, callers synchronize as needed.
+ */
+public final class WeightedLruCache<K, V> {
+
+    private static final class Entry<V> {
+        final V value;
+        long weight;
+
+        Entry(V value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private final LinkedHashMap<K, Entry<V>> map = new LinkedHashMap<>(16, 0.75f, true);
+    private final ToLongBiFunction<? super K, ? super V> weigher;
+    private final long maxWeight;
+    private long weight;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long evictedWeight;
+
+    /**
+     * @param maxWeight the maximum total weight of the entries
+     * @param weigher computes the weight of an entry, must not be negative
+     */
+    public WeightedLruCache(long maxWeight, ToLongBiFunction<? super K, ? super V> weigher) {
+        if (maxWeight < 0) {
+            throw new IllegalArgumentException("maxWeight: " + maxWeight);
+        }
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Returns the value cached for {@code key}, marking it as the most
+     * recently used entry.
+     * @param key the key
+     * @return the cached value, or null if there is none
+     */
+    public V get(K key) {
+        final Entry<V> entry = map.get(key);
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        final long w = weigher.applyAsLong(key, entry.value);
+        if (w != entry.weight) {
+            weight += w - entry.weight;
+            entry.weight = w;
+            trim(key);
+        }
+        return entry.value;
+    }
+
+    public boolean containsKey(K key) {
+        return map.containsKey(key);
+    }
+
+    /**
+     * Adds or replaces the value for {@code key} as the most recently used
+     * entry, then evicts entries as needed.
+     * @param key the key
+     * @param value the value, must not be null
+     */
+    public void put(K key, V value) {
+        if (value == null) {
+            throw new NullPointerException();
+        }
+        final long w = weigher.applyAsLong(key, value);
+        final Entry<V> old = map.put(key, new Entry<>(value, w));
+        if (old != null) {
+            weight -= old.weight;
+        }
+        weight += w;
+        trim(key);
+    }
+
+    public V remove(K key) {
+        final Entry<V> entry = map.remove(key);
+        if (entry == null) {
+            return null;
+        }
+        weight -= entry.weight;
+        return entry.value;
+    }
+
+    /**
+     * Removes the entries matching {@code filter}. These are not counted as
+     * evictions.
+     * @param filter tests the key and value of each entry
+     */
+    public void removeIf(BiPredicate<? super K, ? super V> filter) {
+        final Iterator<Map.Entry<K, Entry<V>>> it = map.entrySet().iterator();
+        while (it.hasNext()) {
+            final Map.Entry<K, Entry<V>> e = it.next();
+            if (filter.test(e.getKey(), e.getValue().value)) {
+                weight -= e.getValue().weight;
+                it.remove();
+            }
+        }
+    }
+
+    public void clear() {
+        map.clear();
+        weight = 0;
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    /**
+     * @return the current total weight of the entries
+     */
+    public long getWeight() {
+        return weight;
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the number of entries evicted to keep the weight in bounds
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return the total weight of the entries evicted so far
+     */
+    public long getEvictedWeight() {
+        return evictedWeight;
+    }
+
+    @Override public String toString() {
+        return "WeightedLruCache[size=" + map.size() + ", weight=" + weight +
+                "/" + maxWeight + ", hits=" + hitCount + ", misses=" + missCount +
+                ", evictions=" + evictionCount + "]";
+    }
+
+    private void trim(K keep) {
+        if (weight <= maxWeight) {
+            return;
+        }
+        final Iterator<Map.Entry<K, Entry<V>>> it = map.entrySet().iterator();
+        while (weight > maxWeight && it.hasNext()) {
+            final Map.Entry<K, Entry<V>> e = it.next();
+            if (Objects.equals(e.getKey(), keep)) {
+                continue;
+            }
+            weight -= e.getValue().weight;
+            evictionCount++;
+            evictedWeight += e.getValue().weight;
+            it.remove();
+        }
+    }
+}
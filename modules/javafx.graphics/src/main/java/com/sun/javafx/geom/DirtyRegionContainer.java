@@ -32,6 +32,13 @@ import java.util.Arrays;
  * pointer to the first empty dirty region in the array and index of last
  * modified dirty region. It also introduces convenient methods to modify
  * the array of dirty regions.
+ * <p>
+ * Regions that overlap are always merged. A container created with a
+ * positive region cost also merges regions whose union is no more expensive
+ * to paint than the regions themselves, where painting a region costs its
+ * area plus the region cost. When such a container is full, the regions
+ * whose union adds the least area are merged first, rather than the regions
+ * with the smallest union.
  */
 public final class DirtyRegionContainer {
 
@@ -40,8 +47,19 @@ public final class DirtyRegionContainer {
 
     private RectBounds[] dirtyRegions;
     private int emptyIndex;
+    private final float regionCost;
 
     public DirtyRegionContainer(int count) {
+        this(count, 0f);
+    }
+
+    /**
+     * @param count the maximum number of regions
+     * @param regionCost the cost of painting a region besides its area, or 0
+     *        to only merge overlapping regions while there is space left
+     */
+    public DirtyRegionContainer(int count, float regionCost) {
+        this.regionCost = regionCost;
         initDirtyRegions(count);
     }
 
@@ -115,7 +133,7 @@ public final class DirtyRegionContainer {
     }
 
     public DirtyRegionContainer copy() {
-        DirtyRegionContainer drc = new DirtyRegionContainer(maxSpace());
+        DirtyRegionContainer drc = new DirtyRegionContainer(maxSpace(), regionCost);
         regioncopy(dirtyRegions, 0, drc.dirtyRegions, 0, emptyIndex);
         drc.emptyIndex = emptyIndex;
         return drc;
@@ -147,22 +165,29 @@ public final class DirtyRegionContainer {
                 return;
 
             RectBounds dr, tmp;
-            int tempIndex = 0;
-            int regionCount = emptyIndex;
-
-            for(int i = 0; i < regionCount; i++) {
-                //can't have overlapping regions
-                dr = dirtyRegions[tempIndex];
-                if (region.intersects(dr)) {
-                    region.unionWith(dr);
-                    tmp = dirtyRegions[tempIndex];
-                    dirtyRegions[tempIndex] = dirtyRegions[emptyIndex - 1];
-                    dirtyRegions[emptyIndex - 1] = tmp;
-                    emptyIndex--;
-                } else {
-                    tempIndex++;
-                }
-            }//for
+            boolean merged;
+            do {
+                merged = false;
+                int tempIndex = 0;
+                int regionCount = emptyIndex;
+
+                for(int i = 0; i < regionCount; i++) {
+                    //can't have overlapping regions
+                    dr = dirtyRegions[tempIndex];
+                    if (region.intersects(dr) || isCheaperUnited(region, dr)) {
+                        region.unionWith(dr);
+                        tmp = dirtyRegions[tempIndex];
+                        dirtyRegions[tempIndex] = dirtyRegions[emptyIndex - 1];
+                        dirtyRegions[emptyIndex - 1] = tmp;
+                        emptyIndex--;
+                        merged = true;
+                    } else {
+                        tempIndex++;
+                    }
+                }//for
+                // the grown region may now be worth merging with regions
+                // that were checked before it grew
+            } while (merged && regionCost > 0f);
             if (hasSpace()) {
                 dr = dirtyRegions[emptyIndex];
                 dr.deriveWithNewBounds(region);
@@ -187,6 +212,41 @@ public final class DirtyRegionContainer {
         return emptyIndex;
     }
 
+    public float getRegionCost() {
+        return regionCost;
+    }
+
+    /**
+     * Returns the area of the regions, which is the number of pixels painted
+     * for them once they are rounded out.
+     */
+    public long getArea() {
+        long area = 0;
+        for (int i = 0; i < emptyIndex; i++) {
+            final RectBounds r = dirtyRegions[i];
+            if (!r.isEmpty()) {
+                area += (long) r.getWidth() * (long) r.getHeight();
+            }
+        }
+        return area;
+    }
+
+    private boolean isCheaperUnited(RectBounds r0, RectBounds r1) {
+        if (regionCost <= 0f) {
+            return false;
+        }
+        final float minX = Math.min(r0.getMinX(), r1.getMinX());
+        final float minY = Math.min(r0.getMinY(), r1.getMinY());
+        final float maxX = Math.max(r0.getMaxX(), r1.getMaxX());
+        final float maxY = Math.max(r0.getMaxY(), r1.getMaxY());
+        final double union = (double) (maxX - minX) * (maxY - minY);
+        return union <= area(r0) + area(r1) + regionCost;
+    }
+
+    private static double area(RectBounds r) {
+        return (double) r.getWidth() * r.getHeight();
+    }
+
     public void reset() {
         emptyIndex = 0;
     }
@@ -327,7 +387,7 @@ public final class DirtyRegionContainer {
         // If so, we can recompute it and push it down (as the new merged region can be
         // only greater than the original region)
         while (((1 << temp[1] | 1 << temp[2]) & invalidMask) > 0) {
-            temp[0] = unifiedRegionArea(resolveMap(map, temp[1]), resolveMap(map, temp[2]));
+            temp[0] = mergeCost(resolveMap(map, temp[1]), resolveMap(map, temp[2]));
             siftDown(0);
             if (heap[0] == temp) {
                 break;
@@ -366,6 +426,16 @@ public final class DirtyRegionContainer {
 
         return (int) ((maxX - minX) * (maxY - minY));
     }
+
+    // the area added by merging two regions, or the area of their union if
+    // the container has no region cost
+    private int mergeCost(int i0, int i1) {
+        final int union = unifiedRegionArea(i0, i1);
+        if (regionCost <= 0f) {
+            return union;
+        }
+        return (int) (union - area(dirtyRegions[i0]) - area(dirtyRegions[i1]));
+    }
     /***************************************************************************
      * Heap-based compressing algorithm
      ***************************************************************************/
@@ -380,7 +450,7 @@ public final class DirtyRegionContainer {
         int k = 0;
         for (int i = 0; i < dirtyRegions.length - 1; ++i) {
             for (int j = i + 1; j < dirtyRegions.length; ++j) {
-                heap[k][0] = unifiedRegionArea(i, j);
+                heap[k][0] = mergeCost(i, j);
                 heap[k][1] = i;
                 heap[k++][2] = j;
             }
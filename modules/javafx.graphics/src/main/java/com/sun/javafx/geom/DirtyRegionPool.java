@@ -44,18 +44,24 @@ public final class DirtyRegionPool {
     private static final int EXPIRATION_TIME = 3000;
     private static final int COUNT_BETWEEN_EXPIRATION_CHECK = 30 * EXPIRATION_TIME / 1000;
     private final int containerSize;
+    private final float regionCost;
     private int clearCounter = COUNT_BETWEEN_EXPIRATION_CHECK;
     private final Deque<DirtyRegionContainer> fixed;
     private final Deque<PoolItem> unlocked;
     private final Deque<PoolItem> locked;
 
     public DirtyRegionPool(int containerSize) {
+        this(containerSize, 0f);
+    }
+
+    public DirtyRegionPool(int containerSize, float regionCost) {
         this.containerSize = containerSize;
+        this.regionCost = regionCost;
         fixed = new LinkedList<DirtyRegionContainer>();
         unlocked = new LinkedList<PoolItem>();
         locked = new LinkedList<PoolItem>();
         for (int i = 0; i < POOL_SIZE_MIN; ++i) {
-            fixed.add(new DirtyRegionContainer(containerSize));
+            fixed.add(new DirtyRegionContainer(containerSize, regionCost));
         }
     }
 
@@ -69,7 +75,7 @@ public final class DirtyRegionPool {
             locked.push(item);
             return item.container;
         }
-        DirtyRegionContainer c = new DirtyRegionContainer(containerSize);
+        DirtyRegionContainer c = new DirtyRegionContainer(containerSize, regionCost);
         locked.push(new PoolItem(null, -1));
         return c;
     }
@@ -0,0 +1,430 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.iio;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.AccessController;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivilegedAction;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A disk cache of decoded images, so that images loaded again at the same
+ * size, for instance the thumbnails of a gallery when the application is
+ * restarted, are not fetched and decoded again.
+ * <p>
+ * Entries are keyed by the URL, a validator of the source (its size and
+ * modification time for files, its {@code ETag} or {@code Last-Modified}
+ * header for other URLs) and the loading parameters. Sources without a
+ * validator are not cached. Each entry is a file holding the frames as
+ * they come out of the loaders, already scaled, after a small header. A hit
+ * maps the file privately: the pixels are paged in as the image is uploaded
+ * to a texture, and the in-place conversion to the texture format does not
+ * write back to the file.
+ * <p>
+ * The cache is enabled by setting {@code javafx.imageCache.dir} to a
+ * directory, and bounded by {@code javafx.imageCache.size}, in megabytes
+ * (256 by default). The least recently used entries are deleted first.
+ */
+public final class ImageDiskCache {
+
+    private static final int MAGIC = 0x4A464943; // JFIC
+    private static final int VERSION = 1;
+    private static final String SUFFIX = ".img";
+
+    private static boolean initialized;
+    private static ImageDiskCache instance;
+
+    /**
+     * Returns the cache configured by the system properties, or null if it
+     * is not enabled.
+     */
+    public static synchronized ImageDiskCache getInstance() {
+        if (!initialized) {
+            initialized = true;
+            final String dir = AccessController.doPrivileged(
+                    (PrivilegedAction<String>) () -> System.getProperty("javafx.imageCache.dir"));
+            if (dir != null && !dir.isEmpty()) {
+                final int size = AccessController.doPrivileged(
+                        (PrivilegedAction<Integer>) () -> Integer.getInteger("javafx.imageCache.size", 256));
+                instance = new ImageDiskCache(new File(dir), size * 1024L * 1024L);
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Replaces the cache returned by {@link #getInstance()}.
+     *
+     * @param cache the new cache, or null to disable caching
+     */
+    public static synchronized void setInstance(ImageDiskCache cache) {
+        initialized = true;
+        instance = cache;
+    }
+
+    private final File dir;
+    private final long maxSize;
+    private long size;
+    // file name -> file size, least recently used first
+    private final LinkedHashMap<String, Long> entries =
+        new LinkedHashMap<>(64, 0.75f, true);
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public ImageDiskCache(File dir, long maxSize) {
+        this.dir = dir;
+        this.maxSize = maxSize;
+        AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+            scan();
+            return null;
+        });
+    }
+
+    private void scan() {
+        dir.mkdirs();
+        final File[] files = dir.listFiles((d, name) -> name.endsWith(SUFFIX));
+        if (files == null) {
+            return;
+        }
+        final long[] modified = new long[files.length];
+        final Integer[] order = new Integer[files.length];
+        for (int i = 0; i < files.length; i++) {
+            modified[i] = files[i].lastModified();
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(modified[a], modified[b]));
+        for (int i : order) {
+            final long length = files[i].length();
+            entries.put(files[i].getName(), length);
+            size += length;
+        }
+        trim();
+    }
+
+    /**
+     * Returns the key of an image loaded from the given URL with the given
+     * parameters, or null if the image may not be cached. The source is
+     * accessed with the permissions of the caller, like the loading itself.
+     */
+    public String getKey(String url, double width, double height,
+                         boolean preserveRatio, float pixelScale, boolean smooth) {
+        final String validator = getValidator(url);
+        if (validator == null) {
+            return null;
+        }
+        return url + '\n' + validator + '\n' + width + 'x' + height
+                + (preserveRatio ? " ratio" : "") + (smooth ? " smooth" : "")
+                + " @" + pixelScale;
+    }
+
+    /*
+     * Mirrors ImageTools.createInputStream: a file name first, then a URL.
+     */
+    static String getValidator(String input) {
+        try {
+            final File file = new File(input);
+            if (file.exists()) {
+                return file.length() + "-" + file.lastModified();
+            }
+        } catch (Exception e) {
+            // try as url
+        }
+        try {
+            final URL url = new URL(input);
+            if ("file".equals(url.getProtocol())) {
+                final File file = new File(url.toURI());
+                return file.exists() ? file.length() + "-" + file.lastModified() : null;
+            }
+            final URLConnection conn = url.openConnection();
+            if (conn instanceof HttpURLConnection) {
+                final HttpURLConnection http = (HttpURLConnection) conn;
+                http.setRequestMethod("HEAD");
+                try {
+                    if (http.getResponseCode() != HttpURLConnection.HTTP_OK) {
+                        return null;
+                    }
+                    final String etag = http.getHeaderField("ETag");
+                    if (etag != null) {
+                        return etag;
+                    }
+                    final long lastModified = http.getLastModified();
+                    return (lastModified != 0L) ? Long.toString(lastModified) : null;
+                } finally {
+                    http.disconnect();
+                }
+            }
+            final long lastModified = conn.getLastModified();
+            return (lastModified != 0L) ? Long.toString(lastModified) : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static String getFileName(String key) {
+        try {
+            final MessageDigest md = MessageDigest.getInstance("SHA-256");
+            final byte[] digest = md.digest(key.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder sb = new StringBuilder(digest.length * 2 + SUFFIX.length());
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+                sb.append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.append(SUFFIX).toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new InternalError(e);
+        }
+    }
+
+    /**
+     * Returns the frames cached for the given key, or null.
+     *
+     * @param key the key returned by {@link #getKey}
+     * @return the frames or null
+     */
+    public ImageFrame[] get(String key) {
+        final String name = getFileName(key);
+        synchronized (this) {
+            if (entries.get(name) == null) {
+                missCount++;
+                return null;
+            }
+        }
+        final ImageFrame[] frames = AccessController.doPrivileged(
+                (PrivilegedAction<ImageFrame[]>) () -> read(new File(dir, name), key));
+        synchronized (this) {
+            if (frames != null) {
+                hitCount++;
+                new File(dir, name).setLastModified(System.currentTimeMillis());
+            } else {
+                missCount++;
+                remove(name);
+            }
+        }
+        return frames;
+    }
+
+    private static ImageFrame[] read(File file, String key) {
+        // a private mapping needs a writable channel, nothing is written back
+        try (FileChannel ch = FileChannel.open(file.toPath(),
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // a private mapping: the loaders' frames are converted in place
+            final MappedByteBuffer buf = ch.map(FileChannel.MapMode.PRIVATE, 0, ch.size());
+            if (buf.getInt() != MAGIC || buf.getInt() != VERSION) {
+                return null;
+            }
+            final byte[] keyBytes = new byte[buf.getInt()];
+            buf.get(keyBytes);
+            if (!key.equals(new String(keyBytes, StandardCharsets.UTF_8))) {
+                return null;
+            }
+            final ImageStorage.ImageType[] types = ImageStorage.ImageType.values();
+            final ImageFrame[] frames = new ImageFrame[buf.getInt()];
+            for (int i = 0; i < frames.length; i++) {
+                final ImageStorage.ImageType type = types[buf.getInt()];
+                final int width = buf.getInt();
+                final int height = buf.getInt();
+                final int stride = buf.getInt();
+                final float pixelScale = buf.getFloat();
+                final int delay = buf.getInt();
+                final int loopCount = buf.getInt();
+                final int length = buf.getInt();
+                final ImageMetadata metadata = new ImageMetadata(null, null, null, null, null,
+                        (delay < 0) ? null : delay, (loopCount < 0) ? null : loopCount,
+                        width, height, null, null, null);
+                final ByteBuffer data = buf.slice();
+                data.limit(length);
+                buf.position(buf.position() + length);
+                frames[i] = new ImageFrame(type, data, width, height, stride,
+                                           null, pixelScale, metadata);
+            }
+            return frames;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Stores the given frames, as returned by the loaders, before they are
+     * converted to platform images.
+     *
+     * @param key the key returned by {@link #getKey}
+     * @param frames the frames to store
+     */
+    public void put(String key, ImageFrame[] frames) {
+        if (frames == null || frames.length == 0) {
+            return;
+        }
+        for (ImageFrame frame : frames) {
+            if (frame.getPalette() != null || !(frame.getImageData() instanceof ByteBuffer)) {
+                return;
+            }
+        }
+        final String name = getFileName(key);
+        final Long length = AccessController.doPrivileged(
+                (PrivilegedAction<Long>) () -> write(new File(dir, name), key, frames));
+        if (length == null) {
+            return;
+        }
+        synchronized (this) {
+            final Long old = entries.put(name, length);
+            if (old != null) {
+                size -= old;
+            }
+            size += length;
+            trim();
+        }
+    }
+
+    private Long write(File file, String key, ImageFrame[] frames) {
+        final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer header = ByteBuffer.allocate(16 + keyBytes.length + 32 * frames.length);
+        header.putInt(MAGIC).putInt(VERSION);
+        header.putInt(keyBytes.length).put(keyBytes);
+        header.putInt(frames.length);
+        final int headerLength = header.position();
+
+        Path tmp = null;
+        try {
+            dir.mkdirs();
+            tmp = Files.createTempFile(dir.toPath(), "tmp", null);
+            long length = headerLength;
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                header.flip();
+                writeFully(ch, header);
+                for (ImageFrame frame : frames) {
+                    final ByteBuffer data = ((ByteBuffer) frame.getImageData()).duplicate();
+                    data.rewind();
+                    final ImageMetadata md = frame.getMetadata();
+                    final ByteBuffer fh = ByteBuffer.allocate(32);
+                    fh.putInt(frame.getImageType().ordinal());
+                    fh.putInt(frame.getWidth()).putInt(frame.getHeight());
+                    fh.putInt(frame.getStride());
+                    fh.putFloat(frame.getPixelScale());
+                    fh.putInt((md == null || md.delayTime == null) ? -1 : md.delayTime);
+                    fh.putInt((md == null || md.loopCount == null) ? -1 : md.loopCount);
+                    fh.putInt(data.remaining());
+                    fh.flip();
+                    length += fh.remaining() + data.remaining();
+                    writeFully(ch, fh);
+                    writeFully(ch, data);
+                }
+            }
+            try {
+                Files.move(tmp, file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            return length;
+        } catch (IOException | SecurityException e) {
+            if (tmp != null) {
+                tmp.toFile().delete();
+            }
+            return null;
+        }
+    }
+
+    private static void writeFully(FileChannel ch, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) {
+            ch.write(buf);
+        }
+    }
+
+    private void trim() {
+        final Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+        while (size > maxSize && it.hasNext()) {
+            final Map.Entry<String, Long> e = it.next();
+            it.remove();
+            size -= e.getValue();
+            evictionCount++;
+            delete(e.getKey());
+        }
+    }
+
+    private void remove(String name) {
+        final Long length = entries.remove(name);
+        if (length != null) {
+            size -= length;
+            delete(name);
+        }
+    }
+
+    private void delete(String name) {
+        AccessController.doPrivileged((PrivilegedAction<Boolean>) () ->
+                new File(dir, name).delete());
+    }
+
+    public synchronized void clear() {
+        for (String name : entries.keySet()) {
+            delete(name);
+        }
+        entries.clear();
+        size = 0L;
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    public synchronized long getSize() {
+        return size;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+}
@@ -291,6 +291,17 @@ public class ImageStorage {
             throw new ImageStorageException("URL can't be null or empty");
         }
 
+        final ImageDiskCache cache = ImageDiskCache.getInstance();
+        final String cacheKey = (cache != null)
+                ? cache.getKey(input, width, height, preserveAspectRatio, devPixelScale, smooth)
+                : null;
+        if (cacheKey != null) {
+            final ImageFrame[] cached = cache.get(cacheKey);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
         ImageFrame[] images = null;
         InputStream theStream = null;
         ImageLoader loader = null;
@@ -325,6 +336,9 @@ public class ImageStorage {
             } else {
                 throw new ImageStorageException("No loader for image data");
             }
+            if (cacheKey != null) {
+                cache.put(cacheKey, images);
+            }
         } finally {
             try {
                 if (theStream != null) {
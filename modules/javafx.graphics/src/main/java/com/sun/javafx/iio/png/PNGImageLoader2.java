@@ -540,35 +540,86 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
 
         // numBands might be more than numBandsPerColorType[colorType]
         // to support tRNS
-        int resultBpp = bpp(), srcBpp = numBandsPerColorType[colorType] * bytesPerColor();
+        int resultBpp = bpp();
 
         for (int y = 0; y != mipHeight; ++y) {
-            int filterByte = data.read();
-            if (filterByte == -1) {
-                throw new EOFException();
-            }
-
-            if (data.read(scanLine0) != scanLineSize) {
-                throw new EOFException();
-            }
-
-            doFilter(scanLine0, scanLine1, filterByte, srcBpp);
+            readScanline(data, scanLine0, scanLine1);
 
             int pos = (mipPos(y, mip, starting_y, increment_y) * width + starting_x[mip]) * resultBpp;
             int step = increment_x[mip];
 
-            if (bitDepth == 16) {
-                downsample16to8(scanLine0, image, pos, step, resultBpp);
-            } else if (bitDepth < 8) {
-                upsampleTo8(scanLine0, image, pos, mipWidth, step, resultBpp);
-            } else {
-                copy(scanLine0, image, pos, step, resultBpp);
+            storeScanline(scanLine0, image, pos, mipWidth, step, resultBpp);
+
+            byte scanLineSwp[] = scanLine0;
+            scanLine0 = scanLine1;
+            scanLine1 = scanLineSwp;
+        }
+    }
+
+    // reads and unfilters the next scanline, pline holds the previous one
+    private void readScanline(InputStream data, byte line[], byte pline[]) throws IOException {
+        int filterByte = data.read();
+        if (filterByte == -1) {
+            throw new EOFException();
+        }
+
+        if (data.read(line) != line.length) {
+            throw new EOFException();
+        }
+
+        doFilter(line, pline, filterByte, numBandsPerColorType[colorType] * bytesPerColor());
+    }
+
+    private void storeScanline(byte line[], byte image[], int pos, int w, int step, int resultBpp) {
+        if (bitDepth == 16) {
+            downsample16to8(line, image, pos, step, resultBpp);
+        } else if (bitDepth < 8) {
+            upsampleTo8(line, image, pos, w, step, resultBpp);
+        } else {
+            copy(line, image, pos, step, resultBpp);
+        }
+    }
+
+    /*
+     * Decodes a non interlaced image straight into the scaler, one scanline
+     * at a time, so that the full size image is never stored. Palette
+     * images are expanded on the fly.
+     */
+    private ImageFrame loadScaled(InputStream data, int rWidth, int rHeight,
+            boolean smooth, ImageMetadata metadata) throws IOException {
+
+        int scanLineSize = (width * bitDepth * numBandsPerColorType[colorType] + 7) / 8;
+        byte scanLine0[] = new byte[scanLineSize];
+        byte scanLine1[] = new byte[scanLineSize];
+
+        int bpp = bpp();
+        boolean isPalette = colorType == PNG_COLOR_PALETTE;
+        int outBpp = isPalette ? (tRNS_present ? 4 : 3) : bpp;
+        byte row[] = new byte[width * bpp];
+        byte outRow[] = isPalette ? new byte[width * outBpp] : row;
+
+        PushbroomScaler scaler = ScalerFactory.createScaler(width, height, outBpp,
+                rWidth, rHeight, smooth);
+
+        for (int y = 0; y != height; ++y) {
+            readScanline(data, scanLine0, scanLine1);
+            storeScanline(scanLine0, row, 0, width, 1, bpp);
+            if (isPalette) {
+                expandPalette(row, outRow, width);
             }
+            scaler.putSourceScanline(outRow, 0);
 
             byte scanLineSwp[] = scanLine0;
             scanLine0 = scanLine1;
             scanLine1 = scanLineSwp;
         }
+
+        ImageStorage.ImageType type = isPalette
+                ? (tRNS_present ? ImageStorage.ImageType.RGBA : ImageStorage.ImageType.RGB)
+                : getType();
+
+        return new ImageFrame(type, scaler.getDestination(), rWidth, rHeight,
+                rWidth * outBpp, null, metadata);
     }
 
     private void load(byte image[], InputStream data) throws IOException {
@@ -583,11 +634,7 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
         }
     }
 
-    private ImageFrame decodePalette(byte srcImage[], ImageMetadata metadata) {
-        int bpp = tRNS_present ? 4 : 3;
-        byte newImage[] = new byte[width * height * bpp];
-        int l = width * height;
-
+    private void expandPalette(byte srcImage[], byte newImage[], int l) {
         if (tRNS_present) {
             for (int i = 0, j = 0; i != l; j += 4, i++) {
                 int index = 0xFF & srcImage[i];
@@ -604,6 +651,12 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
                 newImage[j + 2] = palette[2][index];
             }
         }
+    }
+
+    private ImageFrame decodePalette(byte srcImage[], ImageMetadata metadata) {
+        int bpp = tRNS_present ? 4 : 3;
+        byte newImage[] = new byte[width * height * bpp];
+        expandPalette(srcImage, newImage, width * height);
 
         ImageStorage.ImageType type = tRNS_present
                 ? ImageStorage.ImageType.RGBA
@@ -648,13 +701,21 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
                 null, null, null, null, null, rWidth, rHeight, null, null, null);
         updateImageMetadata(metaData);
 
-        int bpp = bpp();
-        ByteBuffer bb = ByteBuffer.allocate(bpp * width * height);
-
         PNGIDATChunkInputStream iDat = new PNGIDATChunkInputStream(stream, dataSize);
         Inflater inf = new Inflater();
         InputStream data = new BufferedInputStream(new InflaterInputStream(iDat, inf));
 
+        if (!isInterlaced && (width != rWidth || height != rHeight)) {
+            try {
+                return loadScaled(data, rWidth, rHeight, smooth, metaData);
+            } finally {
+                inf.end();
+            }
+        }
+
+        int bpp = bpp();
+        ByteBuffer bb = ByteBuffer.allocate(bpp * width * height);
+
         try {
             load(bb.array(), data);
         } catch (IOException e) {
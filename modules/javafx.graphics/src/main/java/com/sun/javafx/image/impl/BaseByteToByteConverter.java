@@ -217,6 +217,8 @@ abstract class BaseByteToByteConverter
 
     static class FourByteReorderer extends BaseByteToByteConverter {
         private final int c0, c1, c2, c3;
+        // true if the first and third bytes are swapped (RGBA <-> BGRA)
+        private final boolean swap02;
 
         FourByteReorderer(BytePixelGetter getter, BytePixelSetter setter,
                           int c0, int c1, int c2, int c3)
@@ -226,6 +228,13 @@ abstract class BaseByteToByteConverter
             this.c1 = c1;
             this.c2 = c2;
             this.c3 = c3;
+            this.swap02 = (c0 == 2 && c1 == 1 && c2 == 0 && c3 == 3);
+        }
+
+        private static int swap02(int pixel) {
+            return (pixel & 0xff00ff00)
+                | ((pixel >>> 16) & 0xff)
+                | ((pixel & 0xff) << 16);
         }
 
         @Override
@@ -233,6 +242,19 @@ abstract class BaseByteToByteConverter
                        byte dstarr[], int dstoff, int dstscanbytes,
                        int w, int h)
         {
+            if (swap02) {
+                // move whole pixels, the pixel is loaded before it is stored
+                // in case the buffers point to the same memory
+                while (--h >= 0) {
+                    for (int x = 0; x < w; x++) {
+                        IntBytes.set(dstarr, dstoff + x * 4,
+                                     swap02(IntBytes.get(srcarr, srcoff + x * 4)));
+                    }
+                    srcoff += srcscanbytes;
+                    dstoff += dstscanbytes;
+                }
+                return;
+            }
             srcscanbytes -= w * 4;
             dstscanbytes -= w * 4;
             while (--h >= 0) {
@@ -259,6 +281,19 @@ abstract class BaseByteToByteConverter
                        ByteBuffer dstbuf, int dstoff, int dstscanbytes,
                        int w, int h)
         {
+            if (swap02) {
+                srcbuf = IntBytes.littleEndian(srcbuf);
+                dstbuf = IntBytes.littleEndian(dstbuf);
+                while (--h >= 0) {
+                    for (int x = 0; x < w; x++) {
+                        dstbuf.putInt(dstoff + x * 4,
+                                      swap02(srcbuf.getInt(srcoff + x * 4)));
+                    }
+                    srcoff += srcscanbytes;
+                    dstoff += dstscanbytes;
+                }
+                return;
+            }
             srcscanbytes -= w * 4;
             dstscanbytes -= w * 4;
             while (--h >= 0) {
@@ -144,23 +144,21 @@ public class ByteBgra {
             dstscanbytes -= w * 4;
             while (--h >= 0) {
                 for (int x = 0; x < w; x++) {
-                    byte b = srcarr[srcoff++];
-                    byte g = srcarr[srcoff++];
-                    byte r = srcarr[srcoff++];
-                    int  a = srcarr[srcoff++] & 0xff;
+                    int pixel = IntBytes.get(srcarr, srcoff);
+                    int a = pixel >>> 24;
                     if (a < 0xff) {
                         if (a == 0) {
-                            b = g = r = 0;
+                            pixel = 0;
                         } else {
-                            b = (byte) (((b & 0xff) * a + 0x7f) / 0xff);
-                            g = (byte) (((g & 0xff) * a + 0x7f) / 0xff);
-                            r = (byte) (((r & 0xff) * a + 0x7f) / 0xff);
+                            int r = (((pixel >> 16) & 0xff) * a + 0x7f) / 0xff;
+                            int g = (((pixel >>  8) & 0xff) * a + 0x7f) / 0xff;
+                            int b = (((pixel      ) & 0xff) * a + 0x7f) / 0xff;
+                            pixel = (a << 24) | (r << 16) | (g << 8) | b;
                         }
                     }
-                    dstarr[dstoff++] = b;
-                    dstarr[dstoff++] = g;
-                    dstarr[dstoff++] = r;
-                    dstarr[dstoff++] = (byte) a;
+                    IntBytes.set(dstarr, dstoff, pixel);
+                    srcoff += 4;
+                    dstoff += 4;
                 }
                 srcoff += srcscanbytes;
                 dstoff += dstscanbytes;
@@ -172,28 +170,26 @@ public class ByteBgra {
                        ByteBuffer dstbuf, int dstoff, int dstscanbytes,
                        int w, int h)
         {
+            srcbuf = IntBytes.littleEndian(srcbuf);
+            dstbuf = IntBytes.littleEndian(dstbuf);
             srcscanbytes -= w * 4;
             dstscanbytes -= w * 4;
             while (--h >= 0) {
                 for (int x = 0; x < w; x++) {
-                    byte b = srcbuf.get(srcoff    );
-                    byte g = srcbuf.get(srcoff + 1);
-                    byte r = srcbuf.get(srcoff + 2);
-                    int  a = srcbuf.get(srcoff + 3) & 0xff;
-                    srcoff += 4;
+                    int pixel = srcbuf.getInt(srcoff);
+                    int a = pixel >>> 24;
                     if (a < 0xff) {
                         if (a == 0) {
-                            b = g = r = 0;
+                            pixel = 0;
                         } else {
-                            b = (byte) (((b & 0xff) * a + 0x7f) / 0xff);
-                            g = (byte) (((g & 0xff) * a + 0x7f) / 0xff);
-                            r = (byte) (((r & 0xff) * a + 0x7f) / 0xff);
+                            int r = (((pixel >> 16) & 0xff) * a + 0x7f) / 0xff;
+                            int g = (((pixel >>  8) & 0xff) * a + 0x7f) / 0xff;
+                            int b = (((pixel      ) & 0xff) * a + 0x7f) / 0xff;
+                            pixel = (a << 24) | (r << 16) | (g << 8) | b;
                         }
                     }
-                    dstbuf.put(dstoff    , b);
-                    dstbuf.put(dstoff + 1, g);
-                    dstbuf.put(dstoff + 2, r);
-                    dstbuf.put(dstoff + 3, (byte) a);
+                    dstbuf.putInt(dstoff, pixel);
+                    srcoff += 4;
                     dstoff += 4;
                 }
                 srcoff += srcscanbytes;
@@ -220,11 +216,8 @@ public class ByteBgra {
             dstscanints -= w;
             while (--h >= 0) {
                 for (int x = 0; x < w; x++) {
-                    dstarr[dstoff++] =
-                        ((srcarr[srcoff++] & 0xff)      ) |
-                        ((srcarr[srcoff++] & 0xff) <<  8) |
-                        ((srcarr[srcoff++] & 0xff) << 16) |
-                        ((srcarr[srcoff++]       ) << 24);
+                    dstarr[dstoff++] = IntBytes.get(srcarr, srcoff);
+                    srcoff += 4;
                 }
                 srcoff += srcscanbytes;
                 dstoff += dstscanints;
@@ -236,14 +229,21 @@ public class ByteBgra {
                        IntBuffer  dstbuf, int dstoff, int dstscanints,
                        int w, int h)
         {
+            if (w >= IntBytes.MIN_BULK_PIXELS) {
+                // the layout of the rows is the same, copy them in bulk
+                while (--h >= 0) {
+                    IntBytes.slice(dstbuf, dstoff, w)
+                        .put(IntBytes.asInts(srcbuf, srcoff, w));
+                    srcoff += srcscanbytes;
+                    dstoff += dstscanints;
+                }
+                return;
+            }
+            srcbuf = IntBytes.littleEndian(srcbuf);
             srcscanbytes -= w * 4;
             while (--h >= 0) {
                 for (int x = 0; x < w; x++) {
-                    dstbuf.put(dstoff + x,
-                               ((srcbuf.get(srcoff    ) & 0xff)      ) |
-                               ((srcbuf.get(srcoff + 1) & 0xff) <<  8) |
-                               ((srcbuf.get(srcoff + 2) & 0xff) << 16) |
-                               ((srcbuf.get(srcoff + 3)       ) << 24));
+                    dstbuf.put(dstoff + x, srcbuf.getInt(srcoff));
                     srcoff += 4;
                 }
                 srcoff += srcscanbytes;
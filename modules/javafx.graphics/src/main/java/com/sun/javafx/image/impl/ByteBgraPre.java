@@ -144,20 +144,19 @@ public class ByteBgraPre {
             dstscanbytes -= w * 4;
             while (--h >= 0) {
                 for (int x = 0; x < w; x++) {
-                    byte b = srcarr[srcoff++];
-                    byte g = srcarr[srcoff++];
-                    byte r = srcarr[srcoff++];
-                    int  a = srcarr[srcoff++] & 0xff;
+                    int pixel = IntBytes.get(srcarr, srcoff);
+                    int a = pixel >>> 24;
                     if (a > 0 && a < 0xff) {
                         int halfa = a >> 1;
-                        b = (byte) (((b & 0xff) * 0xff + halfa) / a);
-                        g = (byte) (((g & 0xff) * 0xff + halfa) / a);
-                        r = (byte) (((r & 0xff) * 0xff + halfa) / a);
+                        int r = (((pixel >> 16) & 0xff) * 0xff + halfa) / a;
+                        int g = (((pixel >>  8) & 0xff) * 0xff + halfa) / a;
+                        int b = (((pixel      ) & 0xff) * 0xff + halfa) / a;
+                        pixel = (a << 24) | ((r & 0xff) << 16) |
+                                ((g & 0xff) << 8) | (b & 0xff);
                     }
-                    dstarr[dstoff++] = b;
-                    dstarr[dstoff++] = g;
-                    dstarr[dstoff++] = r;
-                    dstarr[dstoff++] = (byte) a;
+                    IntBytes.set(dstarr, dstoff, pixel);
+                    srcoff += 4;
+                    dstoff += 4;
                 }
                 srcoff += srcscanbytes;
                 dstoff += dstscanbytes;
@@ -169,25 +168,24 @@ public class ByteBgraPre {
                        ByteBuffer dstbuf, int dstoff, int dstscanbytes,
                        int w, int h)
         {
+            srcbuf = IntBytes.littleEndian(srcbuf);
+            dstbuf = IntBytes.littleEndian(dstbuf);
             srcscanbytes -= w * 4;
             dstscanbytes -= w * 4;
             while (--h >= 0) {
                 for (int x = 0; x < w; x++) {
-                    byte b = srcbuf.get(srcoff    );
-                    byte g = srcbuf.get(srcoff + 1);
-                    byte r = srcbuf.get(srcoff + 2);
-                    int  a = srcbuf.get(srcoff + 3) & 0xff;
-                    srcoff += 4;
+                    int pixel = srcbuf.getInt(srcoff);
+                    int a = pixel >>> 24;
                     if (a > 0 && a < 0xff) {
                         int halfa = a >> 1;
-                        b = (byte) (((b & 0xff) * 0xff + halfa) / a);
-                        g = (byte) (((g & 0xff) * 0xff + halfa) / a);
-                        r = (byte) (((r & 0xff) * 0xff + halfa) / a);
+                        int r = (((pixel >> 16) & 0xff) * 0xff + halfa) / a;
+                        int g = (((pixel >>  8) & 0xff) * 0xff + halfa) / a;
+                        int b = (((pixel      ) & 0xff) * 0xff + halfa) / a;
+                        pixel = (a << 24) | ((r & 0xff) << 16) |
+                                ((g & 0xff) << 8) | (b & 0xff);
                     }
-                    dstbuf.put(dstoff    , b);
-                    dstbuf.put(dstoff + 1, g);
-                    dstbuf.put(dstoff + 2, r);
-                    dstbuf.put(dstoff + 3, (byte) a);
+                    dstbuf.putInt(dstoff, pixel);
+                    srcoff += 4;
                     dstoff += 4;
                 }
                 srcoff += srcscanbytes;
@@ -213,18 +211,18 @@ public class ByteBgraPre {
             dstscanints  -= w;
             while (--h >= 0) {
                 for (int x = 0; x < w; x++) {
-                    int b = srcarr[srcoff++] & 0xff;
-                    int g = srcarr[srcoff++] & 0xff;
-                    int r = srcarr[srcoff++] & 0xff;
-                    int a = srcarr[srcoff++] & 0xff;
+                    int pixel = IntBytes.get(srcarr, srcoff);
+                    srcoff += 4;
+                    int a = pixel >>> 24;
                     if (a > 0 && a < 0xff) {
                         int halfa = a >> 1;
-                        r = (r * 0xff + halfa) / a;
-                        g = (g * 0xff + halfa) / a;
-                        b = (b * 0xff + halfa) / a;
+                        int r = (((pixel >> 16) & 0xff) * 0xff + halfa) / a;
+                        int g = (((pixel >>  8) & 0xff) * 0xff + halfa) / a;
+                        int b = (((pixel      ) & 0xff) * 0xff + halfa) / a;
+                        pixel = (a << 24) | ((r & 0xff) << 16) |
+                                ((g & 0xff) << 8) | (b & 0xff);
                     }
-                    dstarr[dstoff++] =
-                        (a << 24) | (r << 16) | (g << 8) | b;
+                    dstarr[dstoff++] = pixel;
                 }
                 dstoff += dstscanints;
                 srcoff += srcscanbytes;
@@ -236,21 +234,22 @@ public class ByteBgraPre {
                        IntBuffer  dstbuf, int dstoff, int dstscanints,
                        int w, int h)
         {
+            srcbuf = IntBytes.littleEndian(srcbuf);
             srcscanbytes -= w * 4;
             while (--h >= 0) {
                 for (int x = 0; x < w; x++) {
-                    int b = srcbuf.get(srcoff    ) & 0xff;
-                    int g = srcbuf.get(srcoff + 1) & 0xff;
-                    int r = srcbuf.get(srcoff + 2) & 0xff;
-                    int a = srcbuf.get(srcoff + 3) & 0xff;
+                    int pixel = srcbuf.getInt(srcoff);
                     srcoff += 4;
+                    int a = pixel >>> 24;
                     if (a > 0 && a < 0xff) {
                         int halfa = a >> 1;
-                        r = (r * 0xff + halfa) / a;
-                        g = (g * 0xff + halfa) / a;
-                        b = (b * 0xff + halfa) / a;
+                        int r = (((pixel >> 16) & 0xff) * 0xff + halfa) / a;
+                        int g = (((pixel >>  8) & 0xff) * 0xff + halfa) / a;
+                        int b = (((pixel      ) & 0xff) * 0xff + halfa) / a;
+                        pixel = (a << 24) | ((r & 0xff) << 16) |
+                                ((g & 0xff) << 8) | (b & 0xff);
                     }
-                    dstbuf.put(dstoff + x, (a << 24) | (r << 16) | (g << 8) | b);
+                    dstbuf.put(dstoff + x, pixel);
                 }
                 dstoff += dstscanints;
                 srcoff += srcscanbytes;
@@ -201,22 +201,18 @@ public class IntArgb {
                 for (int x = 0; x < w; x++) {
                     int pixel = srcarr[srcoff++];
                     int a = pixel >>> 24;
-                    int r = pixel >>  16;
-                    int g = pixel >>   8;
-                    int b = pixel       ;
                     if (a < 0xff) {
                         if (a == 0) {
-                            b = g = r = 0;
+                            pixel = 0;
                         } else {
-                            b = ((b & 0xff) * a + 0x7f) / 0xff;
-                            g = ((g & 0xff) * a + 0x7f) / 0xff;
-                            r = ((r & 0xff) * a + 0x7f) / 0xff;
+                            int r = (((pixel >> 16) & 0xff) * a + 0x7f) / 0xff;
+                            int g = (((pixel >>  8) & 0xff) * a + 0x7f) / 0xff;
+                            int b = (((pixel      ) & 0xff) * a + 0x7f) / 0xff;
+                            pixel = (a << 24) | (r << 16) | (g << 8) | b;
                         }
                     }
-                    dstarr[dstoff++] = (byte) b;
-                    dstarr[dstoff++] = (byte) g;
-                    dstarr[dstoff++] = (byte) r;
-                    dstarr[dstoff++] = (byte) a;
+                    IntBytes.set(dstarr, dstoff, pixel);
+                    dstoff += 4;
                 }
                 srcoff += srcscanints;
                 dstoff += dstscanbytes;
@@ -228,27 +224,23 @@ public class IntArgb {
                        ByteBuffer dstbuf, int dstoff, int dstscanbytes,
                        int w, int h)
         {
+            dstbuf = IntBytes.littleEndian(dstbuf);
             dstscanbytes -= w * 4;
             while (--h >= 0) {
                 for (int x = 0; x < w; x++) {
                     int pixel = srcbuf.get(srcoff + x);
                     int a = pixel >>> 24;
-                    int r = pixel >>  16;
-                    int g = pixel >>   8;
-                    int b = pixel       ;
                     if (a < 0xff) {
                         if (a == 0) {
-                            b = g = r = 0;
+                            pixel = 0;
                         } else {
-                            b = ((b & 0xff) * a + 0x7f) / 0xff;
-                            g = ((g & 0xff) * a + 0x7f) / 0xff;
-                            r = ((r & 0xff) * a + 0x7f) / 0xff;
+                            int r = (((pixel >> 16) & 0xff) * a + 0x7f) / 0xff;
+                            int g = (((pixel >>  8) & 0xff) * a + 0x7f) / 0xff;
+                            int b = (((pixel      ) & 0xff) * a + 0x7f) / 0xff;
+                            pixel = (a << 24) | (r << 16) | (g << 8) | b;
                         }
                     }
-                    dstbuf.put(dstoff    , (byte) b);
-                    dstbuf.put(dstoff + 1, (byte) g);
-                    dstbuf.put(dstoff + 2, (byte) r);
-                    dstbuf.put(dstoff + 3, (byte) a);
+                    dstbuf.putInt(dstoff, pixel);
                     dstoff += 4;
                 }
                 srcoff += srcscanints;
@@ -144,7 +144,8 @@ public class IntArgbPre {
                         int r = (((pixel >> 16) & 0xff) * 0xff + halfa) / a;
                         int g = (((pixel >>  8) & 0xff) * 0xff + halfa) / a;
                         int b = (((pixel      ) & 0xff) * 0xff + halfa) / a;
-                        pixel = (a << 24) | (r << 16) | (g << 8) | b;
+                        pixel = (a << 24) | ((r & 0xff) << 16) |
+                                ((g & 0xff) << 8) | (b & 0xff);
                     }
                     dstarr[dstoff++] = pixel;
                 }
@@ -167,7 +168,8 @@ public class IntArgbPre {
                         int r = (((pixel >> 16) & 0xff) * 0xff + halfa) / a;
                         int g = (((pixel >>  8) & 0xff) * 0xff + halfa) / a;
                         int b = (((pixel      ) & 0xff) * 0xff + halfa) / a;
-                        pixel = (a << 24) | (r << 16) | (g << 8) | b;
+                        pixel = (a << 24) | ((r & 0xff) << 16) |
+                                ((g & 0xff) << 8) | (b & 0xff);
                     }
                     dstbuf.put(dstoff + x, pixel);
                 }
@@ -196,19 +198,16 @@ public class IntArgbPre {
                 for (int x = 0; x < w; x++) {
                     int pixel = srcarr[srcoff++];
                     int a = pixel >>> 24;
-                    int r = (pixel >> 16) & 0xff;
-                    int g = (pixel >>  8) & 0xff;
-                    int b = (pixel      ) & 0xff;
                     if (a > 0 && a < 0xff) {
                         int halfa = a >> 1;
-                        r = (r * 0xff + halfa) / a;
-                        g = (g * 0xff + halfa) / a;
-                        b = (b * 0xff + halfa) / a;
+                        int r = (((pixel >> 16) & 0xff) * 0xff + halfa) / a;
+                        int g = (((pixel >>  8) & 0xff) * 0xff + halfa) / a;
+                        int b = (((pixel      ) & 0xff) * 0xff + halfa) / a;
+                        pixel = (a << 24) | ((r & 0xff) << 16) |
+                                ((g & 0xff) << 8) | (b & 0xff);
                     }
-                    dstarr[dstoff++] = (byte) b;
-                    dstarr[dstoff++] = (byte) g;
-                    dstarr[dstoff++] = (byte) r;
-                    dstarr[dstoff++] = (byte) a;
+                    IntBytes.set(dstarr, dstoff, pixel);
+                    dstoff += 4;
                 }
                 srcoff += srcscanints;
                 dstoff += dstscanbytes;
@@ -220,24 +219,21 @@ public class IntArgbPre {
                        ByteBuffer dstbuf, int dstoff, int dstscanbytes,
                        int w, int h)
         {
+            dstbuf = IntBytes.littleEndian(dstbuf);
             dstscanbytes -= w * 4;
             while (--h >= 0) {
                 for (int x = 0; x < w; x++) {
                     int pixel = srcbuf.get(srcoff + x);
                     int a = pixel >>> 24;
-                    int r = (pixel >> 16) & 0xff;
-                    int g = (pixel >>  8) & 0xff;
-                    int b = (pixel      ) & 0xff;
                     if (a > 0 && a < 0xff) {
                         int halfa = a >> 1;
-                        r = (r * 0xff + halfa) / a;
-                        g = (g * 0xff + halfa) / a;
-                        b = (b * 0xff + halfa) / a;
+                        int r = (((pixel >> 16) & 0xff) * 0xff + halfa) / a;
+                        int g = (((pixel >>  8) & 0xff) * 0xff + halfa) / a;
+                        int b = (((pixel      ) & 0xff) * 0xff + halfa) / a;
+                        pixel = (a << 24) | ((r & 0xff) << 16) |
+                                ((g & 0xff) << 8) | (b & 0xff);
                     }
-                    dstbuf.put(dstoff    , (byte) b);
-                    dstbuf.put(dstoff + 1, (byte) g);
-                    dstbuf.put(dstoff + 2, (byte) r);
-                    dstbuf.put(dstoff + 3, (byte) a);
+                    dstbuf.putInt(dstoff, pixel);
                     dstoff += 4;
                 }
                 srcoff += srcscanints;
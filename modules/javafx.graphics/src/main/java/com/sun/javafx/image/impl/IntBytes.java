@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.image.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * Access to four byte pixels as single little endian ints, so that a
+ * {@code BGRA} pixel reads and writes as the {@code ARGB} int that has the
+ * same components. Moving a pixel with one int access instead of four byte
+ * accesses is what makes the four byte converters fast, and rows whose
+ * layout is identical in both formats are moved in bulk through an int view
+ * of the byte buffer, which turns into a plain memory copy on little endian
+ * platforms.
+ */
+final class IntBytes {
+
+    // rows shorter than that are not worth the allocation of the views
+    static final int MIN_BULK_PIXELS = 16;
+
+    private static final VarHandle LE_INTS =
+        MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private IntBytes() {}
+
+    static int get(byte arr[], int offset) {
+        return (int) LE_INTS.get(arr, offset);
+    }
+
+    static void set(byte arr[], int offset, int value) {
+        LE_INTS.set(arr, offset, value);
+    }
+
+    /**
+     * Returns the given buffer or a duplicate of it with a little endian
+     * byte order, to be used with {@code getInt()} and {@code putInt()}.
+     */
+    static ByteBuffer littleEndian(ByteBuffer buf) {
+        return (buf.order() == ByteOrder.LITTLE_ENDIAN)
+            ? buf
+            : buf.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Returns a little endian int view of {@code n} pixels of the given
+     * buffer, starting at the byte {@code offset}. The position and limit
+     * of the buffer are not changed.
+     */
+    static IntBuffer asInts(ByteBuffer buf, int offset, int n) {
+        ByteBuffer b = buf.duplicate();
+        b.limit(offset + n * 4).position(offset);
+        return b.slice().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    /**
+     * Returns a view of {@code n} ints of the given buffer, starting at
+     * {@code offset}. The position and limit of the buffer are not changed.
+     */
+    static IntBuffer slice(IntBuffer buf, int offset, int n) {
+        IntBuffer b = buf.duplicate();
+        b.limit(offset + n).position(offset);
+        return b;
+    }
+}
@@ -45,11 +45,8 @@ class IntTo4ByteSameConverter extends BaseIntToByteConverter {
         dstscanbytes -= w * 4;
         while (--h >= 0) {
             for (int x = 0; x < w; x++) {
-                int pixel = srcarr[srcoff++];
-                dstarr[dstoff++] = (byte) (pixel      );
-                dstarr[dstoff++] = (byte) (pixel >>  8);
-                dstarr[dstoff++] = (byte) (pixel >> 16);
-                dstarr[dstoff++] = (byte) (pixel >> 24);
+                IntBytes.set(dstarr, dstoff, srcarr[srcoff++]);
+                dstoff += 4;
             }
             srcoff += srcscanints;
             dstoff += dstscanbytes;
@@ -61,14 +58,21 @@ class IntTo4ByteSameConverter extends BaseIntToByteConverter {
                    ByteBuffer dstbuf, int dstoff, int dstscanbytes,
                    int w, int h)
     {
+        if (w >= IntBytes.MIN_BULK_PIXELS) {
+            // the layout of the rows is the same, copy them in bulk
+            while (--h >= 0) {
+                IntBytes.asInts(dstbuf, dstoff, w)
+                    .put(IntBytes.slice(srcbuf, srcoff, w));
+                srcoff += srcscanints;
+                dstoff += dstscanbytes;
+            }
+            return;
+        }
+        dstbuf = IntBytes.littleEndian(dstbuf);
         dstscanbytes -= w * 4;
         while (--h >= 0) {
             for (int x = 0; x < w; x++) {
-                int pixel = srcbuf.get(srcoff + x);
-                dstbuf.put(dstoff    , (byte) (pixel      ));
-                dstbuf.put(dstoff + 1, (byte) (pixel >>  8));
-                dstbuf.put(dstoff + 2, (byte) (pixel >> 16));
-                dstbuf.put(dstoff + 3, (byte) (pixel >> 24));
+                dstbuf.putInt(dstoff, srcbuf.get(srcoff + x));
                 dstoff += 4;
             }
             srcoff += srcscanints;
@@ -124,6 +124,9 @@ public class CacheFilter {
     // regenerate the cache next time.
     private boolean wasUnsupported = false;
 
+    // The number of times the cached image was rebuilt
+    private int rebuildCount;
+
     /**
      * Compute the dirty region that must be re-rendered after scrolling
      */
@@ -160,6 +163,10 @@ public class CacheFilter {
                            cacheHint == CacheHint.SCALE_AND_ROTATE);
     }
 
+    int getRebuildCount() {
+        return rebuildCount;
+    }
+
     // These two methods exist only for the sake of testing.
     final boolean isScaleHint() { return scaleHint; }
     final boolean isRotateHint() { return rotateHint; }
@@ -546,9 +553,10 @@ public class CacheFilter {
         float pixelScaleX = g.getPixelScaleFactorX();
         float pixelScaleY = g.getPixelScaleFactorY();
         if (needToRenderCache(xform, xformInfo, pixelScaleX, pixelScaleY)) {
-            if (PulseLogger.PULSE_LOGGING_ENABLED) {
+            if (PulseLogger.PULSE_MESSAGES_ENABLED) {
                 PulseLogger.incrementCounter("CacheFilter rebuilding");
             }
+            rebuildCount++;
             if (cachedImageData != null) {
                 Filterable implImage = cachedImageData.getUntransformedImage();
                 if (implImage != null) {
@@ -621,7 +629,7 @@ public class CacheFilter {
 
         Filterable implImage = cachedImageData.getUntransformedImage();
         if (implImage == null) {
-            if (PulseLogger.PULSE_LOGGING_ENABLED) {
+            if (PulseLogger.PULSE_MESSAGES_ENABLED) {
                 PulseLogger.incrementCounter("CacheFilter not used");
             }
             renderNodeToScreen(g);
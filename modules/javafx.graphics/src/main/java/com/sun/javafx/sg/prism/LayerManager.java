@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.sg.prism;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Set;
+import com.sun.javafx.geom.BaseBounds;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.logging.PulseLogger;
+import com.sun.prism.Graphics;
+import com.sun.prism.PrinterGraphics;
+import com.sun.prism.ResourceFactory;
+import com.sun.prism.impl.PrismSettings;
+import com.sun.prism.impl.TextureResourcePool;
+
+/**
+ * Caches groups that are rendered again and again without changing, as if
+ * the application had set {@code Node.cache} on them. This is enabled with
+ * {@code prism.autocache}.
+ * <p>
+ * A group whose contents have not changed for {@code prism.autocachepulses}
+ * renders is promoted: it gets a {@link CacheFilter} and is rendered from
+ * the cached texture from then on. Changes to the transform of the group do
+ * not count as changes, so a group which is only being moved keeps its
+ * cache. A cache which is rebuilt more often than it is reused is dropped
+ * again, and the group then has to stay unchanged twice as long before it
+ * is promoted the next time.
+ * <p>
+ * The textures of the caches are bounded by {@code prism.autocachebudget}
+ * and by half of the target of the texture pool. When a new cache does not
+ * fit, the least recently rendered caches are dropped first. Caches that
+ * are not rendered for a while are dropped as well.
+ * <p>
+ * All the methods are called on the render thread, except for
+ * {@link NGNode#setCachedAsBitmap} which drops the automatic cache when the
+ * application sets or clears its own.
+ */
+public final class LayerManager {
+
+    // the hits and rebuilds of a cache are halved when they add up to this
+    private static final int HISTORY = 32;
+    // the number of renders needed for a promotion doubles at most this often
+    private static final int MAX_BACKOFF = 4;
+    // caches not rendered for IDLE_PERIODS * pulses frames are dropped
+    private static final int IDLE_PERIODS = 4;
+
+    private static final RectBounds TEMP_BOUNDS = new RectBounds();
+
+    private static final LayerManager INSTANCE =
+        new LayerManager(PrismSettings.autoCachePulses, PrismSettings.autoCacheBudget);
+
+    public static LayerManager getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * The state of the automatic cache of a node.
+     */
+    static final class Layer {
+        // the last frame the node was rendered in
+        int frame = -1;
+        // the number of frames the node was rendered in without a change
+        int stable;
+        int backoff;
+        // set when the contents of the node change
+        boolean changed;
+        // true while the node has an automatic cache
+        boolean cached;
+        int hits;
+        int rebuilds;
+        // the estimated size of the cache, in bytes
+        long size;
+    }
+
+    private final int pulses;
+    private final long maxSize;
+    private final Set<NGNode> nodes = Collections.newSetFromMap(new IdentityHashMap<>());
+    private long size;
+    private int frame;
+
+    LayerManager(int pulses, long maxSize) {
+        this.pulses = pulses;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Called before a scene is painted.
+     */
+    public void beginFrame() {
+        frame++;
+        if (frame % pulses == 0) {
+            final Iterator<NGNode> it = nodes.iterator();
+            while (it.hasNext()) {
+                final NGNode node = it.next();
+                final Layer layer = node.layer;
+                if (!layer.cached) {
+                    // released by setCachedAsBitmap
+                    it.remove();
+                    size -= layer.size;
+                } else if (frame - layer.frame > IDLE_PERIODS * pulses) {
+                    it.remove();
+                    drop(node, false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Renders the node, promoting it to a cached layer or dropping its cache
+     * as needed.
+     */
+    void render(NGNode node, Graphics g) {
+        if (!(node instanceof NGGroup)) {
+            node.doRender(g);
+            return;
+        }
+        if (visit(node) && !promote(node, g)) {
+            node.layer.stable = 0;
+        }
+        final CacheFilter filter = node.getCacheFilter();
+        if (!node.layer.cached || filter == null) {
+            node.doRender(g);
+            return;
+        }
+        final int rebuilds = filter.getRebuildCount();
+        node.doRender(g);
+        rendered(node, filter.getRebuildCount() != rebuilds);
+    }
+
+    /**
+     * Records that the node is being rendered.
+     *
+     * @return true if the node should be promoted
+     */
+    boolean visit(NGNode node) {
+        Layer layer = node.layer;
+        if (layer == null) {
+            layer = node.layer = new Layer();
+        }
+        final boolean changed = layer.changed;
+        layer.changed = false;
+        if (layer.frame == frame) {
+            // another dirty region of the same frame
+            return false;
+        }
+        layer.frame = frame;
+        if (layer.cached) {
+            return false;
+        }
+        if (changed || node.getCacheFilter() != null) {
+            layer.stable = 0;
+            return false;
+        }
+        return ++layer.stable >= (pulses << layer.backoff);
+    }
+
+    private boolean promote(NGNode node, Graphics g) {
+        if (!node.isContentBounds2D() || !g.getTransformNoClone().is2D() ||
+            g instanceof PrinterGraphics)
+        {
+            return false;
+        }
+        final BaseBounds bounds = node.getCompleteBounds(TEMP_BOUNDS, g.getTransformNoClone());
+        if (bounds.isEmpty()) {
+            return false;
+        }
+        final int w = (int) Math.ceil(bounds.getWidth());
+        final int h = (int) Math.ceil(bounds.getHeight());
+        long limit = maxSize;
+        final ResourceFactory factory = g.getResourceFactory();
+        if (factory != null) {
+            final int maxTextureSize = factory.getMaximumTextureSize();
+            if (w > maxTextureSize || h > maxTextureSize) {
+                return false;
+            }
+            final TextureResourcePool<?> pool = factory.getTextureResourcePool();
+            if (pool != null) {
+                limit = Math.min(limit, pool.target() / 2);
+            }
+        }
+        return promote(node, 4L * w * h, limit);
+    }
+
+    /**
+     * Gives the node an automatic cache of the given size, dropping the least
+     * recently rendered caches to make room for it.
+     *
+     * @param size the estimated size of the cache in bytes
+     * @param limit the maximum size of all the caches
+     * @return true if the node was promoted
+     */
+    boolean promote(NGNode node, long size, long limit) {
+        if (size > limit / 4) {
+            return false;
+        }
+        while (this.size + size > limit) {
+            NGNode lru = null;
+            for (NGNode n : nodes) {
+                if (lru == null || n.layer.frame < lru.layer.frame) {
+                    lru = n;
+                }
+            }
+            if (lru == null || lru.layer.frame == frame) {
+                // do not drop a cache that is in use in this frame
+                return false;
+            }
+            nodes.remove(lru);
+            if (lru.layer.cached) {
+                drop(lru, false);
+            } else {
+                this.size -= lru.layer.size;
+            }
+        }
+        final Layer layer = node.layer;
+        if (!nodes.add(node)) {
+            // still there after a release by setCachedAsBitmap
+            this.size -= layer.size;
+        }
+        layer.cached = true;
+        layer.stable = 0;
+        layer.hits = 0;
+        layer.rebuilds = 0;
+        layer.size = size;
+        this.size += size;
+        node.setAutoCached(true);
+        if (PulseLogger.PULSE_MESSAGES_ENABLED) {
+            PulseLogger.incrementCounter("LayerManager promoted");
+        }
+        return true;
+    }
+
+    /**
+     * Records whether the cache of the node was reused or rebuilt by the
+     * last render, and drops it if it is rebuilt more often than reused.
+     */
+    void rendered(NGNode node, boolean rebuilt) {
+        final Layer layer = node.layer;
+        if (rebuilt) {
+            layer.rebuilds++;
+        } else {
+            layer.hits++;
+        }
+        if (layer.rebuilds > 2 && layer.rebuilds > layer.hits) {
+            nodes.remove(node);
+            drop(node, true);
+        } else if (layer.hits + layer.rebuilds >= HISTORY) {
+            layer.hits >>= 1;
+            layer.rebuilds >>= 1;
+        }
+    }
+
+    private void drop(NGNode node, boolean backoff) {
+        final Layer layer = node.layer;
+        layer.cached = false;
+        layer.stable = 0;
+        if (backoff) {
+            layer.backoff = Math.min(layer.backoff + 1, MAX_BACKOFF);
+        }
+        size -= layer.size;
+        node.setAutoCached(false);
+        if (PulseLogger.PULSE_MESSAGES_ENABLED) {
+            PulseLogger.incrementCounter(backoff ? "LayerManager demoted" : "LayerManager evicted");
+        }
+    }
+
+    int getLayerCount() {
+        return nodes.size();
+    }
+
+    long getSize() {
+        return size;
+    }
+}
@@ -53,6 +53,7 @@ import com.sun.scenario.effect.ImageData;
 import com.sun.scenario.effect.impl.prism.PrDrawable;
 import com.sun.scenario.effect.impl.prism.PrEffectHelper;
 import com.sun.scenario.effect.impl.prism.PrFilterContext;
+import com.sun.javafx.logging.PulseCounter;
 import com.sun.javafx.logging.PulseLogger;
 import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
 
@@ -117,6 +118,11 @@ public abstract class NGNode {
     static final int DIRTY_REGION_CONTAINS_OR_INTERSECTS_NODE_BOUNDS =
             DIRTY_REGION_INTERSECTS_NODE_BOUNDS | DIRTY_REGION_CONTAINS_NODE_BOUNDS;
 
+    /**
+     * The number of dirty regions that fit in the culling bits, 2 bits each.
+     */
+    public static final int MAX_CULLING_REGIONS = 31;
+
     /**
      * The transform for this node. Although we are handed all the bounds
      * during synchronization (including the transformed bounds), we still
@@ -207,12 +213,17 @@ public abstract class NGNode {
 
     /**
      * A filter used when the node is cached. If null, then the node is not
-     * being cached. While in theory this could be created automatically by
-     * the implementation due to some form of heuristic, currently we
-     * only set this if the application has requested that the node be cached.
+     * being cached. This is set if the application has requested that the
+     * node be cached, or by the LayerManager when prism.autocache is set.
      */
     private CacheFilter cacheFilter;
 
+    /**
+     * The state of the automatic cache of this node. This is only created by
+     * the LayerManager, when prism.autocache is set.
+     */
+    LayerManager.Layer layer;
+
     /**
      * A filter used whenever an effect is placed on the node. Of course
      * effects can form a kind of tree, such that this one effect might be
@@ -243,7 +254,7 @@ public abstract class NGNode {
     /**
      * Marks position of this node in dirty regions.
      */
-    protected int cullingBits = 0x0;
+    protected long cullingBits = 0x0;
     private DirtyHint hint;
 
     /**
@@ -267,7 +278,7 @@ public abstract class NGNode {
      * was rendered by dirty region 3, then it would have the 3rd bit from the
      * right set ( that is, 1 << 2)
      */
-    private int painted = 0;
+    private long painted = 0;
 
     protected NGNode() { }
 
@@ -514,6 +525,12 @@ public abstract class NGNode {
             throw new IllegalArgumentException("Internal Error: cacheHint must not be null");
         }
 
+        if (layer != null && layer.cached) {
+            // The application takes over the automatic cache, or drops it.
+            // The LayerManager forgets about it on its next sweep.
+            layer.cached = false;
+        }
+
         if (cached) {
             if (cacheFilter == null) {
                 cacheFilter = new CacheFilter(this, cacheHint);
@@ -662,6 +679,18 @@ public abstract class NGNode {
     public final Blend.Mode getNodeBlendMode() { return nodeBlendMode; }
     public final boolean isDepthTest() { return depthTest; }
     public final CacheFilter getCacheFilter() { return cacheFilter; }
+
+    /**
+     * Called by the LayerManager to add or remove the automatic cache.
+     */
+    final void setAutoCached(boolean cached) {
+        if (cached) {
+            cacheFilter = new CacheFilter(this, CacheHint.DEFAULT);
+        } else if (cacheFilter != null) {
+            cacheFilter.dispose();
+            cacheFilter = null;
+        }
+    }
     public final EffectFilter getEffectFilter() { return effectFilter; }
     public final NGNode getClipNode() { return clipNode; }
 
@@ -945,6 +974,9 @@ public abstract class NGNode {
         if (cacheFilter != null) {
             cacheFilter.invalidate();
         }
+        if (layer != null) {
+            layer.changed = true;
+        }
     }
 
     /**
@@ -1349,7 +1381,7 @@ public abstract class NGNode {
      * 01 - node intersecting dirty region
      * 11 - node completely within dirty region
      *
-     * 32 bits = 15 regions max. * 2 bit each. The first two bits are not used
+     * 64 bits = 31 regions max. * 2 bit each. The first two bits are not used
      * because we have a special use case for -1, so they should only be set if
      * in that case.
      *
@@ -1360,7 +1392,7 @@ public abstract class NGNode {
      */
     void markCullRegions(
             DirtyRegionContainer drc,
-            int cullingRegionsBitsOfParent,
+            long cullingRegionsBitsOfParent,
             BaseTransform tx,
             GeneralTransform3D pvTx) {
 
@@ -1383,7 +1415,7 @@ public abstract class NGNode {
 
         cullingBits = 0;
         RectBounds region;
-        int mask = 0x1; // Check only for intersections
+        long mask = 0x1; // Check only for intersections
         for(int i = 0; i < drc.size(); i++) {
             region = drc.getDirtyRegion(i);
             if (region == null || region.isEmpty()) {
@@ -1401,7 +1433,7 @@ public abstract class NGNode {
                 if (region.contains(TEMP_RECT_BOUNDS)) {
                     b = DIRTY_REGION_CONTAINS_NODE_BOUNDS;
                 }
-                cullingBits = cullingBits | (b << (2 * i));
+                cullingBits = cullingBits | ((long) b << (2 * i));
             }
             mask = mask << 2;
         }//for
@@ -1413,7 +1445,7 @@ public abstract class NGNode {
         }
 
 //        System.out.printf("%s bits: %s bounds: %s\n",
-//            this, Integer.toBinaryString(cullingBits), TEMP_RECT_BOUNDS);
+//            this, Long.toBinaryString(cullingBits), TEMP_RECT_BOUNDS);
     }
 
     /**
@@ -1465,9 +1497,9 @@ public abstract class NGNode {
         }
 
         if (node.cullingBits != 0) {
-            int mask = 0x11;
-            for (int i=0; i<15; i++) {
-                int bits = node.cullingBits & mask;
+            long mask = 0x11;
+            for (int i=0; i<MAX_CULLING_REGIONS; i++) {
+                long bits = node.cullingBits & mask;
                 if (bits != 0) {
                     stuff.add(bits == 1 ? "i" + i : bits == 0 ? "c" + i : "ci" + i);
                 }
@@ -1523,7 +1555,7 @@ public abstract class NGNode {
      */
     public void drawDirtyOpts(final BaseTransform tx, final GeneralTransform3D pvTx,
                               Rectangle clipBounds, int[] colorBuffer, int dirtyRegionIndex) {
-        if ((painted & (1 << (dirtyRegionIndex * 2))) != 0) {
+        if ((painted & (1L << (dirtyRegionIndex * 2))) != 0) {
             // Transforming the content bounds (which includes the clip) to screen coordinates
             tx.copy().deriveWithConcatenation(getTransform()).transform(contentBounds, TEMP_BOUNDS);
             if (pvTx != null) pvTx.transform(TEMP_BOUNDS, TEMP_BOUNDS);
@@ -1563,7 +1595,7 @@ public abstract class NGNode {
                     // as my counters).
                     if (color == 0) {
                         color = 0x8007F00;
-                    } else if ((painted & (3 << (dirtyRegionIndex * 2))) == 3) {
+                    } else if ((painted & (3L << (dirtyRegionIndex * 2))) == 3) {
                         switch (color) {
                             case 0x80007F00:
                                 color = 0x80008000;
@@ -1639,8 +1671,9 @@ public abstract class NGNode {
         if (path == null || dirtyRegion == null || tx == null || pvTx == null) {
             throw new NullPointerException();
         }
-        if (cullingIndex < -1 || cullingIndex > 15) {
-            throw new IllegalArgumentException("cullingIndex cannot be < -1 or > 15");
+        if (cullingIndex < -1 || cullingIndex >= MAX_CULLING_REGIONS) {
+            throw new IllegalArgumentException("cullingIndex cannot be < -1 or > "
+                                               + (MAX_CULLING_REGIONS - 1));
         }
 
         // This method must NEVER BE CALLED if the depth buffer is turned on. I don't have a good way to test
@@ -1727,7 +1760,7 @@ public abstract class NGNode {
         // Nodes outside of the dirty region can be excluded immediately.
         // This can be used only if the culling information is provided.
         if (cullingIndex != -1) {
-            final int bits = cullingBits >> (cullingIndex * 2);
+            final long bits = cullingBits >> (cullingIndex * 2);
             if ((bits & DIRTY_REGION_CONTAINS_OR_INTERSECTS_NODE_BOUNDS) == 0x00) {
                 return RenderRootResult.NO_RENDER_ROOT;
             }
@@ -1951,7 +1984,7 @@ public abstract class NGNode {
      */
     public final void render(Graphics g) {
         if (PULSE_LOGGING_ENABLED) {
-            PulseLogger.incrementCounter("Nodes visited during render");
+            PulseLogger.incrementCounter(PulseCounter.NODES_VISITED, 1);
         }
         // Clear the visuals changed flag
         clearDirty();
@@ -1961,7 +1994,11 @@ public abstract class NGNode {
         // We know that we are going to render this node, so we call the
         // doRender method, which subclasses implement to do the actual
         // rendering work.
-        doRender(g);
+        if (PrismSettings.autoCache) {
+            LayerManager.getInstance().render(this, g);
+        } else {
+            doRender(g);
+        }
     }
 
     /**
@@ -1997,7 +2034,7 @@ public abstract class NGNode {
         if (PrismSettings.dirtyOptsEnabled) {
             if (g.hasPreCullingBits()) {
                 //preculling bits available
-                final int bits = cullingBits >> (g.getClipRectIndex() * 2);
+                final long bits = cullingBits >> (g.getClipRectIndex() * 2);
                 if ((bits & DIRTY_REGION_CONTAINS_OR_INTERSECTS_NODE_BOUNDS) == 0) {
                     // If no culling bits are set for this region, this group
                     // does not intersect (nor is covered by) the region
@@ -2088,7 +2125,7 @@ public abstract class NGNode {
         g.setDepthTest(prevDepthTest);
 
         if (PULSE_LOGGING_ENABLED) {
-            PulseLogger.incrementCounter("Nodes rendered");
+            PulseLogger.incrementCounter(PulseCounter.NODES_RENDERED, 1);
         }
 
         // Used for debug purposes. This is not entirely accurate, as it doesn't measure the
@@ -2097,9 +2134,9 @@ public abstract class NGNode {
         // with our shaders or do something much more invasive to get better data here.
         if (PrismSettings.showOverdraw) {
             if (p) {
-                painted |= 3 << (g.getClipRectIndex() * 2);
+                painted |= 3L << (g.getClipRectIndex() * 2);
             } else {
-                painted |= 1 << (g.getClipRectIndex() * 2);
+                painted |= 1L << (g.getClipRectIndex() * 2);
             }
         }
     }
@@ -61,7 +61,7 @@ import com.sun.javafx.geom.transform.Affine2D;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.GeneralTransform3D;
 import com.sun.javafx.logging.PulseLogger;
-import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
+import static com.sun.javafx.logging.PulseLogger.PULSE_MESSAGES_ENABLED;
 import com.sun.javafx.scene.NodeHelper;
 import com.sun.javafx.tk.Toolkit;
 import com.sun.prism.BasicStroke;
@@ -631,7 +631,7 @@ public class NGRegion extends NGGroup {
                         cachedGraphics.translate(rect.x - outsetShapeBounds.getMinX(),
                                                  rect.y - outsetShapeBounds.getMinY());
                         renderBackgroundShape(cachedGraphics);
-                        if (PULSE_LOGGING_ENABLED) {
+                        if (PULSE_MESSAGES_ENABLED) {
                             PulseLogger.incrementCounter("Rendering region shape image to cache");
                         }
                     }
@@ -653,7 +653,7 @@ public class NGRegion extends NGGroup {
                 final float srcY2 = srcY1 + textureHeight;
 
                 g.drawTexture(cached, dstX1, dstY1, dstX2, dstY2, srcX1, srcY1, srcX2, srcY2);
-                if (PULSE_LOGGING_ENABLED) {
+                if (PULSE_MESSAGES_ENABLED) {
                     PulseLogger.incrementCounter("Cached region shape image used");
                 }
             } else {
@@ -687,7 +687,7 @@ public class NGRegion extends NGGroup {
     }
 
     private void renderBackgroundShape(Graphics g) {
-        if (PULSE_LOGGING_ENABLED) {
+        if (PULSE_MESSAGES_ENABLED) {
             PulseLogger.incrementCounter("NGRegion renderBackgroundShape slow path");
             PulseLogger.addMessage("Slow shape path for " + getName());
         }
@@ -831,7 +831,7 @@ public class NGRegion extends NGGroup {
                     // Rendering backgrounds to the cache
                     renderBackgroundRectanglesDirectly(cacheGraphics, cacheWidth, cacheHeight);
 
-                    if (PULSE_LOGGING_ENABLED) {
+                    if (PULSE_MESSAGES_ENABLED) {
                         PulseLogger.incrementCounter("Rendering region background image to cache");
                     }
                 }
@@ -1072,7 +1072,7 @@ public class NGRegion extends NGGroup {
                                 srcLeftX, srcTopY, srcRightX, srcBottomY);
         }
 
-        if (PULSE_LOGGING_ENABLED) {
+        if (PULSE_MESSAGES_ENABLED) {
             PulseLogger.incrementCounter("Cached region background image used");
         }
     }
@@ -1121,7 +1121,7 @@ public class NGRegion extends NGGroup {
                         g.fillRoundRect(l, t, w, h, arcWidth, arcHeight);
                     }
                 } else {
-                    if (PULSE_LOGGING_ENABLED) {
+                    if (PULSE_MESSAGES_ENABLED) {
                         PulseLogger.incrementCounter("NGRegion renderBackgrounds slow path");
                         PulseLogger.addMessage("Slow background path for " + getName());
                     }
@@ -30,7 +30,7 @@ import java.util.HashMap;
 import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.geom.Shape;
 import com.sun.javafx.logging.PulseLogger;
-import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
+import static com.sun.javafx.logging.PulseLogger.PULSE_MESSAGES_ENABLED;
 import com.sun.prism.Graphics;
 import com.sun.prism.RTTexture;
 import com.sun.prism.ResourceFactory;
@@ -139,7 +139,7 @@ class RegionImageCache {
             imageMap.clear();
             packer.add(rect);
             backingStore.createGraphics().clear();
-            if (PULSE_LOGGING_ENABLED) {
+            if (PULSE_MESSAGES_ENABLED) {
                 PulseLogger.incrementCounter("Region image cache flushed");
             }
         }
@@ -31,6 +31,7 @@ import java.nio.IntBuffer;
 import javafx.scene.image.PixelFormat;
 import javafx.scene.image.PixelReader;
 import javafx.scene.image.WritablePixelFormat;
+import com.sun.javafx.geom.Rectangle;
 
 /**
  * Common interface to all toolkit-specific objects used to store image
@@ -97,4 +98,13 @@ public interface PlatformImage {
 
     public void setPixels(int dstx, int dsty, int w, int h,
                           PixelReader reader, int srcx, int srcy);
+
+    /**
+     * Notifies this image that the application changed the pixels of the
+     * given region of the buffer it shares with a
+     * {@link javafx.scene.image.PixelBuffer}.
+     *
+     * @param rect the changed region, or null if the whole image changed
+     */
+    public void bufferDirty(Rectangle rect);
 }
@@ -69,6 +69,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import com.sun.glass.ui.CommonDialogs.FileChooserResult;
 import com.sun.glass.ui.GlassRobot;
@@ -576,10 +577,26 @@ public abstract class Toolkit {
                                           boolean preserveRatio,
                                           boolean smooth);
 
+    /*
+     * Same as above, but the image is loaded and decoded on the given
+     * executor instead of the toolkit's own background threads. Toolkits
+     * without background threads ignore the executor.
+     */
+    public AsyncOperation loadImageAsync(
+                                          AsyncOperationListener<? extends ImageLoader> listener,
+                                          String url,
+                                          double width, double height,
+                                          boolean preserveRatio,
+                                          boolean smooth,
+                                          Executor executor) {
+        return loadImageAsync(listener, url, width, height, preserveRatio, smooth);
+    }
+
     /*
      * The loadPlatformImage method supports the following image types:
      *   - an object returned by the renderToImage method
      *   - an instance of com.sun.prism.Image (in case of prism)
+     *   - a javafx.scene.image.PixelBuffer, whose buffer is shared, not copied
      *   - an instance of an external image object, which can be a BufferedImage
      * If JavaFX Image had one more constructor Image(ImageLoader),
      * we could introduce a different method for external image loading support.
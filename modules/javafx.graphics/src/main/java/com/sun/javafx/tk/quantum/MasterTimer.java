@@ -27,11 +27,14 @@ package com.sun.javafx.tk.quantum;
 
 import java.util.Map;
 import javafx.animation.Timeline;
+import com.sun.javafx.logging.PulseLogger;
 import com.sun.javafx.tk.Toolkit;
+import com.sun.javafx.util.ModuleHelper;
 import com.sun.scenario.DelayedRunnable;
 import com.sun.scenario.Settings;
 import com.sun.scenario.animation.AbstractMasterTimer;
 import com.sun.scenario.animation.AnimationPulse;
+import com.sun.scenario.animation.PulseStatistics;
 
 /**
  * This class encapsulates the global static methods that manage scheduling and
@@ -61,6 +64,11 @@ public final class MasterTimer extends AbstractMasterTimer {
                                     enableAnimationMBean)) {
                 AnimationPulse.getDefaultBean().setEnabled(true);
             }
+            // the statistics need the optional java.management module
+            if (PulseLogger.PULSE_RECORDING_ENABLED
+                    && ModuleHelper.isModulePresent("java.management")) {
+                PulseStatistics.register();
+            }
         }
         return instance;
     }
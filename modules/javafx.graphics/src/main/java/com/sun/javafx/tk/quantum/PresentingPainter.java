@@ -26,6 +26,7 @@
 package com.sun.javafx.tk.quantum;
 
 import com.sun.javafx.logging.PulseLogger;
+import com.sun.javafx.logging.PulsePhase;
 import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
 import com.sun.prism.Graphics;
 import com.sun.prism.GraphicsPipeline;
@@ -93,7 +94,7 @@ final class PresentingPainter extends ViewPainter {
                 }
 
                 if (PULSE_LOGGING_ENABLED) {
-                    PulseLogger.newPhase("Presenting");
+                    PulseLogger.newPhase(PulsePhase.PRESENT, "Presenting");
                 }
                 if (!presentable.prepare(null)) {
                     disposePresentable();
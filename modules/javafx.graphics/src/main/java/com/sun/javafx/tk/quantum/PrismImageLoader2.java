@@ -28,6 +28,7 @@ package com.sun.javafx.tk.quantum;
 import java.io.IOException;
 import java.io.InputStream;
 
+import com.sun.javafx.iio.ImageDiskCache;
 import com.sun.javafx.iio.ImageFrame;
 import com.sun.javafx.iio.ImageLoadListener;
 import com.sun.javafx.iio.ImageLoader;
@@ -45,6 +46,7 @@ import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
@@ -74,7 +76,22 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
     public PrismImageLoader2(InputStream stream, double width, double height,
                              boolean preserveRatio, boolean smooth)
     {
-        loadAll(stream, width, height, preserveRatio, smooth);
+        loadAll(stream, width, height, preserveRatio, smooth, null);
+    }
+
+    /*
+     * Loads the image from the stream and stores its frames in the disk cache
+     * under the given key, if not null.
+     */
+    PrismImageLoader2(InputStream stream, double width, double height,
+                      boolean preserveRatio, boolean smooth, String cacheKey)
+    {
+        loadAll(stream, width, height, preserveRatio, smooth, cacheKey);
+    }
+
+    // frames found in the disk cache
+    PrismImageLoader2(ImageFrame[] frames) {
+        convertAll(frames);
     }
 
     public double getWidth() {
@@ -134,12 +151,16 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
     }
 
     private void loadAll(InputStream stream, double w, double h,
-                         boolean preserveRatio, boolean smooth)
+                         boolean preserveRatio, boolean smooth, String cacheKey)
     {
         ImageLoadListener listener = new PrismLoadListener();
         try {
             ImageFrame[] imgFrames =
                 ImageStorage.loadAll(stream, listener, w, h, preserveRatio, 1.0f, smooth);
+            if (cacheKey != null) {
+                // before the frames are converted in place
+                ImageDiskCache.getInstance().put(cacheKey, imgFrames);
+            }
             convertAll(imgFrames);
         } catch (ImageStorageException e) {
             handleException(e);
@@ -229,6 +250,8 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
                 createExecutor();
 
         private final AccessControlContext acc;
+        private final Executor executor;
+        private String cacheKey;
 
         double width, height;
         boolean preserveRatio;
@@ -238,25 +261,47 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
                 AsyncOperationListener<PrismImageLoader2> listener,
                 String url,
                 double width, double height, boolean preserveRatio, boolean smooth)
+        {
+            this(listener, url, width, height, preserveRatio, smooth, null);
+        }
+
+        public AsyncImageLoader(
+                AsyncOperationListener<PrismImageLoader2> listener,
+                String url,
+                double width, double height, boolean preserveRatio, boolean smooth,
+                Executor executor)
         {
             super(url, listener);
             this.width = width;
             this.height = height;
             this.preserveRatio = preserveRatio;
             this.smooth = smooth;
+            this.executor = executor;
             this.acc = AccessController.getContext();
         }
 
         @Override
         protected PrismImageLoader2 processStream(InputStream stream) throws IOException {
-            return new PrismImageLoader2(stream, width, height, preserveRatio, smooth);
+            return new PrismImageLoader2(stream, width, height, preserveRatio, smooth, cacheKey);
         }
 
         @Override
         public PrismImageLoader2 call() throws IOException {
             try {
                 return AccessController.doPrivileged(
-                        (PrivilegedExceptionAction<PrismImageLoader2>) () -> AsyncImageLoader.super.call(), acc);
+                        (PrivilegedExceptionAction<PrismImageLoader2>) () -> {
+                            final ImageDiskCache cache = ImageDiskCache.getInstance();
+                            if (cache != null) {
+                                cacheKey = cache.getKey(url, width, height, preserveRatio, 1.0f, smooth);
+                                if (cacheKey != null) {
+                                    final ImageFrame[] frames = cache.get(cacheKey);
+                                    if (frames != null) {
+                                        return new PrismImageLoader2(frames);
+                                    }
+                                }
+                            }
+                            return AsyncImageLoader.super.call();
+                        }, acc);
             } catch (final PrivilegedActionException e) {
                 final Throwable cause = e.getCause();
 
@@ -270,7 +315,11 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
 
         @Override
         public void start() {
-            BG_LOADING_EXECUTOR.execute(future);
+            if (executor != null) {
+                executor.execute(future);
+            } else {
+                BG_LOADING_EXECUTOR.execute(future);
+            }
         }
 
         private static ExecutorService createExecutor() {
@@ -28,6 +28,7 @@ package com.sun.javafx.tk.quantum;
 import javafx.application.ConditionalFeature;
 import javafx.geometry.Dimension2D;
 import javafx.scene.image.Image;
+import javafx.scene.image.PixelBuffer;
 import javafx.scene.input.Dragboard;
 import javafx.scene.input.InputMethodRequests;
 import javafx.scene.input.KeyCode;
@@ -69,6 +70,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -766,6 +768,13 @@ public final class QuantumToolkit extends Toolkit {
         return new PrismImageLoader2.AsyncImageLoader(listener, url, width, height, preserveRatio, smooth);
     }
 
+    @Override public AbstractRemoteResource<? extends ImageLoader> loadImageAsync(
+            AsyncOperationListener listener, String url,
+            double width, double height, boolean preserveRatio, boolean smooth,
+            Executor executor) {
+        return new PrismImageLoader2.AsyncImageLoader(listener, url, width, height, preserveRatio, smooth, executor);
+    }
+
     // Note that this method should only be called by PlatformImpl.runLater
     // It should not be called directly by other FX code since the underlying
     // glass invokeLater method is not thread-safe with respect to toolkit
@@ -1363,6 +1372,16 @@ public final class QuantumToolkit extends Toolkit {
             return new QuantumImage((com.sun.prism.Image) platformImage);
         }
 
+        if (platformImage instanceof PixelBuffer) {
+            PixelBuffer<?> pb = (PixelBuffer<?>) platformImage;
+            com.sun.prism.PixelFormat format =
+                    (pb.getPixelFormat().getType() == javafx.scene.image.PixelFormat.Type.INT_ARGB_PRE)
+                    ? com.sun.prism.PixelFormat.INT_ARGB_PRE
+                    : com.sun.prism.PixelFormat.BYTE_BGRA_PRE;
+            return new QuantumImage(com.sun.prism.Image.fromPixelBufferPreData(
+                    format, pb.getBuffer(), pb.getWidth(), pb.getHeight()));
+        }
+
         throw new UnsupportedOperationException("unsupported class for loadPlatformImage");
     }
 
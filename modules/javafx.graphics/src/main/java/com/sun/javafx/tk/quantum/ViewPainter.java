@@ -35,6 +35,7 @@ import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.geom.transform.Affine3D;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.GeneralTransform3D;
+import com.sun.javafx.sg.prism.LayerManager;
 import com.sun.javafx.sg.prism.NGCamera;
 import com.sun.javafx.sg.prism.NGNode;
 import com.sun.javafx.sg.prism.NGPerspectiveCamera;
@@ -49,8 +50,11 @@ import com.sun.prism.Texture;
 import com.sun.prism.impl.PrismSettings;
 import com.sun.prism.paint.Color;
 import com.sun.prism.paint.Paint;
+import com.sun.javafx.logging.PulseCounter;
 import com.sun.javafx.logging.PulseLogger;
+import com.sun.javafx.logging.PulsePhase;
 import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
+import static com.sun.javafx.logging.PulseLogger.PULSE_MESSAGES_ENABLED;
 
 /**
  * Responsible for "painting" a scene. It invokes as appropriate API on the root NGNode
@@ -137,7 +141,8 @@ abstract class ViewPainter implements Runnable {
             clip = new RectBounds();
             dirtyRect = new Rectangle();
             dirtyRegionTemp = new RectBounds();
-            dirtyRegionPool = new DirtyRegionPool(PrismSettings.dirtyRegionCount);
+            dirtyRegionPool = new DirtyRegionPool(PrismSettings.dirtyRegionCount,
+                                                  PrismSettings.dirtyRegionCost);
             dirtyRegionContainer = dirtyRegionPool.checkOut();
         }
     }
@@ -170,6 +175,10 @@ abstract class ViewPainter implements Runnable {
             return;
         }
 
+        if (PrismSettings.autoCache) {
+            LayerManager.getInstance().beginFrame();
+        }
+
         // This "g" variable might represent the back buffer graphics, or it
         // might be reassigned to the sceneBuffer graphics.
         Graphics g = backBufferGraphics;
@@ -237,7 +246,7 @@ abstract class ViewPainter implements Runnable {
         // the dirty regions and then again to do the pre culling.
         if (!renderEverything) {
             if (PULSE_LOGGING_ENABLED) {
-                PulseLogger.newPhase("Dirty Opts Computed");
+                PulseLogger.newPhase(PulsePhase.RENDER, "Dirty Opts Computed");
             }
             clip.setBounds(0, 0, width, height);
             dirtyRegionTemp.makeEmpty();
@@ -258,6 +267,14 @@ abstract class ViewPainter implements Runnable {
         // might as well save this reference.
         final int dirtyRegionSize = status == DirtyRegionContainer.DTR_OK ? dirtyRegionContainer.size() : 0;
 
+        // The area painted for the dirty regions, compared with the area of the view,
+        // tells how well the dirty regions fit what actually changed
+        final int viewArea = (int) Math.ceil(width * pixelScaleX) * (int) Math.ceil(height * pixelScaleY);
+        if (PULSE_LOGGING_ENABLED) {
+            PulseLogger.incrementCounter(PulseCounter.DIRTY_REGIONS, dirtyRegionSize);
+            PulseLogger.incrementCounter(PulseCounter.VIEW_AREA, viewArea);
+        }
+
         if (dirtyRegionSize > 0) {
             // We set this flag on Graphics so that subsequent code in the render paths of
             // NGNode know whether they ought to be paying attention to dirty region
@@ -266,7 +283,7 @@ abstract class ViewPainter implements Runnable {
 
             // Find the render roots. There is a different render root for each dirty region
             if (PULSE_LOGGING_ENABLED) {
-                PulseLogger.newPhase("Render Roots Discovered");
+                PulseLogger.newPhase(PulsePhase.RENDER, "Render Roots Discovered");
             }
             for (int i = 0; i < dirtyRegionSize; ++i) {
                 NodePath path = getRootPath(i);
@@ -276,7 +293,7 @@ abstract class ViewPainter implements Runnable {
 
             // For debug purposes, write out to the pulse logger the number and size of the dirty
             // regions that are being used to render this pulse.
-            if (PULSE_LOGGING_ENABLED) {
+            if (PULSE_MESSAGES_ENABLED) {
                 PulseLogger.addMessage(dirtyRegionSize + " different dirty regions to render");
                 for (int i=0; i<dirtyRegionSize; i++) {
                     PulseLogger.addMessage("Dirty Region " + i + ": " + dirtyRegionContainer.getDirtyRegion(i));
@@ -286,7 +303,7 @@ abstract class ViewPainter implements Runnable {
 
             // If -Dprism.printrendergraph=true then we want to print out the render graph to the
             // pulse logger, annotated with all the dirty opts. Invisible nodes are skipped.
-            if (PULSE_LOGGING_ENABLED && PrismSettings.printRenderGraph) {
+            if (PULSE_MESSAGES_ENABLED && PrismSettings.printRenderGraph) {
                 StringBuilder s = new StringBuilder();
                 List<NGNode> roots = new ArrayList<>();
                 for (int i = 0; i < dirtyRegionSize; i++) {
@@ -318,7 +335,13 @@ abstract class ViewPainter implements Runnable {
                     dirtyRect.height = (int) Math.ceil (dirtyRegion.getMaxY() * pixelScaleY) - y0;
                     g.setClipRect(dirtyRect);
                     g.setClipRectIndex(i);
+                    // an empty path means that the region is occluded
+                    final boolean occluded = getRootPath(i).isEmpty();
                     doPaint(g, getRootPath(i));
+                    if (PULSE_LOGGING_ENABLED && !occluded) {
+                        PulseLogger.incrementCounter(PulseCounter.PAINTED_AREA,
+                                                     dirtyRect.width * dirtyRect.height);
+                    }
                 }
             }
         } else {
@@ -326,6 +349,9 @@ abstract class ViewPainter implements Runnable {
             g.setHasPreCullingBits(false);
             g.setClipRect(null);
             this.doPaint(g, null);
+            if (PULSE_LOGGING_ENABLED) {
+                PulseLogger.incrementCounter(PulseCounter.PAINTED_AREA, viewArea);
+            }
         }
         root.renderForcedContent(g);
 
@@ -456,7 +482,7 @@ abstract class ViewPainter implements Runnable {
             assert(renderRootPath.getCurrentNode() == root);
         }
         if (PULSE_LOGGING_ENABLED) {
-            PulseLogger.newPhase("Painting");
+            PulseLogger.newPhase(PulsePhase.RENDER, "Painting");
         }
         GlassScene scene = sceneState.getScene();
         scene.clearEntireSceneDirty();
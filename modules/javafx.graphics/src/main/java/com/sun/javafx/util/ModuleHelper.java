@@ -96,4 +96,13 @@ public class ModuleHelper {
         }
     }
 
+    /**
+     * Returns true if the named module is in the boot layer. The classes of
+     * a module that is only required with {@code requires static} may be
+     * used only when this returns true.
+     */
+    public static boolean isModulePresent(String name) {
+        return ModuleLayer.boot().findModule(name).isPresent();
+    }
+
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.util;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Sizes and creates the pools of the optional worker threads, such as the
+ * ones matching CSS selectors or rendering in software. Each of them is
+ * enabled by a system property set to a number of threads, or to
+ * {@code true} for one thread per processor.
+ */
+public final class WorkerThreads {
+
+    private WorkerThreads() {
+    }
+
+    /**
+     * Returns the number of threads set by a system property.
+     *
+     * @param property the name of the property
+     * @return the number of threads, or 1 if the property is not set or is
+     * not valid
+     */
+    public static int getThreadCount(String property) {
+        final String s = AccessController.doPrivileged(
+                (PrivilegedAction<String>) () -> System.getProperty(property));
+        if (s == null) {
+            return 1;
+        }
+        if ("true".equalsIgnoreCase(s)) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        try {
+            return Math.max(1, Integer.parseInt(s.trim()));
+        } catch (NumberFormatException e) {
+            Logging.getJavaFXLogger().warning("Invalid value for " + property + ": " + s);
+            return 1;
+        }
+    }
+
+    /**
+     * Creates a pool of daemon threads named after the given name and their
+     * index in the pool.
+     *
+     * @param name the name of the threads
+     * @param threads the number of threads
+     * @return the pool
+     */
+    public static ForkJoinPool createPool(String name, int threads) {
+        return AccessController.doPrivileged((PrivilegedAction<ForkJoinPool>) () ->
+            new ForkJoinPool(threads, p -> {
+                final ForkJoinWorkerThread t =
+                    ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                t.setName(name + " " + t.getPoolIndex());
+                t.setDaemon(true);
+                return t;
+            }, null, false));
+    }
+}
@@ -151,6 +151,8 @@ public final class DMarlinRenderingEngine implements MarlinConst
 
         logInfo("prism.marlin.edges            = "
                 + MarlinConst.INITIAL_EDGES_COUNT);
+        logInfo("prism.marlin.edges.retained   = "
+                + MarlinProperties.getRetainedEdgesSize());
         logInfo("prism.marlin.pixelWidth       = "
                 + MarlinConst.INITIAL_PIXEL_WIDTH);
         logInfo("prism.marlin.pixelHeight      = "
@@ -188,6 +190,10 @@ public final class DMarlinRenderingEngine implements MarlinConst
                 + MarlinConst.USE_PATH_SIMPLIFIER);
         logInfo("prism.marlin.pathSimplifier.pixTol = "
                 + MarlinProperties.getPathSimplifierPixelTolerance());
+        logInfo("prism.marlin.thinStroke.maxWidth = "
+                + MarlinConst.THIN_STROKE_MAX_WIDTH);
+        logInfo("prism.marlin.thinStroke.decimate = "
+                + MarlinProperties.isThinStrokeDecimate());
 
         logInfo("prism.marlin.clip             = "
                 + MarlinProperties.isDoClip());
@@ -234,6 +240,8 @@ public final class DMarlinRenderingEngine implements MarlinConst
 
         logInfo("INITIAL_EDGES_CAPACITY        = "
                 + MarlinConst.INITIAL_EDGES_CAPACITY);
+        logInfo("RETAINED_EDGES_CAPACITY       = "
+                + MarlinConst.RETAINED_EDGES_CAPACITY);
         logInfo("INITIAL_CROSSING_COUNT        = "
                 + DRenderer.INITIAL_CROSSING_COUNT);
 
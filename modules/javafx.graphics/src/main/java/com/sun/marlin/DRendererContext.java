@@ -66,6 +66,7 @@ public final class DRendererContext extends ReentrantContext implements MarlinCo
     private WeakReference<Path2D> refPath2D = null;
     public final DRenderer renderer;
     public final DStroker stroker;
+    public final DThinStroker thinStroker;
     // Simplifies out collinear lines
     public final DCollinearSimplifier simplifier = new DCollinearSimplifier();
     // Simplifies path
@@ -90,6 +91,7 @@ public final class DRendererContext extends ReentrantContext implements MarlinCo
     // shared memory between renderer instances:
     final DRendererSharedMemory rdrMem;
     private DRendererNoAA rendererNoAA = null;
+    private DThinRenderer thinRenderer = null;
     // dirty bbox rectangle
     public final Rectangle clip = new Rectangle();
     // dirty MaskMarlinAlphaConsumer
@@ -144,6 +146,7 @@ public final class DRendererContext extends ReentrantContext implements MarlinCo
         renderer = new DRenderer(this);
 
         stroker = new DStroker(this);
+        thinStroker = new DThinStroker(this);
         dasher = new DDasher(this);
     }
 
@@ -172,6 +175,7 @@ public final class DRendererContext extends ReentrantContext implements MarlinCo
             this.dasher.dispose();
             // Stroker:
             this.stroker.dispose();
+            this.thinStroker.dispose();
 
             // mark context as CLEAN:
             dirty = false;
@@ -201,6 +205,13 @@ public final class DRendererContext extends ReentrantContext implements MarlinCo
         return rendererNoAA;
     }
 
+    public DThinRenderer getThinRenderer() {
+        if (thinRenderer == null) {
+            thinRenderer = new DThinRenderer(this);
+        }
+        return thinRenderer;
+    }
+
     OffHeapArray newOffHeapArray(final long initialSize) {
         if (DO_STATS) {
             stats.totalOffHeapInitial += initialSize;
@@ -36,6 +36,8 @@ public final class DRendererNoAA implements DMarlinRenderer, MarlinConst {
     private static final int ERR_STEP_MAX = 0x7FFFFFFF; // = 2^31 - 1
 
     private static final double POWER_2_TO_32 = 0x1.0p32d;
+    // max distance (subpixels) to step clipped edges in fixed point
+    private static final double CLIPPED_STEP_MAX = 0x1.0p30d;
 
     private static final double RDR_OFFSET_X = 0.5d;
     private static final double RDR_OFFSET_Y = 0.5d;
@@ -317,7 +319,8 @@ public final class DRendererNoAA implements DMarlinRenderer, MarlinConst {
         // Since y1 and y2 are biased by -0.5 in tosubpixy(), this is simply
         // ceil(y1) or ceil(y2)
         // upper integer (inclusive)
-        final int firstCrossing = FloatMath.max(FloatMath.ceil_int(y1), boundsMinY);
+        final int edgeFirstCrossing = FloatMath.ceil_int(y1);
+        final int firstCrossing = FloatMath.max(edgeFirstCrossing, boundsMinY);
 
         // note: use boundsMaxY (last Y exclusive) to compute correct coverage
         // upper integer (exclusive)
@@ -412,11 +415,34 @@ public final class DRendererNoAA implements DMarlinRenderer, MarlinConst {
         //                 = fixed_floor(x1_fixed + 2^31 - 1)
         //                 = fixed_floor(x1_fixed + 0x7FFFFFFF)
         // and error       = fixed_fract(x1_fixed + 0x7FFFFFFF)
-        final double x1_intercept = x1 + (firstCrossing - y1) * slope;
 
-        // inlined scalb(x1_intercept, 32):
-        final long x1_fixed_biased = ((long) (POWER_2_TO_32 * x1_intercept))
-                                     + 0x7FFFFFFFL;
+        // inlined scalb(slope, 32):
+        final long slope_fixed = (long) (POWER_2_TO_32 * slope);
+
+        long x1_fixed_biased;
+        final int clippedRows = firstCrossing - edgeFirstCrossing;
+        final double x0_intercept = x1 + (edgeFirstCrossing - y1) * slope;
+
+        if ((clippedRows != 0)
+                && (Math.abs(x0_intercept) < CLIPPED_STEP_MAX)
+                && (Math.abs(slope) * clippedRows < CLIPPED_STEP_MAX))
+        {
+            // The edge starts above the clip: step it down to firstCrossing
+            // as the scanline loop does (31-bit fractions, see _endRendering)
+            // so that its crossings do not depend on the clip, and adjacent
+            // bands rendered separately match a single pass exactly.
+            x1_fixed_biased = ((long) (POWER_2_TO_32 * x0_intercept))
+                              + 0x7FFFFFFFL;
+            x1_fixed_biased = ((x1_fixed_biased >> 1L)
+                               + clippedRows * (slope_fixed >> 1L)) << 1L;
+        } else {
+            final double x1_intercept = (clippedRows == 0) ? x0_intercept
+                                        : x1 + (firstCrossing - y1) * slope;
+
+            // inlined scalb(x1_intercept, 32):
+            x1_fixed_biased = ((long) (POWER_2_TO_32 * x1_intercept))
+                              + 0x7FFFFFFFL;
+        }
         // curx:
         // last bit corresponds to the orientation
         _unsafe.putInt(addr, (((int) (x1_fixed_biased >> 31L)) & ALL_BUT_LSB) | or);
@@ -424,9 +450,6 @@ public final class DRendererNoAA implements DMarlinRenderer, MarlinConst {
         _unsafe.putInt(addr,  ((int)  x1_fixed_biased) >>> 1);
         addr += SIZE_INT;
 
-        // inlined scalb(slope, 32):
-        final long slope_fixed = (long) (POWER_2_TO_32 * slope);
-
         // last bit set to 0 to keep orientation:
         _unsafe.putInt(addr, (((int) (slope_fixed >> 31L)) & ALL_BUT_LSB));
         addr += SIZE_INT;
@@ -618,10 +641,13 @@ public final class DRendererNoAA implements DMarlinRenderer, MarlinConst {
             edgeBucketCounts = edgeBucketCounts_ref.putArray(edgeBucketCounts, 0, 0);
         }
 
-        // At last: resize back off-heap edges to initial size
-        if (edges.length != INITIAL_EDGES_CAPACITY) {
+        // At last: shrink back off-heap edges to the retained size
+        if (edges.length > RETAINED_EDGES_CAPACITY) {
             // note: may throw OOME:
-            edges.resize(INITIAL_EDGES_CAPACITY);
+            edges.resize(RETAINED_EDGES_CAPACITY);
+        }
+        if (DO_STATS) {
+            rdrCtx.stats.totalOffHeapRetained = edges.length;
         }
         if (DO_CLEAN_DIRTY) {
             // Force zero-fill dirty arrays:
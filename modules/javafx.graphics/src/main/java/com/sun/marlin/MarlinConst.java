@@ -80,6 +80,9 @@ public interface MarlinConst {
     // flag to use path simplifier
     static final boolean USE_PATH_SIMPLIFIER = MarlinProperties.isUsePathSimplifier();
 
+    // maximum line width of the strokes using the thin stroker (0 to disable)
+    static final float THIN_STROKE_MAX_WIDTH = MarlinProperties.getThinStrokeMaxWidth();
+
     static final boolean DO_CLIP_SUBDIVIDER = MarlinProperties.isDoClipSubdivider();
 
     // flag to enable logs related to bounds checks
@@ -111,6 +114,10 @@ public interface MarlinConst {
     // edges capacity = 24 x initial edges = 24 * edges count (4096) = 96K
     static final int INITIAL_EDGES_CAPACITY = INITIAL_EDGES_COUNT * 24;
 
+    // edges capacity kept between two shapes (4M by default)
+    static final long RETAINED_EDGES_CAPACITY
+        = Math.max(INITIAL_EDGES_CAPACITY, MarlinProperties.getRetainedEdgesSize());
+
     // crossing capacity = edges count / 4 ~ 1024
     static final int INITIAL_CROSSING_COUNT = INITIAL_EDGES_COUNT >> 2;
 
@@ -53,6 +53,19 @@ public final class MarlinProperties {
             64);
     }
 
+    /**
+     * Return the size in bytes of the off-heap edge storage kept by a
+     * renderer context between two shapes. Storage grown beyond this size
+     * is shrunk back at the end of the rendering, smaller storage is kept
+     * as is so that later shapes of similar size do not grow it again.
+     *
+     * @return 0 <= retained size <= 2G (4M by default)
+     */
+    public static int getRetainedEdgesSize() {
+        return getInteger("prism.marlin.edges.retained", 4 * 1024 * 1024,
+                          0, Integer.MAX_VALUE);
+    }
+
     /**
      * Return the initial pixel width used to define initial arrays
      * (tile AA chunk, alpha line)
@@ -169,6 +182,20 @@ public final class MarlinProperties {
                 10.0f);
     }
 
+    /**
+     * Return the maximum line width in device space of the strokes rendered
+     * by the thin stroker
+     *
+     * @return 0 <= max width <= 2 (1.5 by default, 0 disables it)
+     */
+    public static float getThinStrokeMaxWidth() {
+        return getFloat("prism.marlin.thinStroke.maxWidth", 1.5f, 0.0f, 2.0f);
+    }
+
+    public static boolean isThinStrokeDecimate() {
+        return getBoolean("prism.marlin.thinStroke.decimate", "true");
+    }
+
     public static boolean isDoClip() {
         return getBoolean("prism.marlin.clip", "true");
     }
@@ -189,6 +216,16 @@ public final class MarlinProperties {
         return getFloat("prism.marlin.clip.subdivider.minLength", 100.0f, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY);
     }
 
+    /**
+     * Return the maximum size of the mask cache in bytes
+     *
+     * @return 0 <= mask cache size <= 1G (0 by default, which disables it)
+     */
+    public static int getMaskCacheSize() {
+        return getInteger("prism.marlin.maskCache", 0,
+                          0, 1024 * 1024 * 1024);
+    }
+
     // debugging parameters
 
     public static boolean isDoStats() {
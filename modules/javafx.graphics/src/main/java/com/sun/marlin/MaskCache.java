@@ -0,0 +1,363 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.marlin;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import com.sun.javafx.geom.Path2D;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.geom.Shape;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.marlin.stats.StatLong;
+import com.sun.prism.BasicStroke;
+import com.sun.prism.impl.shape.MaskData;
+import static com.sun.marlin.MarlinUtils.logInfo;
+
+/**
+ * A cache of the coverage masks produced for paths that are rendered again
+ * and again with the same geometry, stroke and transform, except for the
+ * integer part of the translation. Such a mask only needs to be moved by
+ * the difference of the translations to be reused, which is what happens
+ * when static content is scrolled or panned by whole pixels.
+ * <p>
+ * Entries are keyed by a copy of the path (NGPath mutates its path in
+ * place), the stroke, the linear part of the transform and the sub-pixel
+ * part of the translation, quantized to {@code 1/SUBPIXEL_STEPS} of a
+ * pixel. A mask is only stored when it was not clipped, and only reused
+ * when the moved mask lies entirely within the clip, so a hit returns the
+ * same coverage as rasterizing the path again. To avoid copying the masks
+ * of paths that change every frame, a mask is only stored the second time
+ * its key is seen.
+ * <p>
+ * The cache is disabled unless it is given a size in bytes
+ * ({@code prism.marlin.maskCache}), and evicts the least recently used masks
+ * first. Keying a path costs a pass over its commands and coordinates on
+ * every rasterization, hit or miss, so paths with more than
+ * {@code MAX_KEY_COMMANDS} commands are never keyed: they are rarely static,
+ * and their masks rarely fit anyway. Hits, misses and evictions are kept
+ * as {@link StatLong} values (in bytes) and logged along with the other
+ * renderer statistics.
+ */
+public final class MaskCache implements MarlinConst {
+
+    // sub-pixel translations are quantized to 1/SUBPIXEL_STEPS of a pixel
+    static final int SUBPIXEL_STEPS = 1024;
+    // estimated footprint of an entry besides the mask and the path
+    static final int ENTRY_OVERHEAD = 160;
+    // number of keys remembered while waiting for their second use
+    static final int MAX_PENDING = 1024;
+    // paths with more commands are not keyed
+    static final int MAX_KEY_COMMANDS = 2048;
+
+    private static final MaskCache INSTANCE =
+        new MaskCache(MarlinProperties.getMaskCacheSize());
+
+    public static MaskCache getInstance() {
+        return INSTANCE;
+    }
+
+    public static final class Key {
+        final Path2D path;
+        final BasicStroke stroke;
+        final double mxx, mxy, myx, myy;
+        final int fracx, fracy;
+        final boolean antialiased;
+        final int hash;
+        // integer part of the translation, not part of the key
+        final int itx, ity;
+
+        Key(Path2D path, BasicStroke stroke,
+            double mxx, double mxy, double myx, double myy,
+            int fracx, int fracy, boolean antialiased, int hash,
+            int itx, int ity)
+        {
+            this.path = path;
+            this.stroke = stroke;
+            this.mxx = mxx;
+            this.mxy = mxy;
+            this.myx = myx;
+            this.myy = myy;
+            this.fracx = fracx;
+            this.fracy = fracy;
+            this.antialiased = antialiased;
+            this.hash = hash;
+            this.itx = itx;
+            this.ity = ity;
+        }
+
+        Key copy() {
+            return new Key(path.copy(), (stroke == null) ? null : stroke.copy(),
+                           mxx, mxy, myx, myy, fracx, fracy, antialiased, hash,
+                           itx, ity);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key k = (Key) obj;
+            return hash == k.hash
+                && antialiased == k.antialiased
+                && fracx == k.fracx && fracy == k.fracy
+                && mxx == k.mxx && mxy == k.mxy
+                && myx == k.myx && myy == k.myy
+                && ((stroke == null) ? k.stroke == null : stroke.equals(k.stroke))
+                && path.equals(k.path);
+        }
+    }
+
+    static final class Entry {
+        final byte[] alphas;
+        // mask bounds for the integer translation (tx, ty)
+        final int x, y, width, height;
+        final int tx, ty;
+        final long weight;
+
+        Entry(byte[] alphas, int x, int y, int width, int height,
+              int tx, int ty, long weight)
+        {
+            this.alphas = alphas;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.tx = tx;
+            this.ty = ty;
+            this.weight = weight;
+        }
+    }
+
+    private final long maxSize;
+    private long size;
+    private final LinkedHashMap<Key, Entry> entries =
+        new LinkedHashMap<>(64, 0.75f, true);
+    private final LinkedHashMap<Integer, Boolean> pending =
+        new LinkedHashMap<Integer, Boolean>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Boolean> e) {
+                return size() > MAX_PENDING;
+            }
+        };
+
+    // statistics, in bytes of mask
+    final StatLong stat_hit = new StatLong("cache.mask.hit");
+    final StatLong stat_miss = new StatLong("cache.mask.miss");
+    final StatLong stat_evict = new StatLong("cache.mask.evict");
+
+    MaskCache(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns a key for the given rendering if its mask may be cached, or
+     * null if it may not.
+     *
+     * @param shape the shape to render
+     * @param stroke the centered stroke or null to fill the shape
+     * @param xform the transform to device space
+     * @param antialiased true if the shape is antialiased
+     * @return the key of the mask or null
+     */
+    public Key getKey(Shape shape, BasicStroke stroke, BaseTransform xform,
+                      boolean antialiased)
+    {
+        if (maxSize <= 0L || !(shape instanceof Path2D)
+            || ((Path2D) shape).getNumCommands() > MAX_KEY_COMMANDS)
+        {
+            return null;
+        }
+        final double tx = xform.getMxt();
+        final double ty = xform.getMyt();
+        if (Math.abs(tx) > (1 << 30) || Math.abs(ty) > (1 << 30)) {
+            return null;
+        }
+        int itx = (int) Math.floor(tx);
+        int ity = (int) Math.floor(ty);
+        int fracx = (int) Math.round((tx - itx) * SUBPIXEL_STEPS);
+        int fracy = (int) Math.round((ty - ity) * SUBPIXEL_STEPS);
+        // a fraction rounded up to 1 is 0 with the next integer
+        if (fracx == SUBPIXEL_STEPS) {
+            fracx = 0;
+            itx++;
+        }
+        if (fracy == SUBPIXEL_STEPS) {
+            fracy = 0;
+            ity++;
+        }
+        final double mxx = xform.getMxx();
+        final double mxy = xform.getMxy();
+        final double myx = xform.getMyx();
+        final double myy = xform.getMyy();
+        int hash = shape.hashCode();
+        hash = 31 * hash + ((stroke == null) ? 0 : stroke.hashCode());
+        hash = 31 * hash + Double.hashCode(mxx);
+        hash = 31 * hash + Double.hashCode(mxy);
+        hash = 31 * hash + Double.hashCode(myx);
+        hash = 31 * hash + Double.hashCode(myy);
+        hash = 31 * hash + fracx;
+        hash = 31 * hash + fracy;
+        hash = 31 * hash + (antialiased ? 1 : 0);
+        return new Key((Path2D) shape, stroke, mxx, mxy, myx, myy,
+                       fracx, fracy, antialiased, hash, itx, ity);
+    }
+
+    /**
+     * Returns the cached mask for the given key, moved to the translation of
+     * the given transform, if it lies within the clip.
+     *
+     * @param key the key returned by {@link #getKey}
+     * @param clip the device clip
+     * @return the mask or null
+     */
+    public synchronized MaskData get(Key key, Rectangle clip) {
+        final Entry e = entries.get(key);
+        if (e != null) {
+            final int x = e.x + key.itx - e.tx;
+            final int y = e.y + key.ity - e.ty;
+            if (isInside(x, y, e.width, e.height, clip)) {
+                stat_hit.add(e.alphas.length);
+                return MaskData.create(e.alphas, x, y, e.width, e.height);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Records a mask rasterized for the given key. The mask is copied into
+     * the cache if it was not clipped and its key was seen before.
+     *
+     * @param key the key returned by {@link #getKey}
+     * @param clip the device clip the mask was rasterized with
+     * @param mask the rasterized mask
+     */
+    public synchronized void put(Key key, Rectangle clip, MaskData mask)
+    {
+        final int w = mask.getWidth();
+        final int h = mask.getHeight();
+        final int x = mask.getOriginX();
+        final int y = mask.getOriginY();
+        final long maskSize = (long) w * h;
+        stat_miss.add(maskSize);
+
+        if (!isInside(x, y, w, h, clip)) {
+            // the mask may have been clipped
+            return;
+        }
+        final Path2D path = key.path;
+        final long weight = maskSize + ENTRY_OVERHEAD
+            + 4L * path.getNumCommands() + 4L * path.getFloatCoordsNoClone().length;
+        if (weight > maxSize / 4) {
+            return;
+        }
+        if (pending.remove(key.hash) == null) {
+            // first use: wait for the next one
+            pending.put(key.hash, Boolean.TRUE);
+            return;
+        }
+        final byte[] alphas = new byte[w * h];
+        final ByteBuffer buf = mask.getMaskBuffer().duplicate();
+        buf.rewind();
+        buf.get(alphas);
+
+        final Entry old = entries.put(key.copy(), new Entry(alphas, x, y, w, h,
+                                                            key.itx, key.ity, weight));
+        if (old != null) {
+            size -= old.weight;
+        }
+        size += weight;
+        trim();
+    }
+
+    private void trim() {
+        final Iterator<Entry> it = entries.values().iterator();
+        while (size > maxSize && it.hasNext()) {
+            final Entry e = it.next();
+            it.remove();
+            size -= e.weight;
+            stat_evict.add(e.alphas.length);
+        }
+    }
+
+    private static boolean isInside(int x, int y, int w, int h, Rectangle clip) {
+        return x > clip.x && y > clip.y
+            && x + w < clip.x + clip.width
+            && y + h < clip.y + clip.height;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        pending.clear();
+        size = 0L;
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    public synchronized long getSize() {
+        return size;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized long getHitCount() {
+        return stat_hit.count;
+    }
+
+    public synchronized long getMissCount() {
+        return stat_miss.count;
+    }
+
+    public synchronized long getEvictionCount() {
+        return stat_evict.count;
+    }
+
+    synchronized void dump() {
+        logInfo("MaskCache: " + entries.size() + " entries - "
+                + size + " / " + maxSize + " bytes");
+        for (StatLong stat : new StatLong[] {stat_hit, stat_miss, stat_evict}) {
+            if (stat.count != 0) {
+                logInfo(stat.toString());
+                if (DO_FLUSH_STATS) {
+                    stat.reset();
+                }
+            }
+        }
+    }
+}
@@ -66,6 +66,7 @@ public final class RendererContext extends ReentrantContext implements MarlinCon
     private WeakReference<Path2D> refPath2D = null;
     public final Renderer renderer;
     public final Stroker stroker;
+    public final ThinStroker thinStroker;
     // Simplifies out collinear lines
     public final CollinearSimplifier simplifier = new CollinearSimplifier();
     // Simplifies path
@@ -90,6 +91,7 @@ public final class RendererContext extends ReentrantContext implements MarlinCon
     // shared memory between renderer instances:
     final RendererSharedMemory rdrMem;
     private RendererNoAA rendererNoAA = null;
+    private ThinRenderer thinRenderer = null;
     // dirty bbox rectangle
     public final Rectangle clip = new Rectangle();
     // dirty MaskMarlinAlphaConsumer
@@ -144,6 +146,7 @@ public final class RendererContext extends ReentrantContext implements MarlinCon
         renderer = new Renderer(this);
 
         stroker = new Stroker(this);
+        thinStroker = new ThinStroker(this);
         dasher = new Dasher(this);
     }
 
@@ -172,6 +175,7 @@ public final class RendererContext extends ReentrantContext implements MarlinCon
             this.dasher.dispose();
             // Stroker:
             this.stroker.dispose();
+            this.thinStroker.dispose();
 
             // mark context as CLEAN:
             dirty = false;
@@ -201,6 +205,13 @@ public final class RendererContext extends ReentrantContext implements MarlinCon
         return rendererNoAA;
     }
 
+    public ThinRenderer getThinRenderer() {
+        if (thinRenderer == null) {
+            thinRenderer = new ThinRenderer(this);
+        }
+        return thinRenderer;
+    }
+
     OffHeapArray newOffHeapArray(final long initialSize) {
         if (DO_STATS) {
             stats.totalOffHeapInitial += initialSize;
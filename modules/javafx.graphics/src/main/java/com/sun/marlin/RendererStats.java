@@ -30,6 +30,7 @@ import java.security.PrivilegedAction;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import com.sun.javafx.util.ModuleHelper;
 import com.sun.marlin.ArrayCacheConst.CacheStats;
 import static com.sun.marlin.MarlinUtils.logInfo;
 import com.sun.marlin.stats.Histogram;
@@ -37,7 +38,10 @@ import com.sun.marlin.stats.Monitor;
 import com.sun.marlin.stats.StatLong;
 
 /**
- * This class gathers global rendering statistics for debugging purposes only
+ * This class gathers global rendering statistics for debugging purposes only.
+ * The statistics of every renderer context are dumped to the log and, when
+ * the java.management module is present, exposed through JMX, see
+ * {@link RendererStatsBean}.
  */
 public final class RendererStats implements MarlinConst {
 
@@ -264,13 +268,89 @@ public final class RendererStats implements MarlinConst {
      // live accumulator
     long totalOffHeap = 0L;
     long totalOffHeapMax = 0L;
+    // edges kept after the last shape
+    long totalOffHeapRetained = 0L;
     // cache stats
     CacheStats[] cacheStats = null;
+    // JMX bean, if registered
+    private RendererStatsBean bean = null;
 
     private RendererStats(final String name) {
         this.name = name;
     }
 
+    /**
+     * Registers the statistics with the platform MBean server, if the
+     * java.management module is present.
+     */
+    void register() {
+        if (ModuleHelper.isModulePresent("java.management")) {
+            bean = RendererStatsBean.register(this);
+        }
+    }
+
+    void unregister() {
+        final RendererStatsBean b = bean;
+        if (b != null) {
+            bean = null;
+            b.unregister();
+        }
+    }
+
+    RendererStatsBean getBean() {
+        return bean;
+    }
+
+    // the values are read while the context may be rendering: they are
+    // only consistent when the context is idle
+
+    String getName() {
+        return name;
+    }
+
+    long getOffHeapInitial() {
+        return totalOffHeapInitial;
+    }
+
+    long getOffHeapMax() {
+        return Math.max(totalOffHeapMax, totalOffHeap);
+    }
+
+    long getOffHeapRetained() {
+        return totalOffHeapRetained;
+    }
+
+    long getHeapInitial() {
+        long total = 0L;
+        final CacheStats[] caches = cacheStats;
+        if (caches != null) {
+            for (CacheStats stat : caches) {
+                if (stat != null) {
+                    total += stat.getTotalInitialBytes();
+                }
+            }
+        }
+        return total;
+    }
+
+    void resetStatistics() {
+        for (StatLong stat : statistics) {
+            stat.reset();
+        }
+        for (StatLong stat : monitors) {
+            stat.reset();
+        }
+        totalOffHeapMax = 0L;
+        final CacheStats[] caches = cacheStats;
+        if (caches != null) {
+            for (CacheStats stat : caches) {
+                if (stat != null) {
+                    stat.reset();
+                }
+            }
+        }
+    }
+
     void dump() {
         logInfo("RendererContext: " + name);
 
@@ -306,7 +386,8 @@ public final class RendererStats implements MarlinConst {
             }
 
             logInfo("OffHeap footprint: initial: " + totalOffHeapInitial
-                + " bytes - max: " + totalOffHeapMax + " bytes");
+                + " bytes - max: " + totalOffHeapMax + " bytes - retained: "
+                + totalOffHeapRetained + " bytes");
             if (DO_FLUSH_STATS) {
                 totalOffHeapMax = 0L;
             }
@@ -385,6 +466,7 @@ public final class RendererStats implements MarlinConst {
 
         void add(final Object parent, final RendererStats stats) {
             allStats.add(stats);
+            stats.register();
 
             // Register a cleaning function to ensure removing dead entries:
             MarlinUtils.getCleaner().register(parent, () -> remove(stats));
@@ -392,6 +474,7 @@ public final class RendererStats implements MarlinConst {
 
         void remove(final RendererStats stats) {
             stats.dump(); // dump anyway
+            stats.unregister();
             allStats.remove(stats);
         }
 
@@ -399,6 +482,7 @@ public final class RendererStats implements MarlinConst {
             for (RendererStats stats : allStats) {
                 stats.dump();
             }
+            MaskCache.getInstance().dump();
         }
     }
 }
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.sun.marlin;
+
+import java.lang.management.ManagementFactory;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.OpenType;
+import javax.management.openmbean.SimpleType;
+import static com.sun.marlin.MarlinUtils.logInfo;
+import com.sun.marlin.stats.StatLong;
+
+/**
+ * Exposes the {@link RendererStats} of a renderer context through JMX. This
+ * class uses the optional java.management module: RendererStats only refers
+ * to it once the module is known to be present.
+ */
+public final class RendererStatsBean implements RendererStatsMBean {
+
+    public static final String OBJECT_NAME = "javafx.graphics:type=MarlinRendererStats";
+
+    private static final String[] ITEMS = {
+        "name", "count", "sum", "min", "max", "average"
+    };
+
+    private static final CompositeType STAT_TYPE;
+
+    static {
+        final OpenType<?>[] types = {
+            SimpleType.STRING, SimpleType.LONG, SimpleType.LONG,
+            SimpleType.LONG, SimpleType.LONG, SimpleType.DOUBLE
+        };
+        try {
+            STAT_TYPE = new CompositeType("javafx.MarlinStatistic",
+                                          "Renderer statistic", ITEMS, ITEMS, types);
+        } catch (OpenDataException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // contexts of both pipelines share names: number the beans
+    private static final AtomicInteger BEAN_COUNT = new AtomicInteger(1);
+
+    final RendererStats stats;
+    // JMX name, if registered
+    private ObjectName objectName = null;
+
+    private RendererStatsBean(final RendererStats stats) {
+        this.stats = stats;
+    }
+
+    /**
+     * Registers a bean for the given statistics with the platform MBean
+     * server. Failures are reported but otherwise ignored.
+     *
+     * @return the registered bean or null
+     */
+    static RendererStatsBean register(final RendererStats stats) {
+        final RendererStatsBean bean = new RendererStatsBean(stats);
+        return AccessController.doPrivileged((PrivilegedAction<RendererStatsBean>) () -> {
+            try {
+                final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                final ObjectName on = new ObjectName(OBJECT_NAME + ",name=" + stats.name
+                                                     + ",id=" + BEAN_COUNT.getAndIncrement());
+                // the interface is not named after this class
+                server.registerMBean(new StandardMBean(bean, RendererStatsMBean.class), on);
+                bean.objectName = on;
+                return bean;
+            } catch (JMException | SecurityException e) {
+                logInfo("Unable to register " + OBJECT_NAME + ": " + e);
+                return null;
+            }
+        });
+    }
+
+    void unregister() {
+        final ObjectName on = objectName;
+        if (on == null) {
+            return;
+        }
+        objectName = null;
+        AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(on);
+            } catch (JMException | SecurityException e) {
+                logInfo("Unable to unregister " + on + ": " + e);
+            }
+            return null;
+        });
+    }
+
+    ObjectName getObjectName() {
+        return objectName;
+    }
+
+    @Override
+    public String getName() {
+        return stats.getName();
+    }
+
+    @Override
+    public long getOffHeapInitial() {
+        return stats.getOffHeapInitial();
+    }
+
+    @Override
+    public long getOffHeapMax() {
+        return stats.getOffHeapMax();
+    }
+
+    @Override
+    public long getOffHeapRetained() {
+        return stats.getOffHeapRetained();
+    }
+
+    @Override
+    public long getHeapInitial() {
+        return stats.getHeapInitial();
+    }
+
+    @Override
+    public CompositeData[] getStatistics() {
+        final List<CompositeData> result = new ArrayList<>();
+        try {
+            for (StatLong stat : stats.statistics) {
+                addStatistic(result, stat);
+            }
+            for (StatLong stat : stats.monitors) {
+                addStatistic(result, stat);
+            }
+        } catch (OpenDataException e) {
+            throw new AssertionError(e);
+        }
+        return result.toArray(new CompositeData[result.size()]);
+    }
+
+    private static void addStatistic(final List<CompositeData> result,
+                                     final StatLong stat)
+        throws OpenDataException
+    {
+        final long count = stat.count;
+        if (count == 0L) {
+            return;
+        }
+        final long sum = stat.sum;
+        final Object[] values = {
+            stat.name, count, sum, stat.min, stat.max, ((double) sum) / count
+        };
+        result.add(new CompositeDataSupport(STAT_TYPE, ITEMS, values));
+    }
+
+    @Override
+    public void resetStatistics() {
+        stats.resetStatistics();
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.marlin;
+
+import javax.management.openmbean.CompositeData;
+
+/**
+ * Management interface of the statistics of a renderer context, registered
+ * as {@code javafx.graphics:type=MarlinRendererStats} when
+ * {@code prism.marlin.doStats} or {@code prism.marlin.doMonitors} is set.
+ * Sizes are in bytes, monitors in nanoseconds.
+ */
+public interface RendererStatsMBean {
+
+    public String getName();
+
+    public long getOffHeapInitial();
+
+    public long getOffHeapMax();
+
+    // edge storage kept since the last shape
+    public long getOffHeapRetained();
+
+    public long getHeapInitial();
+
+    // statistics and monitors with at least one sample
+    public CompositeData[] getStatistics();
+
+    public void resetStatistics();
+}
@@ -0,0 +1,464 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.marlin;
+
+import java.util.Arrays;
+
+/**
+ * The renderer of thin strokes, fed by {@link ThinStroker} with one convex
+ * quadrilateral per segment (every subpath has 4 points).
+ * <p>
+ * The coverage is sampled directly on a grid of 8 x 8 samples per pixel, with
+ * the same vertical sampling as {@link Renderer}: the samples covered by a
+ * quadrilateral are set in a 64-bit mask per pixel, so that the union of the
+ * overlapping quadrilaterals is exact at the sample resolution without
+ * sorting any edge crossing, and the coverage of a pixel is the number of
+ * samples set. Pixel rows are processed in strips of {@code STRIP_HEIGHT}
+ * rows to bound the memory used by the masks.
+ */
+public final class ThinRenderer implements MarlinRenderer, MarlinConst {
+
+    // 8 x 8 samples per pixel (one long):
+    private static final int SAMPLES_LG = 3;
+    private static final float SAMPLE_SCALE = 1 << SAMPLES_LG;
+    private static final int SAMPLE_MASK = (1 << SAMPLES_LG) - 1;
+
+    // pixel rows per strip
+    static final int STRIP_HEIGHT = 32;
+
+    // initial capacity of the quadrilateral array (x0, y0 ... x3, y3)
+    private static final int INITIAL_QUADS = INITIAL_ARRAY * 8; // 2K
+    // initial capacity of the sample masks
+    private static final int INITIAL_MASKS = INITIAL_AA_ARRAY * STRIP_HEIGHT;
+
+    // per-thread renderer context
+    final RendererContext rdrCtx;
+
+    private float[] quads = new float[INITIAL_QUADS];
+    private int quadsEnd;
+    // number of points of the current subpath
+    private int numPoints;
+
+    // bounds (pixels)
+    private int boundsMinX, boundsMinY, boundsMaxX, boundsMaxY;
+    // output bounding box (pixels)
+    private int bboxX0, bboxX1, bboxY0, bboxY1;
+
+    // sample masks of the current strip
+    private long[] masks = new long[INITIAL_MASKS];
+    // range of the pixels set in each row of the current strip
+    private final int[] rowMinX = new int[STRIP_HEIGHT];
+    private final int[] rowMaxX = new int[STRIP_HEIGHT];
+    // alpha deltas of the current row
+    private int[] alphaLine = new int[INITIAL_AA_ARRAY];
+    // flag indicating the masks may not be cleared
+    private boolean dirty;
+
+    // quadrilaterals sorted by their first strip:
+    private int[] bucketHeads = new int[INITIAL_ARRAY];
+    private int[] bucketNext = new int[INITIAL_ARRAY];
+    private int[] active = new int[INITIAL_ARRAY];
+
+    ThinRenderer(final RendererContext rdrCtx) {
+        this.rdrCtx = rdrCtx;
+    }
+
+    @Override
+    public ThinRenderer init(final int pix_boundsX, final int pix_boundsY,
+                              final int pix_boundsWidth, final int pix_boundsHeight,
+                              final int windingRule)
+    {
+        // the union of the quadrilaterals does not depend on the winding rule
+        this.boundsMinX = pix_boundsX;
+        this.boundsMaxX = pix_boundsX + pix_boundsWidth;
+        this.boundsMinY = pix_boundsY;
+        this.boundsMaxY = pix_boundsY + pix_boundsHeight;
+
+        this.quadsEnd = 0;
+        this.numPoints = 0;
+
+        this.bboxX0 = 0;
+        this.bboxX1 = 0;
+        this.bboxY0 = 0;
+        this.bboxY1 = 0;
+
+        return this; // fluent API
+    }
+
+    /**
+     * Disposes this renderer and recycle it clean up before reusing this instance
+     */
+    @Override
+    public void dispose() {
+        // shrink the arrays grown by large paths:
+        if (quads.length > INITIAL_QUADS) {
+            quads = new float[INITIAL_QUADS];
+        }
+        if (masks.length > INITIAL_MASKS) {
+            masks = new long[INITIAL_MASKS];
+        }
+        if (alphaLine.length > INITIAL_AA_ARRAY) {
+            alphaLine = new int[INITIAL_AA_ARRAY];
+        }
+        if (bucketNext.length > INITIAL_ARRAY) {
+            bucketNext = new int[INITIAL_ARRAY];
+            active = new int[INITIAL_ARRAY];
+        }
+        if (bucketHeads.length > INITIAL_ARRAY) {
+            bucketHeads = new int[INITIAL_ARRAY];
+        }
+        if (dirty) {
+            // may happen if an exception is thrown while producing alphas:
+            Arrays.fill(masks, 0L);
+            Arrays.fill(rowMinX, Integer.MAX_VALUE);
+            Arrays.fill(rowMaxX, Integer.MIN_VALUE);
+            dirty = false;
+        }
+        quadsEnd = 0;
+        numPoints = 0;
+    }
+
+    @Override
+    public void moveTo(final float x0, final float y0) {
+        if (quads.length < quadsEnd + 8) {
+            quads = Arrays.copyOf(quads, quads.length * 2);
+        }
+        quads[quadsEnd    ] = x0;
+        quads[quadsEnd + 1] = y0;
+        numPoints = 1;
+    }
+
+    @Override
+    public void lineTo(final float x1, final float y1) {
+        if ((numPoints > 0) && (numPoints < 4)) {
+            final int off = quadsEnd + (numPoints << 1);
+            quads[off    ] = x1;
+            quads[off + 1] = y1;
+            numPoints++;
+        }
+    }
+
+    @Override
+    public void quadTo(final float xc, final float yc,
+                       final float x1, final float y1)
+    {
+        throw new InternalError("Not supported");
+    }
+
+    @Override
+    public void curveTo(final float xc0, final float yc0,
+                        final float xc1, final float yc1,
+                        final float x1, final float y1)
+    {
+        throw new InternalError("Not supported");
+    }
+
+    @Override
+    public void closePath() {
+        if (numPoints == 4) {
+            final float[] _quads = quads;
+            final int off = quadsEnd;
+            float minX = _quads[off], maxX = minX;
+            float minY = _quads[off + 1], maxY = minY;
+            for (int i = off + 2; i < off + 8; i += 2) {
+                final float x = _quads[i];
+                final float y = _quads[i + 1];
+                if (x < minX) { minX = x; }
+                if (x > maxX) { maxX = x; }
+                if (y < minY) { minY = y; }
+                if (y > maxY) { maxY = y; }
+            }
+            // keep only the quadrilaterals within bounds:
+            if ((maxX > boundsMinX) && (minX < boundsMaxX)
+                && (maxY > boundsMinY) && (minY < boundsMaxY))
+            {
+                quadsEnd += 8;
+            }
+        }
+        numPoints = 0;
+    }
+
+    @Override
+    public void pathDone() {
+        closePath();
+
+        if (quadsEnd == 0) {
+            return;
+        }
+        final float[] _quads = quads;
+        float minX = Float.POSITIVE_INFINITY, maxX = Float.NEGATIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < quadsEnd; i += 2) {
+            final float x = _quads[i];
+            final float y = _quads[i + 1];
+            if (x < minX) { minX = x; }
+            if (x > maxX) { maxX = x; }
+            if (y < minY) { minY = y; }
+            if (y > maxY) { maxY = y; }
+        }
+        bboxX0 = FloatMath.max(FloatMath.floor_int(minX), boundsMinX);
+        bboxX1 = FloatMath.min(FloatMath.ceil_int(maxX), boundsMaxX);
+        bboxY0 = FloatMath.max(FloatMath.floor_int(minY), boundsMinY);
+        bboxY1 = FloatMath.min(FloatMath.ceil_int(maxY), boundsMaxY);
+
+        if ((bboxX0 >= bboxX1) || (bboxY0 >= bboxY1)) {
+            bboxX0 = bboxX1 = bboxY0 = bboxY1 = 0;
+        }
+    }
+
+    @Override
+    public void produceAlphas(final MarlinAlphaConsumer ac) {
+        ac.setMaxAlpha(MAX_AA_ALPHA);
+
+        final int width = bboxX1 - bboxX0;
+        final int height = bboxY1 - bboxY0;
+        if ((width <= 0) || (height <= 0)) {
+            return;
+        }
+        final int numQuads = quadsEnd >> 3;
+        final int numStrips = (height + STRIP_HEIGHT - 1) / STRIP_HEIGHT;
+
+        if (masks.length < width * STRIP_HEIGHT) {
+            masks = new long[width * STRIP_HEIGHT];
+        }
+        if (alphaLine.length < width + 2) {
+            alphaLine = new int[width + 2];
+        }
+        if (bucketHeads.length < numStrips) {
+            bucketHeads = new int[numStrips];
+        }
+        if (bucketNext.length < numQuads) {
+            bucketNext = new int[numQuads];
+            active = new int[numQuads];
+        }
+        final float[] _quads = quads;
+        final int[] _heads = bucketHeads;
+        final int[] _next = bucketNext;
+        final int[] _active = active;
+
+        // sort the quadrilaterals by their first strip:
+        Arrays.fill(_heads, 0, numStrips, -1);
+        for (int q = numQuads - 1; q >= 0; q--) {
+            final int off = q << 3;
+            final float minY = Math.min(Math.min(_quads[off + 1], _quads[off + 3]),
+                                         Math.min(_quads[off + 5], _quads[off + 7]));
+            final int strip = FloatMath.max(FloatMath.floor_int(minY) - bboxY0, 0)
+                                  / STRIP_HEIGHT;
+            if (strip < numStrips) {
+                _next[q] = _heads[strip];
+                _heads[strip] = q;
+            }
+        }
+
+        final long[] _masks = masks;
+        final int[] _rowMinX = rowMinX;
+        final int[] _rowMaxX = rowMaxX;
+        Arrays.fill(_rowMinX, Integer.MAX_VALUE);
+        Arrays.fill(_rowMaxX, Integer.MIN_VALUE);
+        dirty = true;
+
+        int numActive = 0;
+
+        for (int strip = 0; strip < numStrips; strip++) {
+            final int y0 = bboxY0 + strip * STRIP_HEIGHT;
+            final int y1 = Math.min(y0 + STRIP_HEIGHT, bboxY1);
+
+            // remove the quadrilaterals above this strip:
+            int n = 0;
+            for (int i = 0; i < numActive; i++) {
+                final int off = _active[i] << 3;
+                final float maxY = Math.max(Math.max(_quads[off + 1], _quads[off + 3]),
+                                             Math.max(_quads[off + 5], _quads[off + 7]));
+                if (maxY > y0) {
+                    _active[n++] = _active[i];
+                }
+            }
+            numActive = n;
+            for (int q = _heads[strip]; q != -1; q = _next[q]) {
+                _active[numActive++] = q;
+            }
+
+            for (int i = 0; i < numActive; i++) {
+                fillQuad(_active[i] << 3, y0, y1, width);
+            }
+
+            // emit the rows:
+            for (int y = y0, row = 0; y < y1; y++, row++) {
+                final int from = _rowMinX[row];
+                final int to = _rowMaxX[row] + 1;
+                if (from >= to) {
+                    ac.clearAlphas(y);
+                    continue;
+                }
+                final int[] _alpha = alphaLine;
+                final int off = row * width;
+                int prev = 0;
+                for (int x = from; x < to; x++) {
+                    final long m = _masks[off + x];
+                    _masks[off + x] = 0L;
+                    final int alpha = (Long.bitCount(m) * MAX_AA_ALPHA) >> (SAMPLES_LG << 1);
+                    _alpha[x] = alpha - prev;
+                    prev = alpha;
+                }
+                _alpha[to] = -prev;
+
+                _rowMinX[row] = Integer.MAX_VALUE;
+                _rowMaxX[row] = Integer.MIN_VALUE;
+
+                ac.setAndClearRelativeAlphas(_alpha, y, bboxX0 + from, bboxX0 + to);
+            }
+        }
+        dirty = false;
+    }
+
+    /**
+     * Sets the samples covered by the given quadrilateral in the pixel rows
+     * [y0, y1[ of the current strip.
+     */
+    private void fillQuad(final int off, final int y0, final int y1,
+                          final int width)
+    {
+        final float[] _quads = quads;
+        final long[] _masks = masks;
+
+        final float minY = Math.min(Math.min(_quads[off + 1], _quads[off + 3]),
+                                     Math.min(_quads[off + 5], _quads[off + 7]));
+        final float maxY = Math.max(Math.max(_quads[off + 1], _quads[off + 3]),
+                                     Math.max(_quads[off + 5], _quads[off + 7]));
+
+        // sample rows whose center is in [minY, maxY[ within the strip:
+        final int s0 = FloatMath.max(FloatMath.ceil_int(minY * SAMPLE_SCALE - 0.5f),
+                                     y0 << SAMPLES_LG);
+        final int s1 = FloatMath.min(FloatMath.ceil_int(maxY * SAMPLE_SCALE - 0.5f),
+                                     y1 << SAMPLES_LG);
+
+        final int sx0 = bboxX0 << SAMPLES_LG;
+        final int sx1 = bboxX1 << SAMPLES_LG;
+
+        if (s0 >= s1) {
+            return;
+        }
+
+        // the top and bottom corners split the (convex) quadrilateral
+        // in two chains of edges:
+        int top = 0, bottom = 0;
+        for (int i = 2; i < 8; i += 2) {
+            if (_quads[off + i + 1] < _quads[off + top + 1]) {
+                top = i;
+            }
+            if (_quads[off + i + 1] >= _quads[off + bottom + 1]) {
+                bottom = i;
+            }
+        }
+        // current edges [a, b] of both chains:
+        int a0 = top, b0 = (top + 2) & 7;
+        int a1 = top, b1 = (top + 6) & 7;
+        float slope0 = slope(off + a0, off + b0);
+        float slope1 = slope(off + a1, off + b1);
+
+        for (int s = s0; s < s1; s++) {
+            final float yc = (s + 0.5f) / SAMPLE_SCALE;
+
+            while ((yc >= _quads[off + b0 + 1]) && (b0 != bottom)) {
+                a0 = b0;
+                b0 = (b0 + 2) & 7;
+                slope0 = slope(off + a0, off + b0);
+            }
+            while ((yc >= _quads[off + b1 + 1]) && (b1 != bottom)) {
+                a1 = b1;
+                b1 = (b1 + 6) & 7;
+                slope1 = slope(off + a1, off + b1);
+            }
+            final float x0 = _quads[off + a0] + (yc - _quads[off + a0 + 1]) * slope0;
+            final float x1 = _quads[off + a1] + (yc - _quads[off + a1 + 1]) * slope1;
+            final float xl = Math.min(x0, x1);
+            final float xr = Math.max(x0, x1);
+
+            // sample columns whose center is in [xl, xr[:
+            final int c0 = FloatMath.max(FloatMath.ceil_int(xl * SAMPLE_SCALE - 0.5f), sx0) - sx0;
+            final int c1 = FloatMath.min(FloatMath.ceil_int(xr * SAMPLE_SCALE - 0.5f), sx1) - sx0;
+            if (c0 >= c1) {
+                continue;
+            }
+            final int row = (s >> SAMPLES_LG) - y0;
+            final int shift = (s & SAMPLE_MASK) << SAMPLES_LG;
+            final int px0 = c0 >> SAMPLES_LG;
+            final int px1 = (c1 - 1) >> SAMPLES_LG;
+            final int off0 = row * width;
+
+            if (px0 < rowMinX[row]) { rowMinX[row] = px0; }
+            if (px1 > rowMaxX[row]) { rowMaxX[row] = px1; }
+
+            final int first = 0xFF << (c0 & SAMPLE_MASK);
+            final int last = 0xFF >>> (SAMPLE_MASK - ((c1 - 1) & SAMPLE_MASK));
+            if (px0 == px1) {
+                _masks[off0 + px0] |= ((long) (first & last)) << shift;
+            } else {
+                _masks[off0 + px0] |= ((long) (first & 0xFF)) << shift;
+                final long full = 0xFFL << shift;
+                for (int px = px0 + 1; px < px1; px++) {
+                    _masks[off0 + px] |= full;
+                }
+                _masks[off0 + px1] |= ((long) last) << shift;
+            }
+        }
+    }
+
+    private float slope(final int a, final int b) {
+        final float dy = quads[b + 1] - quads[a + 1];
+        return (dy == 0.0f) ? 0.0f : (quads[b] - quads[a]) / dy;
+    }
+
+    @Override
+    public int getOutpixMinX() {
+        return bboxX0;
+    }
+
+    @Override
+    public int getOutpixMaxX() {
+        return bboxX1;
+    }
+
+    @Override
+    public int getOutpixMinY() {
+        return bboxY0;
+    }
+
+    @Override
+    public int getOutpixMaxY() {
+        return bboxY1;
+    }
+
+    @Override
+    public float getOffsetX() {
+        return 0.0f;
+    }
+
+    @Override
+    public float getOffsetY() {
+        return 0.0f;
+    }
+}
@@ -0,0 +1,437 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.marlin;
+
+import java.util.Arrays;
+
+import com.sun.javafx.geom.PathConsumer2D;
+
+/**
+ * The stroker used for thin strokes (at most
+ * {@link MarlinConst#THIN_STROKE_MAX_WIDTH} pixels wide in device space).
+ * <p>
+ * Instead of offsetting the path and generating the joins and caps like
+ * {@link Stroker}, every segment is emitted to the renderer as a separate
+ * parallelogram, extended by half the line width at the joins and at square
+ * or round caps, so that the union of the parallelograms, as computed by
+ * {@link ThinRenderer}, covers the joins. At such widths, the difference
+ * with the exact outline is a fraction of a pixel at the corners. Curves are
+ * flattened first.
+ * <p>
+ * Consecutive vertices within the same pixel column are decimated: only the
+ * lowest, highest and last ones are kept, so that dense polylines (plots) are
+ * rendered with a few segments per pixel column.
+ */
+public final class ThinStroker implements PathConsumer2D, MarlinConst {
+
+    // flattening tolerance in pixels (device) = 1/32 pixel
+    private static final float FLAT_TOLERANCE = 0.25f / MIN_SUBPIXELS;
+    // maximum number of lines per curve
+    private static final int MAX_SUBDIVISIONS = 1024;
+
+    // SQRT(2)
+    private static final float SQRT_2 = (float) Math.sqrt(2.0f);
+
+    // flag to decimate the vertices within pixel columns
+    private static final boolean DECIMATE = MarlinProperties.isThinStrokeDecimate();
+
+    private PathConsumer2D out;
+
+    // half line width
+    private float lineWidth2;
+    // extension of the segments at the path ends (cap)
+    private float capExtent;
+
+    // the starting point of the subpath
+    private float sx0, sy0;
+    // the current point
+    private float cx0, cy0;
+
+    // the first segment of the subpath, emitted once the subpath is finished
+    // as its start is either a cap or a join:
+    private boolean hasFirst;
+    private float fx0, fy0, fx1, fy1;
+    // the last segment, emitted once the next segment (or the end) is known:
+    private boolean hasLast;
+    private float lx0, ly0, lx1, ly1;
+    // flag indicating the subpath has a zero-length segment (dot)
+    private boolean hasDot;
+
+    // decimation of the vertices following the current point in its pixel
+    // column: only the lowest, highest and last ones are kept
+    private float column;
+    private int runCount;
+    private int minIdx, maxIdx;
+    private float minX, minY, maxX, maxY, lastX, lastY;
+
+    // per-thread renderer context
+    final RendererContext rdrCtx;
+
+    // Bounds of the drawing region, at pixel precision.
+    private float[] clipRect;
+
+    /**
+     * Constructs a <code>ThinStroker</code>.
+     * @param rdrCtx per-thread renderer context
+     */
+    ThinStroker(final RendererContext rdrCtx) {
+        this.rdrCtx = rdrCtx;
+    }
+
+    /**
+     * Inits the <code>ThinStroker</code>.
+     *
+     * @param pc2f an output <code>PathConsumer2D</code>.
+     * @param lineWidth the desired line width in pixels
+     * @param capStyle the desired end cap style, one of
+     * <code>CAP_BUTT</code>, <code>CAP_ROUND</code> or
+     * <code>CAP_SQUARE</code>.
+     * @return this instance
+     */
+    public ThinStroker init(final PathConsumer2D pc2f,
+                             final float lineWidth,
+                             final int capStyle)
+    {
+        this.out = pc2f;
+
+        this.lineWidth2 = lineWidth / 2.0f;
+
+        switch (capStyle) {
+            case CAP_SQUARE:
+                capExtent = lineWidth2;
+                break;
+            case CAP_ROUND:
+                // same area as the half disc:
+                capExtent = lineWidth2 * ((float) Math.PI / 4.0f);
+                break;
+            default:
+                capExtent = 0.0f;
+        }
+
+        hasFirst = false;
+        hasLast = false;
+        hasDot = false;
+        runCount = 0;
+        column = Float.NaN;
+
+        rdrCtx.stroking = 1;
+
+        if (rdrCtx.doClip) {
+            // Adjust the clipping rectangle with the extended segment corners:
+            final float margin = lineWidth2 * SQRT_2;
+
+            // adjust clip rectangle (ymin, ymax, xmin, xmax):
+            final float[] _clipRect = rdrCtx.clipRect;
+            _clipRect[0] -= margin;
+            _clipRect[1] += margin;
+            _clipRect[2] -= margin;
+            _clipRect[3] += margin;
+            this.clipRect = _clipRect;
+
+            if (MarlinConst.DO_LOG_CLIP) {
+                MarlinUtils.logInfo("clipRect (thin stroker): "
+                                    + Arrays.toString(rdrCtx.clipRect));
+            }
+        } else {
+            this.clipRect = null;
+        }
+        return this; // fluent API
+    }
+
+    /**
+     * Disposes this stroker:
+     * clean up before reusing this instance
+     */
+    void dispose() {
+        runCount = 0;
+        hasFirst = false;
+        hasLast = false;
+        hasDot = false;
+    }
+
+    @Override
+    public void moveTo(final float x0, final float y0) {
+        flushColumn();
+        finish(false);
+        sx0 = cx0 = x0;
+        sy0 = cy0 = y0;
+        column = (float) Math.floor(x0);
+    }
+
+    @Override
+    public void lineTo(final float x1, final float y1) {
+        final float col = (float) Math.floor(x1);
+        if ((col == column) && DECIMATE) {
+            // same pixel column as the current point:
+            if (runCount == 0) {
+                minIdx = maxIdx = 0;
+                minX = maxX = x1;
+                minY = maxY = y1;
+            } else if (y1 < minY) {
+                minIdx = runCount;
+                minX = x1;
+                minY = y1;
+            } else if (y1 > maxY) {
+                maxIdx = runCount;
+                maxX = x1;
+                maxY = y1;
+            }
+            lastX = x1;
+            lastY = y1;
+            runCount++;
+            return;
+        }
+        flushColumn();
+        addLine(x1, y1);
+        column = col;
+    }
+
+    /**
+     * Emits the vertices kept in the pixel column of the current point, in
+     * their original order.
+     */
+    private void flushColumn() {
+        final int n = runCount;
+        if (n == 0) {
+            return;
+        }
+        runCount = 0;
+        final int last = n - 1;
+        if (minIdx < maxIdx) {
+            addLine(minX, minY);
+            if (maxIdx != last) {
+                addLine(maxX, maxY);
+            }
+        } else if (maxIdx < minIdx) {
+            addLine(maxX, maxY);
+            if (minIdx != last) {
+                addLine(minX, minY);
+            }
+        } else if (minIdx != last) {
+            addLine(minX, minY);
+        }
+        addLine(lastX, lastY);
+    }
+
+    private void addLine(final float x1, final float y1) {
+        final float x0 = cx0;
+        final float y0 = cy0;
+        if ((x1 == x0) && (y1 == y0)) {
+            hasDot = true;
+            return;
+        }
+        cx0 = x1;
+        cy0 = y1;
+
+        if (!hasFirst) {
+            hasFirst = true;
+            fx0 = x0; fy0 = y0; fx1 = x1; fy1 = y1;
+            return;
+        }
+        if (hasLast) {
+            emit(lx0, ly0, lx1, ly1, lineWidth2, lineWidth2);
+        }
+        hasLast = true;
+        lx0 = x0; ly0 = y0; lx1 = x1; ly1 = y1;
+    }
+
+    @Override
+    public void quadTo(final float x1, final float y1,
+                       final float x2, final float y2)
+    {
+        flushColumn();
+
+        final float x0 = cx0;
+        final float y0 = cy0;
+
+        if (isOutside(x0, y0, x1, y1, x2, y2, x2, y2)) {
+            lineTo(x2, y2);
+            return;
+        }
+        // chord error bound: |P0 - 2 P1 + P2| / (4 n^2)
+        final float ddx = x0 - 2.0f * x1 + x2;
+        final float ddy = y0 - 2.0f * y1 + y2;
+        final int n = subdivisions((float) Math.sqrt(ddx * ddx + ddy * ddy) / 4.0f);
+
+        for (int i = 1; i < n; i++) {
+            final float t = ((float) i) / n;
+            final float u = 1.0f - t;
+            final float a = u * u;
+            final float b = 2.0f * u * t;
+            final float c = t * t;
+            lineTo(a * x0 + b * x1 + c * x2,
+                   a * y0 + b * y1 + c * y2);
+        }
+        lineTo(x2, y2);
+    }
+
+    @Override
+    public void curveTo(final float x1, final float y1,
+                        final float x2, final float y2,
+                        final float x3, final float y3)
+    {
+        flushColumn();
+
+        final float x0 = cx0;
+        final float y0 = cy0;
+
+        if (isOutside(x0, y0, x1, y1, x2, y2, x3, y3)) {
+            lineTo(x3, y3);
+            return;
+        }
+        // chord error bound: 3 max(|P0 - 2 P1 + P2|, |P1 - 2 P2 + P3|) / (4 n^2)
+        final float ddx0 = x0 - 2.0f * x1 + x2;
+        final float ddy0 = y0 - 2.0f * y1 + y2;
+        final float ddx1 = x1 - 2.0f * x2 + x3;
+        final float ddy1 = y1 - 2.0f * y2 + y3;
+        final float dd = Math.max(ddx0 * ddx0 + ddy0 * ddy0,
+                                   ddx1 * ddx1 + ddy1 * ddy1);
+        final int n = subdivisions(0.75f * (float) Math.sqrt(dd));
+
+        for (int i = 1; i < n; i++) {
+            final float t = ((float) i) / n;
+            final float u = 1.0f - t;
+            final float a = u * u * u;
+            final float b = 3.0f * u * u * t;
+            final float c = 3.0f * u * t * t;
+            final float d = t * t * t;
+            lineTo(a * x0 + b * x1 + c * x2 + d * x3,
+                   a * y0 + b * y1 + c * y2 + d * y3);
+        }
+        lineTo(x3, y3);
+    }
+
+    private static int subdivisions(final float err) {
+        if (err <= FLAT_TOLERANCE) {
+            return 1;
+        }
+        final float n = (float) Math.ceil((float) Math.sqrt(err / FLAT_TOLERANCE));
+        return (n < MAX_SUBDIVISIONS) ? (int) n : MAX_SUBDIVISIONS;
+    }
+
+    private boolean isOutside(final float x0, final float y0,
+                              final float x1, final float y1,
+                              final float x2, final float y2,
+                              final float x3, final float y3)
+    {
+        if (clipRect == null) {
+            return false;
+        }
+        return (Helpers.outcode(x0, y0, clipRect)
+                & Helpers.outcode(x1, y1, clipRect)
+                & Helpers.outcode(x2, y2, clipRect)
+                & Helpers.outcode(x3, y3, clipRect)) != 0;
+    }
+
+    @Override
+    public void closePath() {
+        flushColumn();
+        if ((cx0 != sx0) || (cy0 != sy0)) {
+            addLine(sx0, sy0);
+        }
+        finish(true);
+        cx0 = sx0;
+        cy0 = sy0;
+        column = (float) Math.floor(sx0);
+    }
+
+    @Override
+    public void pathDone() {
+        flushColumn();
+        finish(false);
+        out.pathDone();
+        dispose();
+    }
+
+    private void finish(final boolean closed) {
+        // the ends of a closed subpath are joins:
+        final float ext = (closed) ? lineWidth2 : capExtent;
+
+        if (hasLast) {
+            emit(lx0, ly0, lx1, ly1, lineWidth2, ext);
+            emit(fx0, fy0, fx1, fy1, ext, lineWidth2);
+        } else if (hasFirst) {
+            emit(fx0, fy0, fx1, fy1, ext, ext);
+        } else if (hasDot && (capExtent != 0.0f)) {
+            // zero-length subpath: draw the caps only
+            emitBox(cx0 - capExtent, cy0 - lineWidth2,
+                    cx0 + capExtent, cy0 + lineWidth2);
+        }
+        hasFirst = false;
+        hasLast = false;
+        hasDot = false;
+    }
+
+    private void emit(final float x0, final float y0,
+                      final float x1, final float y1,
+                      final float ext0, final float ext1)
+    {
+        if ((clipRect != null)
+            && (Helpers.outcode(x0, y0, clipRect)
+                & Helpers.outcode(x1, y1, clipRect)) != 0)
+        {
+            // the extended parallelogram does not cross the clip
+            return;
+        }
+        final float dx = x1 - x0;
+        final float dy = y1 - y0;
+        final float len = (float) Math.sqrt(dx * dx + dy * dy);
+        final float ux = dx / len;
+        final float uy = dy / len;
+
+        // segment ends, extended:
+        final float ax = x0 - ux * ext0;
+        final float ay = y0 - uy * ext0;
+        final float bx = x1 + ux * ext1;
+        final float by = y1 + uy * ext1;
+
+        // left normal, so that all parallelograms have the same orientation:
+        final float nx = -uy * lineWidth2;
+        final float ny =  ux * lineWidth2;
+
+        out.moveTo(ax + nx, ay + ny);
+        out.lineTo(bx + nx, by + ny);
+        out.lineTo(bx - nx, by - ny);
+        out.lineTo(ax - nx, ay - ny);
+        out.closePath();
+    }
+
+    private void emitBox(final float x0, final float y0,
+                         final float x1, final float y1)
+    {
+        if ((clipRect != null)
+            && (Helpers.outcode(x0, y0, clipRect)
+                & Helpers.outcode(x1, y1, clipRect)) != 0)
+        {
+            return;
+        }
+        out.moveTo(x0, y0);
+        out.lineTo(x0, y1);
+        out.lineTo(x1, y1);
+        out.lineTo(x1, y0);
+        out.closePath();
+    }
+}
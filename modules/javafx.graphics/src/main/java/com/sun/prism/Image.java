@@ -31,6 +31,7 @@ import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
+import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.iio.ImageFrame;
 import com.sun.javafx.iio.ImageStorage;
 import com.sun.javafx.image.BytePixelGetter;
@@ -73,6 +74,13 @@ public class Image implements PlatformImage {
     private final float pixelScale;
     int serial[] = new int[1];
 
+    // number of updates whose dirty region is remembered, a power of 2
+    static final int DIRTY_HISTORY = 8;
+    // the dirty regions of the last updates of an image that shares its
+    // buffer with a PixelBuffer, indexed by serial, or null for other images
+    private Rectangle[] dirtyRegions;
+    private int[] dirtySerials;
+
     public static Image fromIntArgbPreData(int[] pixels, int width, int height) {
         return new Image(PixelFormat.INT_ARGB_PRE, pixels, width, height);
     }
@@ -190,6 +198,32 @@ public class Image implements PlatformImage {
         return new Image(PixelFormat.BYTE_APPLE_422, pixels, width, height, 0, 0, scanlineStride);
     }
 
+    /**
+     * Wraps the buffer of a {@code javafx.scene.image.PixelBuffer} without
+     * copying it. The image keeps track of the regions reported to
+     * {@link #bufferDirty} so that the textures made from it only upload the
+     * pixels that changed, see {@link #getDirtyRegion}.
+     *
+     * @param format either {@code BYTE_BGRA_PRE} or {@code INT_ARGB_PRE}
+     * @param pixels the buffer of the {@code PixelBuffer}
+     * @param width the width of the image
+     * @param height the height of the image
+     * @return the new image
+     */
+    public static Image fromPixelBufferPreData(PixelFormat format, Buffer pixels,
+                                               int width, int height)
+    {
+        if (format != PixelFormat.BYTE_BGRA_PRE &&
+            format != PixelFormat.INT_ARGB_PRE)
+        {
+            throw new IllegalArgumentException("Unsupported format " + format);
+        }
+        Image img = new Image(format, pixels, width, height);
+        img.dirtyRegions = new Rectangle[DIRTY_HISTORY];
+        img.dirtySerials = new int[DIRTY_HISTORY];
+        return img;
+    }
+
     public static Image fromFloatMapData(FloatBuffer pixels, int width, int height) {
         return new Image(PixelFormat.FLOAT_XYZW, pixels, width, height);
     }
@@ -576,6 +610,51 @@ public class Image implements PlatformImage {
         return serial[0];
     }
 
+    @Override
+    public void bufferDirty(Rectangle rect) {
+        final int s = ++serial[0];
+        if (dirtyRegions != null) {
+            final int i = s & (DIRTY_HISTORY - 1);
+            dirtySerials[i] = s;
+            dirtyRegions[i] = (rect == null) ? null : new Rectangle(rect);
+        }
+    }
+
+    /**
+     * Returns the region of this image that changed since the given serial,
+     * that is the union of the regions reported to {@link #bufferDirty}
+     * since then, or null if the whole image must be considered changed.
+     * Only the last {@code DIRTY_HISTORY} regions of an image created by
+     * {@link #fromPixelBufferPreData} are remembered.
+     *
+     * @param sinceSerial the serial of the image when it was last uploaded
+     * @return the changed region or null
+     */
+    public Rectangle getDirtyRegion(int sinceSerial) {
+        final int current = serial[0];
+        if (dirtyRegions == null ||
+            current - sinceSerial <= 0 || current - sinceSerial > DIRTY_HISTORY)
+        {
+            return null;
+        }
+        Rectangle region = null;
+        for (int s = sinceSerial + 1; s - current <= 0; s++) {
+            final int i = s & (DIRTY_HISTORY - 1);
+            final Rectangle r = dirtyRegions[i];
+            if (dirtySerials[i] != s || r == null) {
+                // the pixels were changed some other way
+                return null;
+            }
+            if (region == null) {
+                region = new Rectangle(r);
+            } else {
+                region.add(r);
+            }
+        }
+        region.intersectWith(new Rectangle(width, height));
+        return region;
+    }
+
     public Image promoteByteRgbToByteBgra() {
         ByteBuffer oldbuf = (ByteBuffer) pixelBuffer;
         ByteBuffer newbuf = ByteBuffer.allocate(width * height * 4);
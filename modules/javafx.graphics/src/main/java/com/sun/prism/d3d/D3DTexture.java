@@ -25,6 +25,8 @@
 
 package com.sun.prism.d3d;
 
+import com.sun.javafx.logging.PulseCounter;
+import com.sun.javafx.logging.PulseLogger;
 import com.sun.prism.MediaFrame;
 import com.sun.prism.PixelFormat;
 import com.sun.prism.Texture;
@@ -137,6 +139,9 @@ class D3DTexture extends BaseTexture<D3DTextureResource>
     {
         checkUpdateParams(pixels, format,
                           dstx, dsty, srcx, srcy, srcw, srch, srcscan);
+        if (PulseLogger.PULSE_LOGGING_ENABLED) {
+            PulseLogger.incrementCounter(PulseCounter.TEXTURE_UPLOADS, 1);
+        }
 
         if (!skipFlush) {
             getContext().flushVertexBuffer();
@@ -26,6 +26,8 @@
 package com.sun.prism.es2;
 
 import com.sun.javafx.PlatformUtil;
+import com.sun.javafx.logging.PulseCounter;
+import com.sun.javafx.logging.PulseLogger;
 import com.sun.prism.Image;
 import com.sun.prism.Texture;
 import com.sun.prism.MediaFrame;
@@ -639,6 +641,9 @@ class ES2Texture<T extends ES2TextureData> extends BaseTexture<ES2TextureResourc
             boolean skipFlush) {
         checkUpdateParams(pixels, format,
                 dstx, dsty, srcx, srcy, srcw, srch, srcscan);
+        if (PulseLogger.PULSE_LOGGING_ENABLED) {
+            PulseLogger.incrementCounter(PulseCounter.TEXTURE_UPLOADS, 1);
+        }
 
         if (!skipFlush) {
             context.flushVertexBuffer();
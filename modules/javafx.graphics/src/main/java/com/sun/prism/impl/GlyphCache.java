@@ -41,10 +41,11 @@ import com.sun.prism.impl.shape.MaskData;
 import com.sun.prism.paint.Color;
 
 import java.nio.ByteBuffer;
-import java.util.HashMap;
 import java.util.WeakHashMap;
 
 import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
+import static com.sun.javafx.logging.PulseLogger.PULSE_MESSAGES_ENABLED;
+import com.sun.javafx.logging.PulseCounter;
 import com.sun.javafx.logging.PulseLogger;
 
 import com.sun.prism.ResourceFactory;
@@ -69,8 +70,8 @@ public class GlyphCache {
     // segmented arrays are in blocks of 32 glyphs.
     private static final int SEGSHIFT = 5;
     private static final int SEGSIZE  = 1 << SEGSHIFT;
-    HashMap<Integer, GlyphData[]>
-        glyphDataMap = new HashMap<Integer, GlyphData[]>();
+    GlyphSegmentMap<GlyphData[]>
+        glyphDataMap = new GlyphSegmentMap<GlyphData[]>();
 
     // Because of SEGSHIFT the 5 high bit in the key to glyphDataMap are unused
     // Using them for subpixel
@@ -229,7 +230,20 @@ public class GlyphCache {
         glyphDataMap.clear();
     }
 
+    /**
+     * @return the packer managing the backing store shared by the glyph
+     * caches of the same context and anti-aliasing mode
+     */
+    public RectanglePacker getPacker() {
+        return packer;
+    }
+
     private void clearAll() {
+        if (PULSE_MESSAGES_ENABLED) {
+            PulseLogger.addMessage("Glyph cache full: " + packer.getRectangleCount() +
+                                   " glyphs, " + packer.getLevelCount() + " levels, " +
+                                   Math.round(packer.getOccupancy() * 100) + "% occupied");
+        }
         // flush any pending vertices that may depend on the current state
         // of the glyph cache texture.
         context.flushVertexBuffer();
@@ -244,6 +258,9 @@ public class GlyphCache {
         GlyphData[] segment = glyphDataMap.get(segIndex);
         if (segment != null) {
             if (segment[subIndex] != null) {
+                if (PULSE_LOGGING_ENABLED) {
+                    PulseLogger.incrementCounter(PulseCounter.GLYPH_CACHE_HITS, 1);
+                }
                 return segment[subIndex];
             }
         } else {
@@ -252,6 +269,9 @@ public class GlyphCache {
         }
 
         // Render the glyph and insert it in the cache
+        if (PULSE_LOGGING_ENABLED) {
+            PulseLogger.incrementCounter(PulseCounter.GLYPH_CACHE_MISSES, 1);
+        }
         GlyphData data = null;
         Glyph glyph = strike.getGlyph(glyphCode);
         if (glyph != null) {
@@ -286,7 +306,7 @@ public class GlyphCache {
 
                 if (!packer.add(rect)) {
                     if (PULSE_LOGGING_ENABLED) {
-                        PulseLogger.incrementCounter("Font Glyph Cache Cleared");
+                        PulseLogger.incrementCounter(PulseCounter.GLYPH_CACHE_CLEARS, 1);
                     }
                     // If add fails,clear up the cache. Try add again.
                     clearAll();
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.impl;
+
+import java.util.Arrays;
+
+/**
+ * A map from {@code int} segment keys to segments of glyph data, using open
+ * addressing with linear probing over parallel primitive arrays. Entries are
+ * never removed individually, the whole map is cleared when the backing
+ * store of the glyph cache is reset, so no tombstones are needed.
+ * <p>
+ * The most recently used segment is remembered, as consecutive glyphs in a
+ * run of text usually fall into the same segment.
+ */
+public final class GlyphSegmentMap<T> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+    private int threshold;
+
+    private int lastKey;
+    private Object lastValue;
+
+    public GlyphSegmentMap() {
+        keys = new int[INITIAL_CAPACITY];
+        values = new Object[INITIAL_CAPACITY];
+        threshold = INITIAL_CAPACITY * 3 / 4;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int key) {
+        if (lastValue != null && lastKey == key) {
+            return (T) lastValue;
+        }
+        final int mask = keys.length - 1;
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            final Object value = values[i];
+            if (value == null) {
+                return null;
+            }
+            if (keys[i] == key) {
+                lastKey = key;
+                lastValue = value;
+                return (T) value;
+            }
+        }
+    }
+
+    /**
+     * Associates {@code value} with {@code key}, replacing any previous value.
+     * @param key the key
+     * @param value the value, must not be null
+     */
+    public void put(int key, T value) {
+        if (value == null) {
+            throw new NullPointerException();
+        }
+        final int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (values[i] != null) {
+            if (keys[i] == key) {
+                values[i] = value;
+                lastKey = key;
+                lastValue = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        lastKey = key;
+        lastValue = value;
+        if (++size > threshold) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * Removes all the entries, keeping the allocated storage.
+     */
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(values, null);
+            size = 0;
+        }
+        lastValue = null;
+    }
+
+    private void rehash(int capacity) {
+        final int[] oldKeys = keys;
+        final Object[] oldValues = values;
+        keys = new int[capacity];
+        values = new Object[capacity];
+        threshold = capacity * 3 / 4;
+        final int mask = capacity - 1;
+        for (int j = 0; j < oldValues.length; j++) {
+            if (oldValues[j] != null) {
+                int i = hash(oldKeys[j]) & mask;
+                while (values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private static int hash(int key) {
+        // the subpixel bits are at the top of the key, fold them down
+        final int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -34,6 +34,7 @@ import java.util.Properties;
 import java.util.StringTokenizer;
 import com.sun.javafx.PlatformUtil;
 import com.sun.javafx.util.Utils;
+import com.sun.javafx.util.WorkerThreads;
 
 /**
  * Contains the runtime arguments used by Prism.
@@ -48,6 +49,9 @@ public final class PrismSettings {
     public static final boolean dirtyOptsEnabled;
     public static final boolean occlusionCullingEnabled;
     public static final boolean scrollCacheOpt;
+    public static final boolean autoCache;
+    public static final int autoCachePulses;
+    public static final long autoCacheBudget;
     public static final boolean threadCheck;
     public static final boolean cacheSimpleShapes;
     public static final boolean cacheComplexShapes;
@@ -63,6 +67,7 @@ public final class PrismSettings {
     public static final boolean printRenderGraph;
     public static final int minRTTSize;
     public static final int dirtyRegionCount;
+    public static final int dirtyRegionCost;
     public static final boolean disableBadDriverWarning;
     public static final boolean forceGPU;
     public static final int maxTextureSize;
@@ -87,6 +92,7 @@ public final class PrismSettings {
     public static final boolean forceUploadingPainter;
     public static final boolean forceAlphaTestShader;
     public static final boolean forceNonAntialiasedShape;
+    public static final int swThreads;
 
     public static enum RasterizerType {
         JavaPisces("Java-based Pisces Rasterizer"),
@@ -136,13 +142,29 @@ public final class PrismSettings {
                                                true);
 
         // The maximum number of dirty regions to use. The absolute max that we can
-        // support at present is 15.
-        dirtyRegionCount = Utils.clamp(0, getInt(systemProperties, "prism.dirtyregioncount", 6, null), 15);
+        // support at present is 31, the number of regions in the culling bits of
+        // an NGNode.
+        dirtyRegionCount = Utils.clamp(0, getInt(systemProperties, "prism.dirtyregioncount", 6, null), 31);
+
+        // The cost of painting one more dirty region, in square pixels. Disjoint
+        // regions are merged when painting their union costs less than painting
+        // them separately. 0 only merges overlapping regions until there are
+        // more than dirtyRegionCount of them.
+        dirtyRegionCost = Math.max(0, getInt(systemProperties, "prism.dirtyregioncost", 4096, null));
 
         // Scrolling cache optimization
         // Disabled as a workaround for RT-39755.
         scrollCacheOpt = getBoolean(systemProperties, "prism.scrollcacheopt", false);
 
+        // Automatic caching of groups that are rendered again and again
+        // without changing, see LayerManager. A group is cached after being
+        // rendered autoCachePulses times without a change, and the caches
+        // use at most autoCacheBudget bytes.
+        autoCache = getBoolean(systemProperties, "prism.autocache", false);
+        autoCachePulses = Math.max(1, getInt(systemProperties, "prism.autocachepulses", 30, null));
+        autoCacheBudget = getLong(systemProperties, "prism.autocachebudget", 64 * 1024 * 1024,
+                                  "Try -Dprism.autocachebudget=<long>[kKmMgG]");
+
         /* Dirty region optimizations */
         threadCheck = getBoolean(systemProperties, "prism.threadcheck", false);
 
@@ -390,6 +412,10 @@ public final class PrismSettings {
         // Force non anti-aliasing (not smooth) shape rendering
         forceNonAntialiasedShape = getBoolean(systemProperties, "prism.forceNonAntialiasedShape", false);
 
+        // Number of threads rasterizing shapes in bands in the sw pipeline,
+        // "true" uses one thread per processor, 1 (default) disables banding
+        swThreads = WorkerThreads.getThreadCount("prism.sw.threads");
+
     }
 
     private static int parseInt(String s, int dflt, int trueDflt,
@@ -58,6 +58,10 @@ public class RectanglePacker {
     private int y;
     private boolean vertical;
 
+    // Occupancy statistics, reset by clear()
+    private int rectangleCount;
+    private long usedArea;
+
     public RectanglePacker(Texture backingStore, int x, int y,
                            int width, int height, boolean vertical) {
         this.backingStore = backingStore;
@@ -135,6 +139,7 @@ public class RectanglePacker {
                 break;
             } else if (level.add(rect, x, y, requestedLength, requestedSize, vertical)) {
                 recentUsedLevelIndex = i;
+                added(rect);
                 return true;
             }
         }
@@ -156,7 +161,16 @@ public class RectanglePacker {
             levels.add(newIndex, newLevel);
             recentUsedLevelIndex = newIndex;
         }
-        return newLevel.add(rect, x, y, requestedLength, requestedSize, vertical);
+        if (newLevel.add(rect, x, y, requestedLength, requestedSize, vertical)) {
+            added(rect);
+            return true;
+        }
+        return false;
+    }
+
+    private void added(Rectangle rect) {
+        rectangleCount++;
+        usedArea += (long) rect.width * rect.height;
     }
 
     /**
@@ -166,6 +180,49 @@ public class RectanglePacker {
         levels.clear();
         sizeOffset = 0;
         recentUsedLevelIndex = 0;
+        rectangleCount = 0;
+        usedArea = 0;
+    }
+
+    /**
+     * @return the number of rectangles added since the last {@link #clear()}
+     */
+    public int getRectangleCount() {
+        return rectangleCount;
+    }
+
+    /**
+     * @return the number of levels (rows, or columns when packing
+     * vertically) currently allocated on the backing store
+     */
+    public int getLevelCount() {
+        return levels.size();
+    }
+
+    /**
+     * @return the total area of the rectangles added since the last
+     * {@link #clear()}
+     */
+    public long getUsedArea() {
+        return usedArea;
+    }
+
+    /**
+     * @return the fraction of the packing space covered by rectangles,
+     * between 0 and 1
+     */
+    public double getOccupancy() {
+        return (double) usedArea / ((long) length * size);
+    }
+
+    /**
+     * @return the fraction of the packing space claimed by levels, between
+     * 0 and 1. The difference with {@link #getOccupancy()} is the space
+     * wasted by rounding up the level sizes and by the unused tails of
+     * the levels.
+     */
+    public double getAllocatedFraction() {
+        return (double) sizeOffset / size;
     }
 
     /**
@@ -37,6 +37,7 @@ import com.sun.marlin.DMarlinRenderer;
 import com.sun.marlin.DPathConsumer2D;
 import com.sun.marlin.DRendererContext;
 import com.sun.marlin.DStroker;
+import com.sun.marlin.DThinRenderer;
 import com.sun.marlin.DTransformingPathConsumer2D;
 import com.sun.marlin.MarlinUtils;
 import com.sun.prism.BasicStroke;
@@ -69,7 +70,8 @@ public final class DMarlinPrismUtils {
             final BasicStroke stroke,
             final float lineWidth,
             BaseTransform tx,
-            final DPathConsumer2D out)
+            final DPathConsumer2D out,
+            final boolean thin)
     {
         // We use strokerat so that in Stroker and Dasher we can work only
         // with the pre-transformation coordinates. This will repeat a lot of
@@ -153,6 +155,35 @@ public final class DMarlinPrismUtils {
 
         final DTransformingPathConsumer2D transformerPC2D = rdrCtx.transformerPC2D;
 
+        if (thin) {
+            // Thin stroke (see isThinStroke): emit every segment as a
+            // parallelogram without generating joins and caps:
+            pc = rdrCtx.thinStroker.init(pc, width, stroke.getEndCap());
+
+            // Curve Monotizer:
+            rdrCtx.monotonizer.init(width);
+
+            if (dashesD != null) {
+                pc = rdrCtx.dasher.init(pc, dashesD, dashLen, dashphase,
+                                        recycleDashes);
+            }
+            if (!MarlinConst.USE_PATH_SIMPLIFIER) {
+                // Use path simplifier to drop the sub-pixel vertices
+                // before stroking
+                pc = rdrCtx.pathSimplifier.init(pc);
+            }
+            /*
+             * Pipeline seems to be:
+             * shape.getPathIterator(tx)
+             * -> (PathSimplifier)
+             * -> (Dasher)
+             * -> ThinStroker
+             *
+             * -> pc2d = ThinRenderer (bounding box)
+             */
+            return pc;
+        }
+
         if (DO_TRACE_PATH) {
             // trace Stroker:
             pc = transformerPC2D.traceStroker(pc);
@@ -221,11 +252,36 @@ public final class DMarlinPrismUtils {
         return Math.abs(num) < 2.0d * Math.ulp(num);
     }
 
+    /**
+     * Returns true if the given stroke is rendered by the thin stroker and
+     * renderer: its width in device space is constant (no shear nor
+     * non-uniform scaling) and at most THIN_STROKE_MAX_WIDTH.
+     */
+    private static boolean isThinStroke(final BasicStroke stroke,
+                                        final BaseTransform tx)
+    {
+        double width = stroke.getLineWidth();
+
+        if (tx != null) {
+            final double a = tx.getMxx();
+            final double b = tx.getMxy();
+            final double c = tx.getMyx();
+            final double d = tx.getMyy();
+
+            if (!nearZero(a*b + c*d) || !nearZero(a*a + c*c - (b*b + d*d))) {
+                return false;
+            }
+            width *= Math.sqrt(a*a + c*c);
+        }
+        return (width > 0.0d) && (width <= MarlinConst.THIN_STROKE_MAX_WIDTH);
+    }
+
     private static DPathConsumer2D initRenderer(
             final DRendererContext rdrCtx,
             final BasicStroke stroke,
             final BaseTransform tx,
             final Rectangle clip,
+            final Rectangle bounds,
             final int piRule,
             final DMarlinRenderer renderer)
     {
@@ -259,16 +315,17 @@ public final class DMarlinPrismUtils {
         }
 
         if (stroke != null) {
-            renderer.init(clip.x, clip.y, clip.width, clip.height,
+            renderer.init(bounds.x, bounds.y, bounds.width, bounds.height,
                           MarlinConst.WIND_NON_ZERO);
 
-            return initStroker(rdrCtx, stroke, stroke.getLineWidth(), tx, renderer);
+            return initStroker(rdrCtx, stroke, stroke.getLineWidth(), tx, renderer,
+                               (renderer instanceof DThinRenderer));
         } else {
             // Filler:
             final int oprule = (piRule == PathIterator.WIND_EVEN_ODD) ?
                 MarlinConst.WIND_EVEN_ODD : MarlinConst.WIND_NON_ZERO;
 
-            renderer.init(clip.x, clip.y, clip.width, clip.height, oprule);
+            renderer.init(bounds.x, bounds.y, bounds.width, bounds.height, oprule);
 
             DPathConsumer2D pc = renderer;
 
@@ -297,20 +354,45 @@ public final class DMarlinPrismUtils {
             final BaseTransform xform,
             final Rectangle rclip,
             final boolean antialiasedShape)
+    {
+        return setupRenderer(rdrCtx, shape, stroke, xform, rclip, rclip, antialiasedShape);
+    }
+
+    /**
+     * Sets up a renderer producing the coverage of the given shape only for
+     * the pixels in {@code band}, a part of {@code rclip}. The shape is still
+     * clipped against {@code rclip}, so that the coverage of every band is
+     * exactly the coverage these pixels get when {@code rclip} is rendered in
+     * one pass: adjacent bands may be rendered separately, and concurrently
+     * with distinct renderer contexts.
+     */
+    public static DMarlinRenderer setupRenderer(
+            final DRendererContext rdrCtx,
+            final Shape shape,
+            final BasicStroke stroke,
+            final BaseTransform xform,
+            final Rectangle rclip,
+            final Rectangle band,
+            final boolean antialiasedShape)
     {
         // Test if transform is identity:
         final BaseTransform tf = ((xform != null) && !xform.isIdentity()) ? xform : null;
 
-        final DMarlinRenderer r =  (!FORCE_NO_AA && antialiasedShape) ?
+        DMarlinRenderer r =  (!FORCE_NO_AA && antialiasedShape) ?
                 rdrCtx.renderer : rdrCtx.getRendererNoAA();
 
+        if ((stroke != null) && (r == rdrCtx.renderer) && isThinStroke(stroke, tf)) {
+            // thin strokes are rendered by the thin renderer:
+            r = rdrCtx.getThinRenderer();
+        }
+
         if (shape instanceof Path2D) {
             final Path2D p2d = (Path2D)shape;
-            final DPathConsumer2D pc2d = initRenderer(rdrCtx, stroke, tf, rclip, p2d.getWindingRule(), r);
+            final DPathConsumer2D pc2d = initRenderer(rdrCtx, stroke, tf, rclip, band, p2d.getWindingRule(), r);
             feedConsumer(rdrCtx, p2d, tf, pc2d);
         } else {
             final PathIterator pi = shape.getPathIterator(tf);
-            final DPathConsumer2D pc2d = initRenderer(rdrCtx, stroke, tf, rclip, pi.getWindingRule(), r);
+            final DPathConsumer2D pc2d = initRenderer(rdrCtx, stroke, tf, rclip, band, pi.getWindingRule(), r);
             feedConsumer(rdrCtx, pi, pc2d);
         }
         return r;
@@ -323,7 +405,8 @@ public final class DMarlinPrismUtils {
             final float lineWidth,
             final DPathConsumer2D out)
     {
-        final DPathConsumer2D pc2d = initStroker(rdrCtx, stroke, lineWidth, null, out);
+        final DPathConsumer2D pc2d = initStroker(rdrCtx, stroke, lineWidth, null, out,
+                                                   false);
 
         if (shape instanceof Path2D) {
             feedConsumer(rdrCtx, (Path2D)shape, null, pc2d);
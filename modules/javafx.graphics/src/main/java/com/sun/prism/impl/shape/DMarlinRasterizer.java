@@ -32,6 +32,7 @@ import com.sun.javafx.geom.Shape;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.marlin.DMarlinRenderer;
 import com.sun.marlin.DMarlinRenderingEngine;
+import com.sun.marlin.MaskCache;
 import com.sun.marlin.MaskMarlinAlphaConsumer;
 import com.sun.marlin.DRendererContext;
 import com.sun.prism.BasicStroke;
@@ -77,12 +78,23 @@ public final class DMarlinRasterizer implements ShapeRasterizer {
             return EMPTY_MASK;
         }
 
+        final MaskCache maskCache = MaskCache.getInstance();
+        final MaskCache.Key key =
+            maskCache.getKey(shape, stroke, xform, antialiasedShape);
+
         final DRendererContext rdrCtx = DMarlinRenderingEngine.getRendererContext();
         DMarlinRenderer renderer = null;
         try {
             final Rectangle rclip = rdrCtx.clip;
             rclip.setBounds(xformBounds);
 
+            if (key != null) {
+                final MaskData cached = maskCache.get(key, rclip);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+
             renderer = DMarlinPrismUtils.setupRenderer(rdrCtx, shape, stroke, xform, rclip,
                     antialiasedShape);
 
@@ -107,7 +119,11 @@ public final class DMarlinRasterizer implements ShapeRasterizer {
             consumer.setBoundsNoClone(outpix_xmin, outpix_ymin, w, h);
             renderer.produceAlphas(consumer);
 
-            return consumer.getMaskData();
+            final MaskData mask = consumer.getMaskData();
+            if (key != null) {
+                maskCache.put(key, rclip, mask);
+            }
+            return mask;
         } finally {
             if (renderer != null) {
                 renderer.dispose();
@@ -38,6 +38,7 @@ import com.sun.marlin.MarlinRenderer;
 import com.sun.marlin.MarlinUtils;
 import com.sun.marlin.RendererContext;
 import com.sun.marlin.Stroker;
+import com.sun.marlin.ThinRenderer;
 import com.sun.marlin.TransformingPathConsumer2D;
 import com.sun.prism.BasicStroke;
 import java.util.Arrays;
@@ -69,7 +70,8 @@ public final class MarlinPrismUtils {
             final BasicStroke stroke,
             final float lineWidth,
             BaseTransform tx,
-            final PathConsumer2D out)
+            final PathConsumer2D out,
+            final boolean thin)
     {
         // We use strokerat so that in Stroker and Dasher we can work only
         // with the pre-transformation coordinates. This will repeat a lot of
@@ -148,6 +150,38 @@ public final class MarlinPrismUtils {
 
         final TransformingPathConsumer2D transformerPC2D = rdrCtx.transformerPC2D;
 
+        if (thin) {
+            // Thin stroke (see isThinStroke): emit every segment as a
+            // parallelogram without generating joins and caps:
+            pc = rdrCtx.thinStroker.init(pc, width, stroke.getEndCap());
+
+            // Curve Monotizer:
+            rdrCtx.monotonizer.init(width);
+
+            if (dashes != null) {
+                if (!recycleDashes) {
+                    dashLen = dashes.length;
+                }
+                pc = rdrCtx.dasher.init(pc, dashes, dashLen, dashphase,
+                                        recycleDashes);
+            }
+            if (!MarlinConst.USE_PATH_SIMPLIFIER) {
+                // Use path simplifier to drop the sub-pixel vertices
+                // before stroking
+                pc = rdrCtx.pathSimplifier.init(pc);
+            }
+            /*
+             * Pipeline seems to be:
+             * shape.getPathIterator(tx)
+             * -> (PathSimplifier)
+             * -> (Dasher)
+             * -> ThinStroker
+             *
+             * -> pc2d = ThinRenderer (bounding box)
+             */
+            return pc;
+        }
+
         if (DO_TRACE_PATH) {
             // trace Stroker:
             pc = transformerPC2D.traceStroker(pc);
@@ -219,11 +253,36 @@ public final class MarlinPrismUtils {
         return Math.abs(num) < 2.0d * Math.ulp(num);
     }
 
+    /**
+     * Returns true if the given stroke is rendered by the thin stroker and
+     * renderer: its width in device space is constant (no shear nor
+     * non-uniform scaling) and at most THIN_STROKE_MAX_WIDTH.
+     */
+    private static boolean isThinStroke(final BasicStroke stroke,
+                                        final BaseTransform tx)
+    {
+        double width = stroke.getLineWidth();
+
+        if (tx != null) {
+            final double a = tx.getMxx();
+            final double b = tx.getMxy();
+            final double c = tx.getMyx();
+            final double d = tx.getMyy();
+
+            if (!nearZero(a*b + c*d) || !nearZero(a*a + c*c - (b*b + d*d))) {
+                return false;
+            }
+            width *= Math.sqrt(a*a + c*c);
+        }
+        return (width > 0.0d) && (width <= MarlinConst.THIN_STROKE_MAX_WIDTH);
+    }
+
     private static PathConsumer2D initRenderer(
             final RendererContext rdrCtx,
             final BasicStroke stroke,
             final BaseTransform tx,
             final Rectangle clip,
+            final Rectangle bounds,
             final int piRule,
             final MarlinRenderer renderer)
     {
@@ -257,16 +316,17 @@ public final class MarlinPrismUtils {
         }
 
         if (stroke != null) {
-            renderer.init(clip.x, clip.y, clip.width, clip.height,
+            renderer.init(bounds.x, bounds.y, bounds.width, bounds.height,
                           MarlinConst.WIND_NON_ZERO);
 
-            return initStroker(rdrCtx, stroke, stroke.getLineWidth(), tx, renderer);
+            return initStroker(rdrCtx, stroke, stroke.getLineWidth(), tx, renderer,
+                               (renderer instanceof ThinRenderer));
         } else {
             // Filler:
             final int oprule = (piRule == PathIterator.WIND_EVEN_ODD) ?
                 MarlinConst.WIND_EVEN_ODD : MarlinConst.WIND_NON_ZERO;
 
-            renderer.init(clip.x, clip.y, clip.width, clip.height, oprule);
+            renderer.init(bounds.x, bounds.y, bounds.width, bounds.height, oprule);
 
             PathConsumer2D pc = renderer;
 
@@ -295,20 +355,45 @@ public final class MarlinPrismUtils {
             final BaseTransform xform,
             final Rectangle rclip,
             final boolean antialiasedShape)
+    {
+        return setupRenderer(rdrCtx, shape, stroke, xform, rclip, rclip, antialiasedShape);
+    }
+
+    /**
+     * Sets up a renderer producing the coverage of the given shape only for
+     * the pixels in {@code band}, a part of {@code rclip}. The shape is still
+     * clipped against {@code rclip}, so that the coverage of every band is
+     * exactly the coverage these pixels get when {@code rclip} is rendered in
+     * one pass: adjacent bands may be rendered separately, and concurrently
+     * with distinct renderer contexts.
+     */
+    public static MarlinRenderer setupRenderer(
+            final RendererContext rdrCtx,
+            final Shape shape,
+            final BasicStroke stroke,
+            final BaseTransform xform,
+            final Rectangle rclip,
+            final Rectangle band,
+            final boolean antialiasedShape)
     {
         // Test if transform is identity:
         final BaseTransform tf = ((xform != null) && !xform.isIdentity()) ? xform : null;
 
-        final MarlinRenderer r =  (!FORCE_NO_AA && antialiasedShape) ?
+        MarlinRenderer r =  (!FORCE_NO_AA && antialiasedShape) ?
                 rdrCtx.renderer : rdrCtx.getRendererNoAA();
 
+        if ((stroke != null) && (r == rdrCtx.renderer) && isThinStroke(stroke, tf)) {
+            // thin strokes are rendered by the thin renderer:
+            r = rdrCtx.getThinRenderer();
+        }
+
         if (shape instanceof Path2D) {
             final Path2D p2d = (Path2D)shape;
-            final PathConsumer2D pc2d = initRenderer(rdrCtx, stroke, tf, rclip, p2d.getWindingRule(), r);
+            final PathConsumer2D pc2d = initRenderer(rdrCtx, stroke, tf, rclip, band, p2d.getWindingRule(), r);
             feedConsumer(rdrCtx, p2d, tf, pc2d);
         } else {
             final PathIterator pi = shape.getPathIterator(tf);
-            final PathConsumer2D pc2d = initRenderer(rdrCtx, stroke, tf, rclip, pi.getWindingRule(), r);
+            final PathConsumer2D pc2d = initRenderer(rdrCtx, stroke, tf, rclip, band, pi.getWindingRule(), r);
             feedConsumer(rdrCtx, pi, pc2d);
         }
         return r;
@@ -321,7 +406,8 @@ public final class MarlinPrismUtils {
             final float lineWidth,
             final PathConsumer2D out)
     {
-        final PathConsumer2D pc2d = initStroker(rdrCtx, stroke, lineWidth, null, out);
+        final PathConsumer2D pc2d = initStroker(rdrCtx, stroke, lineWidth, null, out,
+                                                   false);
 
         if (shape instanceof Path2D) {
             feedConsumer(rdrCtx, (Path2D)shape, null, pc2d);
@@ -35,6 +35,8 @@ import com.sun.javafx.image.impl.ByteBgraPre;
 import com.sun.javafx.image.impl.ByteGray;
 import com.sun.javafx.image.impl.ByteRgb;
 import com.sun.javafx.image.impl.IntArgbPre;
+import com.sun.javafx.logging.PulseCounter;
+import com.sun.javafx.logging.PulseLogger;
 import com.sun.prism.MediaFrame;
 import com.sun.prism.PixelFormat;
 import com.sun.prism.Texture;
@@ -176,6 +178,9 @@ class J2DTexture extends BaseTexture<J2DTexResource> {
     {
         BufferedImage bimg = getBufferedImage();
         buffer.position(0);
+        if (PulseLogger.PULSE_LOGGING_ENABLED) {
+            PulseLogger.incrementCounter(PulseCounter.TEXTURE_UPLOADS, 1);
+        }
         updateFromBuffer(bimg, buffer, format,
                          dstx, dsty,
                          srcx, srcy, srcw, srch, srcscan);
@@ -33,6 +33,8 @@ import com.sun.javafx.image.impl.ByteBgraPre;
 import com.sun.javafx.image.impl.ByteGray;
 import com.sun.javafx.image.impl.ByteRgb;
 import com.sun.javafx.image.impl.IntArgbPre;
+import com.sun.javafx.logging.PulseCounter;
+import com.sun.javafx.logging.PulseLogger;
 import com.sun.prism.MediaFrame;
 import com.sun.prism.PixelFormat;
 import com.sun.prism.Texture;
@@ -77,6 +79,9 @@ class SWArgbPreTexture extends SWTexture {
     public void update(Buffer buffer, PixelFormat format, int dstx, int dsty,
                        int srcx, int srcy, int srcw, int srch, int srcscan, boolean skipFlush)
     {
+        if (PulseLogger.PULSE_LOGGING_ENABLED) {
+            PulseLogger.incrementCounter(PulseCounter.TEXTURE_UPLOADS, 1);
+        }
         if (PrismSettings.debug) {
             System.out.println("ARGB_PRE TEXTURE, Pixel format: " + format + ", buffer: " + buffer);
             System.out.println("dstx:" + dstx + " dsty:" + dsty);
@@ -26,6 +26,7 @@
 package com.sun.prism.sw;
 
 import com.sun.javafx.geom.Path2D;
+import com.sun.javafx.geom.RectBounds;
 import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.geom.Shape;
 import com.sun.javafx.geom.transform.BaseTransform;
@@ -39,6 +40,7 @@ import com.sun.marlin.MarlinRenderer;
 import com.sun.marlin.MarlinRenderingEngine;
 import com.sun.marlin.RendererContext;
 import com.sun.openpisces.Renderer;
+import com.sun.pisces.JavaSurface;
 import com.sun.pisces.PiscesRenderer;
 import com.sun.prism.BasicStroke;
 import com.sun.prism.PixelFormat;
@@ -50,6 +52,7 @@ import com.sun.prism.impl.shape.MarlinPrismUtils;
 import com.sun.prism.impl.shape.MaskData;
 import com.sun.prism.impl.shape.OpenPiscesPrismUtils;
 import com.sun.prism.impl.shape.ShapeUtil;
+import com.sun.prism.paint.Paint;
 
 import java.lang.ref.SoftReference;
 
@@ -57,6 +60,7 @@ final class SWContext {
 
     private final ResourceFactory factory;
     private final ShapeRenderer shapeRenderer;
+    private final SWTiledShapeRenderer tiledShapeRenderer;
     private SoftReference<SWRTTexture> readBackBufferRef;
     private SoftReference<SWArgbPreTexture> imagePaintTextureRef;
 
@@ -338,12 +342,32 @@ final class SWContext {
                 this.shapeRenderer = new DMarlinShapeRenderer();
                 break;
         }
+        this.tiledShapeRenderer = (PrismSettings.swThreads > 1) ?
+                new SWTiledShapeRenderer(this, PrismSettings.swThreads) : null;
     }
 
     void renderShape(PiscesRenderer pr, Shape shape, BasicStroke stroke, BaseTransform tr, Rectangle clip, boolean antialiasedShape) {
         this.shapeRenderer.renderShape(pr, shape, stroke, tr, clip, antialiasedShape);
     }
 
+    /**
+     * Renders a large shape in bands on several threads, when enabled with
+     * {@code prism.sw.threads}. The paint is given rather than set on the
+     * renderer, as every band sets it up on its own renderer.
+     *
+     * @return false if the shape was not rendered, and should be rendered
+     * with {@link #renderShape} instead
+     */
+    boolean renderShapeTiled(JavaSurface surface, Shape shape, BasicStroke stroke,
+                             BaseTransform tr, Rectangle clip, boolean antialiasedShape,
+                             Paint paint, BaseTransform paintTx, RectBounds nodeBounds,
+                             float compositeAlpha, int compositeRule)
+    {
+        return (tiledShapeRenderer != null) &&
+                tiledShapeRenderer.renderShape(surface, shape, stroke, tr, clip, antialiasedShape,
+                        paint, paintTx, nodeBounds, compositeAlpha, compositeRule);
+    }
+
     private SWRTTexture initRBBuffer(int width, int height) {
         final SWRTTexture tex = (SWRTTexture)factory.createRTTexture(width, height, Texture.WrapMode.CLAMP_NOT_NEEDED);
         readBackBufferRef = new SoftReference<SWRTTexture>(tex);
@@ -414,5 +438,8 @@ final class SWContext {
         this.disposeRBBuffer();
         this.disposeImagePaintTexture();
         this.shapeRenderer.dispose();
+        if (this.tiledShapeRenderer != null) {
+            this.tiledShapeRenderer.dispose();
+        }
     }
 }
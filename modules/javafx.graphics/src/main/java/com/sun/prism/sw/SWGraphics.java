@@ -77,6 +77,7 @@ final class SWGraphics implements ReadbackGraphics {
     private final BaseTransform tx = new Affine2D();
 
     private CompositeMode compositeMode = CompositeMode.SRC_OVER;
+    private int piscesCompositeRule = RendererBase.COMPOSITE_SRC_OVER;
 
     private Rectangle clip;
     private final Rectangle finalClip = new Rectangle();
@@ -341,6 +342,7 @@ final class SWGraphics implements ReadbackGraphics {
             default:
                 throw new InternalError("Unrecognized composite mode: "+mode);
         }
+        this.piscesCompositeRule = piscesComp;
         this.pr.setCompositeRule(piscesComp);
     }
 
@@ -490,6 +492,11 @@ final class SWGraphics implements ReadbackGraphics {
             }
             return;
         }
+        if (context.renderShapeTiled(target.getSurface(), shape, st, tr, this.finalClip,
+                isAntialiasedShape(), this.paint, this.tx, this.nodeBounds,
+                swPaint.getCompositeAlpha(), this.piscesCompositeRule)) {
+            return;
+        }
         swPaint.setPaintFromShape(this.paint, this.tx, shape, this.nodeBounds, 0,0,0,0);
         this.paintShapePaintAlreadySet(shape, st, tr);
     }
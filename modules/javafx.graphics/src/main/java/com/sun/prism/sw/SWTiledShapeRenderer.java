@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.sw;
+
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.geom.Shape;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.javafx.util.WorkerThreads;
+import com.sun.marlin.DMarlinRenderer;
+import com.sun.marlin.DMarlinRenderingEngine;
+import com.sun.marlin.DRendererContext;
+import com.sun.marlin.MarlinRenderer;
+import com.sun.marlin.MarlinRenderingEngine;
+import com.sun.marlin.RendererContext;
+import com.sun.pisces.JavaSurface;
+import com.sun.pisces.PiscesRenderer;
+import com.sun.prism.BasicStroke;
+import com.sun.prism.impl.PrismSettings;
+import com.sun.prism.impl.shape.DMarlinPrismUtils;
+import com.sun.prism.impl.shape.MarlinPrismUtils;
+import com.sun.prism.paint.Paint;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Renders large shapes in horizontal bands on several threads.
+ * <p>
+ * Each band is rasterized with its own Marlin renderer context and composited
+ * by its own {@code PiscesRenderer}, set up with the paint, composite rule and
+ * clip of the calling graphics restricted to the rows of the band. The bands
+ * cover disjoint rows of the target, and Marlin produces the same coverage for
+ * a band as for the same rows in a single pass, so the result is exactly the
+ * one the calling thread would produce on its own.
+ * <p>
+ * Calls are synchronous: they return once every band is done, so the order of
+ * the rendering operations on the target is unchanged.
+ */
+final class SWTiledShapeRenderer {
+
+    // shapes covering fewer pixels than this are not worth handing off
+    private static final int MIN_PIXELS = 256 * 256;
+    private static final int MIN_BAND_HEIGHT = 32;
+
+    private final SWContext context;
+    private final int threads;
+    private final ExecutorService executor;
+    private final ThreadLocal<Band> bands = ThreadLocal.withInitial(Band::new);
+
+    SWTiledShapeRenderer(SWContext context, int threads) {
+        this.context = context;
+        this.threads = threads;
+        // the calling thread renders one of the bands
+        this.executor = WorkerThreads.createPool("SW Tile Renderer", threads - 1);
+    }
+
+    /**
+     * Renders the shape in bands if it is worth it.
+     *
+     * @return false if the shape was not rendered and should be rendered on
+     * the calling thread instead
+     */
+    boolean renderShape(JavaSurface surface, Shape shape, BasicStroke stroke,
+                        BaseTransform tr, Rectangle clip, boolean antialiasedShape,
+                        Paint paint, BaseTransform paintTx, RectBounds nodeBounds,
+                        float compositeAlpha, int compositeRule)
+    {
+        if (paint.getType() == Paint.Type.IMAGE_PATTERN) {
+            // the pattern texture is shared by the context
+            return false;
+        }
+        final PrismSettings.RasterizerType rasterizer = PrismSettings.rasterizerSpec;
+        if (rasterizer != PrismSettings.RasterizerType.DoubleMarlin &&
+            rasterizer != PrismSettings.RasterizerType.FloatMarlin)
+        {
+            return false;
+        }
+
+        // Conservative device bounds of the shape, only used to balance the
+        // bands: the first and last bands extend to the clip anyway.
+        final RectBounds bounds = new RectBounds();
+        tr.transform(shape.getBounds(), bounds);
+        float pad = 1f;
+        if (stroke != null) {
+            final double scale = Math.max(Math.abs(tr.getMxx()) + Math.abs(tr.getMxy()),
+                                          Math.abs(tr.getMyx()) + Math.abs(tr.getMyy()));
+            pad += (float) (stroke.getLineWidth() * scale * Math.max(1f, stroke.getMiterLimit()));
+        }
+        final int y0 = Math.max(clip.y, (int) Math.floor(bounds.getMinY() - pad));
+        final int y1 = Math.min(clip.y + clip.height, (int) Math.ceil(bounds.getMaxY() + pad));
+        final int rows = y1 - y0;
+        final int n = Math.min(threads, rows / MIN_BAND_HEIGHT);
+        if (n < 2 || (long) rows * clip.width < MIN_PIXELS) {
+            return false;
+        }
+
+        Shape rasterShape = shape;
+        BasicStroke rasterStroke = stroke;
+        if (stroke != null && stroke.getType() != BasicStroke.TYPE_CENTERED) {
+            // see SWContext.MarlinShapeRenderer
+            rasterShape = stroke.createStrokedShape(shape);
+            rasterStroke = null;
+        }
+
+        final List<Future<?>> futures = new ArrayList<>(n - 1);
+        Runnable lastBand = null;
+        int top = clip.y;
+        for (int i = 0; i < n; i++) {
+            final int bandTop = top;
+            final int bandBottom = (i == n - 1) ? clip.y + clip.height : y0 + (int) ((long) rows * (i + 1) / n);
+            top = bandBottom;
+            final Shape s = rasterShape;
+            final BasicStroke st = rasterStroke;
+            final Runnable task = () -> bands.get().render(context, surface, shape, s, st, tr, clip,
+                    bandTop, bandBottom - bandTop, antialiasedShape, rasterizer,
+                    paint, paintTx, nodeBounds, compositeAlpha, compositeRule);
+            if (i < n - 1) {
+                futures.add(executor.submit(task));
+            } else {
+                lastBand = task;
+            }
+        }
+
+        RuntimeException failure = null;
+        try {
+            lastBand.run();
+        } catch (RuntimeException e) {
+            // wait for the other bands before reporting it
+            failure = e;
+        }
+        for (Future<?> f : futures) {
+            try {
+                f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    final Throwable cause = e.getCause();
+                    failure = (cause instanceof RuntimeException) ?
+                            (RuntimeException) cause : new RuntimeException(cause);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return true;
+    }
+
+    void dispose() {
+        executor.shutdown();
+    }
+
+    /**
+     * The per-thread state used to render a band.
+     */
+    private static final class Band {
+        private final SWContext.DirectRTMarlinAlphaConsumer alphaConsumer =
+                new SWContext.DirectRTMarlinAlphaConsumer();
+        private final Rectangle bandClip = new Rectangle();
+
+        // weak, not to retain the target after it is disposed
+        private WeakReference<JavaSurface> surfaceRef;
+        private WeakReference<PiscesRenderer> rendererRef;
+        private SWPaint swPaint;
+
+        private PiscesRenderer getRenderer(SWContext context, JavaSurface surface) {
+            PiscesRenderer pr = null;
+            if (surfaceRef != null && surfaceRef.get() == surface) {
+                pr = rendererRef.get();
+            }
+            if (pr == null) {
+                pr = new PiscesRenderer(surface);
+                surfaceRef = new WeakReference<>(surface);
+                rendererRef = new WeakReference<>(pr);
+                swPaint = new SWPaint(context, pr);
+            }
+            return pr;
+        }
+
+        void render(SWContext context, JavaSurface surface, Shape paintShape,
+                    Shape shape, BasicStroke stroke, BaseTransform tr, Rectangle clip,
+                    int y, int height, boolean antialiasedShape,
+                    PrismSettings.RasterizerType rasterizer,
+                    Paint paint, BaseTransform paintTx, RectBounds nodeBounds,
+                    float compositeAlpha, int compositeRule)
+        {
+            final PiscesRenderer pr = getRenderer(context, surface);
+            bandClip.setBounds(clip.x, y, clip.width, height);
+            pr.setClip(bandClip.x, bandClip.y, bandClip.width, bandClip.height);
+            pr.setCompositeRule(compositeRule);
+            swPaint.setCompositeAlpha(compositeAlpha);
+            swPaint.setPaintFromShape(paint, paintTx, paintShape, nodeBounds, 0, 0, 0, 0);
+
+            if (rasterizer == PrismSettings.RasterizerType.DoubleMarlin) {
+                renderDouble(pr, shape, stroke, tr, clip, antialiasedShape);
+            } else {
+                renderFloat(pr, shape, stroke, tr, clip, antialiasedShape);
+            }
+        }
+
+        private void renderDouble(PiscesRenderer pr, Shape shape, BasicStroke stroke,
+                                  BaseTransform tr, Rectangle clip, boolean antialiasedShape)
+        {
+            final DRendererContext rdrCtx = DMarlinRenderingEngine.getRendererContext();
+            DMarlinRenderer renderer = null;
+            try {
+                renderer = DMarlinPrismUtils.setupRenderer(rdrCtx, shape, stroke, tr, clip,
+                        bandClip, antialiasedShape);
+                final int x = renderer.getOutpixMinX();
+                final int y = renderer.getOutpixMinY();
+                final int w = renderer.getOutpixMaxX() - x;
+                final int h = renderer.getOutpixMaxY() - y;
+                if ((w <= 0) || (h <= 0)) {
+                    return;
+                }
+                alphaConsumer.initConsumer(x, y, w, h, pr);
+                renderer.produceAlphas(alphaConsumer);
+            } finally {
+                if (renderer != null) {
+                    renderer.dispose();
+                }
+                DMarlinRenderingEngine.returnRendererContext(rdrCtx);
+            }
+        }
+
+        private void renderFloat(PiscesRenderer pr, Shape shape, BasicStroke stroke,
+                                 BaseTransform tr, Rectangle clip, boolean antialiasedShape)
+        {
+            final RendererContext rdrCtx = MarlinRenderingEngine.getRendererContext();
+            MarlinRenderer renderer = null;
+            try {
+                renderer = MarlinPrismUtils.setupRenderer(rdrCtx, shape, stroke, tr, clip,
+                        bandClip, antialiasedShape);
+                final int x = renderer.getOutpixMinX();
+                final int y = renderer.getOutpixMinY();
+                final int w = renderer.getOutpixMaxX() - x;
+                final int h = renderer.getOutpixMaxY() - y;
+                if ((w <= 0) || (h <= 0)) {
+                    return;
+                }
+                alphaConsumer.initConsumer(x, y, w, h, pr);
+                renderer.produceAlphas(alphaConsumer);
+            } finally {
+                if (renderer != null) {
+                    renderer.dispose();
+                }
+                MarlinRenderingEngine.returnRendererContext(rdrCtx);
+            }
+        }
+    }
+}
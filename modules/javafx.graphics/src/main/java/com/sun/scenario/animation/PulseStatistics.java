@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.scenario.animation;
+
+import java.lang.management.ManagementFactory;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.List;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.OpenType;
+import javax.management.openmbean.SimpleType;
+
+import com.sun.javafx.logging.PlatformLogger;
+import com.sun.javafx.logging.PlatformLogger.Level;
+import com.sun.javafx.logging.PulseRecord;
+import com.sun.javafx.logging.PulseRecorder;
+import com.sun.javafx.util.Logging;
+
+/**
+ * Exposes the {@link PulseRecorder} through JMX, as
+ * {@code javafx.graphics:type=PulseStatistics}.
+ */
+public class PulseStatistics implements PulseStatisticsMBean {
+
+    public static final String OBJECT_NAME = "javafx.graphics:type=PulseStatistics";
+
+    private static final String[] ITEMS = {
+        "pulse", "timestamp", "duration", "rendered",
+        "css", "layout", "sync", "render", "present",
+        "dirtyNodes", "nodesVisited", "nodesRendered", "textureUploads",
+        "dirtyRegions", "paintedArea", "viewArea",
+        "glyphCacheHits", "glyphCacheMisses", "glyphCacheClears"
+    };
+
+    private static final CompositeType PULSE_TYPE;
+
+    static {
+        final OpenType<?>[] types = new OpenType<?>[ITEMS.length];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = SimpleType.LONG;
+        }
+        types[3] = SimpleType.BOOLEAN;
+        try {
+            PULSE_TYPE = new CompositeType("javafx.Pulse", "Time spent in the phases of a pulse",
+                                           ITEMS, ITEMS, types);
+        } catch (OpenDataException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static boolean registered;
+
+    private final PulseRecorder recorder;
+
+    PulseStatistics(PulseRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Registers the bean with the platform MBean server, if the pulse
+     * recorder is enabled. Failures are reported but otherwise ignored.
+     * This class uses the optional java.management module, so it must only
+     * be used once the module is known to be present.
+     */
+    public static synchronized void register() {
+        final PulseRecorder recorder = PulseRecorder.getInstance();
+        if (recorder == null || registered) {
+            return;
+        }
+        registered = true;
+        AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+            try {
+                final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                server.registerMBean(new PulseStatistics(recorder), new ObjectName(OBJECT_NAME));
+            } catch (JMException | SecurityException e) {
+                final PlatformLogger logger = Logging.getJavaFXLogger();
+                if (logger.isLoggable(Level.WARNING)) {
+                    logger.warning("Unable to register " + OBJECT_NAME + ": " + e);
+                }
+            }
+            return null;
+        });
+    }
+
+    static CompositeData toCompositeData(PulseRecord record) {
+        if (record == null) {
+            return null;
+        }
+        final Object[] values = {
+            record.getPulse(), record.getTimestamp(), record.getDuration(), record.isRendered(),
+            record.getCssDuration(), record.getLayoutDuration(), record.getSyncDuration(),
+            record.getRenderDuration(), record.getPresentDuration(),
+            record.getDirtyNodes(), record.getNodesVisited(), record.getNodesRendered(),
+            record.getTextureUploads(),
+            record.getDirtyRegions(), record.getPaintedArea(), record.getViewArea(),
+            record.getGlyphCacheHits(), record.getGlyphCacheMisses(), record.getGlyphCacheClears()
+        };
+        try {
+            return new CompositeDataSupport(PULSE_TYPE, ITEMS, values);
+        } catch (OpenDataException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Override
+    public long getPulseCount() {
+        return recorder.getPulseCount();
+    }
+
+    @Override
+    public long getOverBudgetCount() {
+        return recorder.getOverBudgetCount();
+    }
+
+    @Override
+    public long getBudget() {
+        return recorder.getBudget();
+    }
+
+    @Override
+    public void setBudget(long budget) {
+        recorder.setBudget(budget);
+    }
+
+    @Override
+    public long getMaxDuration() {
+        return recorder.getMaxDuration();
+    }
+
+    @Override
+    public long getAverageDuration() {
+        return recorder.getAverageDuration();
+    }
+
+    @Override
+    public CompositeData getLastPulse() {
+        return toCompositeData(recorder.getLastRecord());
+    }
+
+    @Override
+    public CompositeData[] getRecentPulses() {
+        final List<PulseRecord> records = recorder.getRecords();
+        final CompositeData[] result = new CompositeData[records.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = toCompositeData(records.get(i));
+        }
+        return result;
+    }
+
+    @Override
+    public void resetStatistics() {
+        recorder.resetStatistics();
+    }
+}
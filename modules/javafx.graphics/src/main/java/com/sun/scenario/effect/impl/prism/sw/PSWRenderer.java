@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009, 2013, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2009, 2019, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -26,6 +26,8 @@
 package com.sun.scenario.effect.impl.prism.sw;
 
 import java.lang.reflect.Constructor;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import com.sun.glass.ui.Screen;
 import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.geom.transform.BaseTransform;
@@ -52,6 +54,15 @@ import static com.sun.scenario.effect.impl.Renderer.RendererState.*;
 
 public class PSWRenderer extends PrRenderer {
 
+    /**
+     * Whether the {@code JSW} renderer uses the row-vectorized convolution
+     * peers (see {@code JSWVRendererDelegate}) in place of the scalar ones,
+     * and is preferred over the native {@code SSE} renderer.
+     */
+    private static final boolean useVectorPeers =
+        AccessController.doPrivileged((PrivilegedAction<Boolean>) () ->
+            Boolean.getBoolean("decora.vector"));
+
     private final Screen screen;
     private final ResourceFactory resourceFactory;
     private final RendererDelegate delegate;
@@ -88,7 +99,7 @@ public class PSWRenderer extends PrRenderer {
     public synchronized static PSWRenderer createJSWInstance(Screen screen) {
         PSWRenderer ret = null;
         try {
-            Class klass = Class.forName(rootPkg + ".impl.sw.java.JSWRendererDelegate");
+            Class klass = Class.forName(getJSWDelegateName());
             RendererDelegate delegate = (RendererDelegate)klass.newInstance();
             ret = new PSWRenderer(screen, delegate);
         } catch (Throwable e) {}
@@ -103,13 +114,19 @@ public class PSWRenderer extends PrRenderer {
     public synchronized static PSWRenderer createJSWInstance(ResourceFactory factory) {
         PSWRenderer ret = null;
         try {
-            Class klass = Class.forName(rootPkg + ".impl.sw.java.JSWRendererDelegate");
+            Class klass = Class.forName(getJSWDelegateName());
             RendererDelegate delegate = (RendererDelegate)klass.newInstance();
             ret = new PSWRenderer(factory, delegate);
         } catch (Throwable e) {}
         return ret;
     }
 
+    private static String getJSWDelegateName() {
+        return rootPkg + (useVectorPeers
+                          ? ".impl.sw.java.JSWVRendererDelegate"
+                          : ".impl.sw.java.JSWRendererDelegate");
+    }
+
     public synchronized static PSWRenderer createJSWInstance(FilterContext fctx) {
         PSWRenderer ret = null;
         try {
@@ -141,7 +158,7 @@ public class PSWRenderer extends PrRenderer {
             return null;
         }
         Screen screen = (Screen)ref;
-        Renderer renderer = createSSEInstance(screen);
+        Renderer renderer = useVectorPeers ? null : createSSEInstance(screen);
         if (renderer == null) {
             renderer = createJSWInstance(screen);
         }
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.scenario.effect.impl.sw;
+
+import com.sun.javafx.util.WorkerThreads;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs the passes of the software effect peers in strips on a fork-join
+ * pool. A pass is split into ranges of independent rows (or columns), each
+ * of which writes its own part of the destination image, so the strips
+ * need no synchronization and the result does not depend on how the pass
+ * was split. Any scratch memory a strip needs is kept per thread by the
+ * peers, so that strips never contend on shared state such as the
+ * {@code ImagePool}.
+ * <p>
+ * The number of threads is set with {@code -Ddecora.sw.threads=<number>},
+ * {@code true} uses one thread per processor and 1 (the default) runs every
+ * pass on the calling thread. Calls are synchronous: they return once every
+ * strip is done.
+ */
+public final class StripExecutor {
+
+    /**
+     * A part of a pass, covering the units in {@code [from, to)}.
+     */
+    public interface Strip {
+        public void filter(int from, int to);
+    }
+
+    // the minimum amount of work (in pixel taps) worth handing off
+    private static final long MIN_STRIP_WORK = 64 * 1024;
+
+    private static final int threads =
+        WorkerThreads.getThreadCount("decora.sw.threads");
+    private static ForkJoinPool pool;
+
+    private StripExecutor() {
+    }
+
+    /**
+     * @return the number of threads the passes are split over
+     */
+    public static int getThreadCount() {
+        return threads;
+    }
+
+    private static synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = WorkerThreads.createPool("Decora SW Strip", threads);
+        }
+        return pool;
+    }
+
+    /**
+     * Runs a pass over {@code count} units, in strips if the pass is large
+     * enough and more than one thread is configured.
+     *
+     * @param count the number of rows or columns in the pass
+     * @param unitWork an estimate of the work for each unit, in pixel taps
+     * @param strip the pass
+     */
+    public static void run(int count, long unitWork, Strip strip) {
+        run(threads, MIN_STRIP_WORK, count, unitWork, strip);
+    }
+
+    static void run(int threads, long minWork,
+                    int count, long unitWork, Strip strip)
+    {
+        long work = count * Math.max(1L, unitWork);
+        int strips = (int) Math.min(Math.min(threads, count), work / minWork);
+        if (strips < 2) {
+            strip.filter(0, count);
+            return;
+        }
+        int grain = (count + strips - 1) / strips;
+        getPool().invoke(new StripTask(strip, 0, count, grain));
+    }
+
+    private static final class StripTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Strip strip;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        StripTask(Strip strip, int from, int to, int grain) {
+            this.strip = strip;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                strip.filter(from, to);
+            } else {
+                // split on a multiple of the grain so that no strip is tiny
+                int mid = from + ((to - from) / grain + 1) / 2 * grain;
+                invokeAll(new StripTask(strip, from, mid, grain),
+                          new StripTask(strip, mid, to, grain));
+            }
+        }
+    }
+}
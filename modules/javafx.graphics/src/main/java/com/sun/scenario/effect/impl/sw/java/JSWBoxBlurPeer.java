@@ -35,6 +35,7 @@ import com.sun.scenario.effect.FilterContext;
 import com.sun.scenario.effect.ImageData;
 import com.sun.scenario.effect.impl.HeapImage;
 import com.sun.scenario.effect.impl.Renderer;
+import com.sun.scenario.effect.impl.sw.StripExecutor;
 import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.scenario.effect.impl.state.BoxRenderState;
@@ -117,36 +118,38 @@ public class JSWBoxBlurPeer extends JSWEffectPeer<BoxRenderState> {
     {
         int hsize = dstw - srcw + 1;
         int kscale = 0x7fffffff / (hsize * 255);
-        int srcoff = 0;
-        int dstoff = 0;
-        for (int y = 0; y < dsth; y++) {
-            int suma = 0;
-            int sumr = 0;
-            int sumg = 0;
-            int sumb = 0;
-            for (int x = 0; x < dstw; x++) {
-                int rgb;
-                // Un-accumulate the data for col-hsize location into the sums.
-                rgb = (x >= hsize) ? srcPixels[srcoff + x - hsize] : 0;
-                suma -= (rgb >>> 24);
-                sumr -= (rgb >>  16) & 0xff;
-                sumg -= (rgb >>   8) & 0xff;
-                sumb -= (rgb       ) & 0xff;
-                // Accumulate the data for this col location into the sums.
-                rgb = (x < srcw) ? srcPixels[srcoff + x] : 0;
-                suma += (rgb >>> 24);
-                sumr += (rgb >>  16) & 0xff;
-                sumg += (rgb >>   8) & 0xff;
-                sumb += (rgb       ) & 0xff;
-                dstPixels[dstoff + x] =
-                    (((suma * kscale) >> 23) << 24) +
-                    (((sumr * kscale) >> 23) << 16) +
-                    (((sumg * kscale) >> 23) <<  8) +
-                    (((sumb * kscale) >> 23)      );
+        StripExecutor.run(dsth, dstw, (y0, y1) -> {
+            int srcoff = y0 * srcscan;
+            int dstoff = y0 * dstscan;
+            for (int y = y0; y < y1; y++) {
+                int suma = 0;
+                int sumr = 0;
+                int sumg = 0;
+                int sumb = 0;
+                for (int x = 0; x < dstw; x++) {
+                    int rgb;
+                    // Un-accumulate the data for col-hsize location into the sums.
+                    rgb = (x >= hsize) ? srcPixels[srcoff + x - hsize] : 0;
+                    suma -= (rgb >>> 24);
+                    sumr -= (rgb >>  16) & 0xff;
+                    sumg -= (rgb >>   8) & 0xff;
+                    sumb -= (rgb       ) & 0xff;
+                    // Accumulate the data for this col location into the sums.
+                    rgb = (x < srcw) ? srcPixels[srcoff + x] : 0;
+                    suma += (rgb >>> 24);
+                    sumr += (rgb >>  16) & 0xff;
+                    sumg += (rgb >>   8) & 0xff;
+                    sumb += (rgb       ) & 0xff;
+                    dstPixels[dstoff + x] =
+                        (((suma * kscale) >> 23) << 24) +
+                        (((sumr * kscale) >> 23) << 16) +
+                        (((sumg * kscale) >> 23) <<  8) +
+                        (((sumb * kscale) >> 23)      );
+                }
+                srcoff += srcscan;
+                dstoff += dstscan;
             }
-            srcoff += srcscan;
-            dstoff += dstscan;
-        }
+        });
     }
 
     protected void filterVertical(int dstPixels[], int dstw, int dsth, int dstscan,
@@ -155,36 +158,38 @@ public class JSWBoxBlurPeer extends JSWEffectPeer<BoxRenderState> {
         int vsize = dsth - srch + 1;
         int kscale = 0x7fffffff / (vsize * 255);
         int voff = vsize * srcscan;
-        for (int x = 0; x < dstw; x++) {
-            int suma = 0;
-            int sumr = 0;
-            int sumg = 0;
-            int sumb = 0;
-            int srcoff = x;
-            int dstoff = x;
-            for (int y = 0; y < dsth; y++) {
-                int rgb;
-                // Un-accumulate the data for row-vsize location into the sums.
-                rgb = (srcoff >= voff) ? srcPixels[srcoff - voff] : 0;
-                suma -= (rgb >>> 24);
-                sumr -= (rgb >>  16) & 0xff;
-                sumg -= (rgb >>   8) & 0xff;
-                sumb -= (rgb       ) & 0xff;
-                // Accumulate the data for this row location into the sums.
-                rgb = (y < srch) ? srcPixels[srcoff] : 0;
-                suma += (rgb >>> 24);
-                sumr += (rgb >>  16) & 0xff;
-                sumg += (rgb >>   8) & 0xff;
-                sumb += (rgb       ) & 0xff;
-                dstPixels[dstoff] =
-                    (((suma * kscale) >> 23) << 24) +
-                    (((sumr * kscale) >> 23) << 16) +
-                    (((sumg * kscale) >> 23) <<  8) +
-                    (((sumb * kscale) >> 23)      );
-                srcoff += srcscan;
-                dstoff += dstscan;
+        StripExecutor.run(dstw, dsth, (x0, x1) -> {
+            for (int x = x0; x < x1; x++) {
+                int suma = 0;
+                int sumr = 0;
+                int sumg = 0;
+                int sumb = 0;
+                int srcoff = x;
+                int dstoff = x;
+                for (int y = 0; y < dsth; y++) {
+                    int rgb;
+                    // Un-accumulate the data for row-vsize location into the sums.
+                    rgb = (srcoff >= voff) ? srcPixels[srcoff - voff] : 0;
+                    suma -= (rgb >>> 24);
+                    sumr -= (rgb >>  16) & 0xff;
+                    sumg -= (rgb >>   8) & 0xff;
+                    sumb -= (rgb       ) & 0xff;
+                    // Accumulate the data for this row location into the sums.
+                    rgb = (y < srch) ? srcPixels[srcoff] : 0;
+                    suma += (rgb >>> 24);
+                    sumr += (rgb >>  16) & 0xff;
+                    sumg += (rgb >>   8) & 0xff;
+                    sumb += (rgb       ) & 0xff;
+                    dstPixels[dstoff] =
+                        (((suma * kscale) >> 23) << 24) +
+                        (((sumr * kscale) >> 23) << 16) +
+                        (((sumg * kscale) >> 23) <<  8) +
+                        (((sumb * kscale) >> 23)      );
+                    srcoff += srcscan;
+                    dstoff += dstscan;
+                }
             }
-        }
+        });
     }
 
     /*
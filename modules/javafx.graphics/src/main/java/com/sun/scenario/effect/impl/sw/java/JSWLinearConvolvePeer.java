@@ -36,6 +36,7 @@ import com.sun.scenario.effect.ImageData;
 import com.sun.scenario.effect.Effect;
 import com.sun.scenario.effect.impl.HeapImage;
 import com.sun.scenario.effect.impl.Renderer;
+import com.sun.scenario.effect.impl.sw.StripExecutor;
 import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.scenario.effect.impl.state.LinearConvolveRenderState;
@@ -177,37 +178,46 @@ public class JSWLinearConvolvePeer extends JSWEffectPeer<LinearConvolveRenderSta
                                 float deltax, float deltay,
                                 float dxcol, float dycol, float dxrow, float dyrow)
     {
-        int dstrow = 0;
-        float fvals[] = new float[4];
         // srcxy0 point at UL corner, shift them to center of 1st dest pixel:
-        srcx0 += (dxrow + dxcol) * 0.5f;
-        srcy0 += (dyrow + dycol) * 0.5f;
-        for (int dy = 0; dy < dsth; dy++) {
-            float srcx = srcx0;
-            float srcy = srcy0;
-            for (int dx = 0; dx < dstw; dx++) {
-                fvals[0] = fvals[1] = fvals[2] = fvals[3] = 0.0f;
-                float sampx = srcx + offsetx;
-                float sampy = srcy + offsety;
-                for (int i = 0; i < count; ++i) {
-                    laccumsample(srcPixels, sampx, sampy,
-                                 srcw, srch, srcscan,
-                                 weights[i], fvals);
-                    sampx += deltax;
-                    sampy += deltay;
+        final float cx0 = srcx0 + (dxrow + dxcol) * 0.5f;
+        final float cy0 = srcy0 + (dyrow + dycol) * 0.5f;
+        StripExecutor.run(dsth, (long) dstw * count, (dyfrom, dyto) -> {
+            float fvals[] = new float[4];
+            float rowx = cx0;
+            float rowy = cy0;
+            // step to the first row exactly as the loop below would
+            for (int dy = 0; dy < dyfrom; dy++) {
+                rowx += dxrow;
+                rowy += dyrow;
+            }
+            int dstrow = dyfrom * dstscan;
+            for (int dy = dyfrom; dy < dyto; dy++) {
+                float srcx = rowx;
+                float srcy = rowy;
+                for (int dx = 0; dx < dstw; dx++) {
+                    fvals[0] = fvals[1] = fvals[2] = fvals[3] = 0.0f;
+                    float sampx = srcx + offsetx;
+                    float sampy = srcy + offsety;
+                    for (int i = 0; i < count; ++i) {
+                        laccumsample(srcPixels, sampx, sampy,
+                                     srcw, srch, srcscan,
+                                     weights[i], fvals);
+                        sampx += deltax;
+                        sampy += deltay;
+                    }
+                    dstPixels[dstrow + dx] =
+                        (((fvals[FVALS_A] < cmin) ? 0 : ((fvals[FVALS_A] > cmax) ? 255 : ((int) fvals[FVALS_A]))) << 24) +
+                        (((fvals[FVALS_R] < cmin) ? 0 : ((fvals[FVALS_R] > cmax) ? 255 : ((int) fvals[FVALS_R]))) << 16) +
+                        (((fvals[FVALS_G] < cmin) ? 0 : ((fvals[FVALS_G] > cmax) ? 255 : ((int) fvals[FVALS_G]))) <<  8) +
+                        (((fvals[FVALS_B] < cmin) ? 0 : ((fvals[FVALS_B] > cmax) ? 255 : ((int) fvals[FVALS_B])))      );
+                    srcx += dxcol;
+                    srcy += dycol;
                 }
-                dstPixels[dstrow + dx] =
-                    (((fvals[FVALS_A] < cmin) ? 0 : ((fvals[FVALS_A] > cmax) ? 255 : ((int) fvals[FVALS_A]))) << 24) +
-                    (((fvals[FVALS_R] < cmin) ? 0 : ((fvals[FVALS_R] > cmax) ? 255 : ((int) fvals[FVALS_R]))) << 16) +
-                    (((fvals[FVALS_G] < cmin) ? 0 : ((fvals[FVALS_G] > cmax) ? 255 : ((int) fvals[FVALS_G]))) <<  8) +
-                    (((fvals[FVALS_B] < cmin) ? 0 : ((fvals[FVALS_B] > cmax) ? 255 : ((int) fvals[FVALS_B])))      );
-                srcx += dxcol;
-                srcy += dycol;
+                rowx += dxrow;
+                rowy += dyrow;
+                dstrow += dstscan;
             }
-            srcx0 += dxrow;
-            srcy0 += dyrow;
-            dstrow += dstscan;
-        }
+        });
     }
 
     /*
@@ -32,6 +32,7 @@ package com.sun.scenario.effect.impl.sw.java;
 
 import com.sun.scenario.effect.FilterContext;
 import com.sun.scenario.effect.impl.Renderer;
+import com.sun.scenario.effect.impl.sw.StripExecutor;
 
 public class JSWLinearConvolveShadowPeer extends JSWLinearConvolvePeer {
     public JSWLinearConvolveShadowPeer(FilterContext fctx, Renderer r, String uniqueName) {
@@ -53,42 +54,51 @@ public class JSWLinearConvolveShadowPeer extends JSWLinearConvolvePeer {
     {
         float shadowColor[] = getShadowColor();
 
-        int dstrow = 0;
         // srcxy0 point at UL corner, shift them to center of 1st dest pixel:
-        srcx0 += (dxrow + dxcol) * 0.5f;
-        srcy0 += (dyrow + dycol) * 0.5f;
-        for (int dy = 0; dy < dsth; dy++) {
-            float srcx = srcx0;
-            float srcy = srcy0;
-            for (int dx = 0; dx < dstw; dx++) {
-                float sum = 0.0f;
-                float sampx = srcx + offsetx;
-                float sampy = srcy + offsety;
-                for (int i = 0; i < count; ++i) {
-                    if (sampx >= 0 && sampy >= 0) {
-                        int ix = (int) sampx;
-                        int iy = (int) sampy;
-                        if (ix < srcw && iy < srch) {
-                            // TODO: Usine linear interpolation here... (RT-27388)
-                            int argb = srcPixels[iy * srcscan + ix];
-                            sum += (argb >>> 24) * weights[i];
+        final float cx0 = srcx0 + (dxrow + dxcol) * 0.5f;
+        final float cy0 = srcy0 + (dyrow + dycol) * 0.5f;
+        StripExecutor.run(dsth, (long) dstw * count, (dyfrom, dyto) -> {
+            float rowx = cx0;
+            float rowy = cy0;
+            // step to the first row exactly as the loop below would
+            for (int dy = 0; dy < dyfrom; dy++) {
+                rowx += dxrow;
+                rowy += dyrow;
+            }
+            int dstrow = dyfrom * dstscan;
+            for (int dy = dyfrom; dy < dyto; dy++) {
+                float srcx = rowx;
+                float srcy = rowy;
+                for (int dx = 0; dx < dstw; dx++) {
+                    float sum = 0.0f;
+                    float sampx = srcx + offsetx;
+                    float sampy = srcy + offsety;
+                    for (int i = 0; i < count; ++i) {
+                        if (sampx >= 0 && sampy >= 0) {
+                            int ix = (int) sampx;
+                            int iy = (int) sampy;
+                            if (ix < srcw && iy < srch) {
+                                // TODO: Usine linear interpolation here... (RT-27388)
+                                int argb = srcPixels[iy * srcscan + ix];
+                                sum += (argb >>> 24) * weights[i];
+                            }
                         }
+                        sampx += deltax;
+                        sampy += deltay;
                     }
-                    sampx += deltax;
-                    sampy += deltay;
+                    sum = (sum < 0f) ? 0f : ((sum > 255f) ? 255f : sum);
+                    dstPixels[dstrow + dx] = ((int) (shadowColor[0] * sum) << 16) |
+                                             ((int) (shadowColor[1] * sum) <<  8) |
+                                             ((int) (shadowColor[2] * sum)      ) |
+                                             ((int) (shadowColor[3] * sum) << 24);
+                    srcx += dxcol;
+                    srcy += dycol;
                 }
-                sum = (sum < 0f) ? 0f : ((sum > 255f) ? 255f : sum);
-                dstPixels[dstrow + dx] = ((int) (shadowColor[0] * sum) << 16) |
-                                         ((int) (shadowColor[1] * sum) <<  8) |
-                                         ((int) (shadowColor[2] * sum)      ) |
-                                         ((int) (shadowColor[3] * sum) << 24);
-                srcx += dxcol;
-                srcy += dycol;
+                rowx += dxrow;
+                rowy += dyrow;
+                dstrow += dstscan;
             }
-            srcx0 += dxrow;
-            srcy0 += dyrow;
-            dstrow += dstscan;
-        }
+        });
     }
 
     /*
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.scenario.effect.impl.sw.java;
+
+import com.sun.scenario.effect.FilterContext;
+import com.sun.scenario.effect.impl.Renderer;
+import com.sun.scenario.effect.impl.sw.StripExecutor;
+
+/**
+ * A {@link JSWBoxBlurPeer} whose vertical pass walks the image a row at a
+ * time, keeping one running sum per column, rather than a column at a
+ * time. That touches memory sequentially and lets the JIT vectorize the
+ * update of the sums. The integer arithmetic is unchanged, so the results
+ * are identical to those of the scalar loops. The pass runs in strips of
+ * columns, see {@link StripExecutor}.
+ */
+public class JSWVBoxBlurPeer extends JSWBoxBlurPeer {
+
+    public JSWVBoxBlurPeer(FilterContext fctx, Renderer r, String uniqueName) {
+        super(fctx, r, uniqueName);
+    }
+
+    @Override
+    protected void filterVertical(int dstPixels[], int dstw, int dsth, int dstscan,
+                                  int srcPixels[], int srcw, int srch, int srcscan)
+    {
+        int vsize = dsth - srch + 1;
+        int kscale = 0x7fffffff / (vsize * 255);
+        StripExecutor.run(dstw, dsth, (x0, x1) -> {
+            int n = x1 - x0;
+            int s[] = JSWVLinearConvolvePeer.Scratch.get().sums(n * 4);
+            int aoff = 0 * n;
+            int roff = 1 * n;
+            int goff = 2 * n;
+            int boff = 3 * n;
+            for (int x = 0; x < n * 4; x++) {
+                s[x] = 0;
+            }
+            int dstoff = x0;
+            for (int y = 0; y < dsth; y++) {
+                if (y >= vsize) {
+                    // Un-accumulate the data for row-vsize into the sums.
+                    int srcoff = (y - vsize) * srcscan + x0;
+                    for (int x = 0; x < n; x++) {
+                        int rgb = srcPixels[srcoff + x];
+                        s[aoff + x] -= (rgb >>> 24);
+                        s[roff + x] -= (rgb >>  16) & 0xff;
+                        s[goff + x] -= (rgb >>   8) & 0xff;
+                        s[boff + x] -= (rgb       ) & 0xff;
+                    }
+                }
+                if (y < srch) {
+                    // Accumulate the data for this row into the sums.
+                    int srcoff = y * srcscan + x0;
+                    for (int x = 0; x < n; x++) {
+                        int rgb = srcPixels[srcoff + x];
+                        s[aoff + x] += (rgb >>> 24);
+                        s[roff + x] += (rgb >>  16) & 0xff;
+                        s[goff + x] += (rgb >>   8) & 0xff;
+                        s[boff + x] += (rgb       ) & 0xff;
+                    }
+                }
+                for (int x = 0; x < n; x++) {
+                    dstPixels[dstoff + x] =
+                        (((s[aoff + x] * kscale) >> 23) << 24) +
+                        (((s[roff + x] * kscale) >> 23) << 16) +
+                        (((s[goff + x] * kscale) >> 23) <<  8) +
+                        (((s[boff + x] * kscale) >> 23)      );
+                }
+                dstoff += dstscan;
+            }
+        });
+    }
+}
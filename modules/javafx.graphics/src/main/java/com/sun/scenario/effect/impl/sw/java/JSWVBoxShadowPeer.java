@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.scenario.effect.impl.sw.java;
+
+import com.sun.scenario.effect.FilterContext;
+import com.sun.scenario.effect.impl.Renderer;
+import com.sun.scenario.effect.impl.sw.StripExecutor;
+
+/**
+ * A {@link JSWBoxShadowPeer} whose vertical passes walk the image a row at
+ * a time, as in the {@link JSWVBoxBlurPeer}, with the same results as the
+ * scalar loops.
+ */
+public class JSWVBoxShadowPeer extends JSWBoxShadowPeer {
+
+    public JSWVBoxShadowPeer(FilterContext fctx, Renderer r, String uniqueName) {
+        super(fctx, r, uniqueName);
+    }
+
+    /**
+     * Steps the running alpha sums of columns {@code [x0, x0 + n)} to
+     * row {@code y}.
+     */
+    private static void accumulate(int suma[], int x0, int n, int y, int vsize,
+                                   int srcPixels[], int srch, int srcscan)
+    {
+        if (y >= vsize) {
+            // Un-accumulate the data for row-vsize into the sums.
+            int srcoff = (y - vsize) * srcscan + x0;
+            for (int x = 0; x < n; x++) {
+                suma[x] -= srcPixels[srcoff + x] >>> 24;
+            }
+        }
+        if (y < srch) {
+            // Accumulate the data for this row into the sums.
+            int srcoff = y * srcscan + x0;
+            for (int x = 0; x < n; x++) {
+                suma[x] += srcPixels[srcoff + x] >>> 24;
+            }
+        }
+    }
+
+    private static int[] getSums(int n) {
+        int sums[] = JSWVLinearConvolvePeer.Scratch.get().sums(n);
+        for (int x = 0; x < n; x++) {
+            sums[x] = 0;
+        }
+        return sums;
+    }
+
+    @Override
+    protected void filterVerticalBlack(int dstPixels[], int dstw, int dsth, int dstscan,
+                                       int srcPixels[], int srcw, int srch, int srcscan,
+                                       float spread)
+    {
+        int vsize = dsth - srch + 1;
+        // amax goes from hsize*255 to 255 as spread goes from 0 to 1
+        int amax0 = vsize * 255;
+        int amax = (int) (amax0 + (255 - amax0) * spread);
+        int kscale = 0x7fffffff / amax;
+        int amin = (amax / 255);
+        StripExecutor.run(dstw, dsth, (x0, x1) -> {
+            int n = x1 - x0;
+            int suma[] = getSums(n);
+            int dstoff = x0;
+            for (int y = 0; y < dsth; y++) {
+                accumulate(suma, x0, n, y, vsize, srcPixels, srch, srcscan);
+                for (int x = 0; x < n; x++) {
+                    int sum = suma[x];
+                    // Clamp, scale and convert the sum into a color.
+                    dstPixels[dstoff + x] =
+                        ((sum < amin) ? 0
+                         : ((sum >= amax) ? 0xff000000
+                            : (((sum * kscale) >> 23) << 24)));
+                }
+                dstoff += dstscan;
+            }
+        });
+    }
+
+    @Override
+    protected void filterVertical(int dstPixels[], int dstw, int dsth, int dstscan,
+                                  int srcPixels[], int srcw, int srch, int srcscan,
+                                  float spread, float shadowColor[])
+    {
+        int vsize = dsth - srch + 1;
+        // amax goes from hsize*255 to 255 as spread goes from 0 to 1
+        int amax0 = vsize * 255;
+        int amax = (int) (amax0 + (255 - amax0) * spread);
+        int kscale = 0x7fffffff / amax;
+        int kscaler = (int) (kscale * shadowColor[0]);
+        int kscaleg = (int) (kscale * shadowColor[1]);
+        int kscaleb = (int) (kscale * shadowColor[2]);
+        int kscalea = (int) (kscale * shadowColor[3]);
+        int amin = (amax / 255);
+        int shadowRGB =
+            (((int) (shadowColor[0] * 255)) << 16) |
+            (((int) (shadowColor[1] * 255)) <<  8) |
+            (((int) (shadowColor[2] * 255))      ) |
+            (((int) (shadowColor[3] * 255)) << 24);
+        StripExecutor.run(dstw, dsth, (x0, x1) -> {
+            int n = x1 - x0;
+            int suma[] = getSums(n);
+            int dstoff = x0;
+            for (int y = 0; y < dsth; y++) {
+                accumulate(suma, x0, n, y, vsize, srcPixels, srch, srcscan);
+                for (int x = 0; x < n; x++) {
+                    int sum = suma[x];
+                    // Clamp, scale and convert the sum into a color.
+                    dstPixels[dstoff + x] =
+                        ((sum < amin) ? 0
+                         : ((sum >= amax) ? shadowRGB
+                            : ((((sum * kscalea) >> 23) << 24) |
+                               (((sum * kscaler) >> 23) << 16) |
+                               (((sum * kscaleg) >> 23) <<  8) |
+                               (((sum * kscaleb) >> 23)      ))));
+                }
+                dstoff += dstscan;
+            }
+        });
+    }
+}
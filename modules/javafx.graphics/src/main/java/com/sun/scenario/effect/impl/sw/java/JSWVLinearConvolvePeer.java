@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.scenario.effect.impl.sw.java;
+
+import java.util.Arrays;
+import com.sun.scenario.effect.FilterContext;
+import com.sun.scenario.effect.impl.Renderer;
+import com.sun.scenario.effect.impl.sw.StripExecutor;
+
+/**
+ * A {@link JSWLinearConvolvePeer} that handles the common case of an
+ * untransformed pass whose samples fall on pixel centers with planar
+ * row-at-a-time loops. The source is unpacked into one float plane
+ * per component and every kernel tap is then applied to a whole row of
+ * accumulators at a time, which the JIT compiles to SIMD instructions.
+ * The taps are accumulated in the same order and with the same weights
+ * as in the scalar loops, so the results are identical. Any other pass
+ * is handed to the scalar implementation. Both run in strips of rows, see
+ * {@link StripExecutor}.
+ */
+public class JSWVLinearConvolvePeer extends JSWLinearConvolvePeer {
+
+    private static final float cmin = 1f;
+    private static final float cmax = 254f + 15f/16f;
+
+    // the samples must stay exact when stepped in float
+    private static final float MAX_EXACT_COORD = (float) (1 << 20);
+
+    /**
+     * The scratch buffers of the strips running on a thread, so that strips
+     * on different threads share no mutable state.
+     */
+    static final class Scratch {
+        private static final ThreadLocal<Scratch> scratch =
+            ThreadLocal.withInitial(Scratch::new);
+
+        float planes[];
+        private float accum[];
+        private int sums[];
+
+        static Scratch get() {
+            return scratch.get();
+        }
+
+        float[] accum(int length) {
+            if (accum == null || accum.length < length) {
+                accum = new float[length];
+            }
+            return accum;
+        }
+
+        int[] sums(int length) {
+            if (sums == null || sums.length < length) {
+                sums = new int[length];
+            }
+            return sums;
+        }
+    }
+
+    public JSWVLinearConvolvePeer(FilterContext fctx, Renderer r, String uniqueName) {
+        super(fctx, r, uniqueName);
+    }
+
+    @Override
+    protected void filterVector(int dstPixels[], int dstw, int dsth, int dstscan,
+                                int srcPixels[], int srcw, int srch, int srcscan,
+                                float weights[], int count,
+                                float srcx0, float srcy0,
+                                float offsetx, float offsety,
+                                float deltax, float deltay,
+                                float dxcol, float dycol, float dxrow, float dyrow)
+    {
+        // same arithmetic as in the scalar loop, see laccumsample()
+        float sampx = (srcx0 + (dxrow + dxcol) * 0.5f) + offsetx;
+        float sampy = (srcy0 + (dyrow + dycol) * 0.5f) + offsety;
+        if (!isUnitGrid(dxcol, dycol, dxrow, dyrow) ||
+            !isExact(srcx0, offsetx, deltax, count, dstw) ||
+            !isExact(srcy0, offsety, deltay, count, dsth) ||
+            !isPixelCenter(sampx) || !isPixelCenter(sampy))
+        {
+            super.filterVector(dstPixels, dstw, dsth, dstscan,
+                               srcPixels, srcw, srch, srcscan,
+                               weights, count,
+                               srcx0, srcy0, offsetx, offsety,
+                               deltax, deltay,
+                               dxcol, dycol, dxrow, dyrow);
+            return;
+        }
+        // a sample on integer fpix coordinates reads pixel (fpix - 1)
+        int stepx = (int) deltax;
+        int stepy = (int) deltay;
+        int minx = Math.min(0, (count - 1) * stepx);
+        int miny = Math.min(0, (count - 1) * stepy);
+        int winx = (int) (sampx + 0.5f) - 1 + minx;
+        int winy = (int) (sampy + 0.5f) - 1 + miny;
+        int winw = dstw + Math.abs((count - 1) * stepx);
+        int padh = Math.abs((count - 1) * stepy);
+        // the scalar loop scales the weight by 255 and back again
+        float w[] = new float[count];
+        for (int i = 0; i < count; i++) {
+            w[i] = (weights[i] * 255f) / 255f;
+        }
+        StripExecutor.run(dsth, (long) dstw * count, (y0, y1) -> {
+            // each strip unpacks the source rows it reads on its own thread
+            Scratch scratch = Scratch.get();
+            int winh = (y1 - y0) + padh;
+            int area = winw * winh;
+            float p[] = scratch.planes =
+                unpack(scratch.planes, srcPixels, srcw, srch, srcscan,
+                       winx, winy + y0, winw, winh, 4);
+            float acc[] = scratch.accum(dstw * 4);
+            int aoff = 0 * dstw;
+            int roff = 1 * dstw;
+            int goff = 2 * dstw;
+            int boff = 3 * dstw;
+            int dstrow = y0 * dstscan;
+            for (int dy = 0; dy < y1 - y0; dy++) {
+                for (int x = 0; x < dstw * 4; x++) {
+                    acc[x] = 0f;
+                }
+                for (int i = 0; i < count; i++) {
+                    float wi = w[i];
+                    int base = (dy + i * stepy - miny) * winw + (i * stepx - minx);
+                    for (int dx = 0; dx < dstw; dx++) {
+                        acc[roff + dx] += p[1 * area + base + dx] * wi;
+                    }
+                    for (int dx = 0; dx < dstw; dx++) {
+                        acc[goff + dx] += p[2 * area + base + dx] * wi;
+                    }
+                    for (int dx = 0; dx < dstw; dx++) {
+                        acc[boff + dx] += p[3 * area + base + dx] * wi;
+                    }
+                    for (int dx = 0; dx < dstw; dx++) {
+                        acc[aoff + dx] += p[base + dx] * wi;
+                    }
+                }
+                for (int dx = 0; dx < dstw; dx++) {
+                    float suma = acc[aoff + dx];
+                    float sumr = acc[roff + dx];
+                    float sumg = acc[goff + dx];
+                    float sumb = acc[boff + dx];
+                    dstPixels[dstrow + dx] =
+                        (((suma < cmin) ? 0 : ((suma > cmax) ? 255 : ((int) suma))) << 24) +
+                        (((sumr < cmin) ? 0 : ((sumr > cmax) ? 255 : ((int) sumr))) << 16) +
+                        (((sumg < cmin) ? 0 : ((sumg > cmax) ? 255 : ((int) sumg))) <<  8) +
+                        (((sumb < cmin) ? 0 : ((sumb > cmax) ? 255 : ((int) sumb)))      );
+                }
+                dstrow += dstscan;
+            }
+        });
+    }
+
+    static boolean isUnitGrid(float dxcol, float dycol, float dxrow, float dyrow) {
+        return dxcol == 1f && dycol == 0f && dxrow == 0f && dyrow == 1f;
+    }
+
+    /**
+     * Checks that the sample coordinates computed by the scalar loops from
+     * the corner {@code orig}, the offset {@code offset} and {@code count}
+     * taps {@code delta} apart, for {@code len} unit steps, are all exact.
+     * That holds when all of them are multiples of 0.5 and small enough.
+     */
+    static boolean isExact(float orig, float offset, float delta,
+                           int count, int len)
+    {
+        if (!isHalf(orig) || !isHalf(offset) || delta != (float) (int) delta) {
+            return false;
+        }
+        float reach = Math.abs(orig) + Math.abs(offset) +
+                      Math.abs(delta) * count + len + 1;
+        return reach < MAX_EXACT_COORD;
+    }
+
+    static boolean isHalf(float v) {
+        float v2 = v * 2f;
+        return v2 == (float) Math.floor(v2);
+    }
+
+    private static boolean isPixelCenter(float v) {
+        float f = v + 0.5f;
+        return f == (float) Math.floor(f);
+    }
+
+    /**
+     * Unpacks the {@code [winx, winx + winw) x [winy, winy + winh)} window
+     * of an {@code INT_ARGB_PRE} image into {@code numPlanes} float planes,
+     * alpha first and then red, green and blue, reusing {@code planes} if it
+     * is large enough. Pixels outside of the image are transparent.
+     */
+    static float[] unpack(float planes[],
+                          int srcPixels[], int srcw, int srch, int srcscan,
+                          int winx, int winy, int winw, int winh,
+                          int numPlanes)
+    {
+        int area = winw * winh;
+        if (planes == null || planes.length < area * numPlanes) {
+            planes = new float[area * numPlanes];
+        }
+        int x0 = Math.max(winx, 0);
+        int x1 = Math.min(winx + winw, srcw);
+        int off = 0;
+        for (int y = winy; y < winy + winh; y++, off += winw) {
+            if (y < 0 || y >= srch || x0 >= x1) {
+                for (int c = 0; c < numPlanes; c++) {
+                    Arrays.fill(planes, c * area + off,
+                                c * area + off + winw, 0f);
+                }
+                continue;
+            }
+            for (int c = 0; c < numPlanes; c++) {
+                Arrays.fill(planes, c * area + off,
+                            c * area + off + x0 - winx, 0f);
+                Arrays.fill(planes, c * area + off + x1 - winx,
+                            c * area + off + winw, 0f);
+            }
+            int srcoff = y * srcscan + winx;
+            int a = off;
+            int r = area + off;
+            int g = 2 * area + off;
+            int b = 3 * area + off;
+            if (numPlanes == 1) {
+                for (int x = x0 - winx; x < x1 - winx; x++) {
+                    planes[a + x] = srcPixels[srcoff + x] >>> 24;
+                }
+            } else {
+                for (int x = x0 - winx; x < x1 - winx; x++) {
+                    int argb = srcPixels[srcoff + x];
+                    planes[a + x] = (argb >>> 24);
+                    planes[r + x] = (argb >>  16) & 0xff;
+                    planes[g + x] = (argb >>   8) & 0xff;
+                    planes[b + x] = (argb       ) & 0xff;
+                }
+            }
+        }
+        return planes;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.scenario.effect.impl.sw.java;
+
+import com.sun.scenario.effect.FilterContext;
+import com.sun.scenario.effect.impl.Renderer;
+import com.sun.scenario.effect.impl.sw.StripExecutor;
+
+/**
+ * A {@link JSWLinearConvolveShadowPeer} that convolves the alpha plane of
+ * untransformed passes a whole row at a time, in the same way as the
+ * {@link JSWVLinearConvolvePeer}, and with the same results as the scalar
+ * loops.
+ */
+public class JSWVLinearConvolveShadowPeer extends JSWLinearConvolveShadowPeer {
+
+    public JSWVLinearConvolveShadowPeer(FilterContext fctx, Renderer r, String uniqueName) {
+        super(fctx, r, uniqueName);
+    }
+
+    @Override
+    protected void filterVector(int dstPixels[], int dstw, int dsth, int dstscan,
+                                int srcPixels[], int srcw, int srch, int srcscan,
+                                float weights[], int count,
+                                float srcx0, float srcy0,
+                                float offsetx, float offsety,
+                                float deltax, float deltay,
+                                float dxcol, float dycol, float dxrow, float dyrow)
+    {
+        if (!JSWVLinearConvolvePeer.isUnitGrid(dxcol, dycol, dxrow, dyrow) ||
+            !JSWVLinearConvolvePeer.isExact(srcx0, offsetx, deltax, count, dstw) ||
+            !JSWVLinearConvolvePeer.isExact(srcy0, offsety, deltay, count, dsth))
+        {
+            super.filterVector(dstPixels, dstw, dsth, dstscan,
+                               srcPixels, srcw, srch, srcscan,
+                               weights, count,
+                               srcx0, srcy0, offsetx, offsety,
+                               deltax, deltay,
+                               dxcol, dycol, dxrow, dyrow);
+            return;
+        }
+        float shadowColor[] = getRenderState().getPassShadowColorComponents();
+
+        // the scalar loop reads the pixel the sample falls in
+        float sampx = (srcx0 + (dxrow + dxcol) * 0.5f) + offsetx;
+        float sampy = (srcy0 + (dyrow + dycol) * 0.5f) + offsety;
+        int stepx = (int) deltax;
+        int stepy = (int) deltay;
+        int minx = Math.min(0, (count - 1) * stepx);
+        int miny = Math.min(0, (count - 1) * stepy);
+        int winx = (int) Math.floor(sampx) + minx;
+        int winy = (int) Math.floor(sampy) + miny;
+        int winw = dstw + Math.abs((count - 1) * stepx);
+        int padh = Math.abs((count - 1) * stepy);
+        StripExecutor.run(dsth, (long) dstw * count, (y0, y1) -> {
+            JSWVLinearConvolvePeer.Scratch scratch = JSWVLinearConvolvePeer.Scratch.get();
+            int winh = (y1 - y0) + padh;
+            float a[] = scratch.planes =
+                JSWVLinearConvolvePeer.unpack(scratch.planes, srcPixels, srcw, srch, srcscan,
+                                              winx, winy + y0, winw, winh, 1);
+            float acc[] = scratch.accum(dstw);
+            int dstrow = y0 * dstscan;
+            for (int dy = 0; dy < y1 - y0; dy++) {
+                for (int dx = 0; dx < dstw; dx++) {
+                    acc[dx] = 0f;
+                }
+                for (int i = 0; i < count; i++) {
+                    float wi = weights[i];
+                    int base = (dy + i * stepy - miny) * winw + (i * stepx - minx);
+                    for (int dx = 0; dx < dstw; dx++) {
+                        acc[dx] += a[base + dx] * wi;
+                    }
+                }
+                for (int dx = 0; dx < dstw; dx++) {
+                    float sum = acc[dx];
+                    sum = (sum < 0f) ? 0f : ((sum > 255f) ? 255f : sum);
+                    dstPixels[dstrow + dx] = ((int) (shadowColor[0] * sum) << 16) |
+                                             ((int) (shadowColor[1] * sum) <<  8) |
+                                             ((int) (shadowColor[2] * sum)      ) |
+                                             ((int) (shadowColor[3] * sum) << 24);
+                }
+                dstrow += dstscan;
+            }
+        });
+    }
+}
@@ -62,6 +62,7 @@ import com.sun.javafx.css.StyleCache;
 import com.sun.javafx.css.StyleCacheEntry;
 import com.sun.javafx.css.StyleManager;
 import com.sun.javafx.css.StyleMap;
+import com.sun.javafx.scene.CssFlags;
 import javafx.css.converter.FontConverter;
 import com.sun.javafx.util.Logging;
 import com.sun.javafx.util.Utils;
@@ -186,6 +187,39 @@ final class CssStyleHelper {
         return helper;
     }
 
+    /**
+     * If the StyleManager matches selectors on worker threads, matches them
+     * for the nodes that processCSS is about to reapply styles to, starting
+     * from the given node.
+     */
+    static void prematchStyles(final Node node) {
+        if (StyleManager.isPrematchEnabled() == false) {
+            return;
+        }
+        final List<Node> nodes = new ArrayList<>();
+        collectReapply(node, false, nodes);
+        StyleManager.getInstance().prematchStyles(nodes);
+    }
+
+    private static void collectReapply(final Node node, boolean reapply, final List<Node> nodes) {
+        // reapplyCss recreates the style helpers of the children, too
+        reapply = reapply || node.cssFlag == CssFlags.REAPPLY;
+        if (reapply == false && node.cssFlag == CssFlags.CLEAN) {
+            return;
+        }
+        if (reapply) {
+            nodes.add(node);
+        }
+        if (node instanceof Parent) {
+            final List<Node> children = ((Parent) node).getChildren();
+            for (int n = 0, nMax = children.size(); n < nMax; n++) {
+                collectReapply(children.get(n), reapply, nodes);
+            }
+        } else if (node instanceof SubScene) {
+            collectReapply(((SubScene) node).getRoot(), false, nodes);
+        }
+    }
+
     private static void updateParentTriggerStates(Styleable styleable, int depth, PseudoClassState[] triggerStates) {
         // make sure parent's transition states include the pseudo-classes
         // found when matching selectors
@@ -9631,6 +9631,7 @@ public abstract class Node implements EventTarget, Styleable {
             }
         }
 
+        CssStyleHelper.prematchStyles(topMost);
         topMost.processCSS();
 
     }
@@ -26,8 +26,10 @@
 package javafx.scene;
 
 import com.sun.javafx.scene.traversal.ParentTraversalEngine;
+import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener.Change;
 import javafx.collections.ObservableList;
@@ -287,6 +289,10 @@ public abstract class Parent extends Node {
 
         final NGGroup peer = getPeer();
         peer.setViewOrderChildren(viewOrderChildren);
+
+        if (pickIndex != null) {
+            pickIndex.invalidate();
+        }
     }
 
     // Call this method if children view order is needed for picking.
@@ -318,6 +324,9 @@ public abstract class Parent extends Node {
         protected void onChanged(Change<Node> c) {
             // proceed with updating the scene graph
             unmodifiableManagedChildren = null;
+            if (pickIndex != null) {
+                pickIndex.invalidate();
+            }
             boolean relayout = false;
             boolean viewOrderChildrenDirty = false;
 
@@ -797,8 +806,49 @@ public abstract class Parent extends Node {
         }
     }
 
+    /**
+     * Defines whether picking uses a spatial index of the children of this
+     * {@code Parent} instead of testing every child. The index is kept up to
+     * date as the children and their bounds change, and finds the same node
+     * as testing every child. It is used for parents with many children
+     * picked along the z axis, which is the case for 2D content viewed
+     * through a {@link ParallelCamera}; other picks test every child.
+     * <p>
+     * Enabling the index is worthwhile for a large number of children that
+     * are picked more often than they move, for example the shapes of a
+     * diagram.
+     *
+     * @defaultValue false
+     * @since 12
+     */
+    private BooleanProperty pickIndexed;
+    private PickIndex pickIndex;
+
+    public final void setPickIndexed(boolean value) {
+        pickIndexedProperty().set(value);
+    }
+
+    public final boolean isPickIndexed() {
+        return pickIndexed == null ? false : pickIndexed.get();
+    }
+
+    public final BooleanProperty pickIndexedProperty() {
+        if (pickIndexed == null) {
+            pickIndexed = new SimpleBooleanProperty(this, "pickIndexed") {
+                @Override
+                protected void invalidated() {
+                    pickIndex = get() ? new PickIndex() : null;
+                }
+            };
+        }
+        return pickIndexed;
+    }
+
     boolean pickChildrenNode(PickRay pickRay, PickResultChooser result) {
         List<Node> orderedChildren = getOrderedChildren();
+        if (pickIndex != null && pickIndex.accepts(orderedChildren, pickRay)) {
+            return pickIndex.pickChildren(orderedChildren, pickRay, result);
+        }
         for (int i = orderedChildren.size() - 1; i >= 0; i--) {
             orderedChildren.get(i).pickNode(pickRay, result);
             if (result.isClosed()) {
@@ -1851,6 +1901,10 @@ public abstract class Parent extends Node {
      * Called by Node whenever its bounds have changed.
      */
     void childBoundsChanged(Node node) {
+        if (pickIndex != null) {
+            pickIndex.childChanged(node);
+        }
+
         // See comment above at "currentlyProcessedChild" field
         if (node == currentlyProcessedChild) {
             return;
@@ -1874,6 +1928,10 @@ public abstract class Parent extends Node {
      * Called by node whenever the visibility of the node changes.
      */
     void childVisibilityChanged(Node node) {
+        if (pickIndex != null) {
+            pickIndex.childChanged(node);
+        }
+
         if (node.isVisible()) {
             childIncluded(node);
         } else {
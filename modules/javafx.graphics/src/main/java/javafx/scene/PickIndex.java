@@ -0,0 +1,390 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import com.sun.javafx.geom.BaseBounds;
+import com.sun.javafx.geom.PickRay;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.Vec3d;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.javafx.scene.input.PickResultChooser;
+
+/**
+ * A uniform grid over the bounds in parent of the children of a
+ * {@code Parent}, used to find the children that may be hit by a pick ray
+ * parallel to the z axis without testing every child.
+ * <p>
+ * Each cell holds the positions, in the ordered children list, of the
+ * visible children whose bounds overlap the cell. Children that cover many
+ * cells, or whose bounds are not finite, are kept in a separate list that
+ * is part of every query. The candidates are picked from the front to the
+ * back, so the result is the same as testing every child.
+ * <p>
+ * The grid is built on the first pick after the children list or the view
+ * order changed. Afterwards the children whose bounds or visibility changed
+ * are moved to their new cells on the next pick.
+ */
+final class PickIndex {
+
+    // parents with fewer children test every child
+    static final int MIN_CHILDREN = 64;
+    // children overlapping more cells are tested on every pick
+    private static final int MAX_CELLS_PER_CHILD = 16;
+    private static final int MAX_CELLS_PER_AXIS = 1024;
+
+    // cell ranges of children that are not in any cell
+    private static final int NOT_INDEXED = -1;
+    private static final int LARGE = -2;
+
+    private List<Node> orderedChildren;
+    private int size;
+    private boolean valid;
+    private final IdentityHashMap<Node, Integer> positions = new IdentityHashMap<>();
+
+    private double originX, originY;
+    private double invCellWidth, invCellHeight;
+    private int cols, rows;
+    private int[][] cells;
+    private int[] cellSizes;
+
+    // cell range of each child, minCol is NOT_INDEXED or LARGE if the child
+    // is not in any cell
+    private int[] minCol = new int[0];
+    private int[] minRow = new int[0];
+    private int[] maxCol = new int[0];
+    private int[] maxRow = new int[0];
+
+    private int[] large = new int[8];
+    private int largeSize;
+
+    private int[] dirty = new int[8];
+    private int dirtySize;
+    private boolean[] isDirty = new boolean[0];
+
+    private int[] candidates = new int[16];
+    private BaseBounds tmp = new RectBounds();
+
+    /**
+     * Discards the grid, it is built again on the next pick.
+     */
+    void invalidate() {
+        if (valid) {
+            valid = false;
+            orderedChildren = null;
+            positions.clear();
+        }
+    }
+
+    /**
+     * Called when the bounds in parent or the visibility of a child changed.
+     */
+    void childChanged(Node node) {
+        if (!valid) {
+            return;
+        }
+        final Integer pos = positions.get(node);
+        if (pos == null) {
+            invalidate();
+            return;
+        }
+        final int i = pos;
+        if (!isDirty[i]) {
+            if (dirtySize > size / 4) {
+                // cheaper to start over
+                invalidate();
+                return;
+            }
+            isDirty[i] = true;
+            if (dirtySize == dirty.length) {
+                dirty = Arrays.copyOf(dirty, dirtySize * 2);
+            }
+            dirty[dirtySize++] = i;
+        }
+    }
+
+    /**
+     * Returns true if the ray can be picked with this index.
+     */
+    boolean accepts(List<Node> orderedChildren, PickRay pickRay) {
+        if (orderedChildren.size() < MIN_CHILDREN) {
+            return false;
+        }
+        final Vec3d dir = pickRay.getDirectionNoClone();
+        if (dir.x != 0.0 || dir.y != 0.0) {
+            return false;
+        }
+        final Vec3d origin = pickRay.getOriginNoClone();
+        return !Double.isNaN(origin.x) && !Double.isNaN(origin.y);
+    }
+
+    /**
+     * Picks the children that may be hit by the ray, from the front to the
+     * back, and returns false if the result was closed.
+     */
+    boolean pickChildren(List<Node> orderedChildren, PickRay pickRay,
+                         PickResultChooser result)
+    {
+        update(orderedChildren);
+
+        final Vec3d origin = pickRay.getOriginNoClone();
+        final int cell = col(origin.x) * rows + row(origin.y);
+        final int cellSize = cellSizes[cell];
+        final int n = cellSize + largeSize;
+        if (candidates.length < n) {
+            candidates = new int[Math.max(n, candidates.length * 2)];
+        }
+        final int[] c = candidates;
+        if (cellSize > 0) {
+            System.arraycopy(cells[cell], 0, c, 0, cellSize);
+        }
+        System.arraycopy(large, 0, c, cellSize, largeSize);
+        Arrays.sort(c, 0, n);
+
+        for (int i = n - 1; i >= 0; i--) {
+            orderedChildren.get(c[i]).pickNode(pickRay, result);
+            if (result.isClosed()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void update(List<Node> orderedChildren) {
+        if (!valid || orderedChildren != this.orderedChildren
+                || orderedChildren.size() != size)
+        {
+            build(orderedChildren);
+            return;
+        }
+        // nodes changed while updating are processed on the next pick
+        final int n = dirtySize;
+        dirtySize = 0;
+        for (int j = 0; j < n; j++) {
+            final int i = dirty[j];
+            isDirty[i] = false;
+            remove(i);
+            insert(i, orderedChildren.get(i));
+        }
+    }
+
+    private void build(List<Node> orderedChildren) {
+        final int n = orderedChildren.size();
+        this.orderedChildren = orderedChildren;
+        size = n;
+        valid = true;
+        positions.clear();
+        if (minCol.length < n) {
+            minCol = new int[n];
+            minRow = new int[n];
+            maxCol = new int[n];
+            maxRow = new int[n];
+            isDirty = new boolean[n];
+        } else {
+            Arrays.fill(isDirty, false);
+        }
+        dirtySize = 0;
+        largeSize = 0;
+
+        // the grid covers the finite bounds of the visible children
+        double x0 = Double.POSITIVE_INFINITY;
+        double y0 = Double.POSITIVE_INFINITY;
+        double x1 = Double.NEGATIVE_INFINITY;
+        double y1 = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            final Node node = orderedChildren.get(i);
+            positions.put(node, i);
+            if (node.isVisible()) {
+                tmp = node.getTransformedBounds(tmp, BaseTransform.IDENTITY_TRANSFORM);
+                if (!tmp.isEmpty()) {
+                    x0 = min(x0, tmp.getMinX());
+                    y0 = min(y0, tmp.getMinY());
+                    x1 = max(x1, tmp.getMaxX());
+                    y1 = max(y1, tmp.getMaxY());
+                }
+            }
+        }
+        if (!(x1 >= x0)) {
+            x0 = x1 = 0.0;
+        }
+        if (!(y1 >= y0)) {
+            y0 = y1 = 0.0;
+        }
+        final double w = x1 - x0;
+        final double h = y1 - y0;
+
+        // about two children per cell
+        final double target = Math.max(1, n / 2);
+        if (w > 0.0 && h > 0.0) {
+            cols = clamp((int) Math.round(Math.sqrt(target * w / h)));
+            rows = clamp((int) Math.round(target / cols));
+        } else if (w > 0.0) {
+            cols = clamp((int) target);
+            rows = 1;
+        } else if (h > 0.0) {
+            cols = 1;
+            rows = clamp((int) target);
+        } else {
+            cols = rows = 1;
+        }
+        originX = x0;
+        originY = y0;
+        invCellWidth = (w > 0.0) ? cols / w : 0.0;
+        invCellHeight = (h > 0.0) ? rows / h : 0.0;
+
+        final int cellCount = cols * rows;
+        if (cells == null || cells.length < cellCount) {
+            cells = new int[cellCount][];
+            cellSizes = new int[cellCount];
+        } else {
+            Arrays.fill(cellSizes, 0);
+        }
+        for (int i = 0; i < n; i++) {
+            insert(i, orderedChildren.get(i));
+        }
+    }
+
+    private void insert(int i, Node node) {
+        if (!node.isVisible()) {
+            minCol[i] = NOT_INDEXED;
+            return;
+        }
+        tmp = node.getTransformedBounds(tmp, BaseTransform.IDENTITY_TRANSFORM);
+        final float x0 = tmp.getMinX();
+        final float y0 = tmp.getMinY();
+        final float x1 = tmp.getMaxX();
+        final float y1 = tmp.getMaxY();
+        if (x0 != x0 || y0 != y0 || x1 != x1 || y1 != y1) {
+            // NaN bounds do not reject any ray
+            addLarge(i);
+            return;
+        }
+        if (x1 < x0 || y1 < y0) {
+            minCol[i] = NOT_INDEXED;
+            return;
+        }
+        // the child tests the ray in its local space, so allow for rounding
+        final int c0 = col(x0 - pad(x0));
+        final int c1 = col(x1 + pad(x1));
+        final int r0 = row(y0 - pad(y0));
+        final int r1 = row(y1 + pad(y1));
+        if ((c1 - c0 + 1) * (r1 - r0 + 1) > MAX_CELLS_PER_CHILD) {
+            addLarge(i);
+            return;
+        }
+        minCol[i] = c0;
+        minRow[i] = r0;
+        maxCol[i] = c1;
+        maxRow[i] = r1;
+        for (int c = c0; c <= c1; c++) {
+            for (int r = r0; r <= r1; r++) {
+                final int cell = c * rows + r;
+                int[] items = cells[cell];
+                final int cellSize = cellSizes[cell];
+                if (items == null) {
+                    items = cells[cell] = new int[4];
+                } else if (cellSize == items.length) {
+                    items = cells[cell] = Arrays.copyOf(items, cellSize * 2);
+                }
+                items[cellSize] = i;
+                cellSizes[cell] = cellSize + 1;
+            }
+        }
+    }
+
+    private void remove(int i) {
+        final int c0 = minCol[i];
+        if (c0 == NOT_INDEXED) {
+            return;
+        }
+        if (c0 == LARGE) {
+            for (int j = 0; j < largeSize; j++) {
+                if (large[j] == i) {
+                    large[j] = large[--largeSize];
+                    break;
+                }
+            }
+            return;
+        }
+        for (int c = c0, c1 = maxCol[i]; c <= c1; c++) {
+            for (int r = minRow[i], r1 = maxRow[i]; r <= r1; r++) {
+                final int cell = c * rows + r;
+                final int[] items = cells[cell];
+                final int cellSize = cellSizes[cell];
+                for (int j = 0; j < cellSize; j++) {
+                    if (items[j] == i) {
+                        items[j] = items[cellSize - 1];
+                        cellSizes[cell] = cellSize - 1;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private void addLarge(int i) {
+        minCol[i] = LARGE;
+        if (largeSize == large.length) {
+            large = Arrays.copyOf(large, largeSize * 2);
+        }
+        large[largeSize++] = i;
+    }
+
+    private int col(double x) {
+        return cellIndex((x - originX) * invCellWidth, cols);
+    }
+
+    private int row(double y) {
+        return cellIndex((y - originY) * invCellHeight, rows);
+    }
+
+    // coordinates outside of the grid go to the border cells
+    private static int cellIndex(double v, int count) {
+        if (!(v > 0.0)) {
+            return 0;
+        }
+        return (v >= count) ? count - 1 : (int) v;
+    }
+
+    private static double pad(float v) {
+        return (Math.abs(v) + 1.0) * 1e-5;
+    }
+
+    private static int clamp(int count) {
+        return Math.max(1, Math.min(count, MAX_CELLS_PER_AXIS));
+    }
+
+    // ignores infinite bounds, they are clamped to the border cells
+    private static double min(double v, float f) {
+        return (f == Float.NEGATIVE_INFINITY) ? v : Math.min(v, f);
+    }
+
+    private static double max(double v, float f) {
+        return (f == Float.POSITIVE_INFINITY) ? v : Math.max(v, f);
+    }
+}
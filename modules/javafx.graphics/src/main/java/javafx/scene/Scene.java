@@ -89,7 +89,9 @@ import java.security.PrivilegedAction;
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
 
+import com.sun.javafx.logging.PulseCounter;
 import com.sun.javafx.logging.PulseLogger;
+import com.sun.javafx.logging.PulsePhase;
 
 import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
 import com.sun.javafx.scene.NodeHelper;
@@ -566,6 +568,7 @@ public class Scene implements EventTarget {
             // The cssFlag is set to clean in either Node.processCSS or
             // NodeHelper.processCSS
             sceneRoot.clearDirty(com.sun.javafx.scene.DirtyBits.NODE_CSS);
+            CssStyleHelper.prematchStyles(sceneRoot);
             sceneRoot.processCSS();
         }
     }
@@ -2372,14 +2375,16 @@ public class Scene implements EventTarget {
             // if dirtyNodes is null then that means this Scene has not yet been
             // synchronized, and so we will simply synchronize every node in the
             // scene and then create the dirty nodes array list
+            final int synchronizedNodes;
             if (Scene.this.dirtyNodes == null) {
                 // must do this recursively
-                syncAll(getRoot());
+                synchronizedNodes = syncAll(getRoot());
                 dirtyNodes = new Node[MIN_DIRTY_CAPACITY];
 
             } else {
                 // This is not the first time this scene has been synchronized,
                 // so we will only synchronize those nodes that need it
+                synchronizedNodes = dirtyNodesSize;
                 for (int i = 0 ; i < dirtyNodesSize; ++i) {
                     Node node = dirtyNodes[i];
                     dirtyNodes[i] = null;
@@ -2390,6 +2395,10 @@ public class Scene implements EventTarget {
                 dirtyNodesSize = 0;
             }
 
+            if (PULSE_LOGGING_ENABLED) {
+                PulseLogger.incrementCounter(PulseCounter.DIRTY_NODES, synchronizedNodes);
+            }
+
             Scene.inSynchronizer = false;
         }
 
@@ -2493,12 +2502,12 @@ public class Scene implements EventTarget {
             }
 
             if (PULSE_LOGGING_ENABLED) {
-                PulseLogger.newPhase("CSS Pass");
+                PulseLogger.newPhase(PulsePhase.CSS, "CSS Pass");
             }
             Scene.this.doCSSPass();
 
             if (PULSE_LOGGING_ENABLED) {
-                PulseLogger.newPhase("Layout Pass");
+                PulseLogger.newPhase(PulsePhase.LAYOUT, "Layout Pass");
             }
             Scene.this.doLayoutPass();
 
@@ -2513,19 +2522,19 @@ public class Scene implements EventTarget {
             boolean dirty = dirtyNodes == null || dirtyNodesSize != 0 || !isDirtyEmpty();
             if (dirty) {
                 if (PULSE_LOGGING_ENABLED) {
-                    PulseLogger.newPhase("Update bounds");
+                    PulseLogger.newPhase(PulsePhase.SYNC, "Update bounds");
                 }
                 getRoot().updateBounds();
                 if (peer != null) {
                     try {
                         if (PULSE_LOGGING_ENABLED) {
-                            PulseLogger.newPhase("Waiting for previous rendering");
+                            PulseLogger.newPhase(PulsePhase.SYNC, "Waiting for previous rendering");
                         }
                         peer.waitForRenderingToComplete();
                         peer.waitForSynchronization();
                         // synchronize scene properties
                         if (PULSE_LOGGING_ENABLED) {
-                            PulseLogger.newPhase("Copy state to render graph");
+                            PulseLogger.newPhase(PulsePhase.SYNC, "Copy state to render graph");
                         }
                         syncLights();
                         synchronizeSceneProperties();
@@ -2539,7 +2548,7 @@ public class Scene implements EventTarget {
                     }
                 } else {
                     if (PULSE_LOGGING_ENABLED) {
-                        PulseLogger.newPhase("Synchronize with null peer");
+                        PulseLogger.newPhase(PulsePhase.SYNC, "Synchronize with null peer");
                     }
                     synchronizeSceneNodes();
                     Scene.this.mouseHandler.pulse();
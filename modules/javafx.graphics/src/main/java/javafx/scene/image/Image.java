@@ -33,8 +33,10 @@ import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
 import java.util.LinkedList;
+import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
 import java.util.regex.Pattern;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
@@ -47,8 +49,10 @@ import javafx.beans.property.ReadOnlyDoubleWrapper;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.ReadOnlyObjectPropertyBase;
 import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.paint.Color;
 import javafx.util.Duration;
+import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.runtime.async.AsyncOperation;
 import com.sun.javafx.runtime.async.AsyncOperationListener;
 import com.sun.javafx.tk.ImageLoader;
@@ -553,6 +557,19 @@ public class Image {
         platformImagePropertyImpl().fireValueChangedEvent();
     }
 
+    void bufferDirty(Rectangle2D rect) {
+        Rectangle dirty = null;
+        if (rect != null) {
+            final int x0 = (int) Math.floor(rect.getMinX());
+            final int y0 = (int) Math.floor(rect.getMinY());
+            final int x1 = (int) Math.ceil(rect.getMaxX());
+            final int y1 = (int) Math.ceil(rect.getMaxY());
+            dirty = new Rectangle(x0, y0, x1 - x0, y1 - y0);
+        }
+        platformImage.get().bufferDirty(dirty);
+        pixelsDirty();
+    }
+
     private final class ObjectPropertyImpl<T>
             extends ReadOnlyObjectPropertyBase<T> {
         private final String name;
@@ -690,6 +707,46 @@ public class Image {
         initialize(null);
     }
 
+    /**
+     * Construct a new {@code Image} with the specified parameters, which is
+     * loaded in the background on the given executor.
+     * <p>
+     * At most a few images are loaded at the same time on the background
+     * threads of the toolkit, the others wait for their turn. Images loaded
+     * on an executor do not take part in that throttling, the executor decides
+     * how many images are loaded and decoded in parallel. For instance, a
+     * fixed thread pool with one thread per processor keeps all the cores
+     * busy when a large number of thumbnails are loaded, while bounding the
+     * memory used by the images being decoded.
+     *
+     * @param url the string representing the URL to use in fetching the pixel
+     *      data
+     * @param requestedWidth the image's bounding box width
+     * @param requestedHeight the image's bounding box height
+     * @param preserveRatio indicates whether to preserve the aspect ratio of
+     *      the original image when scaling to fit the image within the
+     *      specified bounding box
+     * @param smooth indicates whether to use a better quality filtering
+     *      algorithm or a faster one when scaling this image to fit within
+     *      the specified bounding box
+     * @param executor the executor on which the image is loaded and decoded
+     * @throws NullPointerException if URL or executor is null
+     * @throws IllegalArgumentException if URL is invalid or unsupported
+     * @since 12
+     */
+    public Image(
+            @NamedArg(value="url", defaultValue="\"\"") String url,
+            @NamedArg("requestedWidth") double requestedWidth,
+            @NamedArg("requestedHeight") double requestedHeight,
+            @NamedArg("preserveRatio") boolean preserveRatio,
+            @NamedArg(value="smooth", defaultValue="true") boolean smooth,
+            @NamedArg("executor") Executor executor) {
+        this(validateUrl(url), null, requestedWidth, requestedHeight,
+             preserveRatio, smooth, true,
+             Objects.requireNonNull(executor, "executor must not be null"));
+        initialize(null);
+    }
+
     /**
      * Construct an {@code Image} with content loaded from the specified
      * input stream.
@@ -744,10 +801,31 @@ public class Image {
         initialize(externalImage);
     }
 
+    /**
+     * Package private internal constructor used only by {@link WritableImage}.
+     * The image shares the buffer of the {@code PixelBuffer}.
+     *
+     * @param pixelBuffer the {@code PixelBuffer} used to construct this image
+     */
+    Image(PixelBuffer<? extends Buffer> pixelBuffer) {
+        this(null, null, pixelBuffer.getWidth(), pixelBuffer.getHeight(),
+             false, false, false);
+        initialize(pixelBuffer);
+        pixelBuffer.addImage(this);
+    }
+
     private Image(String url, InputStream is,
                   double requestedWidth, double requestedHeight,
                   boolean preserveRatio, boolean smooth,
                   boolean backgroundLoading) {
+        this(url, is, requestedWidth, requestedHeight,
+             preserveRatio, smooth, backgroundLoading, null);
+    }
+
+    private Image(String url, InputStream is,
+                  double requestedWidth, double requestedHeight,
+                  boolean preserveRatio, boolean smooth,
+                  boolean backgroundLoading, Executor executor) {
         this.url = url;
         this.inputSource = is;
         this.requestedWidth = requestedWidth;
@@ -755,6 +833,7 @@ public class Image {
         this.preserveRatio = preserveRatio;
         this.smooth = smooth;
         this.backgroundLoading = backgroundLoading;
+        this.executor = executor;
     }
 
     /**
@@ -779,6 +858,9 @@ public class Image {
         }
     }
 
+    // the executor of the background loading, or null for the toolkit's one
+    private final Executor executor;
+
     private ImageTask backgroundTask;
 
     private void initialize(Object externalImage) {
@@ -913,6 +995,10 @@ public class Image {
     }
 
     private void cycleTasks() {
+        if (executor != null) {
+            // not throttled
+            return;
+        }
         synchronized (pendingTasks) {
             runningTasks--;
             // do we have any pending tasks to run ?
@@ -928,6 +1014,11 @@ public class Image {
 
     private void loadInBackground() {
         backgroundTask = new ImageTask();
+        if (executor != null) {
+            // the executor bounds the number of images loaded in parallel
+            backgroundTask.start();
+            return;
+        }
         // This is an artificial throttle on background image loading tasks.
         // It has been shown that with large images, we can quickly use up the
         // heap loading images, even if they result in thumbnails.
@@ -1042,7 +1133,7 @@ public class Image {
         private AsyncOperation constructPeer() {
             return loadImageAsync(this, url,
                                   requestedWidth, requestedHeight,
-                                  preserveRatio, smooth);
+                                  preserveRatio, smooth, executor);
         }
     }
 
@@ -1065,10 +1156,11 @@ public class Image {
     private static AsyncOperation loadImageAsync(
             AsyncOperationListener<? extends ImageLoader> listener,
             String url, double width, double height,
-            boolean preserveRatio, boolean smooth) {
+            boolean preserveRatio, boolean smooth, Executor executor) {
         return Toolkit.getToolkit().loadImageAsync(listener, url,
                                                    width, height,
-                                                   preserveRatio, smooth);
+                                                   preserveRatio, smooth,
+                                                   executor);
     }
 
     private static ImageLoader loadPlatformImage(Object platformImage) {
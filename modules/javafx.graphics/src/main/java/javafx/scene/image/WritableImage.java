@@ -35,6 +35,7 @@ import javafx.scene.paint.Color;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
+import java.util.Objects;
 
 /**
  * The {@code WritableImage} class represents a custom graphical image
@@ -59,6 +60,9 @@ public class WritableImage extends Image {
 
     private ImageLoader tkImageLoader;
 
+    // the PixelBuffer this image shares its pixels with, if any
+    private final PixelBuffer<? extends Buffer> pixelBuffer;
+
     /**
      * Construct an empty image of the specified dimensions.
      * The image will initially be filled with transparent pixels.
@@ -73,6 +77,28 @@ public class WritableImage extends Image {
      */
     public WritableImage(@NamedArg("width") int width, @NamedArg("height") int height) {
         super(width, height);
+        pixelBuffer = null;
+    }
+
+    /**
+     * Constructs a {@code WritableImage} using the specified {@code PixelBuffer}.
+     * The {@code Buffer} provided by the {@code PixelBuffer} is used directly
+     * as the pixel data for this image, without copying it.
+     * Any change made by the application to the {@code Buffer} in
+     * {@link PixelBuffer#updateBuffer(javafx.util.Callback) updateBuffer} is
+     * reflected in this image, and only the dirty region reported by the
+     * callback is uploaded again to the graphics card.
+     * Images constructed this way are readable using
+     * {@code Image.getPixelReader()}, but they are not writable using
+     * {@code WritableImage.getPixelWriter()}.
+     *
+     * @param pixelBuffer the {@code PixelBuffer} used to construct this image
+     * @throws NullPointerException if {@code pixelBuffer} is {@code null}
+     * @since 12
+     */
+    public WritableImage(@NamedArg("pixelBuffer") PixelBuffer<? extends Buffer> pixelBuffer) {
+        super(Objects.requireNonNull(pixelBuffer, "pixelBuffer must not be null."));
+        this.pixelBuffer = pixelBuffer;
     }
 
     /**
@@ -99,6 +125,7 @@ public class WritableImage extends Image {
      */
     public WritableImage(@NamedArg("reader") PixelReader reader, @NamedArg("width") int width, @NamedArg("height") int height) {
         super(width, height);
+        pixelBuffer = null;
         getPixelWriter().setPixels(0, 0, width, height, reader, 0, 0);
     }
 
@@ -132,6 +159,7 @@ public class WritableImage extends Image {
                          @NamedArg("x") int x, @NamedArg("y") int y, @NamedArg("width") int width, @NamedArg("height") int height)
     {
         super(width, height);
+        pixelBuffer = null;
         getPixelWriter().setPixels(0, 0, width, height, reader, x, y);
     }
 
@@ -151,8 +179,14 @@ public class WritableImage extends Image {
      * write the pixels of the image.
      *
      * @return the {@code PixelWriter} for writing pixels to the image
+     * @throws UnsupportedOperationException if this image was created using
+     *         a {@code PixelBuffer}
      */
     public final PixelWriter getPixelWriter() {
+        if (pixelBuffer != null) {
+            throw new UnsupportedOperationException(
+                "PixelWriter is not supported with PixelBuffer, use PixelBuffer.updateBuffer");
+        }
         if (getProgress() < 1.0 || isError()) {
             return null;
         }
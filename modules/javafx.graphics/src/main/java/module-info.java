@@ -35,6 +35,7 @@
  */
 module javafx.graphics {
     requires java.desktop;
+    requires static java.management;
     requires java.xml;
     requires jdk.unsupported;
 
@@ -131,6 +132,8 @@ module javafx.graphics {
         javafx.media,
         javafx.swing,
         javafx.web;
+    exports com.sun.marlin to
+        java.management;
     exports com.sun.prism to
         javafx.media,
         javafx.web;
@@ -138,6 +141,8 @@ module javafx.graphics {
         javafx.web;
     exports com.sun.prism.paint to
         javafx.web;
+    exports com.sun.scenario.animation to
+        java.management;
     exports com.sun.scenario.effect to
         javafx.web;
     exports com.sun.scenario.effect.impl to
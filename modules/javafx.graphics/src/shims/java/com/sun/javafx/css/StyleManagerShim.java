@@ -10,6 +10,7 @@ import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.SubScene;
+import javafx.scene.image.Image;
 
 
 
@@ -62,6 +63,16 @@ public class StyleManagerShim {
         sm.cacheContainerMap.clear();
     }
 
+    public WeightedLruCache<String, Image> getImageCache() {
+        return sm.getImageCache();
+    }
+
+    public WeightedLruCache<StyleCache.Key, StyleCache> getStyleCache(
+            Styleable styleable, SubScene subScene) {
+        StyleManager.CacheContainer cc = sm.getCacheContainer(styleable, subScene);
+        return cc != null ? cc.getStyleCache() : null;
+    }
+
     public int platformUserAgentStylesheetContainers_indexOf(String fname) {
         return indexOf(sm.platformUserAgentStylesheetContainers, fname);
     }
@@ -161,6 +172,10 @@ public class StyleManagerShim {
         return sm.findMatchingStyles(node, subScene, triggerStates);
     }
 
+    public int prematchStyles(List<Node> nodes, int threads) {
+        return sm.prematchStyles(nodes, threads);
+    }
+
     public boolean stylesheetContainerMap_containsKey(String k) {
         return sm.stylesheetContainerMap.containsKey(k);
     }
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.sg.prism;
+
+public class LayerManagerShim {
+
+    private final LayerManager manager;
+
+    public LayerManagerShim(int pulses, long maxSize) {
+        manager = new LayerManager(pulses, maxSize);
+    }
+
+    public void beginFrame() {
+        manager.beginFrame();
+    }
+
+    public boolean visit(NGNode node) {
+        return manager.visit(node);
+    }
+
+    public boolean promote(NGNode node, long size, long limit) {
+        return manager.promote(node, size, limit);
+    }
+
+    public void rendered(NGNode node, boolean rebuilt) {
+        manager.rendered(node, rebuilt);
+    }
+
+    public int getLayerCount() {
+        return manager.getLayerCount();
+    }
+
+    public long getSize() {
+        return manager.getSize();
+    }
+
+    public static boolean isAutoCached(NGNode node) {
+        return node.layer != null && node.layer.cached;
+    }
+}
@@ -48,7 +48,7 @@ public abstract class NGNodeShim extends NGNode {
         return node.computeOpaqueRegion(opaqueRegion);
     }
 
-    public static int cullingBits(NGNode node) {
+    public static long cullingBits(NGNode node) {
         return node.cullingBits;
     }
 
@@ -67,7 +67,7 @@ public abstract class NGNodeShim extends NGNode {
     public static void markCullRegions(
             NGNode node,
             DirtyRegionContainer drc,
-            int cullingRegionsBitsOfParent,
+            long cullingRegionsBitsOfParent,
             BaseTransform tx,
             GeneralTransform3D pvTx) {
         node.markCullRegions(drc, cullingRegionsBitsOfParent, tx, pvTx);
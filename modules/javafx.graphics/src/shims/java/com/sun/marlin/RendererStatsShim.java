@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.marlin;
+
+import javax.management.ObjectName;
+
+public class RendererStatsShim {
+
+    public static RendererStatsMBean newRendererStats(Object parent, String name) {
+        return RendererStats.createInstance(parent, name).getBean();
+    }
+
+    public static void addEdges(RendererStatsMBean stats, long edges) {
+        ((RendererStatsBean) stats).stats.stat_rdr_edges_count.add(edges);
+    }
+
+    public static ObjectName getObjectName(RendererStatsMBean stats) {
+        return ((RendererStatsBean) stats).getObjectName();
+    }
+
+    public static void unregister(RendererStatsMBean stats) {
+        ((RendererStatsBean) stats).stats.unregister();
+    }
+
+    public static long getEdgesCapacity(DRendererContext rdrCtx) {
+        return rdrCtx.rdrMem.edges.length;
+    }
+
+    public static long getInitialEdgesCapacity() {
+        return MarlinConst.INITIAL_EDGES_CAPACITY;
+    }
+
+    public static long getRetainedEdgesCapacity() {
+        return MarlinConst.RETAINED_EDGES_CAPACITY;
+    }
+}
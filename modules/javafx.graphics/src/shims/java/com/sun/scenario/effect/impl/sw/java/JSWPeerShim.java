@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.scenario.effect.impl.sw.java;
+
+public class JSWPeerShim {
+
+    public static void filterVector(JSWLinearConvolvePeer peer,
+                                    int dstPixels[], int dstw, int dsth, int dstscan,
+                                    int srcPixels[], int srcw, int srch, int srcscan,
+                                    float weights[], int count,
+                                    float srcx0, float srcy0,
+                                    float offsetx, float offsety,
+                                    float deltax, float deltay,
+                                    float dxcol, float dycol, float dxrow, float dyrow)
+    {
+        peer.filterVector(dstPixels, dstw, dsth, dstscan,
+                          srcPixels, srcw, srch, srcscan,
+                          weights, count, srcx0, srcy0, offsetx, offsety,
+                          deltax, deltay, dxcol, dycol, dxrow, dyrow);
+    }
+
+    public static void filterVertical(JSWBoxBlurPeer peer,
+                                      int dstPixels[], int dstw, int dsth, int dstscan,
+                                      int srcPixels[], int srcw, int srch, int srcscan)
+    {
+        peer.filterVertical(dstPixels, dstw, dsth, dstscan,
+                            srcPixels, srcw, srch, srcscan);
+    }
+
+    public static void filterVerticalBlack(JSWBoxShadowPeer peer,
+                                           int dstPixels[], int dstw, int dsth, int dstscan,
+                                           int srcPixels[], int srcw, int srch, int srcscan,
+                                           float spread)
+    {
+        peer.filterVerticalBlack(dstPixels, dstw, dsth, dstscan,
+                                 srcPixels, srcw, srch, srcscan, spread);
+    }
+
+    public static void filterVertical(JSWBoxShadowPeer peer,
+                                      int dstPixels[], int dstw, int dsth, int dstscan,
+                                      int srcPixels[], int srcw, int srch, int srcscan,
+                                      float spread, float shadowColor[])
+    {
+        peer.filterVertical(dstPixels, dstw, dsth, dstscan,
+                            srcPixels, srcw, srch, srcscan, spread, shadowColor);
+    }
+}
@@ -26,14 +26,19 @@
 package test.com.sun.javafx.css;
 
 import com.sun.javafx.css.CascadingStyle;
+import com.sun.javafx.css.PseudoClassState;
+import com.sun.javafx.css.StyleCache;
 import com.sun.javafx.css.StyleManager;
 import com.sun.javafx.css.StyleManagerShim;
 import com.sun.javafx.css.StyleMap;
+import com.sun.javafx.css.WeightedLruCache;
 import javafx.css.CssParser;
+import javafx.css.PseudoClass;
 import javafx.css.StyleOrigin;
 import javafx.css.StyleableProperty;
 import javafx.css.Stylesheet;
 import javafx.scene.Group;
+import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.SubScene;
@@ -968,6 +973,24 @@ public class StyleManagerTest {
 
     }
 
+    @Test
+    public void testSharedStyleCacheIsWeighed() {
+
+        Rectangle rect = new Rectangle();
+        rect.setStyle("-fx-fill: red;");
+        Group root = new Group(rect);
+        Scene scene = new Scene(root);
+        root.applyCss();
+
+        StyleManagerShim sm = StyleManagerShim.getInstance();
+        WeightedLruCache<StyleCache.Key, StyleCache> styleCache = sm.getStyleCache(rect, null);
+        assertNotNull(styleCache);
+        assertFalse(styleCache.isEmpty());
+        assertTrue(styleCache.getWeight() > 0);
+        assertTrue(styleCache.getWeight() <= styleCache.getMaxWeight());
+        assertEquals(0, styleCache.getEvictionCount());
+    }
+
     @Test
     public void test_setUserAgentStylesheets() {
 
@@ -1061,6 +1084,99 @@ public class StyleManagerTest {
 
     }
 
+    @Test
+    public void testSelectorsMatchedByAncestry() {
+        Rectangle rect0 = new Rectangle();
+        rect0.getStyleClass().add("x");
+        Rectangle rect1 = new Rectangle();
+        rect1.getStyleClass().add("x");
+        Pane pane0 = new Pane(rect0);
+        pane0.getStyleClass().add("a");
+        Pane pane1 = new Pane(rect1);
+        pane1.getStyleClass().add("b");
+
+        Scene scene = new Scene(new Group(pane0, pane1));
+        scene.getStylesheets().add("/test/com/sun/javafx/css/ancestry.css");
+        scene.getRoot().applyCss();
+
+        assertEquals(Color.RED, rect0.getFill());
+        assertEquals(Color.BLUE, rect1.getFill());
+
+        pane1.getStyleClass().setAll("a");
+        scene.getRoot().applyCss();
+
+        assertEquals(Color.RED, rect0.getFill());
+        assertEquals(Color.RED, rect1.getFill());
+    }
+
+    @Test
+    public void testNodesWithSameAncestryShareStyleMap() {
+        Rectangle rect0 = new Rectangle();
+        rect0.getStyleClass().add("x");
+        Rectangle rect1 = new Rectangle();
+        rect1.getStyleClass().add("x");
+        Rectangle rect2 = new Rectangle();
+        rect2.getStyleClass().add("x");
+        Pane pane0 = new Pane(rect0);
+        pane0.getStyleClass().add("a");
+        Pane pane1 = new Pane(rect1);
+        pane1.getStyleClass().add("a");
+        Pane pane2 = new Pane(rect2);
+        pane2.getStyleClass().add("b");
+
+        Scene scene = new Scene(new Group(pane0, pane1, pane2));
+        scene.getStylesheets().add("/test/com/sun/javafx/css/ancestry.css");
+
+        StyleManagerShim sm = StyleManagerShim.getInstance();
+        PseudoClassState[] states0 = new PseudoClassState[3];
+        StyleMap map0 = sm.findMatchingStyles(rect0, null, states0);
+        PseudoClassState[] states1 = new PseudoClassState[3];
+        StyleMap map1 = sm.findMatchingStyles(rect1, null, states1);
+        PseudoClassState[] states2 = new PseudoClassState[3];
+        StyleMap map2 = sm.findMatchingStyles(rect2, null, states2);
+
+        assertSame(map0, map1);
+        assertNotSame(map0, map2);
+
+        // the pseudo-classes of the ancestors are reported for each node
+        PseudoClass hover = PseudoClass.getPseudoClass("hover");
+        assertTrue(states0[1].contains(hover));
+        assertTrue(states1[1].contains(hover));
+        assertTrue(states2[1] == null || !states2[1].contains(hover));
+    }
+
+    @Test
+    public void testPrematchedStyles() {
+        Group root = new Group();
+        List<Node> nodes = new ArrayList<>();
+        for (int n = 0; n < 100; n++) {
+            Rectangle rect = new Rectangle();
+            rect.getStyleClass().add("x");
+            Pane pane = new Pane(rect);
+            pane.setId("p" + n);
+            pane.getStyleClass().add(n % 2 == 0 ? "a" : "b");
+            root.getChildren().add(pane);
+            nodes.add(pane);
+            nodes.add(rect);
+        }
+
+        Scene scene = new Scene(root);
+        scene.getStylesheets().add("/test/com/sun/javafx/css/ancestry.css");
+
+        // the ids make a signature for each rectangle, and the panes
+        // have no selectors to match
+        StyleManagerShim sm = StyleManagerShim.getInstance();
+        assertEquals(100, sm.prematchStyles(nodes, 2));
+        assertEquals(0, sm.prematchStyles(nodes, 2));
+
+        root.applyCss();
+
+        for (int n = 0; n < 100; n++) {
+            Rectangle rect = (Rectangle) nodes.get(2 * n + 1);
+            assertEquals(n % 2 == 0 ? Color.RED : Color.BLUE, rect.getFill());
+        }
+    }
+
     @Test
     public void testConcurrentAccess() {
         final int NUM_THREADS = 10;
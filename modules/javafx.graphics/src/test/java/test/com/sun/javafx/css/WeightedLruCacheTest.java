@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.css;
+
+import com.sun.javafx.css.WeightedLruCache;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class WeightedLruCacheTest {
+
+    private static WeightedLruCache<String, String> lengthWeighted(long maxWeight) {
+        return new WeightedLruCache<>(maxWeight, (k, v) -> v.length());
+    }
+
+    @Test
+    public void testHitsAndMisses() {
+        WeightedLruCache<String, String> cache = lengthWeighted(100);
+        assertNull(cache.get("a"));
+        cache.put("a", "aaa");
+        assertEquals("aaa", cache.get("a"));
+        assertEquals("aaa", cache.get("a"));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(3, cache.getWeight());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        WeightedLruCache<String, String> cache = lengthWeighted(10);
+        cache.put("a", "aaaa");
+        cache.put("b", "bbbb");
+        cache.get("a");
+        cache.put("c", "cccc");
+        assertTrue(cache.containsKey("a"));
+        assertFalse(cache.containsKey("b"));
+        assertTrue(cache.containsKey("c"));
+        assertEquals(8, cache.getWeight());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(4, cache.getEvictedWeight());
+    }
+
+    @Test
+    public void testReplaceUpdatesWeight() {
+        WeightedLruCache<String, String> cache = lengthWeighted(10);
+        cache.put("a", "aaaa");
+        cache.put("a", "aa");
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.getWeight());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testOversizedEntryIsKept() {
+        WeightedLruCache<String, String> cache = lengthWeighted(5);
+        cache.put("a", "aa");
+        cache.put("b", "bbbbbbbb");
+        assertFalse(cache.containsKey("a"));
+        assertEquals("bbbbbbbb", cache.get("b"));
+        assertEquals(8, cache.getWeight());
+    }
+
+    @Test
+    public void testEntriesAreReweighedOnAccess() {
+        WeightedLruCache<String, StringBuilder> cache =
+                new WeightedLruCache<>(10, (k, v) -> v.length());
+        StringBuilder a = new StringBuilder("aa");
+        cache.put("a", a);
+        cache.put("b", new StringBuilder("bb"));
+        assertEquals(4, cache.getWeight());
+        a.append("aaaaaaa");
+        assertSame(a, cache.get("a"));
+        // "a" now weighs 9, "b" has to go
+        assertFalse(cache.containsKey("b"));
+        assertEquals(9, cache.getWeight());
+    }
+
+    @Test
+    public void testRemoveIf() {
+        WeightedLruCache<String, String> cache = lengthWeighted(100);
+        cache.put("x/1", "a");
+        cache.put("x/2", "bb");
+        cache.put("y/1", "ccc");
+        cache.removeIf((k, v) -> k.startsWith("x/"));
+        assertEquals(1, cache.size());
+        assertEquals(3, cache.getWeight());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testClear() {
+        WeightedLruCache<String, String> cache = lengthWeighted(100);
+        cache.put("a", "aaa");
+        cache.clear();
+        assertTrue(cache.isEmpty());
+        assertEquals(0, cache.getWeight());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testPutNull() {
+        lengthWeighted(100).put("a", null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeMaxWeight() {
+        lengthWeighted(-1);
+    }
+}
@@ -191,6 +191,78 @@ public class DirtyRegionContainerTest {
         Assert.assertEquals(new RectBounds(0, 0, 50, 50), drc.getDirtyRegion(2));
     }
 
+    @Test
+    public void test_addDirtyRegion_no_cost_keeps_disjoint_regions() {
+        DirtyRegionContainer drc = new DirtyRegionContainer(4);
+        drc.addDirtyRegion(new RectBounds(0, 0, 10, 10));
+        drc.addDirtyRegion(new RectBounds(12, 0, 22, 10));
+
+        Assert.assertEquals(2, drc.size());
+    }
+
+    @Test
+    public void test_addDirtyRegion_cost_merges_close_regions() {
+        DirtyRegionContainer drc = new DirtyRegionContainer(4, 100);
+        drc.addDirtyRegion(new RectBounds(0, 0, 10, 10));
+        drc.addDirtyRegion(new RectBounds(12, 0, 22, 10));
+
+        // the union adds 20 pixels, less than the cost of one more region
+        Assert.assertEquals(1, drc.size());
+        Assert.assertEquals(new RectBounds(0, 0, 22, 10), drc.getDirtyRegion(0));
+    }
+
+    @Test
+    public void test_addDirtyRegion_cost_keeps_distant_regions() {
+        DirtyRegionContainer drc = new DirtyRegionContainer(4, 100);
+        drc.addDirtyRegion(new RectBounds(0, 0, 10, 10));
+        drc.addDirtyRegion(new RectBounds(500, 500, 510, 510));
+
+        Assert.assertEquals(2, drc.size());
+        Assert.assertEquals(200, drc.getArea());
+    }
+
+    @Test
+    public void test_addDirtyRegion_cost_merges_transitively() {
+        DirtyRegionContainer drc = new DirtyRegionContainer(4, 100);
+        drc.addDirtyRegion(new RectBounds(0, 0, 10, 10));
+        drc.addDirtyRegion(new RectBounds(30, 0, 40, 10));
+        Assert.assertEquals(2, drc.size());
+
+        // merges with the first region, then the union is close enough to
+        // the second one
+        drc.addDirtyRegion(new RectBounds(15, 0, 25, 10));
+        Assert.assertEquals(1, drc.size());
+        Assert.assertEquals(new RectBounds(0, 0, 40, 10), drc.getDirtyRegion(0));
+    }
+
+    @Test
+    public void test_addDirtyRegion_cost_full_merges_least_added_area() {
+        DirtyRegionContainer drc = new DirtyRegionContainer(3, 1);
+        // a small region and two large regions close to each other
+        drc.addDirtyRegion(new RectBounds(0, 0, 5, 5));
+        drc.addDirtyRegion(new RectBounds(0, 100, 100, 200));
+        drc.addDirtyRegion(new RectBounds(0, 201, 100, 301));
+        drc.addDirtyRegion(new RectBounds(400, 400, 405, 405));
+
+        // the union of the small region with the first large region is the
+        // smallest, but the union of the large regions adds less area
+        Assert.assertEquals(3, drc.size());
+        boolean smallKept = false;
+        boolean largeMerged = false;
+        for (int i = 0; i < drc.size(); i++) {
+            smallKept |= drc.getDirtyRegion(i).equals(new RectBounds(0, 0, 5, 5));
+            largeMerged |= drc.getDirtyRegion(i).equals(new RectBounds(0, 100, 100, 301));
+        }
+        Assert.assertTrue(smallKept);
+        Assert.assertTrue(largeMerged);
+    }
+
+    @Test
+    public void test_copy_keeps_cost() {
+        DirtyRegionContainer drc = new DirtyRegionContainer(4, 100);
+        Assert.assertEquals(100f, drc.copy().getRegionCost(), 0f);
+    }
+
     private DirtyRegionContainer getDRC_initialized() {
         DirtyRegionContainer drc = new DirtyRegionContainer(4);
         return drc.deriveWithNewRegions(nonIntersecting_3_Regions);
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.iio;
+
+import com.sun.javafx.iio.ImageDiskCache;
+import com.sun.javafx.iio.ImageFrame;
+import com.sun.javafx.iio.ImageStorage;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ImageDiskCacheTest {
+
+    private File dir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("imagecache").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        ImageDiskCache.setInstance(null);
+        for (File f : dir.listFiles()) {
+            f.delete();
+        }
+        dir.delete();
+    }
+
+    private File writeImage(String name, int w, int h) throws IOException {
+        final BufferedImage bImg = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        ImageTestHelper.drawImageRandom(bImg);
+        final File file = new File(dir, name);
+        ImageTestHelper.writeImage(bImg, file, "png", null);
+        return file;
+    }
+
+    private static byte[] getBytes(ImageFrame frame) {
+        final ByteBuffer buf = ((ByteBuffer) frame.getImageData()).duplicate();
+        buf.rewind();
+        final byte[] bytes = new byte[buf.remaining()];
+        buf.get(bytes);
+        return bytes;
+    }
+
+    private static ImageFrame[] load(File file, int w, int h) throws Exception {
+        return ImageStorage.loadAll(file.getPath(), null, w, h, true, 1.0f, true);
+    }
+
+    @Test
+    public void testHit() throws Exception {
+        final ImageDiskCache cache = new ImageDiskCache(dir, 1L << 30);
+        ImageDiskCache.setInstance(cache);
+        final File file = writeImage("a.png", 200, 100);
+
+        final ImageFrame[] loaded = load(file, 50, 50);
+        assertEquals(0, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getEntryCount());
+
+        final ImageFrame[] cached = load(file, 50, 50);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cached.length);
+        assertEquals(loaded[0].getImageType(), cached[0].getImageType());
+        assertEquals(50, cached[0].getWidth());
+        assertEquals(25, cached[0].getHeight());
+        assertEquals(loaded[0].getStride(), cached[0].getStride());
+        assertArrayEquals(getBytes(loaded[0]), getBytes(cached[0]));
+
+        // another size is another entry
+        load(file, 40, 40);
+        assertEquals(2, cache.getMissCount());
+        assertEquals(2, cache.getEntryCount());
+    }
+
+    @Test
+    public void testConversionDoesNotAlterEntry() throws Exception {
+        final ImageDiskCache cache = new ImageDiskCache(dir, 1L << 30);
+        ImageDiskCache.setInstance(cache);
+        final File file = writeImage("a.png", 64, 64);
+
+        final byte[] expected = getBytes(load(file, 32, 32)[0]);
+        final ImageFrame hit = load(file, 32, 32)[0];
+        final ByteBuffer buf = (ByteBuffer) hit.getImageData();
+        for (int i = 0; i < buf.limit(); i++) {
+            buf.put(i, (byte) 0);
+        }
+        assertArrayEquals(expected, getBytes(load(file, 32, 32)[0]));
+    }
+
+    @Test
+    public void testModifiedSource() throws Exception {
+        final ImageDiskCache cache = new ImageDiskCache(dir, 1L << 30);
+        ImageDiskCache.setInstance(cache);
+        final File file = writeImage("a.png", 64, 64);
+
+        final String key = cache.getKey(file.getPath(), 32, 32, true, 1.0f, true);
+        assertNotNull(key);
+        load(file, 32, 32);
+        assertTrue(file.setLastModified(file.lastModified() - 10000L));
+        assertNotEquals(key, cache.getKey(file.getPath(), 32, 32, true, 1.0f, true));
+
+        load(file, 32, 32);
+        assertEquals(0, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testJarSource() throws Exception {
+        final ImageDiskCache cache = new ImageDiskCache(dir, 1L << 30);
+        final File jar = new File(dir, "images.jar");
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar))) {
+            out.putNextEntry(new ZipEntry("a.png"));
+            out.write(Files.readAllBytes(writeImage("a.png", 16, 16).toPath()));
+            out.closeEntry();
+        }
+        assertTrue(jar.setLastModified(1000000000000L));
+        final String url = "jar:" + jar.toURI() + "!/a.png";
+        final String key = cache.getKey(url, 0, 0, false, 1.0f, false);
+        assertNotNull(key);
+        assertEquals(key, cache.getKey(url, 0, 0, false, 1.0f, false));
+        assertTrue(jar.setLastModified(1000000010000L));
+        assertNotEquals(key, cache.getKey(url, 0, 0, false, 1.0f, false));
+    }
+
+    @Test
+    public void testMissingSourceNotCached() {
+        final ImageDiskCache cache = new ImageDiskCache(dir, 1L << 30);
+        assertNull(cache.getKey(new File(dir, "missing.png").getPath(), 0, 0, false, 1.0f, false));
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        // room for about two 32x32 RGBA entries
+        final ImageDiskCache cache = new ImageDiskCache(dir, 2 * 32 * 32 * 4 + 1024);
+        ImageDiskCache.setInstance(cache);
+        final File a = writeImage("a.png", 64, 64);
+        final File b = writeImage("b.png", 64, 64);
+        final File c = writeImage("c.png", 64, 64);
+
+        load(a, 32, 32);
+        load(b, 32, 32);
+        load(a, 32, 32);
+        assertEquals(1, cache.getHitCount());
+        load(c, 32, 32);
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(2, cache.getEntryCount());
+        assertTrue(cache.getSize() <= cache.getMaxSize());
+
+        // b was the least recently used
+        load(a, 32, 32);
+        assertEquals(2, cache.getHitCount());
+        load(b, 32, 32);
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    public void testReopen() throws Exception {
+        final File file = writeImage("a.png", 64, 64);
+        ImageDiskCache.setInstance(new ImageDiskCache(dir, 1L << 30));
+        load(file, 32, 32);
+
+        final ImageDiskCache cache = new ImageDiskCache(dir, 1L << 30);
+        ImageDiskCache.setInstance(cache);
+        assertEquals(1, cache.getEntryCount());
+        load(file, 32, 32);
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void testCorruptedEntry() throws Exception {
+        final File file = writeImage("a.png", 64, 64);
+        final ImageDiskCache cache = new ImageDiskCache(dir, 1L << 30);
+        ImageDiskCache.setInstance(cache);
+        load(file, 32, 32);
+
+        for (File f : dir.listFiles()) {
+            if (f.getName().endsWith(".img")) {
+                try (RandomAccessFile raf = new RandomAccessFile(f, "rw")) {
+                    raf.writeInt(0);
+                }
+            }
+        }
+        final ImageFrame[] frames = load(file, 32, 32);
+        assertEquals(32, frames[0].getWidth());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        // replaced by the new entry
+        assertEquals(1, cache.getEntryCount());
+        assertEquals(1, load(file, 32, 32).length);
+        assertEquals(1, cache.getHitCount());
+    }
+}
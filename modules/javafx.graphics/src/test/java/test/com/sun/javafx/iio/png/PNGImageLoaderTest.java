@@ -25,13 +25,19 @@
 
 package test.com.sun.javafx.iio.png;
 
+import com.sun.javafx.iio.ImageFrame;
+import com.sun.javafx.iio.common.ImageTools;
 import com.sun.javafx.iio.png.PNGImageLoader2;
 import test.com.sun.javafx.iio.ImageTestHelper;
+import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import org.junit.Test;
 
+import static org.junit.Assert.*;
+
 public class PNGImageLoaderTest {
 
     private void testImage(InputStream stream) throws IOException {
@@ -76,4 +82,57 @@ public class PNGImageLoaderTest {
         ByteArrayInputStream stream = ImageTestHelper.constructStreamFromInts(corruptedIDATLength);
         testImage(stream);
     }
+
+    private static byte[] getBytes(ImageFrame frame) {
+        final ByteBuffer buf = ((ByteBuffer) frame.getImageData()).duplicate();
+        buf.rewind();
+        final byte[] bytes = new byte[buf.remaining()];
+        buf.get(bytes);
+        return bytes;
+    }
+
+    private void testScaledDecoding(int type) throws IOException {
+        final BufferedImage bImg = new BufferedImage(101, 67, type);
+        ImageTestHelper.drawImageRandom(bImg);
+        final ByteArrayInputStream in = ImageTestHelper.writeImageToStream(bImg, "png", null);
+
+        final ImageFrame full = new PNGImageLoader2(in).load(0, 0, 0, false, true);
+        for (boolean smooth : new boolean[] { true, false }) {
+            for (int[] size : new int[][] { {33, 20}, {101, 30}, {150, 90} }) {
+                in.reset();
+                final ImageFrame scaled = new PNGImageLoader2(in).load(0, size[0], size[1], false, smooth);
+                final ImageFrame expected = ImageTools.scaleImageFrame(full, size[0], size[1], smooth);
+                assertEquals(expected.getImageType(), scaled.getImageType());
+                assertEquals(size[0], scaled.getWidth());
+                assertEquals(size[1], scaled.getHeight());
+                assertEquals(expected.getStride(), scaled.getStride());
+                assertArrayEquals(getBytes(expected), getBytes(scaled));
+            }
+        }
+    }
+
+    @Test
+    public void testScaledDecodingRGB() throws IOException {
+        testScaledDecoding(BufferedImage.TYPE_INT_RGB);
+    }
+
+    @Test
+    public void testScaledDecodingRGBA() throws IOException {
+        testScaledDecoding(BufferedImage.TYPE_INT_ARGB);
+    }
+
+    @Test
+    public void testScaledDecodingGray16() throws IOException {
+        testScaledDecoding(BufferedImage.TYPE_USHORT_GRAY);
+    }
+
+    @Test
+    public void testScaledDecodingPalette() throws IOException {
+        testScaledDecoding(BufferedImage.TYPE_BYTE_INDEXED);
+    }
+
+    @Test
+    public void testScaledDecodingBinary() throws IOException {
+        testScaledDecoding(BufferedImage.TYPE_BYTE_BINARY);
+    }
 }
@@ -47,12 +47,15 @@ import com.sun.javafx.image.impl.ByteGrayAlpha;
 import com.sun.javafx.image.impl.ByteGrayAlphaPre;
 import com.sun.javafx.image.impl.ByteRgb;
 import com.sun.javafx.image.impl.ByteRgba;
+import com.sun.javafx.image.impl.General;
 import com.sun.javafx.image.impl.IntArgb;
 import com.sun.javafx.image.impl.IntArgbPre;
 import static junit.framework.Assert.*;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.IntBuffer;
+import java.util.Random;
 import javafx.scene.image.PixelFormat;
 import javafx.scene.image.WritablePixelFormat;
 import javafx.scene.paint.Color;
@@ -1019,4 +1022,210 @@ public class ConverterTest {
             }
         }
     }
+
+    // row widths on both sides of the bulk copy threshold, padded rows
+    static final int BulkWidths[] = { 3, 37 };
+    static final int BulkHeight = 3;
+    static final int BulkPad = 5;
+
+    static ByteBuffer[] byteBuffers(int len) {
+        return new ByteBuffer[] {
+            heapByteBuffer(1, len),
+            directByteBuffer(0, len),
+            directByteBuffer(0, len).order(ByteOrder.LITTLE_ENDIAN),
+            directByteBuffer(1, len).order(ByteOrder.nativeOrder()),
+        };
+    }
+
+    static IntBuffer[] intBuffers(int len) {
+        return new IntBuffer[] {
+            heapIntBuffer(1, len),
+            directIntBuffer(0, len),
+            directIntBuffer(1, len),
+        };
+    }
+
+    static byte[] randomPixels(Random rnd, int len, int ncomp) {
+        byte arr[] = new byte[len];
+        rnd.nextBytes(arr);
+        if (ncomp == 4) {
+            // make sure to hit the transparent and opaque special cases
+            for (int i = 3; i < len; i += 12) {
+                arr[i] = (byte) ((i % 24 == 3) ? 0 : 0xff);
+            }
+        }
+        return arr;
+    }
+
+    static int[] randomPixels(Random rnd, int len) {
+        int arr[] = new int[len];
+        for (int i = 0; i < len; i++) {
+            int a = (i % 3 == 0) ? 0 : (i % 3 == 1) ? 0xff : rnd.nextInt(256);
+            arr[i] = (a << 24) | (rnd.nextInt() & 0xffffff);
+        }
+        return arr;
+    }
+
+    static void checkBytes(byte expected[], ByteBuffer actual, int off) {
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals("byte " + i, expected[i], actual.get(off + i));
+        }
+    }
+
+    static void checkInts(int expected[], IntBuffer actual, int off) {
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals("int " + i, expected[i], actual.get(off + i));
+        }
+    }
+
+    static void premultiply(int arr[]) {
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = PixelUtils.NonPretoPre(arr[i]);
+        }
+    }
+
+    static void premultiplyBgra(byte arr[]) {
+        for (int i = 0; i < arr.length; i += 4) {
+            ByteBgraPre.setter.setArgb(arr, i, ByteBgra.getter.getArgb(arr, i));
+        }
+    }
+
+    static void checkB2B(ByteToBytePixelConverter conv, int srcncomp, boolean srcpre) {
+        Random rnd = new Random(42);
+        BytePixelGetter getter = (BytePixelGetter) conv.getGetter();
+        BytePixelSetter setter = (BytePixelSetter) conv.getSetter();
+        int dstncomp = setter.getNumElements();
+        for (int w : BulkWidths) {
+            int srcscan = (w + BulkPad) * srcncomp;
+            int dstscan = (w + BulkPad) * dstncomp;
+            byte src[] = randomPixels(rnd, srcscan * BulkHeight, srcncomp);
+            if (srcpre) premultiplyBgra(src);
+            byte expected[] = new byte[dstscan * BulkHeight];
+            General.create(getter, setter)
+                .convert(src, 0, srcscan, expected, 0, dstscan, w, BulkHeight);
+            byte dstarr[] = new byte[dstscan * BulkHeight];
+            conv.convert(src, 0, srcscan, dstarr, 0, dstscan, w, BulkHeight);
+            checkBytes(expected, ByteBuffer.wrap(dstarr), 0);
+            for (ByteBuffer srcbuf : byteBuffers(src.length)) {
+                for (int i = 0; i < src.length; i++) srcbuf.put(i, src[i]);
+                for (ByteBuffer dstbuf : byteBuffers(expected.length)) {
+                    conv.convert(srcbuf, 0, srcscan, dstbuf, 0, dstscan, w, BulkHeight);
+                    checkBytes(expected, dstbuf, 0);
+                    assertEquals(0, srcbuf.position());
+                    assertEquals(0, dstbuf.position());
+                }
+            }
+        }
+    }
+
+    static void checkB2I(ByteToIntPixelConverter conv, boolean srcpre) {
+        Random rnd = new Random(43);
+        BytePixelGetter getter = (BytePixelGetter) conv.getGetter();
+        IntPixelSetter setter = (IntPixelSetter) conv.getSetter();
+        for (int w : BulkWidths) {
+            int srcscan = (w + BulkPad) * 4;
+            int dstscan = w + BulkPad;
+            byte src[] = randomPixels(rnd, srcscan * BulkHeight, 4);
+            if (srcpre) premultiplyBgra(src);
+            int expected[] = new int[dstscan * BulkHeight];
+            General.create(getter, setter)
+                .convert(src, 0, srcscan, expected, 0, dstscan, w, BulkHeight);
+            int dstarr[] = new int[dstscan * BulkHeight];
+            conv.convert(src, 0, srcscan, dstarr, 0, dstscan, w, BulkHeight);
+            checkInts(expected, IntBuffer.wrap(dstarr), 0);
+            for (ByteBuffer srcbuf : byteBuffers(src.length)) {
+                for (int i = 0; i < src.length; i++) srcbuf.put(i, src[i]);
+                for (IntBuffer dstbuf : intBuffers(expected.length)) {
+                    conv.convert(srcbuf, 0, srcscan, dstbuf, 0, dstscan, w, BulkHeight);
+                    checkInts(expected, dstbuf, 0);
+                    conv.convert(srcbuf, srcscan, srcscan, dstbuf, dstscan, dstscan, w, BulkHeight - 1);
+                    checkInts(expected, dstbuf, 0);
+                }
+            }
+        }
+    }
+
+    static void checkI2B(IntToBytePixelConverter conv, boolean srcpre) {
+        Random rnd = new Random(44);
+        IntPixelGetter getter = (IntPixelGetter) conv.getGetter();
+        BytePixelSetter setter = (BytePixelSetter) conv.getSetter();
+        for (int w : BulkWidths) {
+            int srcscan = w + BulkPad;
+            int dstscan = (w + BulkPad) * 4;
+            int src[] = randomPixels(rnd, srcscan * BulkHeight);
+            if (srcpre) premultiply(src);
+            byte expected[] = new byte[dstscan * BulkHeight];
+            General.create(getter, setter)
+                .convert(src, 0, srcscan, expected, 0, dstscan, w, BulkHeight);
+            byte dstarr[] = new byte[dstscan * BulkHeight];
+            conv.convert(src, 0, srcscan, dstarr, 0, dstscan, w, BulkHeight);
+            checkBytes(expected, ByteBuffer.wrap(dstarr), 0);
+            for (IntBuffer srcbuf : intBuffers(src.length)) {
+                for (int i = 0; i < src.length; i++) srcbuf.put(i, src[i]);
+                for (ByteBuffer dstbuf : byteBuffers(expected.length)) {
+                    conv.convert(srcbuf, 0, srcscan, dstbuf, 0, dstscan, w, BulkHeight);
+                    checkBytes(expected, dstbuf, 0);
+                    conv.convert(srcbuf, srcscan, srcscan, dstbuf, dstscan, dstscan, w, BulkHeight - 1);
+                    checkBytes(expected, dstbuf, 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFourByteConvertersMatchGeneral() {
+        checkB2B(ByteBgra.ToByteBgraPreConverter(), 4, false);
+        checkB2B(ByteBgraPre.ToByteBgraConverter(), 4, true);
+        checkB2B(ByteRgba.ToByteBgraConverter(), 4, false);
+        checkB2B(ByteGray.ToByteBgraPreConverter(), 1, false);
+        checkB2B(ByteGray.ToByteBgraConverter(), 1, false);
+        checkB2I(ByteBgra.ToIntArgbConverter(), false);
+        checkB2I(ByteBgraPre.ToIntArgbPreConverter(), true);
+        checkB2I(ByteBgraPre.ToIntArgbConverter(), true);
+        checkI2B(IntArgbPre.ToByteBgraPreConverter(), true);
+        checkI2B(IntArgbPre.ToByteBgraConverter(), true);
+        checkI2B(IntArgb.ToByteBgraConverter(), false);
+        checkI2B(IntArgb.ToByteBgraPreConverter(), false);
+    }
+
+    // (200, 200, 200) is not a valid premultiplied color at alpha 100,
+    // un-premultiplying it must not spill into the neighboring channels
+    static final int InvalidPreArgb = 0x64C8C8C8;
+    static final int InvalidPreResult = 0x64FEFEFE;
+
+    @Test
+    public void testInvalidPremultipliedPixels() {
+        byte bgra[] = new byte[4];
+        ByteBgraPre.setter.setArgbPre(bgra, 0, InvalidPreArgb);
+        ByteBuffer bgrabuf = directByteBuffer(0, 4);
+        ByteBgraPre.setter.setArgbPre(bgrabuf, 0, InvalidPreArgb);
+        int argb[] = { InvalidPreArgb };
+        IntBuffer argbbuf = directIntBuffer(0, 1);
+        argbbuf.put(0, InvalidPreArgb);
+
+        byte bdst[] = new byte[4];
+        ByteBuffer bdstbuf = directByteBuffer(0, 4);
+        int idst[] = new int[1];
+        IntBuffer idstbuf = directIntBuffer(0, 1);
+
+        ByteBgraPre.ToByteBgraConverter().convert(bgra, 0, 4, bdst, 0, 4, 1, 1);
+        assertEquals(InvalidPreResult, ByteBgra.getter.getArgb(bdst, 0));
+        ByteBgraPre.ToByteBgraConverter().convert(bgrabuf, 0, 4, bdstbuf, 0, 4, 1, 1);
+        assertEquals(InvalidPreResult, ByteBgra.getter.getArgb(bdstbuf, 0));
+
+        ByteBgraPre.ToIntArgbConverter().convert(bgra, 0, 4, idst, 0, 1, 1, 1);
+        assertEquals(InvalidPreResult, idst[0]);
+        ByteBgraPre.ToIntArgbConverter().convert(bgrabuf, 0, 4, idstbuf, 0, 1, 1, 1);
+        assertEquals(InvalidPreResult, idstbuf.get(0));
+
+        IntArgbPre.ToByteBgraConverter().convert(argb, 0, 1, bdst, 0, 4, 1, 1);
+        assertEquals(InvalidPreResult, ByteBgra.getter.getArgb(bdst, 0));
+        IntArgbPre.ToByteBgraConverter().convert(argbbuf, 0, 1, bdstbuf, 0, 4, 1, 1);
+        assertEquals(InvalidPreResult, ByteBgra.getter.getArgb(bdstbuf, 0));
+
+        IntArgbPre.ToIntArgbConverter().convert(argb, 0, 1, idst, 0, 1, 1, 1);
+        assertEquals(InvalidPreResult, idst[0]);
+        IntArgbPre.ToIntArgbConverter().convert(argbbuf, 0, 1, idstbuf, 0, 1, 1, 1);
+        assertEquals(InvalidPreResult, idstbuf.get(0));
+    }
 }
@@ -28,11 +28,13 @@ package test.com.sun.javafx.pgstub;
 import com.sun.javafx.runtime.async.AsyncOperation;
 import com.sun.javafx.runtime.async.AsyncOperationListener;
 import com.sun.javafx.tk.ImageLoader;
+import java.util.concurrent.Executor;
 
 public class StubAsyncImageLoader implements AsyncOperation {
     private final ImageLoader imageLoader;
     private final AsyncOperationListener<ImageLoader> listener;
 
+    private Executor executor;
     private boolean started;
     private boolean cancelled;
     private boolean finished;
@@ -66,6 +68,14 @@ public class StubAsyncImageLoader implements AsyncOperation {
         return finished;
     }
 
+    public void setExecutor(final Executor executor) {
+        this.executor = executor;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
     public boolean isStarted() {
         return started;
     }
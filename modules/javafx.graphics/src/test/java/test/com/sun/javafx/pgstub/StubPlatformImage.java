@@ -25,6 +25,7 @@
 
 package test.com.sun.javafx.pgstub;
 
+import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.tk.PlatformImage;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
@@ -144,6 +145,11 @@ public final class StubPlatformImage implements PlatformImage {
         throw new UnsupportedOperationException("Not supported yet.");
     }
 
+    @Override
+    public void bufferDirty(Rectangle rect) {
+        throw new UnsupportedOperationException("Not supported yet.");
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder();
@@ -51,6 +51,7 @@ import com.sun.scenario.effect.Filterable;
 import javafx.application.ConditionalFeature;
 import javafx.geometry.Dimension2D;
 import javafx.scene.image.Image;
+import javafx.scene.image.PixelBuffer;
 import javafx.scene.input.*;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.ImagePattern;
@@ -67,6 +68,7 @@ import java.io.File;
 import java.io.InputStream;
 import java.security.AccessControlContext;
 import java.util.*;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 
 /**
@@ -598,8 +600,23 @@ public class StubToolkit extends Toolkit {
                 listener, url, width, height, preserveRatio, smooth);
     }
 
+    @Override
+    public AsyncOperation loadImageAsync(
+            AsyncOperationListener listener, String url, double width, double height,
+            boolean preserveRatio, boolean smooth, Executor executor) {
+        final StubAsyncImageLoader loader = (StubAsyncImageLoader)
+                imageLoaderFactory.createAsyncImageLoader(
+                        listener, url, width, height, preserveRatio, smooth);
+        loader.setExecutor(executor);
+        return loader;
+    }
+
     @Override
     public ImageLoader loadPlatformImage(Object platformImage) {
+        if (platformImage instanceof PixelBuffer) {
+            PixelBuffer<?> pb = (PixelBuffer<?>) platformImage;
+            platformImage = createPlatformImage(pb.getWidth(), pb.getHeight());
+        }
         return imageLoaderFactory.createImageLoader(platformImage,
                                                     0, 0, false, false);
     }
@@ -31,6 +31,7 @@ import javafx.scene.image.WritablePixelFormat;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
+import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.tk.PlatformImage;
 
 /**
@@ -38,6 +39,8 @@ import com.sun.javafx.tk.PlatformImage;
 public class StubWritablePlatformImage implements PlatformImage {
     private final int w, h;
     private final int[] data;
+    private int bufferDirtyCount;
+    private Rectangle lastBufferDirtyRegion;
 
     public StubWritablePlatformImage(int w, int h) {
         this.w = w;
@@ -102,4 +105,18 @@ public class StubWritablePlatformImage implements PlatformImage {
     @Override
     public void setPixels(int dstx, int dsty, int w, int h, PixelReader reader, int srcx, int srcy) {
     }
+
+    @Override
+    public void bufferDirty(Rectangle rect) {
+        bufferDirtyCount++;
+        lastBufferDirtyRegion = rect;
+    }
+
+    public int getBufferDirtyCount() {
+        return bufferDirtyCount;
+    }
+
+    public Rectangle getLastBufferDirtyRegion() {
+        return lastBufferDirtyRegion;
+    }
 }
@@ -232,4 +232,26 @@ public class CullingTest extends NGTestBase {
         Assert.assertEquals(2 | (1 << 2), NGNodeShim.cullingBits(gbn));
         Assert.assertEquals(1 << 2, NGNodeShim.cullingBits(bn1));
     }
+
+    @Test
+    public void test_group_more_than_15_regions() {
+        NGNode bn1 = createRectangle(0, 0, 10, 10);
+        NGNode bn2 = createRectangle(300, 0, 10, 10);
+        NGNode gbn = createGroup(bn1, bn2);
+
+        int count = NGNode.MAX_CULLING_REGIONS;
+        RectBounds[] regions = new RectBounds[count];
+        for (int i = 0; i < count; i++) {
+            regions[i] = new RectBounds(i * 10 + 2, 0, i * 10 + 5, 5);
+        }
+        // the last region contains bn2
+        regions[count - 1] = new RectBounds(290, 0, 320, 20);
+        DirtyRegionContainer drc = new DirtyRegionContainer(count);
+        drc.deriveWithNewRegions(regions);
+        NGNodeShim.markCullRegions(gbn, drc, -1, BaseTransform.IDENTITY_TRANSFORM, new GeneralTransform3D());
+
+        Assert.assertEquals(2L << (2 * (count - 1)), NGNodeShim.cullingBits(bn2));
+        Assert.assertEquals(1L, NGNodeShim.cullingBits(bn1));
+        Assert.assertEquals(1L << (2 * (count - 1)), NGNodeShim.cullingBits(gbn) & (3L << (2 * (count - 1))));
+    }
 }
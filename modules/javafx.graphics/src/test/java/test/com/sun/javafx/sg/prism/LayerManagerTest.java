@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.sg.prism;
+
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.javafx.sg.prism.LayerManagerShim;
+import com.sun.javafx.sg.prism.NGGroup;
+import javafx.scene.CacheHint;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LayerManagerTest extends NGTestBase {
+
+    private static final int PULSES = 3;
+    private static final long LIMIT = 1000;
+
+    private LayerManagerShim manager;
+    private TestNGRectangle rect;
+    private NGGroup group;
+
+    @Before
+    public void setup() {
+        manager = new LayerManagerShim(PULSES, LIMIT);
+        rect = createRectangle(0, 0, 10, 10);
+        group = createGroup(rect);
+        group.clearDirtyTree();
+    }
+
+    // visits the group like a render in a new frame
+    private boolean frame(NGGroup g) {
+        manager.beginFrame();
+        final boolean promote = manager.visit(g);
+        g.clearDirtyTree();
+        return promote;
+    }
+
+    private void promote(NGGroup g, long size) {
+        for (int i = 1; i < PULSES; i++) {
+            assertFalse(frame(g));
+        }
+        assertTrue(frame(g));
+        assertTrue(manager.promote(g, size, LIMIT));
+    }
+
+    @Test
+    public void promotedAfterUnchangedPulses() {
+        promote(group, 100);
+        assertNotNull(group.getCacheFilter());
+        assertTrue(LayerManagerShim.isAutoCached(group));
+        assertEquals(1, manager.getLayerCount());
+        assertEquals(100, manager.getSize());
+    }
+
+    @Test
+    public void changeRestartsCount() {
+        assertFalse(frame(group));
+        assertFalse(frame(group));
+        rect.updateRectangle(0, 0, 20, 20, 0, 0);
+        assertFalse(frame(group));
+        promote(group, 100);
+    }
+
+    @Test
+    public void transformChangeIsNotAChange() {
+        assertFalse(frame(group));
+        group.setTransformMatrix(BaseTransform.getTranslateInstance(5, 5));
+        assertFalse(frame(group));
+        group.setTransformMatrix(BaseTransform.getTranslateInstance(10, 5));
+        assertTrue(frame(group));
+    }
+
+    @Test
+    public void renderedTwiceInOneFrameCountsOnce() {
+        manager.beginFrame();
+        assertFalse(manager.visit(group));
+        assertFalse(manager.visit(group));
+        assertFalse(manager.visit(group));
+        assertFalse(frame(group));
+        assertTrue(frame(group));
+    }
+
+    @Test
+    public void applicationCachedNodeIsNotPromoted() {
+        group.setCachedAsBitmap(true, CacheHint.DEFAULT);
+        for (int i = 0; i < 2 * PULSES; i++) {
+            assertFalse(frame(group));
+        }
+        assertFalse(LayerManagerShim.isAutoCached(group));
+    }
+
+    @Test
+    public void reusedCacheIsKept() {
+        promote(group, 100);
+        manager.rendered(group, true);
+        for (int i = 0; i < 100; i++) {
+            manager.rendered(group, false);
+            if (i % 10 == 0) {
+                manager.rendered(group, true);
+            }
+        }
+        assertTrue(LayerManagerShim.isAutoCached(group));
+    }
+
+    @Test
+    public void cacheRebuiltMoreThanReusedIsDropped() {
+        promote(group, 100);
+        manager.rendered(group, true);
+        manager.rendered(group, false);
+        manager.rendered(group, false);
+        manager.rendered(group, false);
+        manager.rendered(group, true);
+        manager.rendered(group, true);
+        assertTrue(LayerManagerShim.isAutoCached(group));
+        manager.rendered(group, true);
+        assertFalse(LayerManagerShim.isAutoCached(group));
+        assertNull(group.getCacheFilter());
+        assertEquals(0, manager.getLayerCount());
+        assertEquals(0, manager.getSize());
+
+        // it now takes twice as long to be promoted again
+        for (int i = 1; i < 2 * PULSES; i++) {
+            assertFalse(frame(group));
+        }
+        assertTrue(frame(group));
+    }
+
+    @Test
+    public void cacheLargerThanAQuarterOfTheLimitIsRefused() {
+        for (int i = 1; i < PULSES; i++) {
+            frame(group);
+        }
+        assertTrue(frame(group));
+        assertFalse(manager.promote(group, LIMIT / 4 + 1, LIMIT));
+        assertNull(group.getCacheFilter());
+        assertEquals(0, manager.getSize());
+    }
+
+    @Test
+    public void leastRecentlyRenderedCacheIsDropped() {
+        NGGroup[] groups = new NGGroup[5];
+        for (int i = 0; i < groups.length; i++) {
+            groups[i] = createGroup(createRectangle(0, 0, 10, 10));
+        }
+        for (int f = 1; f < PULSES; f++) {
+            manager.beginFrame();
+            for (NGGroup g : groups) {
+                assertFalse(manager.visit(g));
+            }
+        }
+        manager.beginFrame();
+        for (int i = 3; i >= 0; i--) {
+            assertTrue(manager.visit(groups[i]));
+        }
+        // groups[4] is rendered last, in the next frame
+        manager.beginFrame();
+        for (int i = 0; i < 4; i++) {
+            manager.visit(groups[i]);
+        }
+        assertTrue(manager.visit(groups[4]));
+        for (int i = 0; i < 4; i++) {
+            manager.visit(groups[i]);
+        }
+        assertTrue(manager.promote(groups[0], 250, LIMIT));
+        assertTrue(manager.promote(groups[1], 250, LIMIT));
+        assertTrue(manager.promote(groups[2], 250, LIMIT));
+        assertTrue(manager.promote(groups[3], 250, LIMIT));
+        assertEquals(1000, manager.getSize());
+
+        // all the caches are in use in this frame
+        assertFalse(manager.promote(groups[4], 250, LIMIT));
+
+        manager.beginFrame();
+        manager.visit(groups[1]);
+        manager.visit(groups[2]);
+        manager.visit(groups[3]);
+        assertTrue(manager.promote(groups[4], 250, LIMIT));
+        assertFalse(LayerManagerShim.isAutoCached(groups[0]));
+        assertNull(groups[0].getCacheFilter());
+        assertTrue(LayerManagerShim.isAutoCached(groups[4]));
+        assertEquals(4, manager.getLayerCount());
+        assertEquals(1000, manager.getSize());
+    }
+
+    @Test
+    public void idleCacheIsDropped() {
+        promote(group, 100);
+        for (int i = 0; i < 10 * PULSES; i++) {
+            manager.beginFrame();
+        }
+        assertFalse(LayerManagerShim.isAutoCached(group));
+        assertNull(group.getCacheFilter());
+        assertEquals(0, manager.getLayerCount());
+        assertEquals(0, manager.getSize());
+    }
+
+    @Test
+    public void applicationTakesOverAutomaticCache() {
+        promote(group, 100);
+        group.setCachedAsBitmap(true, CacheHint.DEFAULT);
+        assertFalse(LayerManagerShim.isAutoCached(group));
+        assertNotNull(group.getCacheFilter());
+        for (int i = 0; i < PULSES; i++) {
+            frame(group);
+        }
+        assertNotNull(group.getCacheFilter());
+        assertEquals(0, manager.getLayerCount());
+        assertEquals(0, manager.getSize());
+    }
+
+    @Test
+    public void applicationDropsAutomaticCache() {
+        promote(group, 100);
+        group.setCachedAsBitmap(false, CacheHint.DEFAULT);
+        assertFalse(LayerManagerShim.isAutoCached(group));
+        assertNull(group.getCacheFilter());
+        promote(group, 200);
+        assertEquals(1, manager.getLayerCount());
+        assertEquals(200, manager.getSize());
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.marlin;
+
+import com.sun.javafx.geom.Path2D;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.marlin.MaskCache;
+import com.sun.marlin.MaskCacheShim;
+import com.sun.prism.impl.shape.MaskData;
+import java.nio.ByteBuffer;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MaskCacheTest {
+
+    private static final Rectangle CLIP = new Rectangle(0, 0, 1000, 1000);
+
+    private static Path2D triangle() {
+        final Path2D path = new Path2D();
+        path.moveTo(0f, 0f);
+        path.lineTo(40f, 5f);
+        path.lineTo(10f, 30f);
+        path.closePath();
+        return path;
+    }
+
+    private static BaseTransform translate(double tx, double ty) {
+        return BaseTransform.getTranslateInstance(tx, ty);
+    }
+
+    private static MaskData mask(int x, int y, int w, int h) {
+        final byte[] alphas = new byte[w * h];
+        for (int i = 0; i < alphas.length; i++) {
+            alphas[i] = (byte) (i * 7);
+        }
+        return MaskData.create(alphas, x, y, w, h);
+    }
+
+    private static byte[] alphas(MaskData mask) {
+        final ByteBuffer buf = mask.getMaskBuffer().duplicate();
+        buf.rewind();
+        final byte[] alphas = new byte[mask.getWidth() * mask.getHeight()];
+        buf.get(alphas);
+        return alphas;
+    }
+
+    @Test
+    public void testStoredOnSecondUse() {
+        final MaskCache cache = MaskCacheShim.newMaskCache(1 << 20);
+        final Path2D path = triangle();
+        final MaskCache.Key key = cache.getKey(path, null, translate(100.25, 50.5), true);
+        assertNotNull(key);
+
+        assertNull(cache.get(key, CLIP));
+        cache.put(key, CLIP, mask(100, 50, 41, 31));
+        assertEquals(0, cache.getEntryCount());
+
+        assertNull(cache.get(key, CLIP));
+        cache.put(key, CLIP, mask(100, 50, 41, 31));
+        assertEquals(1, cache.getEntryCount());
+
+        final MaskData hit = cache.get(key, CLIP);
+        assertNotNull(hit);
+        assertEquals(100, hit.getOriginX());
+        assertEquals(50, hit.getOriginY());
+        assertArrayEquals(alphas(mask(100, 50, 41, 31)), alphas(hit));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testIntegerTranslationHits() {
+        final MaskCache cache = MaskCacheShim.newMaskCache(1 << 20);
+        final Path2D path = triangle();
+        final MaskCache.Key key = cache.getKey(path, null, translate(100.25, 50.5), true);
+        cache.put(key, CLIP, mask(100, 50, 41, 31));
+        cache.put(key, CLIP, mask(100, 50, 41, 31));
+
+        final MaskCache.Key moved = cache.getKey(path, null, translate(303.25, 17.5), true);
+        assertEquals(key, moved);
+        final MaskData hit = cache.get(moved, CLIP);
+        assertNotNull(hit);
+        assertEquals(303, hit.getOriginX());
+        assertEquals(17, hit.getOriginY());
+        assertArrayEquals(alphas(mask(0, 0, 41, 31)), alphas(hit));
+    }
+
+    @Test
+    public void testSubpixelTranslationMisses() {
+        final MaskCache cache = MaskCacheShim.newMaskCache(1 << 20);
+        final Path2D path = triangle();
+        final MaskCache.Key key = cache.getKey(path, null, translate(100.25, 50.5), true);
+        cache.put(key, CLIP, mask(100, 50, 41, 31));
+        cache.put(key, CLIP, mask(100, 50, 41, 31));
+
+        assertNull(cache.get(cache.getKey(path, null, translate(100.5, 50.5), true), CLIP));
+        assertNull(cache.get(cache.getKey(path, null, translate(100.25, 50.5), false), CLIP));
+        assertNull(cache.get(cache.getKey(path, null, BaseTransform.getScaleInstance(2.0, 2.0), true), CLIP));
+    }
+
+    @Test
+    public void testClippedMaskNotStored() {
+        final MaskCache cache = MaskCacheShim.newMaskCache(1 << 20);
+        final MaskCache.Key key = cache.getKey(triangle(), null, translate(0.25, 0.25), true);
+        cache.put(key, CLIP, mask(0, 0, 41, 31));
+        cache.put(key, CLIP, mask(0, 0, 41, 31));
+        assertEquals(0, cache.getEntryCount());
+    }
+
+    @Test
+    public void testCachedMaskOutsideClipMisses() {
+        final MaskCache cache = MaskCacheShim.newMaskCache(1 << 20);
+        final Path2D path = triangle();
+        final MaskCache.Key key = cache.getKey(path, null, translate(100.25, 50.5), true);
+        cache.put(key, CLIP, mask(100, 50, 41, 31));
+        cache.put(key, CLIP, mask(100, 50, 41, 31));
+
+        assertNull(cache.get(cache.getKey(path, null, translate(980.25, 50.5), true), CLIP));
+    }
+
+    @Test
+    public void testMutatedPathMisses() {
+        final MaskCache cache = MaskCacheShim.newMaskCache(1 << 20);
+        final Path2D path = triangle();
+        final MaskCache.Key key = cache.getKey(path, null, translate(100.25, 50.5), true);
+        cache.put(key, CLIP, mask(100, 50, 41, 31));
+        cache.put(key, CLIP, mask(100, 50, 41, 31));
+
+        path.lineTo(60f, 60f);
+        assertNull(cache.get(cache.getKey(path, null, translate(100.25, 50.5), true), CLIP));
+    }
+
+    @Test
+    public void testEvictionBySize() {
+        final MaskCache cache = MaskCacheShim.newMaskCache(64 * 1024);
+        for (int i = 0; i < 20; i++) {
+            final Path2D path = triangle();
+            path.lineTo(i, i);
+            final MaskCache.Key key = cache.getKey(path, null, translate(10.5, 10.5), true);
+            cache.put(key, CLIP, mask(10, 10, 100, 50));
+            cache.put(key, CLIP, mask(10, 10, 100, 50));
+            assertTrue(cache.getSize() <= cache.getMaxSize());
+        }
+        assertTrue(cache.getEntryCount() < 20);
+        assertTrue(cache.getEvictionCount() > 0);
+    }
+
+    @Test
+    public void testDisabled() {
+        final MaskCache cache = MaskCacheShim.newMaskCache(0);
+        assertNull(cache.getKey(triangle(), null, translate(1.0, 1.0), true));
+    }
+
+    @Test
+    public void testChangingPathNeverStored() {
+        final MaskCache cache = MaskCacheShim.newMaskCache(1 << 20);
+        final Path2D path = triangle();
+        for (int i = 0; i < 100; i++) {
+            // an animated path: a new geometry every frame
+            path.lineTo(i, 2 * i);
+            final MaskCache.Key key = cache.getKey(path, null, translate(100.25, 50.5), true);
+            assertNull(cache.get(key, CLIP));
+            cache.put(key, CLIP, mask(100, 50, 41, 31));
+        }
+        assertEquals(0, cache.getEntryCount());
+        assertEquals(0L, cache.getSize());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(100, cache.getMissCount());
+    }
+
+    @Test
+    public void testLargePathNotKeyed() {
+        final MaskCache cache = MaskCacheShim.newMaskCache(1 << 20);
+        final Path2D path = new Path2D();
+        path.moveTo(0f, 0f);
+        for (int i = 0; i < 5000; i++) {
+            path.lineTo(i * 0.1f, (i % 2) * 10f);
+        }
+        assertNull(cache.getKey(path, null, translate(10.5, 10.5), true));
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.marlin;
+
+import com.sun.javafx.geom.Path2D;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.marlin.DMarlinRenderer;
+import com.sun.marlin.DMarlinRenderingEngine;
+import com.sun.marlin.DRendererContext;
+import com.sun.marlin.RendererStatsMBean;
+import com.sun.marlin.RendererStatsShim;
+import com.sun.prism.impl.shape.DMarlinPrismUtils;
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RendererStatsTest {
+
+    private static final Rectangle CLIP = new Rectangle(0, 0, 1000, 1000);
+
+    @Test
+    public void testRegistered() throws Exception {
+        final Object parent = new Object();
+        final RendererStatsMBean stats = RendererStatsShim.newRendererStats(parent, "test");
+        final ObjectName name = RendererStatsShim.getObjectName(stats);
+        assertNotNull(name);
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            assertTrue(server.isRegistered(name));
+            assertEquals("test", server.getAttribute(name, "Name"));
+
+            RendererStatsShim.addEdges(stats, 10L);
+            RendererStatsShim.addEdges(stats, 30L);
+            final CompositeData[] values = (CompositeData[]) server.getAttribute(name, "Statistics");
+            assertEquals(1, values.length);
+            assertEquals("renderer.edges.count", values[0].get("name"));
+            assertEquals(2L, values[0].get("count"));
+            assertEquals(40L, values[0].get("sum"));
+            assertEquals(10L, values[0].get("min"));
+            assertEquals(30L, values[0].get("max"));
+            assertEquals(20.0, (Double) values[0].get("average"), 0.0);
+
+            server.invoke(name, "resetStatistics", null, null);
+            assertEquals(0, stats.getStatistics().length);
+        } finally {
+            RendererStatsShim.unregister(stats);
+        }
+        assertNull(RendererStatsShim.getObjectName(stats));
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    }
+
+    @Test
+    public void testSameNames() {
+        final Object parent = new Object();
+        final RendererStatsMBean stats1 = RendererStatsShim.newRendererStats(parent, "ctx1");
+        final RendererStatsMBean stats2 = RendererStatsShim.newRendererStats(parent, "ctx1");
+        try {
+            assertNotNull(RendererStatsShim.getObjectName(stats1));
+            assertNotNull(RendererStatsShim.getObjectName(stats2));
+            assertNotEquals(RendererStatsShim.getObjectName(stats1),
+                            RendererStatsShim.getObjectName(stats2));
+        } finally {
+            RendererStatsShim.unregister(stats1);
+            RendererStatsShim.unregister(stats2);
+        }
+    }
+
+    private static Path2D zigzag(int edges) {
+        final Path2D path = new Path2D();
+        path.moveTo(0f, 0f);
+        for (int i = 1; i < edges; i++) {
+            path.lineTo(i * 900f / edges, (i % 2 == 0) ? 0f : 900f);
+        }
+        path.closePath();
+        return path;
+    }
+
+    private static long render(Path2D path) {
+        final DRendererContext rdrCtx = DMarlinRenderingEngine.getRendererContext();
+        try {
+            final DMarlinRenderer renderer =
+                DMarlinPrismUtils.setupRenderer(rdrCtx, path, null, null, CLIP, true);
+            renderer.dispose();
+            return RendererStatsShim.getEdgesCapacity(rdrCtx);
+        } finally {
+            DMarlinRenderingEngine.returnRendererContext(rdrCtx);
+        }
+    }
+
+    @Test
+    public void testRetainedEdges() {
+        final long initial = RendererStatsShim.getInitialEdgesCapacity();
+        final long retained = RendererStatsShim.getRetainedEdgesCapacity();
+        assertTrue(retained >= initial);
+
+        // storage grown below the retained size is kept
+        final long small = render(zigzag((int) (retained / 48)));
+        assertTrue(small > initial || retained == initial);
+        assertTrue(small <= retained);
+        assertEquals(small, render(zigzag(10)));
+
+        // larger storage is shrunk back to the retained size
+        assertEquals(retained, render(zigzag((int) (retained / 8))));
+    }
+}
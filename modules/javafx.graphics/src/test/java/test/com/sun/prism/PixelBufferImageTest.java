@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.prism;
+
+import com.sun.javafx.geom.Rectangle;
+import com.sun.prism.Image;
+import com.sun.prism.PixelFormat;
+import java.nio.ByteBuffer;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PixelBufferImageTest {
+    private static final int WIDTH = 64;
+    private static final int HEIGHT = 32;
+
+    private Image image;
+
+    @Before
+    public void setUp() {
+        image = Image.fromPixelBufferPreData(PixelFormat.BYTE_BGRA_PRE,
+                                             ByteBuffer.allocateDirect(WIDTH * HEIGHT * 4),
+                                             WIDTH, HEIGHT);
+    }
+
+    @Test
+    public void testBufferIsShared() {
+        ByteBuffer buffer = ByteBuffer.allocate(WIDTH * HEIGHT * 4);
+        Image img = Image.fromPixelBufferPreData(PixelFormat.BYTE_BGRA_PRE, buffer, WIDTH, HEIGHT);
+        assertSame(buffer, img.getPixelBuffer());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedFormat() {
+        Image.fromPixelBufferPreData(PixelFormat.BYTE_RGB,
+                                     ByteBuffer.allocate(WIDTH * HEIGHT * 3),
+                                     WIDTH, HEIGHT);
+    }
+
+    @Test
+    public void testNoChange() {
+        assertNull(image.getDirtyRegion(image.getSerial()));
+    }
+
+    @Test
+    public void testSingleRegion() {
+        int serial = image.getSerial();
+        image.bufferDirty(new Rectangle(1, 2, 3, 4));
+        assertEquals(serial + 1, image.getSerial());
+        assertEquals(new Rectangle(1, 2, 3, 4), image.getDirtyRegion(serial));
+    }
+
+    @Test
+    public void testUnionOfRegions() {
+        int serial = image.getSerial();
+        image.bufferDirty(new Rectangle(0, 0, 2, 2));
+        image.bufferDirty(new Rectangle(10, 5, 2, 2));
+        assertEquals(new Rectangle(0, 0, 12, 7), image.getDirtyRegion(serial));
+        assertEquals(new Rectangle(10, 5, 2, 2), image.getDirtyRegion(serial + 1));
+    }
+
+    @Test
+    public void testRegionClippedToImage() {
+        int serial = image.getSerial();
+        image.bufferDirty(new Rectangle(WIDTH - 2, HEIGHT - 2, 10, 10));
+        assertEquals(new Rectangle(WIDTH - 2, HEIGHT - 2, 2, 2), image.getDirtyRegion(serial));
+    }
+
+    @Test
+    public void testWholeImageDirty() {
+        int serial = image.getSerial();
+        image.bufferDirty(new Rectangle(0, 0, 2, 2));
+        image.bufferDirty(null);
+        assertNull(image.getDirtyRegion(serial));
+    }
+
+    @Test
+    public void testHistoryOverflow() {
+        int serial = image.getSerial();
+        for (int i = 0; i < 100; i++) {
+            image.bufferDirty(new Rectangle(i % WIDTH, 0, 1, 1));
+        }
+        assertNull(image.getDirtyRegion(serial));
+        assertEquals(new Rectangle(99 % WIDTH, 0, 1, 1), image.getDirtyRegion(image.getSerial() - 1));
+    }
+
+    @Test
+    public void testOtherChangesDirtyWholeImage() {
+        int serial = image.getSerial();
+        image.bufferDirty(new Rectangle(0, 0, 2, 2));
+        image.setArgb(5, 5, 0xff000000);
+        assertNull(image.getDirtyRegion(serial));
+    }
+
+    @Test
+    public void testRegularImageHasNoDirtyRegion() {
+        Image img = Image.fromByteBgraPreData(ByteBuffer.allocate(WIDTH * HEIGHT * 4), WIDTH, HEIGHT);
+        int serial = img.getSerial();
+        img.bufferDirty(new Rectangle(0, 0, 2, 2));
+        assertEquals(serial + 1, img.getSerial());
+        assertNull(img.getDirtyRegion(serial));
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.prism.impl;
+
+import com.sun.prism.impl.GlyphSegmentMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class GlyphSegmentMapTest {
+
+    @Test
+    public void testGetMissing() {
+        GlyphSegmentMap<String> map = new GlyphSegmentMap<>();
+        assertNull(map.get(0));
+        assertNull(map.get(-1));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testPutReplaces() {
+        GlyphSegmentMap<String> map = new GlyphSegmentMap<>();
+        map.put(3, "a");
+        map.put(3, "b");
+        assertEquals("b", map.get(3));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testSubPixelKeysAreDistinct() {
+        GlyphSegmentMap<String> map = new GlyphSegmentMap<>();
+        for (int sub = 0; sub < 4; sub++) {
+            map.put(7 | (sub << 27), "s" + sub);
+        }
+        for (int sub = 0; sub < 4; sub++) {
+            assertEquals("s" + sub, map.get(7 | (sub << 27)));
+        }
+    }
+
+    @Test
+    public void testMatchesHashMapWhileGrowing() {
+        GlyphSegmentMap<Integer> map = new GlyphSegmentMap<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            int key = random.nextInt(2000) | (random.nextInt(3) << 27);
+            map.put(key, i);
+            expected.put(key, i);
+            int probe = random.nextInt(2000);
+            assertEquals(expected.get(probe), map.get(probe));
+        }
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Integer, Integer> e : expected.entrySet()) {
+            assertEquals(e.getValue(), map.get(e.getKey()));
+        }
+    }
+
+    @Test
+    public void testClear() {
+        GlyphSegmentMap<String> map = new GlyphSegmentMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "v" + i);
+        }
+        assertEquals("v5", map.get(5));
+        map.clear();
+        assertEquals(0, map.size());
+        assertNull(map.get(5));
+        map.put(5, "w");
+        assertEquals("w", map.get(5));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testPutNull() {
+        new GlyphSegmentMap<String>().put(1, null);
+    }
+}
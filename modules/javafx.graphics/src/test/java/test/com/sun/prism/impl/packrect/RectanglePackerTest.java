@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.prism.impl.packrect;
+
+import com.sun.javafx.geom.Rectangle;
+import com.sun.prism.impl.packrect.RectanglePacker;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RectanglePackerTest {
+
+    @Test
+    public void testEmptyPacker() {
+        RectanglePacker packer = new RectanglePacker(null, 64, 64);
+        assertEquals(0, packer.getRectangleCount());
+        assertEquals(0, packer.getLevelCount());
+        assertEquals(0, packer.getUsedArea());
+        assertEquals(0.0, packer.getOccupancy(), 0.0);
+        assertEquals(0.0, packer.getAllocatedFraction(), 0.0);
+    }
+
+    @Test
+    public void testStatistics() {
+        RectanglePacker packer = new RectanglePacker(null, 64, 64);
+        assertTrue(packer.add(new Rectangle(0, 0, 16, 16)));
+        assertTrue(packer.add(new Rectangle(0, 0, 16, 16)));
+        assertTrue(packer.add(new Rectangle(0, 0, 10, 30)));
+        assertEquals(3, packer.getRectangleCount());
+        assertEquals(2, packer.getLevelCount());
+        assertEquals(16 * 16 * 2 + 10 * 30, packer.getUsedArea());
+        assertEquals((16 * 16 * 2 + 10 * 30) / (64.0 * 64), packer.getOccupancy(), 1e-9);
+        // levels of 16 and 32 (30 rounded up)
+        assertEquals(48 / 64.0, packer.getAllocatedFraction(), 1e-9);
+    }
+
+    @Test
+    public void testFailedAddIsNotCounted() {
+        RectanglePacker packer = new RectanglePacker(null, 64, 64);
+        assertTrue(packer.add(new Rectangle(0, 0, 64, 64)));
+        assertFalse(packer.add(new Rectangle(0, 0, 8, 8)));
+        assertFalse(packer.add(new Rectangle(0, 0, 100, 8)));
+        assertEquals(1, packer.getRectangleCount());
+        assertEquals(1.0, packer.getOccupancy(), 0.0);
+    }
+
+    @Test
+    public void testClearResetsStatistics() {
+        RectanglePacker packer = new RectanglePacker(null, 64, 64);
+        packer.add(new Rectangle(0, 0, 20, 20));
+        packer.clear();
+        assertEquals(0, packer.getRectangleCount());
+        assertEquals(0, packer.getLevelCount());
+        assertEquals(0, packer.getUsedArea());
+        assertEquals(0.0, packer.getAllocatedFraction(), 0.0);
+    }
+}
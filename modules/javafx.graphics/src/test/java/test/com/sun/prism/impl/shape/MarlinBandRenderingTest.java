@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.prism.impl.shape;
+
+import com.sun.javafx.geom.Ellipse2D;
+import com.sun.javafx.geom.Path2D;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.geom.RoundRectangle2D;
+import com.sun.javafx.geom.Shape;
+import com.sun.javafx.geom.transform.Affine2D;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.marlin.DMarlinRenderer;
+import com.sun.marlin.DMarlinRenderingEngine;
+import com.sun.marlin.DRendererContext;
+import com.sun.marlin.MarlinRenderer;
+import com.sun.marlin.MarlinRenderingEngine;
+import com.sun.marlin.MaskMarlinAlphaConsumer;
+import com.sun.marlin.RendererContext;
+import com.sun.prism.BasicStroke;
+import com.sun.prism.impl.shape.DMarlinPrismUtils;
+import com.sun.prism.impl.shape.MarlinPrismUtils;
+import com.sun.prism.impl.shape.MaskData;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that rendering a shape in horizontal bands, as the tiled software
+ * pipeline does, produces exactly the coverage of a single pass.
+ */
+@RunWith(Parameterized.class)
+public class MarlinBandRenderingTest {
+
+    private static final int WIDTH = 300;
+    private static final int HEIGHT = 300;
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> data() {
+        final List<Object[]> data = new ArrayList<>();
+        final Random random = new Random(1234);
+
+        data.add(new Object[] { "ellipse", new Ellipse2D(-40.3f, -20.7f, 330.1f, 280.9f), null, null });
+        data.add(new Object[] { "stroked ellipse", new Ellipse2D(10.5f, 12.25f, 270f, 250f),
+                new BasicStroke(7.5f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10f), null });
+        data.add(new Object[] { "rotated round rect", new RoundRectangle2D(40.1f, -30.2f, 220f, 320f, 40f, 60f),
+                null, rotation(0.3, 150, 150) });
+        data.add(new Object[] { "dashed round rect", new RoundRectangle2D(20f, 20f, 250f, 240f, 30f, 30f),
+                new BasicStroke(BasicStroke.TYPE_CENTERED, 3.3f, BasicStroke.CAP_ROUND,
+                        BasicStroke.JOIN_ROUND, 10f, new float[] { 9f, 5f }, 0f), null });
+
+        final Path2D plot = new Path2D();
+        plot.moveTo(0f, 150f);
+        for (int i = 1; i <= 3000; i++) {
+            plot.lineTo(i * 0.1f, 150f + (float) (100.0 * Math.sin(i * 0.01)) + random.nextFloat() * 20f);
+        }
+        data.add(new Object[] { "thin plot", plot,
+                new BasicStroke(1f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10f), null });
+        data.add(new Object[] { "thin dashed ellipse", new Ellipse2D(20.3f, 30.7f, 250f, 230f),
+                new BasicStroke(BasicStroke.TYPE_CENTERED, 1.25f, BasicStroke.CAP_ROUND,
+                        BasicStroke.JOIN_ROUND, 10f, new float[] { 4f, 3f }, 0f), null });
+
+        for (int i = 0; i < 4; i++) {
+            final Path2D path = new Path2D(i % 2 == 0 ? Path2D.WIND_EVEN_ODD : Path2D.WIND_NON_ZERO);
+            path.moveTo(coord(random), coord(random));
+            for (int j = 0; j < 30; j++) {
+                switch (random.nextInt(3)) {
+                    case 0:
+                        path.lineTo(coord(random), coord(random));
+                        break;
+                    case 1:
+                        path.quadTo(coord(random), coord(random), coord(random), coord(random));
+                        break;
+                    default:
+                        path.curveTo(coord(random), coord(random), coord(random), coord(random),
+                                coord(random), coord(random));
+                        break;
+                }
+            }
+            path.closePath();
+            data.add(new Object[] { "random path " + i, path,
+                    i == 3 ? new BasicStroke(4.2f, BasicStroke.CAP_SQUARE, BasicStroke.JOIN_BEVEL, 10f) : null,
+                    null });
+        }
+        return data;
+    }
+
+    private static float coord(Random random) {
+        return random.nextFloat() * 500f - 100f;
+    }
+
+    private static BaseTransform rotation(double theta, double cx, double cy) {
+        final Affine2D tx = new Affine2D();
+        tx.rotate(theta, cx, cy);
+        return tx;
+    }
+
+    private final Shape shape;
+    private final BasicStroke stroke;
+    private final BaseTransform transform;
+
+    public MarlinBandRenderingTest(String name, Shape shape, BasicStroke stroke, BaseTransform transform) {
+        this.shape = shape;
+        this.stroke = stroke;
+        this.transform = transform;
+    }
+
+    @Test
+    public void testDoubleMarlinBands() {
+        final Rectangle clip = new Rectangle(0, 0, WIDTH, HEIGHT);
+        final byte[] expected = renderDouble(clip, clip);
+        for (int bandHeight : new int[] { 1, 7, 32, 100 }) {
+            final byte[] actual = new byte[WIDTH * HEIGHT];
+            for (int y = 0; y < HEIGHT; y += bandHeight) {
+                final Rectangle band = new Rectangle(0, y, WIDTH, Math.min(bandHeight, HEIGHT - y));
+                merge(actual, renderDouble(clip, band), band);
+            }
+            assertArrayEquals("band height " + bandHeight, expected, actual);
+        }
+    }
+
+    @Test
+    public void testFloatMarlinBands() {
+        final Rectangle clip = new Rectangle(0, 0, WIDTH, HEIGHT);
+        final byte[] expected = renderFloat(clip, clip);
+        for (int bandHeight : new int[] { 1, 13, 64 }) {
+            final byte[] actual = new byte[WIDTH * HEIGHT];
+            for (int y = 0; y < HEIGHT; y += bandHeight) {
+                final Rectangle band = new Rectangle(0, y, WIDTH, Math.min(bandHeight, HEIGHT - y));
+                merge(actual, renderFloat(clip, band), band);
+            }
+            assertArrayEquals("band height " + bandHeight, expected, actual);
+        }
+    }
+
+    private static void merge(byte[] dst, byte[] src, Rectangle band) {
+        for (int y = band.y; y < band.y + band.height; y++) {
+            System.arraycopy(src, y * WIDTH, dst, y * WIDTH, WIDTH);
+        }
+    }
+
+
+    private byte[] renderDouble(Rectangle clip, Rectangle band) {
+        final DRendererContext rdrCtx = DMarlinRenderingEngine.getRendererContext();
+        DMarlinRenderer renderer = null;
+        try {
+            renderer = DMarlinPrismUtils.setupRenderer(rdrCtx, shape, stroke, transform,
+                    clip, band, true);
+            return collect(renderer.getOutpixMinX(), renderer.getOutpixMinY(),
+                    renderer.getOutpixMaxX(), renderer.getOutpixMaxY(), renderer::produceAlphas);
+        } finally {
+            if (renderer != null) {
+                renderer.dispose();
+            }
+            DMarlinRenderingEngine.returnRendererContext(rdrCtx);
+        }
+    }
+
+    private byte[] renderFloat(Rectangle clip, Rectangle band) {
+        final RendererContext rdrCtx = MarlinRenderingEngine.getRendererContext();
+        MarlinRenderer renderer = null;
+        try {
+            renderer = MarlinPrismUtils.setupRenderer(rdrCtx, shape, stroke, transform,
+                    clip, band, true);
+            return collect(renderer.getOutpixMinX(), renderer.getOutpixMinY(),
+                    renderer.getOutpixMaxX(), renderer.getOutpixMaxY(), renderer::produceAlphas);
+        } finally {
+            if (renderer != null) {
+                renderer.dispose();
+            }
+            MarlinRenderingEngine.returnRendererContext(rdrCtx);
+        }
+    }
+
+    private interface Producer {
+        void produceAlphas(MaskMarlinAlphaConsumer consumer);
+    }
+
+    private static byte[] collect(int x0, int y0, int x1, int y1, Producer producer) {
+        final byte[] canvas = new byte[WIDTH * HEIGHT];
+        final int w = x1 - x0;
+        final int h = y1 - y0;
+        if (w <= 0 || h <= 0) {
+            return canvas;
+        }
+        final MaskMarlinAlphaConsumer consumer = new MaskMarlinAlphaConsumer(w * h);
+        consumer.setBoundsNoClone(x0, y0, w, h);
+        producer.produceAlphas(consumer);
+        final MaskData mask = consumer.getMaskData();
+        final ByteBuffer buffer = mask.getMaskBuffer();
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                canvas[(y0 + y) * WIDTH + x0 + x] = buffer.get(y * w + x);
+            }
+        }
+        return canvas;
+    }
+}
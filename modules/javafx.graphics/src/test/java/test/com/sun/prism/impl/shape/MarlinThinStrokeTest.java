@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.prism.impl.shape;
+
+import com.sun.javafx.geom.Ellipse2D;
+import com.sun.javafx.geom.Path2D;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.geom.RoundRectangle2D;
+import com.sun.javafx.geom.Shape;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.marlin.DMarlinRenderer;
+import com.sun.marlin.DMarlinRenderingEngine;
+import com.sun.marlin.DRendererContext;
+import com.sun.marlin.MarlinRenderer;
+import com.sun.marlin.MarlinRenderingEngine;
+import com.sun.marlin.MaskMarlinAlphaConsumer;
+import com.sun.marlin.RendererContext;
+import com.sun.prism.BasicStroke;
+import com.sun.prism.impl.shape.DMarlinPrismUtils;
+import com.sun.prism.impl.shape.MarlinPrismUtils;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the coverage of the thin strokes against the coverage of the same
+ * strokes rendered by the regular stroker, which is used when the transform
+ * scales the line width non uniformly.
+ */
+public class MarlinThinStrokeTest {
+
+    private static final int WIDTH = 300;
+    private static final int HEIGHT = 300;
+
+    // not a uniform scale, but the same geometry in practice:
+    private static final BaseTransform NON_UNIFORM =
+            BaseTransform.getScaleInstance(1.0, 1.0 + 1e-7);
+
+    private static final Rectangle CLIP = new Rectangle(0, 0, WIDTH, HEIGHT);
+
+    @Test
+    public void testAxisAlignedLine() {
+        final Path2D path = new Path2D();
+        path.moveTo(10f, 20.5f);
+        path.lineTo(40f, 20.5f);
+        final BasicStroke stroke = new BasicStroke(1f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10f);
+
+        for (byte[] alphas : new byte[][] {
+                renderDouble(path, stroke, null), renderFloat(path, stroke, null) }) {
+            for (int y = 18; y < 23; y++) {
+                for (int x = 8; x < 42; x++) {
+                    final int expected = (y == 20 && x >= 10 && x < 40) ? 255 : 0;
+                    assertEquals("(" + x + ", " + y + ")", expected, alphas[y * WIDTH + x] & 0xFF);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDashedLine() {
+        final Path2D path = new Path2D();
+        path.moveTo(10f, 20.5f);
+        path.lineTo(100f, 20.5f);
+        final float[] dashes = { 2f, 50f };
+
+        checkDashes(path, new BasicStroke(1f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10f,
+                dashes, 0f), null, 10, 12, 62, 64);
+        checkDashes(path, new BasicStroke(1f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10f,
+                dashes, 1f), null, 10, 11, 61, 63);
+        checkDashes(path, new BasicStroke(1f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10f,
+                dashes, 1f), BaseTransform.IDENTITY_TRANSFORM, 10, 11, 61, 63);
+    }
+
+    @Test
+    public void testDashedLineScaled() {
+        // the same line as testDashedLine, scaled uniformly in device space
+        final Path2D path = new Path2D();
+        path.moveTo(5f, 10.25f);
+        path.lineTo(50f, 10.25f);
+        final float[] dashes = { 1f, 25f };
+        final BaseTransform scale = BaseTransform.getScaleInstance(2.0, 2.0);
+
+        checkDashes(path, new BasicStroke(0.5f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10f,
+                dashes, 0f), scale, 10, 12, 62, 64);
+        checkDashes(path, new BasicStroke(0.5f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10f,
+                dashes, 0.5f), scale, 10, 11, 61, 63);
+    }
+
+    /**
+     * Checks that a stroke of the horizontal line on row 20 covers exactly
+     * the columns in the given [from, to) ranges.
+     */
+    private static void checkDashes(Shape shape, BasicStroke stroke, BaseTransform transform,
+                                    int... ranges)
+    {
+        for (byte[] alphas : new byte[][] {
+                renderDouble(shape, stroke, transform), renderFloat(shape, stroke, transform) }) {
+            for (int y = 18; y < 23; y++) {
+                for (int x = 8; x < 110; x++) {
+                    boolean dash = false;
+                    for (int i = 0; i < ranges.length; i += 2) {
+                        dash |= (x >= ranges[i] && x < ranges[i + 1]);
+                    }
+                    final int expected = (y == 20 && dash) ? 255 : 0;
+                    assertEquals("(" + x + ", " + y + ")", expected, alphas[y * WIDTH + x] & 0xFF);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testShapes() {
+        final Path2D zigzag = new Path2D();
+        zigzag.moveTo(10f, 10f);
+        for (int i = 0; i < 20; i++) {
+            zigzag.lineTo(20f + i * 13.3f, (i % 2 == 0) ? 50.2f : 90.7f);
+        }
+        final Path2D triangle = new Path2D();
+        triangle.moveTo(100.2f, 150.4f);
+        triangle.lineTo(280.7f, 160.1f);
+        triangle.lineTo(200.3f, 290.6f);
+        triangle.closePath();
+
+        final Shape[] shapes = { zigzag, triangle,
+                new Ellipse2D(20.5f, 120.25f, 150f, 130f),
+                new RoundRectangle2D(180.3f, 10.6f, 100f, 120f, 30f, 30f) };
+        final int[] caps = { BasicStroke.CAP_BUTT, BasicStroke.CAP_ROUND, BasicStroke.CAP_SQUARE };
+
+        for (Shape shape : shapes) {
+            for (float width : new float[] { 0.5f, 1f, 1.5f }) {
+                for (int cap : caps) {
+                    final BasicStroke stroke = new BasicStroke(width, cap, BasicStroke.JOIN_MITER, 10f);
+                    final String msg = shape + " width " + width + " cap " + cap;
+                    checkCoverage(msg, renderDouble(shape, stroke, NON_UNIFORM),
+                            renderDouble(shape, stroke, null), 0.12, 0.03);
+                    checkCoverage(msg, renderFloat(shape, stroke, NON_UNIFORM),
+                            renderFloat(shape, stroke, null), 0.12, 0.03);
+                }
+            }
+            final BasicStroke dashed = new BasicStroke(1f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10f,
+                    new float[] { 7f, 3f, 1f, 3f }, 2.5f);
+            final String msg = shape + " dashed";
+            checkCoverage(msg, renderDouble(shape, dashed, NON_UNIFORM),
+                    renderDouble(shape, dashed, null), 0.12, 0.03);
+            checkCoverage(msg, renderFloat(shape, dashed, NON_UNIFORM),
+                    renderFloat(shape, dashed, null), 0.12, 0.03);
+        }
+    }
+
+    @Test
+    public void testDensePlot() {
+        final Random random = new Random(42);
+        final Path2D plot = new Path2D();
+        plot.moveTo(0f, 150f);
+        for (int i = 1; i <= 30000; i++) {
+            plot.lineTo(i * 0.01f, 150f + (float) (80.0 * Math.sin(i * 0.001))
+                    + (float) random.nextGaussian() * 10f);
+        }
+        final BasicStroke stroke = new BasicStroke(1f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10f);
+
+        // the vertices within a pixel column are decimated:
+        checkCoverage("plot", renderDouble(plot, stroke, NON_UNIFORM),
+                renderDouble(plot, stroke, null), 0.15, 0.10);
+        checkCoverage("plot", renderFloat(plot, stroke, NON_UNIFORM),
+                renderFloat(plot, stroke, null), 0.15, 0.10);
+    }
+
+    private static void checkCoverage(String msg, byte[] expected, byte[] actual,
+                                      double maxDiff, double maxCoverageDiff)
+    {
+        long sumExpected = 0L;
+        long sumActual = 0L;
+        long sumDiff = 0L;
+        for (int i = 0; i < expected.length; i++) {
+            final int e = expected[i] & 0xFF;
+            final int a = actual[i] & 0xFF;
+            sumExpected += e;
+            sumActual += a;
+            sumDiff += Math.abs(e - a);
+        }
+        assertTrue(msg + ": empty", sumExpected > 0L);
+        assertTrue(msg + ": difference " + sumDiff + " / " + sumExpected,
+                sumDiff <= maxDiff * sumExpected);
+        assertTrue(msg + ": coverage " + sumActual + " / " + sumExpected,
+                Math.abs(sumActual - sumExpected) <= maxCoverageDiff * sumExpected);
+    }
+
+    private static byte[] renderDouble(Shape shape, BasicStroke stroke, BaseTransform transform) {
+        final DRendererContext rdrCtx = DMarlinRenderingEngine.getRendererContext();
+        DMarlinRenderer renderer = null;
+        try {
+            renderer = DMarlinPrismUtils.setupRenderer(rdrCtx, shape, stroke, transform, CLIP, true);
+            return collect(renderer.getOutpixMinX(), renderer.getOutpixMinY(),
+                    renderer.getOutpixMaxX(), renderer.getOutpixMaxY(), renderer::produceAlphas);
+        } finally {
+            if (renderer != null) {
+                renderer.dispose();
+            }
+            DMarlinRenderingEngine.returnRendererContext(rdrCtx);
+        }
+    }
+
+    private static byte[] renderFloat(Shape shape, BasicStroke stroke, BaseTransform transform) {
+        final RendererContext rdrCtx = MarlinRenderingEngine.getRendererContext();
+        MarlinRenderer renderer = null;
+        try {
+            renderer = MarlinPrismUtils.setupRenderer(rdrCtx, shape, stroke, transform, CLIP, true);
+            return collect(renderer.getOutpixMinX(), renderer.getOutpixMinY(),
+                    renderer.getOutpixMaxX(), renderer.getOutpixMaxY(), renderer::produceAlphas);
+        } finally {
+            if (renderer != null) {
+                renderer.dispose();
+            }
+            MarlinRenderingEngine.returnRendererContext(rdrCtx);
+        }
+    }
+
+    private interface Producer {
+        void produceAlphas(MaskMarlinAlphaConsumer consumer);
+    }
+
+    private static byte[] collect(int x0, int y0, int x1, int y1, Producer producer) {
+        final byte[] canvas = new byte[WIDTH * HEIGHT];
+        final int w = x1 - x0;
+        final int h = y1 - y0;
+        if (w <= 0 || h <= 0) {
+            return canvas;
+        }
+        final MaskMarlinAlphaConsumer consumer = new MaskMarlinAlphaConsumer(w * h);
+        consumer.setBoundsNoClone(x0, y0, w, h);
+        producer.produceAlphas(consumer);
+        final ByteBuffer buffer = consumer.getMaskData().getMaskBuffer();
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                canvas[(y0 + y) * WIDTH + x0 + x] = buffer.get(y * w + x);
+            }
+        }
+        return canvas;
+    }
+}
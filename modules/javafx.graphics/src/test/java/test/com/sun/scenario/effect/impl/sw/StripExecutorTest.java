@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.scenario.effect.impl.sw;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import com.sun.scenario.effect.impl.sw.StripExecutor;
+import com.sun.scenario.effect.impl.sw.StripExecutorShim;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class StripExecutorTest {
+
+    @Test
+    public void testEveryUnitRunsOnce() {
+        for (int count : new int[] { 1, 2, 7, 100, 1000 }) {
+            AtomicIntegerArray runs = new AtomicIntegerArray(count);
+            StripExecutorShim.run(4, 1, count, 1, (from, to) -> {
+                assertTrue(from < to);
+                for (int i = from; i < to; i++) {
+                    runs.incrementAndGet(i);
+                }
+            });
+            for (int i = 0; i < count; i++) {
+                assertEquals(1, runs.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testSmallPassRunsOnCallingThread() {
+        Thread caller = Thread.currentThread();
+        int strips[] = new int[1];
+        StripExecutorShim.run(4, 1000, 10, 10, (from, to) -> {
+            assertSame(caller, Thread.currentThread());
+            assertEquals(0, from);
+            assertEquals(10, to);
+            strips[0]++;
+        });
+        assertEquals(1, strips[0]);
+    }
+
+    @Test
+    public void testSingleThreadRunsOnCallingThread() {
+        Thread caller = Thread.currentThread();
+        StripExecutorShim.run(1, 1, 1000, 1000, (from, to) -> {
+            assertSame(caller, Thread.currentThread());
+            assertEquals(0, from);
+            assertEquals(1000, to);
+        });
+    }
+
+    @Test
+    public void testStripsAreBalanced() {
+        Set<Integer> sizes = Collections.synchronizedSet(new HashSet<>());
+        StripExecutorShim.run(4, 1, 100, 1, (from, to) -> sizes.add(to - from));
+        for (int size : sizes) {
+            assertTrue("strip of " + size, size <= 25);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testExceptionIsRethrown() {
+        StripExecutorShim.run(4, 1, 100, 1, (from, to) -> {
+            throw new IllegalStateException();
+        });
+    }
+
+    @Test
+    public void testDefaultThreadCount() {
+        assertTrue(StripExecutor.getThreadCount() >= 1);
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.scenario.effect.impl.sw.java;
+
+import java.util.Random;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.scenario.effect.Color4f;
+import com.sun.scenario.effect.FilterContext;
+import com.sun.scenario.effect.impl.EffectPeerShim;
+import com.sun.scenario.effect.impl.Renderer;
+import com.sun.scenario.effect.impl.sw.java.JSWBoxBlurPeer;
+import com.sun.scenario.effect.impl.sw.java.JSWBoxShadowPeer;
+import com.sun.scenario.effect.impl.sw.java.JSWLinearConvolvePeer;
+import com.sun.scenario.effect.impl.sw.java.JSWLinearConvolveShadowPeer;
+import com.sun.scenario.effect.impl.sw.java.JSWPeerShim;
+import com.sun.scenario.effect.impl.sw.java.JSWVBoxBlurPeer;
+import com.sun.scenario.effect.impl.sw.java.JSWVBoxShadowPeer;
+import com.sun.scenario.effect.impl.sw.java.JSWVLinearConvolvePeer;
+import com.sun.scenario.effect.impl.sw.java.JSWVLinearConvolveShadowPeer;
+import com.sun.scenario.effect.impl.sw.java.JSWVRendererDelegate;
+import com.sun.scenario.effect.impl.state.GaussianRenderState;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the JSWV peers produce exactly the same pixels as the
+ * scalar JSW peers they replace.
+ */
+public class JSWVPeersTest {
+
+    private static final int W = 37;
+    private static final int H = 23;
+    private static final int SCAN = W + 5;
+
+    private final FilterContext fctx = new FilterContext(new Object()) {};
+    private final Random random = new Random(12);
+
+    private int[] randomImage() {
+        int pixels[] = new int[SCAN * H];
+        for (int i = 0; i < pixels.length; i++) {
+            int a = random.nextInt(4) == 0 ? 0 : random.nextInt(256);
+            int r = random.nextInt(a + 1);
+            int g = random.nextInt(a + 1);
+            int b = random.nextInt(a + 1);
+            pixels[i] = (a << 24) | (r << 16) | (g << 8) | b;
+        }
+        return pixels;
+    }
+
+    private float[] weights(int count) {
+        float weights[] = new float[count];
+        float sum = 0f;
+        for (int i = 0; i < count; i++) {
+            float d = i - (count - 1) / 2f;
+            weights[i] = (float) Math.exp(-d * d / count);
+            sum += weights[i];
+        }
+        for (int i = 0; i < count; i++) {
+            weights[i] /= sum;
+        }
+        return weights;
+    }
+
+    private void checkLinearConvolve(JSWLinearConvolvePeer scalar,
+                                     JSWLinearConvolvePeer vector,
+                                     float srcx0, float srcy0,
+                                     float deltax, float deltay, int count)
+    {
+        int src[] = randomImage();
+        float weights[] = weights(count);
+        int growx = deltax == 0 ? 0 : count - 1;
+        int growy = deltay == 0 ? 0 : count - 1;
+        int dstw = W + growx;
+        int dsth = H + growy;
+        float offsetx = -growx / 2 * deltax;
+        float offsety = -growy / 2 * deltay;
+        int expected[] = new int[dstw * dsth];
+        int actual[] = new int[dstw * dsth];
+        JSWPeerShim.filterVector(scalar, expected, dstw, dsth, dstw,
+                                 src, W, H, SCAN, weights, count,
+                                 srcx0, srcy0, offsetx, offsety,
+                                 deltax, deltay, 1f, 0f, 0f, 1f);
+        JSWPeerShim.filterVector(vector, actual, dstw, dsth, dstw,
+                                 src, W, H, SCAN, weights, count,
+                                 srcx0, srcy0, offsetx, offsety,
+                                 deltax, deltay, 1f, 0f, 0f, 1f);
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void testLinearConvolve() {
+        JSWLinearConvolvePeer scalar = new JSWLinearConvolvePeer(fctx, null, "LinearConvolve");
+        JSWLinearConvolvePeer vector = new JSWVLinearConvolvePeer(fctx, null, "LinearConvolve");
+        for (int count = 1; count <= 17; count += 4) {
+            checkLinearConvolve(scalar, vector, -(count / 2), 0f, 1f, 0f, count);
+            checkLinearConvolve(scalar, vector, 0f, -(count / 2), 0f, 1f, count);
+            checkLinearConvolve(scalar, vector, 2f, 3f, 1f, 0f, count);
+            // not on pixel centers, handled by the scalar loop
+            checkLinearConvolve(scalar, vector, 0.25f, 0f, 1f, 0f, count);
+        }
+    }
+
+    @Test
+    public void testLinearConvolveShadow() {
+        GaussianRenderState state =
+            new GaussianRenderState(4f, 4f, 0f, true, Color4f.BLACK, BaseTransform.IDENTITY_TRANSFORM);
+        JSWLinearConvolveShadowPeer scalar =
+            new JSWLinearConvolveShadowPeer(fctx, null, "LinearConvolveShadow");
+        JSWLinearConvolveShadowPeer vector =
+            new JSWVLinearConvolveShadowPeer(fctx, null, "LinearConvolveShadow");
+        EffectPeerShim.setRenderState(scalar, state);
+        EffectPeerShim.setRenderState(vector, state);
+        for (int count = 1; count <= 17; count += 4) {
+            checkLinearConvolve(scalar, vector, -(count / 2), 0f, 1f, 0f, count);
+            checkLinearConvolve(scalar, vector, 0f, -(count / 2), 0f, 1f, count);
+            checkLinearConvolve(scalar, vector, -0.5f, 0.5f, 0f, 1f, count);
+            checkLinearConvolve(scalar, vector, 0.25f, 0f, 1f, 0f, count);
+        }
+    }
+
+    @Test
+    public void testBoxBlurVertical() {
+        JSWBoxBlurPeer scalar = new JSWBoxBlurPeer(fctx, null, "BoxBlur");
+        JSWBoxBlurPeer vector = new JSWVBoxBlurPeer(fctx, null, "BoxBlur");
+        for (int grow = 1; grow <= 9; grow += 2) {
+            int src[] = randomImage();
+            int expected[] = new int[W * (H + grow)];
+            int actual[] = new int[W * (H + grow)];
+            JSWPeerShim.filterVertical(scalar, expected, W, H + grow, W, src, W, H, SCAN);
+            JSWPeerShim.filterVertical(vector, actual, W, H + grow, W, src, W, H, SCAN);
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testBoxShadowVertical() {
+        JSWBoxShadowPeer scalar = new JSWBoxShadowPeer(fctx, null, "BoxShadow");
+        JSWBoxShadowPeer vector = new JSWVBoxShadowPeer(fctx, null, "BoxShadow");
+        float color[] = { 0.25f, 0.5f, 0.125f, 0.75f };
+        for (float spread = 0f; spread <= 1f; spread += 0.5f) {
+            for (int grow = 1; grow <= 9; grow += 4) {
+                int src[] = randomImage();
+                int expected[] = new int[W * (H + grow)];
+                int actual[] = new int[W * (H + grow)];
+                JSWPeerShim.filterVerticalBlack(scalar, expected, W, H + grow, W,
+                                                src, W, H, SCAN, spread);
+                JSWPeerShim.filterVerticalBlack(vector, actual, W, H + grow, W,
+                                                src, W, H, SCAN, spread);
+                assertArrayEquals(expected, actual);
+                JSWPeerShim.filterVertical(scalar, expected, W, H + grow, W,
+                                           src, W, H, SCAN, spread, color);
+                JSWPeerShim.filterVertical(vector, actual, W, H + grow, W,
+                                           src, W, H, SCAN, spread, color);
+                assertArrayEquals(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void testDelegatePeerNames() {
+        JSWVRendererDelegate delegate = new JSWVRendererDelegate();
+        String pkg = Renderer.rootPkg + ".impl.sw.java.";
+        assertEquals(pkg + "JSWVLinearConvolvePeer",
+                     delegate.getPlatformPeerName("LinearConvolve", 0));
+        assertEquals(pkg + "JSWVBoxShadowPeer",
+                     delegate.getPlatformPeerName("BoxShadow", 0));
+        assertEquals(pkg + "JSWColorAdjustPeer",
+                     delegate.getPlatformPeerName("ColorAdjust", 0));
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.scene;
+
+import com.sun.javafx.tk.Toolkit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.PerspectiveCamera;
+import javafx.scene.Scene;
+import javafx.scene.SceneShim;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Line;
+import javafx.scene.shape.Rectangle;
+import javafx.stage.Stage;
+import test.com.sun.javafx.pgstub.StubToolkit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that picking with {@code Parent.pickIndexed} finds the same nodes as
+ * testing every child.
+ */
+public class PickIndexTest {
+
+    private static final int COUNT = 500;
+
+    private Stage stage, indexedStage;
+    private Scene scene, indexedScene;
+    private Group root, indexedRoot;
+    private Random random;
+
+    @Before
+    public void setUp() {
+        random = new Random(7);
+        root = new Group();
+        indexedRoot = new Group();
+        indexedRoot.setPickIndexed(true);
+        for (int i = 0; i < COUNT; i++) {
+            add(i, createShape(i, random.nextLong()));
+        }
+        scene = new Scene(root, 400, 400);
+        indexedScene = new Scene(indexedRoot, 400, 400);
+        stage = new Stage();
+        stage.setScene(scene);
+        stage.show();
+        indexedStage = new Stage();
+        indexedStage.setScene(indexedScene);
+        indexedStage.show();
+        pulse();
+    }
+
+    @After
+    public void tearDown() {
+        stage.hide();
+        indexedStage.hide();
+    }
+
+    private void add(int index, Node[] nodes) {
+        root.getChildren().add(index, nodes[0]);
+        indexedRoot.getChildren().add(index, nodes[1]);
+    }
+
+    // creates the same random shape twice
+    private Node[] createShape(int id, long seed) {
+        Node[] nodes = new Node[2];
+        for (int k = 0; k < 2; k++) {
+            Random r = new Random(seed);
+            Node node;
+            switch (r.nextInt(4)) {
+                case 0:
+                    node = new Circle(r.nextDouble() * 400, r.nextDouble() * 400,
+                                      1 + r.nextDouble() * 20);
+                    break;
+                case 1:
+                    node = new Line(r.nextDouble() * 400, r.nextDouble() * 400,
+                                    r.nextDouble() * 400, r.nextDouble() * 400);
+                    break;
+                case 2:
+                    // spans most of the grid
+                    node = new Rectangle(r.nextDouble() * 100, r.nextDouble() * 100,
+                                         200 + r.nextDouble() * 200, 5);
+                    break;
+                default:
+                    node = new Rectangle(r.nextDouble() * 400, r.nextDouble() * 400,
+                                         1 + r.nextDouble() * 30, 1 + r.nextDouble() * 30);
+                    node.setRotate(r.nextDouble() * 360);
+                    break;
+            }
+            node.setVisible(r.nextInt(10) != 0);
+            node.setMouseTransparent(r.nextInt(20) == 0);
+            node.setId("n" + id);
+            nodes[k] = node;
+        }
+        return nodes;
+    }
+
+    private void pulse() {
+        ((StubToolkit) Toolkit.getToolkit()).firePulse();
+    }
+
+    private void assertSamePicks() {
+        for (int i = 0; i < 2000; i++) {
+            double x = -20 + random.nextDouble() * 440;
+            double y = -20 + random.nextDouble() * 440;
+            assertSamePick(x, y);
+        }
+    }
+
+    private void assertSamePick(double x, double y) {
+        Node expected = SceneShim.test_pick(scene, x, y);
+        Node actual = SceneShim.test_pick(indexedScene, x, y);
+        String msg = "pick at " + x + ", " + y;
+        if (expected == null) {
+            assertNull(msg, actual);
+        } else {
+            assertNotNull(msg, actual);
+            assertEquals(msg, expected.getId(), actual.getId());
+        }
+    }
+
+    private void both(java.util.function.BiConsumer<Group, Integer> change, int index) {
+        change.accept(root, index);
+        change.accept(indexedRoot, index);
+    }
+
+    @Test
+    public void testPickIndexedDefaultsToFalse() {
+        Group g = new Group();
+        assertFalse(g.isPickIndexed());
+        assertFalse(g.pickIndexedProperty().get());
+        g.setPickIndexed(true);
+        assertTrue(g.pickIndexedProperty().get());
+    }
+
+    @Test
+    public void testSamePicks() {
+        assertSamePicks();
+    }
+
+    @Test
+    public void testPickTopMostOfOverlappingNodes() {
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            nodes.add(new Rectangle(10, 10, 20, 20));
+        }
+        Group g = new Group(nodes);
+        g.setPickIndexed(true);
+        Scene s = new Scene(g, 100, 100);
+        assertSame(nodes.get(99), SceneShim.test_pick(s, 15, 15));
+        nodes.get(99).setVisible(false);
+        assertSame(nodes.get(98), SceneShim.test_pick(s, 15, 15));
+        nodes.get(5).toFront();
+        assertSame(nodes.get(5), SceneShim.test_pick(s, 15, 15));
+        nodes.get(5).setTranslateX(50);
+        assertSame(nodes.get(98), SceneShim.test_pick(s, 15, 15));
+        assertSame(nodes.get(5), SceneShim.test_pick(s, 65, 15));
+        assertNull(SceneShim.test_pick(s, 5, 15));
+    }
+
+    @Test
+    public void testSamePicksAfterMovingNodes() {
+        assertSamePicks();
+        for (int i = 0; i < 50; i++) {
+            double dx = random.nextDouble() * 100 - 50;
+            double dy = random.nextDouble() * 100 - 50;
+            both((g, j) -> {
+                Node n = g.getChildren().get(j);
+                n.setTranslateX(n.getTranslateX() + dx);
+                n.setTranslateY(n.getTranslateY() + dy);
+            }, random.nextInt(COUNT));
+        }
+        assertSamePicks();
+        // moves a node far outside of the grid
+        both((g, j) -> g.getChildren().get(j).setLayoutX(10000), 3);
+        both((g, j) -> g.getChildren().get(j).setLayoutX(-100), 4);
+        assertSamePicks();
+    }
+
+    @Test
+    public void testSamePicksAfterResizingNodes() {
+        assertSamePicks();
+        for (int i = 0; i < 50; i++) {
+            double scale = 0.1 + random.nextDouble() * 5;
+            both((g, j) -> {
+                Node n = g.getChildren().get(j);
+                n.setScaleX(scale);
+                n.setScaleY(scale);
+            }, random.nextInt(COUNT));
+        }
+        assertSamePicks();
+    }
+
+    @Test
+    public void testSamePicksAfterChangingVisibility() {
+        assertSamePicks();
+        for (int i = 0; i < 100; i++) {
+            both((g, j) -> {
+                Node n = g.getChildren().get(j);
+                n.setVisible(!n.isVisible());
+            }, random.nextInt(COUNT));
+        }
+        assertSamePicks();
+    }
+
+    @Test
+    public void testSamePicksAfterChangingChildren() {
+        assertSamePicks();
+        for (int i = 0; i < 20; i++) {
+            both((g, j) -> g.getChildren().remove((int) j), random.nextInt(COUNT - i));
+        }
+        for (int i = 0; i < 20; i++) {
+            add(random.nextInt(COUNT - 20), createShape(COUNT + i, random.nextLong()));
+        }
+        both((g, j) -> g.getChildren().get(j).toFront(), 10);
+        both((g, j) -> g.getChildren().get(j).toBack(), 200);
+        assertSamePicks();
+    }
+
+    @Test
+    public void testSamePicksWithViewOrder() {
+        for (int i = 0; i < 100; i++) {
+            double viewOrder = random.nextInt(5) - 2;
+            both((g, j) -> g.getChildren().get(j).setViewOrder(viewOrder),
+                 random.nextInt(COUNT));
+        }
+        pulse();
+        assertSamePicks();
+        both((g, j) -> g.getChildren().get(j).setViewOrder(-10), 42);
+        pulse();
+        assertSamePicks();
+    }
+
+    @Test
+    public void testSamePicksInNestedGroup() {
+        Group[] groups = new Group[2];
+        for (int k = 0; k < 2; k++) {
+            Group g = new Group();
+            for (int i = 0; i < 100; i++) {
+                Rectangle r = new Rectangle(i * 3, i * 2, 10, 10);
+                r.setId("r" + i);
+                g.getChildren().add(r);
+            }
+            g.setRotate(30);
+            g.setScaleX(1.5);
+            groups[k] = g;
+        }
+        groups[1].setPickIndexed(true);
+        add(COUNT, groups);
+        assertSamePicks();
+        both((g, j) -> ((Group) g.getChildren().get(j)).getChildren().get(50).setTranslateY(100), COUNT);
+        assertSamePicks();
+    }
+
+    @Test
+    public void testSamePicksWithPerspectiveCamera() {
+        scene.setCamera(new PerspectiveCamera());
+        indexedScene.setCamera(new PerspectiveCamera());
+        assertSamePicks();
+    }
+}
@@ -41,6 +41,7 @@ import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.LinkedList;
 import java.util.Queue;
+import java.util.concurrent.Executor;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageShim;
 
@@ -254,6 +255,40 @@ public final class ImageTest {
         assertEquals(testException, image.getException());
     }
 
+    @Test
+    public void loadImageAsyncWithExecutorTest() {
+        final Executor executor = Runnable::run;
+        final Queue<StubAsyncImageLoader> asyncLoaders =
+                new LinkedList<StubAsyncImageLoader>();
+        final Image[] images = new Image[10];
+
+        // more images than the throttle lets run, all started at once
+        for (int i = 0; i < images.length; ++i) {
+            final String url = "file:executor" + i + ".png";
+            registerImage(url, 100, 200);
+
+            images[i] = new Image(url, 50, 50, true, true, executor);
+            assertTrue(images[i].isBackgroundLoading());
+
+            final StubAsyncImageLoader asyncLoader = getLastAsyncImageLoader();
+            assertTrue(asyncLoader.isStarted());
+            assertSame(executor, asyncLoader.getExecutor());
+            asyncLoaders.add(asyncLoader);
+        }
+
+        for (final StubAsyncImageLoader asyncLoader: asyncLoaders) {
+            asyncLoader.finish();
+        }
+        for (final Image image: images) {
+            verifyLoadedImage(image, 50, 50, true, true, 100, 200);
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void loadImageAsyncWithNullExecutorTest() {
+        new Image("file:test.png", 0, 0, false, true, (Executor) null);
+    }
+
     @Test
     public void loadMultipleImagesAsyncTest() {
         final int multiImageCount = 100;
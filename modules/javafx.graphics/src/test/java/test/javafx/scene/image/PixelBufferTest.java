@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.scene.image;
+
+import test.com.sun.javafx.pgstub.StubToolkit;
+import test.com.sun.javafx.pgstub.StubWritablePlatformImage;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.tk.Toolkit;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import javafx.beans.InvalidationListener;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelBuffer;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public final class PixelBufferTest {
+    private static final int WIDTH = 100;
+    private static final int HEIGHT = 50;
+
+    private ByteBuffer byteBuffer;
+    private PixelBuffer<ByteBuffer> pixelBuffer;
+
+    @Before
+    public void setUp() {
+        ((StubToolkit) Toolkit.getToolkit()).getImageLoaderFactory().reset();
+        byteBuffer = ByteBuffer.allocateDirect(WIDTH * HEIGHT * 4);
+        pixelBuffer = new PixelBuffer<>(WIDTH, HEIGHT, byteBuffer,
+                                        PixelFormat.getByteBgraPreInstance());
+    }
+
+    @Test
+    public void testGetters() {
+        assertSame(byteBuffer, pixelBuffer.getBuffer());
+        assertEquals(WIDTH, pixelBuffer.getWidth());
+        assertEquals(HEIGHT, pixelBuffer.getHeight());
+        assertSame(PixelFormat.getByteBgraPreInstance(), pixelBuffer.getPixelFormat());
+    }
+
+    @Test
+    public void testIntArgbPreBuffer() {
+        IntBuffer intBuffer = IntBuffer.allocate(WIDTH * HEIGHT);
+        PixelBuffer<IntBuffer> pb = new PixelBuffer<>(WIDTH, HEIGHT, intBuffer,
+                                                      PixelFormat.getIntArgbPreInstance());
+        assertSame(intBuffer, pb.getBuffer());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullBuffer() {
+        new PixelBuffer<>(WIDTH, HEIGHT, null, PixelFormat.getByteBgraPreInstance());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullPixelFormat() {
+        new PixelBuffer<>(WIDTH, HEIGHT, byteBuffer, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroWidth() {
+        new PixelBuffer<>(0, HEIGHT, byteBuffer, PixelFormat.getByteBgraPreInstance());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInsufficientBuffer() {
+        new PixelBuffer<>(WIDTH, HEIGHT + 1, byteBuffer, PixelFormat.getByteBgraPreInstance());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedPixelFormat() {
+        new PixelBuffer<>(WIDTH, HEIGHT, byteBuffer, PixelFormat.getByteBgraInstance());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMismatchedBufferType() {
+        IntBuffer intBuffer = IntBuffer.allocate(WIDTH * HEIGHT);
+        PixelFormat format = PixelFormat.getByteBgraPreInstance();
+        new PixelBuffer<>(WIDTH, HEIGHT, intBuffer, format);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testWritableImageNullPixelBuffer() {
+        new WritableImage((PixelBuffer<ByteBuffer>) null);
+    }
+
+    @Test
+    public void testWritableImage() {
+        WritableImage image = new WritableImage(pixelBuffer);
+        assertEquals(WIDTH, image.getWidth(), 0.0);
+        assertEquals(HEIGHT, image.getHeight(), 0.0);
+        assertEquals(1.0, image.getProgress(), 0.0);
+        assertFalse(image.isError());
+        assertNotNull(image.getPixelReader());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testWritableImageHasNoPixelWriter() {
+        new WritableImage(pixelBuffer).getPixelWriter();
+    }
+
+    @Test
+    public void testUpdateBufferReportsDirtyRegion() {
+        WritableImage image = new WritableImage(pixelBuffer);
+        StubWritablePlatformImage pimg = getPlatformImage(image);
+        final int[] invalidations = new int[1];
+        InvalidationListener listener = o -> invalidations[0]++;
+        Toolkit.getImageAccessor().getImageProperty(image).addListener(listener);
+
+        pixelBuffer.updateBuffer(pb -> {
+            assertSame(pixelBuffer, pb);
+            return new Rectangle2D(10.5, 20, 30, 5.25);
+        });
+
+        assertEquals(1, pimg.getBufferDirtyCount());
+        assertEquals(new Rectangle(10, 20, 31, 6), pimg.getLastBufferDirtyRegion());
+        assertEquals(1, invalidations[0]);
+    }
+
+    @Test
+    public void testUpdateBufferWholeImage() {
+        WritableImage image = new WritableImage(pixelBuffer);
+        StubWritablePlatformImage pimg = getPlatformImage(image);
+
+        pixelBuffer.updateBuffer(pb -> null);
+        assertEquals(1, pimg.getBufferDirtyCount());
+        assertNull(pimg.getLastBufferDirtyRegion());
+
+        pixelBuffer.updateBuffer(pb -> new Rectangle2D(-1, -1, WIDTH + 2, HEIGHT + 2));
+        assertEquals(2, pimg.getBufferDirtyCount());
+        assertNull(pimg.getLastBufferDirtyRegion());
+    }
+
+    @Test
+    public void testUpdateBufferEmptyRegion() {
+        WritableImage image = new WritableImage(pixelBuffer);
+        StubWritablePlatformImage pimg = getPlatformImage(image);
+
+        pixelBuffer.updateBuffer(pb -> Rectangle2D.EMPTY);
+        pixelBuffer.updateBuffer(pb -> new Rectangle2D(WIDTH, 0, 10, 10));
+        assertEquals(0, pimg.getBufferDirtyCount());
+    }
+
+    @Test
+    public void testUpdateBufferSharedByImages() {
+        WritableImage image1 = new WritableImage(pixelBuffer);
+        WritableImage image2 = new WritableImage(pixelBuffer);
+
+        pixelBuffer.updateBuffer(pb -> new Rectangle2D(0, 0, 1, 1));
+
+        assertEquals(1, getPlatformImage(image1).getBufferDirtyCount());
+        assertEquals(1, getPlatformImage(image2).getBufferDirtyCount());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testUpdateBufferNullCallback() {
+        pixelBuffer.updateBuffer(null);
+    }
+
+    private static StubWritablePlatformImage getPlatformImage(final Image image) {
+        final Object platformImage = Toolkit.getImageAccessor().getPlatformImage(image);
+        assertTrue(platformImage instanceof StubWritablePlatformImage);
+        return (StubWritablePlatformImage) platformImage;
+    }
+}